@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Mede o tempo de inicialização do contexto Spring em três modos:
+#   jar     -> fat jar padrão
+#   aot     -> jar extraído com -Dspring.aot.enabled=true
+#   aot-cds -> jar extraído com AOT + arquivo CDS (application.jsa)
+#
+# Pré-requisito: mvn -Pcds package
+# Uso: scripts/benchmark-startup.sh [repeticoes]
+#
+# O contexto é encerrado logo após o refresh (spring.context.exit=onRefresh) e o acesso
+# ao banco é desabilitado, para que a medição reflita apenas o custo de inicialização da JVM/Spring.
+
+set -euo pipefail
+
+REPETICOES="${1:-5}"
+RAIZ="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$RAIZ/target"
+JAR="$(ls "$TARGET"/fintech-api-*.jar | grep -v '\.original$' | head -n 1)"
+APP_DIR="$TARGET/application"
+APP_JAR="$APP_DIR/$(basename "$JAR")"
+
+ARGS_APP=(
+  --spring.jpa.hibernate.ddl-auto=none
+  --spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=false
+  --spring.flyway.enabled=false
+  --logging.level.root=warn
+)
+
+if [[ ! -f "$APP_DIR/application.jsa" ]]; then
+  echo "Arquivo CDS não encontrado. Execute antes: mvn -Pcds package" >&2
+  exit 1
+fi
+
+medir() {
+  local nome="$1"; shift
+  local total=0
+  for ((i = 1; i <= REPETICOES; i++)); do
+    local inicio fim
+    inicio=$(date +%s%N)
+    java -Dspring.context.exit=onRefresh "$@" "${ARGS_APP[@]}" > /dev/null
+    fim=$(date +%s%N)
+    total=$((total + (fim - inicio) / 1000000))
+  done
+  printf '%-8s %6d ms (média de %d execuções)\n' "$nome" $((total / REPETICOES)) "$REPETICOES"
+}
+
+medir "jar" -jar "$JAR"
+medir "aot" -Dspring.aot.enabled=true -jar "$APP_JAR"
+medir "aot-cds" -XX:SharedArchiveFile="$APP_DIR/application.jsa" -Dspring.aot.enabled=true -jar "$APP_JAR"
@@ -1,9 +1,12 @@
 package br.com.fintech.fintechapi;
 
+import br.com.fintech.fintechapi.config.FintechRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(FintechRuntimeHints.class)
 public class FintechApiApplication {
 
 	public static void main(String[] args) {
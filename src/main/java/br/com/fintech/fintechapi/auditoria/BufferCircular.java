@@ -0,0 +1,132 @@
+package br.com.fintech.fintechapi.auditoria;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada, sem locks, para vários produtores e vários consumidores
+ *
+ * Cada posição guarda um número de sequência que indica se ela está livre para a volta atual do
+ * produtor (sequência == posição) ou preenchida para o consumidor (sequência == posição + 1).
+ * Produtores e consumidores disputam apenas o CAS do próprio contador; não há alocação por item.
+ *
+ * @param <T> Tipo dos itens
+ */
+public class BufferCircular<T> {
+
+    private final int mascara;
+    private final AtomicReferenceArray<T> itens;
+    private final AtomicLongArray sequencias;
+
+    /**
+     * Próxima posição a ser lida
+     */
+    private final AtomicLong cabeca = new AtomicLong();
+
+    /**
+     * Próxima posição a ser escrita
+     */
+    private final AtomicLong cauda = new AtomicLong();
+
+    /**
+     * @param capacidade Quantidade mínima de itens (arredondada para a próxima potência de 2)
+     */
+    public BufferCircular(int capacidade) {
+        if (capacidade <= 0 || capacidade > (1 << 30)) {
+            throw new IllegalArgumentException("Capacidade do buffer deve estar entre 1 e 2^30");
+        }
+        int tamanho = Integer.highestOneBit(capacidade);
+        if (tamanho < capacidade) {
+            tamanho <<= 1;
+        }
+        this.mascara = tamanho - 1;
+        this.itens = new AtomicReferenceArray<>(tamanho);
+        this.sequencias = new AtomicLongArray(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            sequencias.set(i, i);
+        }
+    }
+
+    /**
+     * Insere o item se houver espaço
+     * @return false se o buffer estiver cheio
+     */
+    public boolean oferecer(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item não pode ser nulo");
+        }
+        long posicao = cauda.get();
+        while (true) {
+            int indice = (int) (posicao & mascara);
+            long diferenca = sequencias.get(indice) - posicao;
+            if (diferenca == 0) {
+                if (cauda.compareAndSet(posicao, posicao + 1)) {
+                    itens.set(indice, item);
+                    // Publica o item para os consumidores
+                    sequencias.set(indice, posicao + 1);
+                    return true;
+                }
+                posicao = cauda.get();
+            } else if (diferenca < 0) {
+                // A posição ainda não foi consumida na volta anterior: cheio
+                return false;
+            } else {
+                posicao = cauda.get();
+            }
+        }
+    }
+
+    /**
+     * Remove o item mais antigo
+     * @return null se o buffer estiver vazio
+     */
+    public T retirar() {
+        long posicao = cabeca.get();
+        while (true) {
+            int indice = (int) (posicao & mascara);
+            long diferenca = sequencias.get(indice) - (posicao + 1);
+            if (diferenca == 0) {
+                if (cabeca.compareAndSet(posicao, posicao + 1)) {
+                    T item = itens.get(indice);
+                    itens.set(indice, null);
+                    // Libera a posição para a próxima volta dos produtores
+                    sequencias.set(indice, posicao + mascara + 1);
+                    return item;
+                }
+                posicao = cabeca.get();
+            } else if (diferenca < 0) {
+                return null;
+            } else {
+                posicao = cabeca.get();
+            }
+        }
+    }
+
+    /**
+     * Move até max itens para a lista, na ordem de inserção
+     * @return Quantidade de itens movidos
+     */
+    public int drenar(List<? super T> destino, int max) {
+        int movidos = 0;
+        T item;
+        while (movidos < max && (item = retirar()) != null) {
+            destino.add(item);
+            movidos++;
+        }
+        return movidos;
+    }
+
+    /**
+     * Quantidade aproximada de itens (exata apenas sem produtores e consumidores ativos)
+     */
+    public int tamanho() {
+        long tamanho = cauda.get() - cabeca.get();
+        return (int) Math.max(0, Math.min(tamanho, capacidade()));
+    }
+
+    public int capacidade() {
+        return mascara + 1;
+    }
+}
@@ -0,0 +1,194 @@
+package br.com.fintech.fintechapi.auditoria;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gravação da trilha de auditoria em segundo plano (write-behind)
+ *
+ * Os registros entram num BufferCircular limitado e uma thread dedicada os grava em lotes com
+ * JDBC batch, sem acrescentar latência às requisições. Com o buffer cheio o produtor espera um
+ * pouco (métrica fintech.auditoria.esperas) e, se ainda não houver espaço, o registro é descartado
+ * (fintech.auditoria.descartados). O produtor nunca grava por conta própria: ele roda na thread da
+ * requisição, que pode ainda segurar uma conexão do pool, e uma segunda conexão por requisição
+ * esgotaria o pool justamente na sobrecarga. No desligamento o buffer é esvaziado antes de a
+ * conexão com o banco ser fechada.
+ *
+ * As conexões são obtidas direto do DataSource, fora das transações do Spring: os registros são
+ * produzidos após o commit da alteração e gravados em autocommit.
+ */
+@Component
+public class GravadorAuditoria {
+
+    private static final Logger log = LoggerFactory.getLogger(GravadorAuditoria.class);
+
+    private static final String SQL_INSERIR =
+            "INSERT INTO AUDITORIA (id_auditoria, entidade, id_registro, operacao, id_usuario_autor, campos, ocorrido_em) " +
+            "VALUES (SEQ_AUDITORIA.NEXTVAL, ?, ?, ?, ?, ?, ?)";
+
+    private static final long ESPERA_FALHA_MAX_MS = 5000;
+
+    private final DataSource dataSource;
+    private final BufferCircular<RegistroAuditoria> buffer;
+    private final int tamanhoLote;
+    private final long intervaloNanos;
+    private final long esperaMaxNanos;
+    private final long encerramentoMs;
+
+    private final Counter gravados;
+    private final Counter esperas;
+    private final Counter descartados;
+    private final Counter falhas;
+
+    private volatile boolean ativo = true;
+    private Thread gravador;
+
+    public GravadorAuditoria(
+            DataSource dataSource,
+            @Value("${fintech.auditoria.capacidade:8192}") int capacidade,
+            @Value("${fintech.auditoria.lote:500}") int tamanhoLote,
+            @Value("${fintech.auditoria.intervalo-ms:200}") long intervaloMs,
+            @Value("${fintech.auditoria.espera-max-ms:50}") long esperaMaxMs,
+            @Value("${fintech.auditoria.encerramento-ms:10000}") long encerramentoMs,
+            MeterRegistry meterRegistry) {
+
+        this.dataSource = dataSource;
+        this.buffer = new BufferCircular<>(capacidade);
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        this.esperaMaxNanos = TimeUnit.MILLISECONDS.toNanos(esperaMaxMs);
+        this.encerramentoMs = encerramentoMs;
+
+        Gauge.builder("fintech.auditoria.buffer", buffer, BufferCircular::tamanho).register(meterRegistry);
+        this.gravados = Counter.builder("fintech.auditoria.gravados").register(meterRegistry);
+        this.esperas = Counter.builder("fintech.auditoria.esperas").register(meterRegistry);
+        this.descartados = Counter.builder("fintech.auditoria.descartados").register(meterRegistry);
+        this.falhas = Counter.builder("fintech.auditoria.falhas").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        gravador = Thread.ofPlatform()
+                .name("auditoria-gravador")
+                .daemon(true)
+                .start(this::executar);
+    }
+
+    /**
+     * Enfileira o registro para gravação; sob pressão aplica backpressure limitado ao chamador
+     */
+    public void registrar(RegistroAuditoria registro) {
+        if (ativo && buffer.oferecer(registro)) {
+            return;
+        }
+
+        if (ativo) {
+            esperas.increment();
+            LockSupport.unpark(gravador);
+            long prazo = System.nanoTime() + esperaMaxNanos;
+            while (System.nanoTime() - prazo < 0) {
+                LockSupport.parkNanos(100_000);
+                if (buffer.oferecer(registro)) {
+                    return;
+                }
+            }
+        }
+
+        // Buffer ainda cheio (ou aplicação encerrando): descarta em vez de tomar outra conexão do pool
+        descartados.increment();
+        log.warn("Auditoria: buffer cheio, registro descartado: {}", registro);
+    }
+
+    /**
+     * Esvazia o buffer e encerra a thread de gravação
+     */
+    @PreDestroy
+    public void encerrar() {
+        ativo = false;
+        LockSupport.unpark(gravador);
+        try {
+            gravador.join(encerramentoMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (gravador.isAlive()) {
+            log.error("Auditoria: prazo de encerramento esgotado com {} registros no buffer", buffer.tamanho());
+        }
+    }
+
+    private void executar() {
+        List<RegistroAuditoria> lote = new ArrayList<>(tamanhoLote);
+        long esperaFalhaMs = 100;
+        while (ativo || buffer.tamanho() > 0 || !lote.isEmpty()) {
+            if (lote.isEmpty() && buffer.drenar(lote, tamanhoLote) == 0) {
+                LockSupport.parkNanos(this, intervaloNanos);
+                continue;
+            }
+            try {
+                gravar(lote);
+                lote.clear();
+                esperaFalhaMs = 100;
+            } catch (SQLException | RuntimeException e) {
+                // Mantém o lote e tenta de novo; enquanto isso o buffer enche e os produtores sentem a pressão
+                falhas.increment();
+                log.warn("Auditoria: falha ao gravar lote de {} registros, nova tentativa em {} ms: {}",
+                        lote.size(), esperaFalhaMs, e.getMessage());
+                if (!ativo) {
+                    log.error("Auditoria: {} registros descartados no encerramento", lote.size() + buffer.tamanho());
+                    return;
+                }
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(esperaFalhaMs));
+                esperaFalhaMs = Math.min(esperaFalhaMs * 2, ESPERA_FALHA_MAX_MS);
+            }
+        }
+    }
+
+    private void gravar(List<RegistroAuditoria> registros) throws SQLException {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement ps = conexao.prepareStatement(SQL_INSERIR)) {
+            boolean autoCommit = conexao.getAutoCommit();
+            conexao.setAutoCommit(false);
+            try {
+                for (RegistroAuditoria registro : registros) {
+                    ps.setString(1, registro.entidade());
+                    ps.setLong(2, registro.idRegistro());
+                    ps.setString(3, registro.operacao().name());
+                    if (registro.idUsuarioAutor() != null) {
+                        ps.setLong(4, registro.idUsuarioAutor());
+                    } else {
+                        ps.setNull(4, Types.NUMERIC);
+                    }
+                    ps.setString(5, registro.campos());
+                    ps.setTimestamp(6, Timestamp.valueOf(registro.ocorridoEm()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conexao.commit();
+            } catch (SQLException e) {
+                conexao.rollback();
+                throw e;
+            } finally {
+                conexao.setAutoCommit(autoCommit);
+            }
+        }
+        gravados.increment(registros.size());
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.fintech.fintechapi.auditoria;
+
+import br.com.fintech.fintechapi.model.Categoria;
+import br.com.fintech.fintechapi.model.Despesa;
+import br.com.fintech.fintechapi.model.OperacaoAuditoria;
+import br.com.fintech.fintechapi.model.Receita;
+import br.com.fintech.fintechapi.model.Usuario;
+import br.com.fintech.fintechapi.security.UsuarioAutenticado;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Captura as alterações das entidades auditadas após o commit e as entrega ao GravadorAuditoria
+ *
+ * Os listeners pós-commit do Hibernate só disparam para transações confirmadas, então alterações
+ * desfeitas não entram na trilha. Lançamentos inseridos por SQL direto (ex.: MERGE do job de
+ * recorrência) não passam pelo Hibernate e não são auditados.
+ */
+@Component
+public class ListenerAuditoria implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final Set<Class<?>> AUDITADAS = Set.of(Despesa.class, Receita.class, Categoria.class, Usuario.class);
+
+    private static final int TAMANHO_MAX_CAMPOS = 1000;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private GravadorAuditoria gravadorAuditoria;
+
+    @PostConstruct
+    public void registrar() {
+        EventListenerRegistry registro = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registro.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registro.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registro.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return AUDITADAS.contains(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        registrar(event.getPersister(), event.getId(), OperacaoAuditoria.INCLUSAO, null);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        registrar(event.getPersister(), event.getId(), OperacaoAuditoria.ALTERACAO,
+                camposAlterados(event.getPersister(), event.getDirtyProperties()));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        registrar(event.getPersister(), event.getId(), OperacaoAuditoria.EXCLUSAO, null);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Transação desfeita: nada a auditar
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Transação desfeita: nada a auditar
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Transação desfeita: nada a auditar
+    }
+
+    private void registrar(EntityPersister persister, Object id, OperacaoAuditoria operacao, String campos) {
+        if (!AUDITADAS.contains(persister.getMappedClass())) {
+            return;
+        }
+        // Os listeners pós-commit rodam na thread da requisição, onde o contexto de segurança ainda existe
+        UsuarioAutenticado autor = UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication());
+
+        gravadorAuditoria.registrar(new RegistroAuditoria(
+                persister.getMappedClass().getSimpleName(),
+                ((Number) id).longValue(),
+                operacao,
+                autor != null ? autor.idUsuario() : null,
+                campos,
+                LocalDateTime.now()
+        ));
+    }
+
+    /**
+     * Nomes das propriedades alteradas (apenas os nomes: valores, inclusive a senha, não são gravados)
+     */
+    private static String camposAlterados(EntityPersister persister, int[] indices) {
+        if (indices == null || indices.length == 0) {
+            return null;
+        }
+        String[] nomes = persister.getPropertyNames();
+        StringJoiner campos = new StringJoiner(",");
+        for (int indice : indices) {
+            campos.add(nomes[indice]);
+        }
+        String texto = campos.toString();
+        return texto.length() > TAMANHO_MAX_CAMPOS ? texto.substring(0, TAMANHO_MAX_CAMPOS) : texto;
+    }
+}
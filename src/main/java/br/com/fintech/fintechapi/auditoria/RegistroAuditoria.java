@@ -0,0 +1,21 @@
+package br.com.fintech.fintechapi.auditoria;
+
+import br.com.fintech.fintechapi.model.OperacaoAuditoria;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro da trilha de auditoria, ainda não gravado
+ * @param entidade Nome da entidade (Despesa, Receita, Categoria, Usuario)
+ * @param idUsuarioAutor Usuário autenticado que fez a alteração (null em operações anônimas, ex.: cadastro)
+ * @param campos Propriedades alteradas, separadas por vírgula (apenas em ALTERACAO)
+ */
+public record RegistroAuditoria(
+        String entidade,
+        Long idRegistro,
+        OperacaoAuditoria operacao,
+        Long idUsuarioAutor,
+        String campos,
+        LocalDateTime ocorridoEm
+) {
+}
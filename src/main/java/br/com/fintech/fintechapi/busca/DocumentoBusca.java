@@ -0,0 +1,21 @@
+package br.com.fintech.fintechapi.busca;
+
+import br.com.fintech.fintechapi.model.TipoLancamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Despesa ou receita guardada no índice de busca (apenas os campos devolvidos na resposta)
+ *
+ * @param data Data de vencimento (despesa) ou de entrada (receita)
+ */
+public record DocumentoBusca(
+        TipoLancamento tipoLancamento,
+        long id,
+        String descricao,
+        BigDecimal valor,
+        LocalDate data,
+        Integer pendente
+) {
+}
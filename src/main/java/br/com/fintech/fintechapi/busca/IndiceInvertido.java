@@ -0,0 +1,272 @@
+package br.com.fintech.fintechapi.busca;
+
+import br.com.fintech.fintechapi.model.TipoLancamento;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido das descrições dos lançamentos de um usuário
+ *
+ * Cada termo aponta para os documentos que o contêm (com a frequência no documento). O dicionário
+ * de termos é ordenado, então a busca por prefixo é um intervalo do dicionário. A relevância segue
+ * o BM25: termos raros pesam mais que termos comuns e descrições curtas pesam mais que longas.
+ * O custo da busca acompanha a quantidade de documentos que contêm os termos, não o total do índice.
+ *
+ * Leituras concorrentes; alterações exclusivas (ReentrantReadWriteLock).
+ */
+public class IndiceInvertido {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * Peso de um termo que apenas começa com o termo da consulta ("alug" → "aluguel")
+     */
+    private static final double PESO_PREFIXO = 0.8;
+
+    /**
+     * Máximo de termos do dicionário considerados por prefixo da consulta
+     */
+    private static final int MAX_EXPANSOES = 64;
+
+    private record Chave(TipoLancamento tipoLancamento, long id) {
+    }
+
+    private record Indexado(DocumentoBusca documento, List<String> termos, int comprimento) {
+    }
+
+    /**
+     * Documento encontrado e sua relevância para a consulta
+     */
+    public record Acerto(DocumentoBusca documento, double relevancia) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Chave, Indexado> documentos = new HashMap<>();
+    private final TreeMap<String, Map<Chave, Integer>> termos = new TreeMap<>();
+    private long somaComprimentos;
+
+    /**
+     * Quantidade de entradas (termo, documento) nas listas de postings
+     */
+    private long postings;
+
+    /**
+     * Versão do ledger do usuário refletida no índice (-1 = ainda não carregado)
+     */
+    private volatile long versao = -1;
+
+    /**
+     * Marca da última sincronização incremental aplicada (null = carregar tudo)
+     */
+    private volatile LocalDateTime marca;
+
+    /**
+     * Inclui o documento, substituindo a versão anterior com o mesmo tipo e ID
+     */
+    public void adicionar(DocumentoBusca documento) {
+        List<String> termosDocumento = Tokenizador.termos(documento.descricao());
+        Chave chave = new Chave(documento.tipoLancamento(), documento.id());
+
+        lock.writeLock().lock();
+        try {
+            removerSemLock(chave);
+
+            Map<String, Integer> frequencias = new HashMap<>();
+            for (String termo : termosDocumento) {
+                frequencias.merge(termo, 1, Integer::sum);
+            }
+            frequencias.forEach((termo, frequencia) ->
+                    termos.computeIfAbsent(termo, t -> new HashMap<>()).put(chave, frequencia));
+            postings += frequencias.size();
+
+            documentos.put(chave, new Indexado(documento, List.copyOf(frequencias.keySet()), termosDocumento.size()));
+            somaComprimentos += termosDocumento.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(TipoLancamento tipoLancamento, long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(new Chave(tipoLancamento, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.writeLock().lock();
+        try {
+            documentos.clear();
+            termos.clear();
+            somaComprimentos = 0;
+            postings = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os documentos que contêm todos os termos da consulta (cada um exato ou como prefixo)
+     * @param consulta Texto digitado pelo usuário
+     * @param limite Quantidade máxima de resultados
+     * @return Documentos em ordem de relevância (empate: mais recentes primeiro)
+     */
+    public List<Acerto> buscar(String consulta, int limite) {
+        List<String> termosConsulta = List.copyOf(new LinkedHashSet<>(Tokenizador.termos(consulta)));
+        if (termosConsulta.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (documentos.isEmpty()) {
+                return List.of();
+            }
+            double comprimentoMedio = (double) somaComprimentos / documentos.size();
+
+            List<Map<Chave, Double>> pontuacoes = new ArrayList<>(termosConsulta.size());
+            for (String termo : termosConsulta) {
+                Map<Chave, Double> pontuacao = pontuar(termo, comprimentoMedio);
+                if (pontuacao.isEmpty()) {
+                    return List.of();
+                }
+                pontuacoes.add(pontuacao);
+            }
+
+            // Interseção a partir do termo com menos documentos
+            pontuacoes.sort(Comparator.comparingInt(Map::size));
+            Map<Chave, Double> total = new HashMap<>(pontuacoes.get(0));
+            for (int i = 1; i < pontuacoes.size() && !total.isEmpty(); i++) {
+                Map<Chave, Double> pontuacao = pontuacoes.get(i);
+                total.entrySet().removeIf(entrada -> {
+                    Double valor = pontuacao.get(entrada.getKey());
+                    if (valor == null) {
+                        return true;
+                    }
+                    entrada.setValue(entrada.getValue() + valor);
+                    return false;
+                });
+            }
+
+            return melhores(total, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tamanho aproximado do índice em memória: documentos mais entradas de postings
+     */
+    public long tamanhoEstimado() {
+        lock.readLock().lock();
+        try {
+            return documentos.size() + postings;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(long versao) {
+        this.versao = versao;
+    }
+
+    public LocalDateTime getMarca() {
+        return marca;
+    }
+
+    public void setMarca(LocalDateTime marca) {
+        this.marca = marca;
+    }
+
+    /**
+     * Pontuação BM25 de cada documento para um termo da consulta, considerando as expansões por prefixo
+     * (de cada documento vale a expansão de maior pontuação). O IDF é calculado sobre todos os documentos
+     * encontrados para o termo, para uma expansão rara não superar o termo exato.
+     */
+    private Map<Chave, Double> pontuar(String termoConsulta, double comprimentoMedio) {
+        NavigableMap<String, Map<Chave, Integer>> expansoes =
+                termos.subMap(termoConsulta, true, termoConsulta + Character.MAX_VALUE, true);
+
+        Map<Chave, Double> pontuacao = new HashMap<>();
+        int expandidos = 0;
+        for (Map.Entry<String, Map<Chave, Integer>> expansao : expansoes.entrySet()) {
+            if (expandidos++ == MAX_EXPANSOES) {
+                break;
+            }
+            double peso = expansao.getKey().equals(termoConsulta) ? 1.0 : PESO_PREFIXO;
+            expansao.getValue().forEach((chave, frequencia) -> {
+                double normalizacao = K1 * (1 - B + B * documentos.get(chave).comprimento() / comprimentoMedio);
+                double valor = peso * frequencia * (K1 + 1) / (frequencia + normalizacao);
+                pontuacao.merge(chave, valor, Math::max);
+            });
+        }
+
+        int n = documentos.size();
+        double idf = Math.log(1 + (n - pontuacao.size() + 0.5) / (pontuacao.size() + 0.5));
+        pontuacao.replaceAll((chave, valor) -> valor * idf);
+        return pontuacao;
+    }
+
+    private List<Acerto> melhores(Map<Chave, Double> total, int limite) {
+        Comparator<Acerto> ordem = Comparator.comparingDouble(Acerto::relevancia)
+                .thenComparing(acerto -> acerto.documento().data(), Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()));
+
+        // Heap com os "limite" melhores: a raiz é o pior deles
+        PriorityQueue<Acerto> heap = new PriorityQueue<>(Math.min(limite, total.size()) + 1, ordem);
+        total.forEach((chave, relevancia) -> {
+            heap.add(new Acerto(documentos.get(chave).documento(), relevancia));
+            if (heap.size() > limite) {
+                heap.poll();
+            }
+        });
+
+        List<Acerto> resultado = new ArrayList<>(heap);
+        resultado.sort(ordem.reversed());
+        return resultado;
+    }
+
+    private void removerSemLock(Chave chave) {
+        Indexado anterior = documentos.remove(chave);
+        if (anterior == null) {
+            return;
+        }
+        somaComprimentos -= anterior.comprimento();
+        postings -= anterior.termos().size();
+        for (String termo : anterior.termos()) {
+            Map<Chave, Integer> postings = termos.get(termo);
+            if (postings != null) {
+                postings.remove(chave);
+                if (postings.isEmpty()) {
+                    termos.remove(termo);
+                }
+            }
+        }
+    }
+}
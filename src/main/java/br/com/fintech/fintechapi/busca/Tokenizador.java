@@ -0,0 +1,48 @@
+package br.com.fintech.fintechapi.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Divide descrições e consultas em termos para o índice de busca
+ * Os termos ficam em minúsculas e sem acentos ("Aluguel Março" → "aluguel", "marco"),
+ * e preposições/artigos comuns são descartados
+ */
+public final class Tokenizador {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Set<String> IGNORADOS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "no", "na", "nos", "nas",
+            "para", "pra", "por", "com", "um", "uma"
+    );
+
+    private static final int TAMANHO_MAX_TERMO = 40;
+
+    private Tokenizador() {
+    }
+
+    /**
+     * @return Termos do texto, na ordem em que aparecem (com repetições)
+     */
+    public static List<String> termos(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return termos;
+        }
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String termo : SEPARADORES.split(normalizado)) {
+            if (!termo.isEmpty() && !IGNORADOS.contains(termo)) {
+                termos.add(termo.length() > TAMANHO_MAX_TERMO ? termo.substring(0, TAMANHO_MAX_TERMO) : termo);
+            }
+        }
+        return termos;
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.fintech.fintechapi.categorizacao;
+
+/**
+ * Lançamento já categorizado pelo usuário, usado no treino do modelo
+ * Preenchido por projeção JPQL (descrição e IDs, sem carregar as entidades)
+ *
+ * @param id ID da despesa ou receita, para substituir ou remover o exemplo nas atualizações incrementais
+ * @param idSubcategoria null quando o lançamento tem apenas categoria
+ */
+public record ExemploCategorizacao(
+        Long id,
+        String descricao,
+        Long idCategoria,
+        Long idSubcategoria
+) {
+}
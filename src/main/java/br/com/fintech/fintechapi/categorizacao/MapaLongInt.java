@@ -0,0 +1,137 @@
+package br.com.fintech.fintechapi.categorizacao;
+
+/**
+ * Mapa long → int com endereçamento aberto (sondagem linear), sem objetos por entrada
+ * Guarda apenas contagens positivas: o valor 0 marca posição vazia. A chave que chega a zero é removida
+ * deslocando as entradas seguintes da mesma sequência de sondagem (sem marcas de remoção).
+ */
+final class MapaLongInt {
+
+    private long[] chaves;
+    private int[] valores;
+    private int tamanho;
+
+    MapaLongInt(int capacidadeInicial) {
+        int capacidade = Integer.highestOneBit(Math.max(capacidadeInicial, 8) * 2 - 1);
+        this.chaves = new long[capacidade];
+        this.valores = new int[capacidade];
+    }
+
+    /**
+     * Soma delta (maior que zero) ao valor da chave
+     */
+    void incrementar(long chave, int delta) {
+        int mascara = chaves.length - 1;
+        int indice = indice(chave, mascara);
+        while (valores[indice] != 0) {
+            if (chaves[indice] == chave) {
+                valores[indice] += delta;
+                return;
+            }
+            indice = (indice + 1) & mascara;
+        }
+        chaves[indice] = chave;
+        valores[indice] = delta;
+        // Fator de carga máximo de 0,5: sondagens curtas mesmo com chaves vizinhas
+        if (++tamanho * 2 > chaves.length) {
+            redimensionar();
+        }
+    }
+
+    /**
+     * Subtrai delta (maior que zero) do valor da chave; a chave é removida ao chegar a zero
+     */
+    void decrementar(long chave, int delta) {
+        int mascara = chaves.length - 1;
+        int indice = indice(chave, mascara);
+        while (valores[indice] != 0) {
+            if (chaves[indice] == chave) {
+                valores[indice] -= delta;
+                if (valores[indice] <= 0) {
+                    remover(indice, mascara);
+                }
+                return;
+            }
+            indice = (indice + 1) & mascara;
+        }
+    }
+
+    /**
+     * Cópia independente (fotografia do modelo enquanto o treino continua sendo alterado)
+     */
+    MapaLongInt copia() {
+        MapaLongInt copia = new MapaLongInt(8);
+        copia.chaves = chaves.clone();
+        copia.valores = valores.clone();
+        copia.tamanho = tamanho;
+        return copia;
+    }
+
+    /**
+     * @return Valor da chave, ou 0 se ausente
+     */
+    int obter(long chave) {
+        int mascara = chaves.length - 1;
+        int indice = indice(chave, mascara);
+        while (valores[indice] != 0) {
+            if (chaves[indice] == chave) {
+                return valores[indice];
+            }
+            indice = (indice + 1) & mascara;
+        }
+        return 0;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Esvazia a posição e traz de volta as entradas seguintes que só estavam ali por causa dela
+     */
+    private void remover(int livre, int mascara) {
+        valores[livre] = 0;
+        tamanho--;
+        int atual = livre;
+        while (true) {
+            atual = (atual + 1) & mascara;
+            if (valores[atual] == 0) {
+                return;
+            }
+            int ideal = indice(chaves[atual], mascara);
+            // A entrada pode ocupar a posição livre se a posição ideal dela não está entre livre (exclusive) e atual
+            boolean mover = livre <= atual
+                    ? ideal <= livre || ideal > atual
+                    : ideal <= livre && ideal > atual;
+            if (mover) {
+                chaves[livre] = chaves[atual];
+                valores[livre] = valores[atual];
+                valores[atual] = 0;
+                livre = atual;
+            }
+        }
+    }
+
+    private void redimensionar() {
+        long[] chavesAntigas = chaves;
+        int[] valoresAntigos = valores;
+        chaves = new long[chavesAntigas.length * 2];
+        valores = new int[valoresAntigos.length * 2];
+        int mascara = chaves.length - 1;
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (valoresAntigos[i] != 0) {
+                int indice = indice(chavesAntigas[i], mascara);
+                while (valores[indice] != 0) {
+                    indice = (indice + 1) & mascara;
+                }
+                chaves[indice] = chavesAntigas[i];
+                valores[indice] = valoresAntigos[i];
+            }
+        }
+    }
+
+    private static int indice(long chave, int mascara) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+}
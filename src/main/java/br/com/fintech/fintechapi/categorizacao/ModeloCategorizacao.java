@@ -0,0 +1,146 @@
+package br.com.fintech.fintechapi.categorizacao;
+
+import br.com.fintech.fintechapi.busca.Tokenizador;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Classificador naive Bayes (multinomial) das descrições de um usuário em categoria/subcategoria
+ *
+ * Cada classe é um par (categoria, subcategoria). As contagens de termo por classe ficam num único
+ * MapaLongInt indexado pelo hash de (termo, classe), e as contagens por classe em arrays, então o
+ * modelo ocupa poucos KB mesmo com milhares de exemplos. O modelo é uma fotografia imutável das
+ * contagens de TreinoCategorizacao: as alterações são aplicadas ao treino em segundo plano e a nova
+ * fotografia substitui a anterior, então a sugestão não usa locks.
+ */
+public final class ModeloCategorizacao {
+
+    private static final long SEMENTE_CLASSE = 0x9E3779B97F4A7C15L;
+
+    private final long versao;
+    private final int totalExemplos;
+    private final long[] categorias;
+    private final long[] subcategorias;
+    private final int[] exemplosPorClasse;
+    private final int[] termosPorClasse;
+    private final MapaLongInt contagens;
+    private final MapaLongInt vocabulario;
+
+    /**
+     * Sugestão do modelo
+     * @param idSubcategoria null se a classe não tem subcategoria
+     * @param confianca Probabilidade estimada da classe sugerida (0 a 1)
+     */
+    public record Sugestao(Long idCategoria, Long idSubcategoria, double confianca) {
+    }
+
+    ModeloCategorizacao(long versao, int totalExemplos, long[] categorias, long[] subcategorias,
+                                int[] exemplosPorClasse, int[] termosPorClasse,
+                                MapaLongInt contagens, MapaLongInt vocabulario) {
+        this.versao = versao;
+        this.totalExemplos = totalExemplos;
+        this.categorias = categorias;
+        this.subcategorias = subcategorias;
+        this.exemplosPorClasse = exemplosPorClasse;
+        this.termosPorClasse = termosPorClasse;
+        this.contagens = contagens;
+        this.vocabulario = vocabulario;
+    }
+
+    /**
+     * Treina o modelo com os lançamentos categorizados do usuário
+     * @param versao Versão do ledger lida antes da consulta dos exemplos
+     */
+    public static ModeloCategorizacao treinar(List<ExemploCategorizacao> exemplos, long versao) {
+        return TreinoCategorizacao.de(exemplos).modelo(versao);
+    }
+
+    /**
+     * Classe mais provável para a descrição
+     * @return null se o modelo não tem exemplos ou nenhum termo da descrição é conhecido
+     */
+    public Sugestao sugerir(String descricao) {
+        // Classes sem exemplos (todos os lançamentos excluídos ou recategorizados) não participam
+        int quantidade = categorias.length;
+        int ativas = 0;
+        for (int c = 0; c < quantidade; c++) {
+            if (exemplosPorClasse[c] > 0) {
+                ativas++;
+            }
+        }
+        if (ativas == 0) {
+            return null;
+        }
+
+        // Termos fora do vocabulário não distinguem as classes e são ignorados
+        LinkedHashSet<String> termos = new LinkedHashSet<>(Tokenizador.termos(descricao));
+        long[] conhecidos = new long[termos.size()];
+        int totalConhecidos = 0;
+        for (String termo : termos) {
+            long hash = hash(termo);
+            if (vocabulario.obter(hash) > 0) {
+                conhecidos[totalConhecidos++] = hash;
+            }
+        }
+        if (totalConhecidos == 0) {
+            return null;
+        }
+
+        // Log-probabilidades com suavização de Laplace
+        int tamanhoVocabulario = vocabulario.tamanho();
+        double[] pontuacoes = new double[quantidade];
+        int melhor = -1;
+        for (int c = 0; c < quantidade; c++) {
+            if (exemplosPorClasse[c] == 0) {
+                pontuacoes[c] = Double.NEGATIVE_INFINITY;
+                continue;
+            }
+            double pontuacao = Math.log((exemplosPorClasse[c] + 1.0) / (totalExemplos + ativas));
+            double denominador = termosPorClasse[c] + tamanhoVocabulario;
+            for (int t = 0; t < totalConhecidos; t++) {
+                pontuacao += Math.log((contagens.obter(chave(conhecidos[t], c)) + 1.0) / denominador);
+            }
+            pontuacoes[c] = pontuacao;
+            if (melhor < 0 || pontuacao > pontuacoes[melhor]) {
+                melhor = c;
+            }
+        }
+
+        // Softmax: probabilidade da melhor classe em relação às demais
+        double soma = 0;
+        for (double pontuacao : pontuacoes) {
+            soma += Math.exp(pontuacao - pontuacoes[melhor]);
+        }
+
+        return new Sugestao(
+                categorias[melhor],
+                subcategorias[melhor] != 0 ? subcategorias[melhor] : null,
+                1.0 / soma
+        );
+    }
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public int getTotalExemplos() {
+        return totalExemplos;
+    }
+
+    /**
+     * FNV-1a de 64 bits do termo
+     */
+    static long hash(String termo) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < termo.length(); i++) {
+            h ^= termo.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    static long chave(long hashTermo, int classe) {
+        return hashTermo + (classe + 1) * SEMENTE_CLASSE;
+    }
+}
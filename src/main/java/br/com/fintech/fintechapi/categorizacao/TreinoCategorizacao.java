@@ -0,0 +1,131 @@
+package br.com.fintech.fintechapi.categorizacao;
+
+import br.com.fintech.fintechapi.busca.Tokenizador;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Contagens de treino do ModeloCategorizacao de um usuário, atualizáveis lançamento a lançamento
+ *
+ * Guarda a contribuição de cada lançamento (classe e termos), para que uma alteração ou exclusão
+ * desfaça apenas o que ele somou. Assim o modelo acompanha o delta da sincronização em vez de ser
+ * retreinado com todo o histórico. Não é thread-safe: é alterado por um treino de cada vez, e as
+ * sugestões usam a fotografia imutável devolvida por modelo().
+ */
+public final class TreinoCategorizacao {
+
+    private record Classe(long idCategoria, long idSubcategoria) {
+    }
+
+    /**
+     * O que um lançamento somou ao modelo: índice da classe e hashes dos termos (com repetição)
+     */
+    private record Contribuicao(int classe, long[] termos) {
+    }
+
+    private final Map<Classe, Integer> indices = new HashMap<>();
+    private final Map<Long, Contribuicao> contribuicoes = new HashMap<>();
+    private long[] categorias = new long[8];
+    private long[] subcategorias = new long[8];
+    private int[] exemplosPorClasse = new int[8];
+    private int[] termosPorClasse = new int[8];
+    private final MapaLongInt contagens;
+    private final MapaLongInt vocabulario;
+
+    public TreinoCategorizacao(int capacidadeInicial) {
+        this.contagens = new MapaLongInt(capacidadeInicial * 4);
+        this.vocabulario = new MapaLongInt(capacidadeInicial * 2);
+    }
+
+    /**
+     * Treino com os exemplos informados
+     */
+    public static TreinoCategorizacao de(List<ExemploCategorizacao> exemplos) {
+        TreinoCategorizacao treino = new TreinoCategorizacao(exemplos.size());
+        exemplos.forEach(treino::adicionar);
+        return treino;
+    }
+
+    /**
+     * Inclui o exemplo, substituindo a contribuição anterior do mesmo lançamento
+     * Sem categoria ou sem termos, o lançamento apenas deixa de contar
+     */
+    public void adicionar(ExemploCategorizacao exemplo) {
+        remover(exemplo.id());
+        if (exemplo.idCategoria() == null) {
+            return;
+        }
+        List<String> termos = Tokenizador.termos(exemplo.descricao());
+        if (termos.isEmpty()) {
+            return;
+        }
+
+        Classe classe = new Classe(exemplo.idCategoria(), Objects.requireNonNullElse(exemplo.idSubcategoria(), 0L));
+        int indice = indices.computeIfAbsent(classe, c -> indices.size());
+        if (indice == exemplosPorClasse.length) {
+            categorias = Arrays.copyOf(categorias, indice * 2);
+            subcategorias = Arrays.copyOf(subcategorias, indice * 2);
+            exemplosPorClasse = Arrays.copyOf(exemplosPorClasse, indice * 2);
+            termosPorClasse = Arrays.copyOf(termosPorClasse, indice * 2);
+        }
+        categorias[indice] = classe.idCategoria();
+        subcategorias[indice] = classe.idSubcategoria();
+
+        long[] hashes = new long[termos.size()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = ModeloCategorizacao.hash(termos.get(i));
+            contagens.incrementar(ModeloCategorizacao.chave(hashes[i], indice), 1);
+            vocabulario.incrementar(hashes[i], 1);
+        }
+        exemplosPorClasse[indice]++;
+        termosPorClasse[indice] += hashes.length;
+        if (exemplo.id() != null) {
+            contribuicoes.put(exemplo.id(), new Contribuicao(indice, hashes));
+        }
+    }
+
+    /**
+     * Desfaz a contribuição do lançamento (excluído ou recategorizado)
+     */
+    public void remover(Long id) {
+        Contribuicao anterior = id != null ? contribuicoes.remove(id) : null;
+        if (anterior == null) {
+            return;
+        }
+        for (long hash : anterior.termos()) {
+            contagens.decrementar(ModeloCategorizacao.chave(hash, anterior.classe()), 1);
+            vocabulario.decrementar(hash, 1);
+        }
+        exemplosPorClasse[anterior.classe()]--;
+        termosPorClasse[anterior.classe()] -= anterior.termos().length;
+    }
+
+    /**
+     * Fotografia imutável das contagens atuais
+     * Classes que ficaram sem exemplos continuam nos arrays e são ignoradas na sugestão
+     */
+    public ModeloCategorizacao modelo(long versao) {
+        int quantidade = indices.size();
+        int total = 0;
+        for (int c = 0; c < quantidade; c++) {
+            total += exemplosPorClasse[c];
+        }
+        return new ModeloCategorizacao(versao, total,
+                Arrays.copyOf(categorias, quantidade),
+                Arrays.copyOf(subcategorias, quantidade),
+                Arrays.copyOf(exemplosPorClasse, quantidade),
+                Arrays.copyOf(termosPorClasse, quantidade),
+                contagens.copia(), vocabulario.copia());
+    }
+
+    /**
+     * Quantidade de lançamentos que contribuem para o modelo
+     */
+    public int tamanho() {
+        return contribuicoes.size();
+    }
+}
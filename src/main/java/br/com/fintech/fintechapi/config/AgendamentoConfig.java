@@ -0,0 +1,12 @@
+package br.com.fintech.fintechapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas (@Scheduled) da aplicação
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
@@ -0,0 +1,30 @@
+package br.com.fintech.fintechapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor das consultas do relatório consolidado PJ (uma tarefa por usuário vinculado)
+ * Limitado para que relatórios de contas com muitos vínculos não ocupem todo o pool do Hikari
+ */
+@Configuration
+public class ConsolidacaoExecutorConfig {
+
+    @Value("${fintech.consolidacao.threads:4}")
+    private int threads;
+
+    @Value("${fintech.consolidacao.fila:500}")
+    private int capacidadeFila;
+
+    @Bean(name = "consolidacaoExecutor")
+    public ThreadPoolTaskExecutor consolidacaoExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(capacidadeFila);
+        executor.setThreadNamePrefix("consolidacao-");
+        return executor;
+    }
+}
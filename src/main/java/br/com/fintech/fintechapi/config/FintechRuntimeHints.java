@@ -0,0 +1,75 @@
+package br.com.fintech.fintechapi.config;
+
+import jakarta.persistence.Entity;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.util.List;
+
+/**
+ * Hints de reflexão usados pelo processamento AOT (profiles "cds" e "native")
+ * Cobre as entidades JPA (Hibernate e Jackson) e as classes que o JJWT carrega por nome
+ */
+public class FintechRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String PACOTE_MODELO = "br.com.fintech.fintechapi.model";
+
+    /**
+     * Implementações que o jjwt-api instancia via Classes.newInstance(String)
+     */
+    private static final List<String> CLASSES_JJWT = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    );
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        registrarEntidades(hints, classLoader);
+
+        for (String classe : CLASSES_JJWT) {
+            hints.reflection().registerType(TypeReference.of(classe),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+
+        // Serializer/Deserializer do JJWT são descobertos via ServiceLoader
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+    }
+
+    /**
+     * Registra todas as classes @Entity do pacote de modelo
+     * A varredura roda em tempo de build (processamento AOT), não na inicialização
+     */
+    private void registrarEntidades(RuntimeHints hints, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+
+        for (BeanDefinition entidade : scanner.findCandidateComponents(PACOTE_MODELO)) {
+            hints.reflection().registerType(TypeReference.of(entidade.getBeanClassName()),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.fintech.fintechapi.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do Jackson
+ * O Spring Boot registra automaticamente no ObjectMapper todo bean do tipo Module
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Filtro usado pelo parâmetro fields= das listagens (classes anotadas com @JsonFilter)
+     */
+    public static final String FILTRO_CAMPOS = "campos";
+
+    /**
+     * Blackbird: troca o acesso por reflexão aos getters/setters e construtores dos DTOs
+     * por lambdas geradas via LambdaMetafactory, reduzindo o custo de (de)serialização
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Sem fields= na requisição, o filtro de campos serializa todas as propriedades
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer filtroCamposPadrao() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+                .addFilter(FILTRO_CAMPOS, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
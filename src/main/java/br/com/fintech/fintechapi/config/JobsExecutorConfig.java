@@ -0,0 +1,29 @@
+package br.com.fintech.fintechapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor dos jobs em lote (recorrência, vencimentos)
+ * Cada job divide o trabalho em partições por usuário e processa as partições em paralelo;
+ * o número de threads fica abaixo do pool do Hikari para não faltar conexão às requisições
+ */
+@Configuration
+public class JobsExecutorConfig {
+
+    @Value("${fintech.jobs.threads:3}")
+    private int threads;
+
+    @Bean(name = "jobsExecutor")
+    public ThreadPoolTaskExecutor jobsExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
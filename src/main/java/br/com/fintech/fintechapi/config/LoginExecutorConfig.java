@@ -0,0 +1,34 @@
+package br.com.fintech.fintechapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor dedicado à verificação de senha no login
+ * Limita quantos hashes (BCrypt/Argon2) são calculados ao mesmo tempo, para que picos
+ * de login não consumam as threads que atendem as demais requisições
+ */
+@Configuration
+public class LoginExecutorConfig {
+
+    @Value("${seguranca.login.threads:4}")
+    private int threads;
+
+    @Value("${seguranca.login.fila:200}")
+    private int capacidadeFila;
+
+    /**
+     * Pool fixo com fila limitada; quando a fila enche, a tarefa é rejeitada (HTTP 503)
+     */
+    @Bean(name = "loginExecutor")
+    public ThreadPoolTaskExecutor loginExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(capacidadeFila);
+        executor.setThreadNamePrefix("login-");
+        return executor;
+    }
+}
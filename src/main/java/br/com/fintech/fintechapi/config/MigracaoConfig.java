@@ -0,0 +1,39 @@
+package br.com.fintech.fintechapi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração das migrações versionadas do banco (Flyway)
+ *
+ * Apenas a instância líder (job de deploy) aplica os scripts, com fintech.migracao.modo=aplicar.
+ * As demais instâncias só validam os checksums contra a tabela de histórico, sem inspecionar
+ * os metadados das tabelas nem emitir DDL durante a inicialização.
+ */
+@Configuration
+public class MigracaoConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracaoConfig.class);
+
+    @Value("${fintech.migracao.modo:validar}")
+    private String modo;
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy() {
+        return flyway -> {
+            if ("aplicar".equalsIgnoreCase(modo)) {
+                log.info("Aplicando migrações pendentes do banco de dados");
+                flyway.migrate();
+            } else if ("validar".equalsIgnoreCase(modo)) {
+                // Falha na inicialização se houver script alterado ou migração ainda não aplicada pelo líder
+                flyway.validate();
+            } else {
+                throw new IllegalArgumentException("Modo de migração inválido: " + modo + " (use 'aplicar' ou 'validar')");
+            }
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.fintech.fintechapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Executores da projeção de saldo
+ * As consultas de cada projeção rodam em um pool limitado (fila cheia = HTTP 503) e o cálculo
+ * dos meses em um ForkJoinPool próprio, separado do commonPool
+ */
+@Configuration
+public class ProjecaoExecutorConfig {
+
+    @Value("${fintech.projecao.threads:4}")
+    private int threads;
+
+    @Value("${fintech.projecao.fila:100}")
+    private int capacidadeFila;
+
+    @Value("${fintech.projecao.paralelismo:0}")
+    private int paralelismo;
+
+    @Bean(name = "projecaoExecutor")
+    public ThreadPoolTaskExecutor projecaoExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(capacidadeFila);
+        executor.setThreadNamePrefix("projecao-");
+        return executor;
+    }
+
+    /**
+     * Paralelismo 0 = número de processadores
+     */
+    @Bean(name = "projecaoPool", destroyMethod = "shutdown")
+    public ForkJoinPool projecaoPool() {
+        return new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+}
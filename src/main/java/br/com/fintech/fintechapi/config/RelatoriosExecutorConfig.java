@@ -0,0 +1,33 @@
+package br.com.fintech.fintechapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor da geração assíncrona de relatórios
+ * Poucas threads: cada relatório ocupa uma conexão do Hikari durante as consultas agregadas
+ */
+@Configuration
+public class RelatoriosExecutorConfig {
+
+    @Value("${fintech.relatorios.threads:2}")
+    private int threads;
+
+    @Value("${fintech.relatorios.fila:50}")
+    private int capacidadeFila;
+
+    /**
+     * Pool fixo com fila limitada; quando a fila enche, o pedido é rejeitado (HTTP 503)
+     */
+    @Bean(name = "relatoriosExecutor")
+    public ThreadPoolTaskExecutor relatoriosExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(capacidadeFila);
+        executor.setThreadNamePrefix("relatorio-");
+        return executor;
+    }
+}
@@ -1,7 +1,11 @@
 package br.com.fintech.fintechapi.config;
 
+import br.com.fintech.fintechapi.security.AuthRateLimitFilter;
 import br.com.fintech.fintechapi.security.JwtAuthenticationFilter;
+import br.com.fintech.fintechapi.security.UsuarioRateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,7 +14,10 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -18,7 +25,9 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Configuração de segurança da aplicação
@@ -31,12 +40,47 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private AuthRateLimitFilter authRateLimitFilter;
+
+    @Autowired
+    private UsuarioRateLimitFilter usuarioRateLimitFilter;
+
+    @Value("${seguranca.senha.algoritmo:bcrypt}")
+    private String algoritmoSenha;
+
+    @Value("${seguranca.senha.bcrypt.custo:10}")
+    private int custoBcrypt;
+
+    @Value("${seguranca.senha.argon2.memoria-kb:19456}")
+    private int memoriaArgon2;
+
+    @Value("${seguranca.senha.argon2.iteracoes:2}")
+    private int iteracoesArgon2;
+
+    @Value("${seguranca.senha.argon2.paralelismo:1}")
+    private int paralelismoArgon2;
+
     /**
-     * Bean do BCryptPasswordEncoder para hash de senhas
+     * Bean do PasswordEncoder para hash de senhas
+     * Novos hashes usam o algoritmo configurado e recebem o prefixo {id};
+     * hashes antigos sem prefixo são verificados com BCrypt e atualizados no próximo login
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(custoBcrypt);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", new Argon2PasswordEncoder(16, 32, paralelismoArgon2, memoriaArgon2, iteracoesArgon2));
+
+        if (!encoders.containsKey(algoritmoSenha)) {
+            throw new IllegalArgumentException("Algoritmo de senha não suportado: " + algoritmoSenha);
+        }
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algoritmoSenha, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
     }
 
     /**
@@ -61,6 +105,9 @@ public class SecurityConfig {
             
             // Configurar autorização de requisições
             .authorizeHttpRequests(auth -> auth
+                // Redespacho assíncrono (ex.: conclusão do SSE) de uma requisição já autorizada
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Endpoints públicos (sem autenticação)
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/health").permitAll()
@@ -79,7 +126,13 @@ public class SecurityConfig {
             )
             
             // Adicionar o filtro JWT antes do filtro padrão de autenticação
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            
+            // Limite de tentativas nos endpoints de autenticação, antes de qualquer processamento do JWT
+            .addFilterBefore(authRateLimitFilter, JwtAuthenticationFilter.class)
+
+            // Limites por usuário (taxa e concorrência), depois que o JWT identificou o usuário
+            .addFilterAfter(usuarioRateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,49 @@
+package br.com.fintech.fintechapi.controller;
+
+import br.com.fintech.fintechapi.model.AlertaVencimento;
+import br.com.fintech.fintechapi.security.UsuarioAutenticado;
+import br.com.fintech.fintechapi.service.AlertaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller dos alertas de vencimento de despesas pendentes
+ */
+@RestController
+@RequestMapping("/api/alertas")
+public class AlertaController {
+
+    @Autowired
+    private AlertaService alertaService;
+
+    private Long getUsuarioAutenticadoId() {
+        return UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication()).idUsuario();
+    }
+
+    /**
+     * Lista os alertas (A_VENCER e VENCIDA) das despesas ainda pendentes
+     * GET /api/alertas
+     * GET /api/alertas?naoLidos=true
+     */
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<AlertaVencimento>> listar(@RequestParam(defaultValue = "false") boolean naoLidos) {
+        return ResponseEntity.ok(alertaService.listar(getUsuarioAutenticadoId(), naoLidos));
+    }
+
+    /**
+     * Marca o alerta como lido
+     * PUT /api/alertas/{id}/lido
+     */
+    @PutMapping("/{id}/lido")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public ResponseEntity<Void> marcarComoLido(@PathVariable Long id) {
+        alertaService.marcarComoLido(id, getUsuarioAutenticadoId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,22 +1,27 @@
 package br.com.fintech.fintechapi.controller;
 
-import br.com.fintech.fintechapi.model.PessoaFisica;
-import br.com.fintech.fintechapi.model.PessoaJuridica;
+import br.com.fintech.fintechapi.dto.LoginRequest;
+import br.com.fintech.fintechapi.dto.RefreshTokenRequest;
+import br.com.fintech.fintechapi.dto.TokenResponse;
+import br.com.fintech.fintechapi.dto.UsuarioRequest;
+import br.com.fintech.fintechapi.dto.UsuarioResponse;
+import br.com.fintech.fintechapi.mapper.UsuarioMapper;
 import br.com.fintech.fintechapi.model.TipoUsuario;
 import br.com.fintech.fintechapi.model.Usuario;
 import br.com.fintech.fintechapi.security.JwtUtil;
+import br.com.fintech.fintechapi.service.RefreshTokenService;
 import br.com.fintech.fintechapi.service.UsuarioService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Controller responsável pelos endpoints de autenticação
@@ -35,159 +40,136 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UsuarioMapper usuarioMapper;
+
+    @Autowired
+    @Qualifier("loginExecutor")
+    private Executor loginExecutor;
+
     /**
      * Endpoint para registro de novo usuário
      * POST /api/auth/registro
      * 
-     * @param requestBody Map contendo os dados do usuário
+     * @param request Dados do usuário e de Pessoa Física/Jurídica
      * @return Usuario criado (sem senha)
      */
     @PostMapping("/registro")
     @ResponseStatus(HttpStatus.CREATED)
-    @SuppressWarnings("unchecked")
-    public ResponseEntity<Map<String, Object>> registrar(@RequestBody Map<String, Object> requestBody) {
-        try {
-            // Extrair dados do usuário
-            String email = (String) requestBody.get("email");
-            String senha = (String) requestBody.get("senha");
-            String tipoUsuarioStr = (String) requestBody.get("tipoUsuario");
-            TipoUsuario tipoUsuario = TipoUsuario.valueOf(tipoUsuarioStr);
-
-            // Criar usuário
-            Usuario usuario = new Usuario(tipoUsuario, email, senha);
-
-            // Criar Pessoa Física ou Jurídica conforme o tipo
-            if (tipoUsuario == TipoUsuario.PF) {
-                Map<String, Object> pfData = (Map<String, Object>) requestBody.get("pessoaFisica");
-                if (pfData == null) {
-                    throw new IllegalArgumentException("Dados de Pessoa Física são obrigatórios");
-                }
-                
-                PessoaFisica pf = new PessoaFisica();
-                pf.setUsuario(usuario);
-                pf.setNome((String) pfData.get("nome"));
-                pf.setCpf((String) pfData.get("cpf"));
-                
-                // Data de nascimento (opcional)
-                if (pfData.get("dataNasc") != null) {
-                    pf.setDataNasc(java.time.LocalDate.parse((String) pfData.get("dataNasc")));
-                }
-                
-                usuario.setPessoaFisica(pf);
-                
-            } else if (tipoUsuario == TipoUsuario.PJ) {
-                Map<String, Object> pjData = (Map<String, Object>) requestBody.get("pessoaJuridica");
-                if (pjData == null) {
-                    throw new IllegalArgumentException("Dados de Pessoa Jurídica são obrigatórios");
-                }
-                
-                PessoaJuridica pj = new PessoaJuridica();
-                pj.setUsuario(usuario);
-                pj.setCnpj((String) pjData.get("cnpj"));
-                pj.setRazaoSocial((String) pjData.get("razaoSocial"));
-                
-                usuario.setPessoaJuridica(pj);
-            }
-
-            // Registrar usuário
-            Usuario usuarioSalvo = usuarioService.registrar(usuario);
-
-            // Preparar resposta (sem senha)
-            Map<String, Object> response = new HashMap<>();
-            response.put("idUsuario", usuarioSalvo.getIdUsuario());
-            response.put("email", usuarioSalvo.getEmail());
-            response.put("tipoUsuario", usuarioSalvo.getTipoUsuario());
-            response.put("criadoEm", usuarioSalvo.getCriadoEm());
-
-            // Adicionar dados de PF ou PJ
-            if (usuarioSalvo.getTipoUsuario() == TipoUsuario.PF && usuarioSalvo.getPessoaFisica() != null) {
-                Map<String, Object> pfResponse = new HashMap<>();
-                pfResponse.put("nome", usuarioSalvo.getPessoaFisica().getNome());
-                pfResponse.put("cpf", usuarioSalvo.getPessoaFisica().getCpf());
-                pfResponse.put("dataNasc", usuarioSalvo.getPessoaFisica().getDataNasc());
-                response.put("pessoaFisica", pfResponse);
-            } else if (usuarioSalvo.getTipoUsuario() == TipoUsuario.PJ && usuarioSalvo.getPessoaJuridica() != null) {
-                Map<String, Object> pjResponse = new HashMap<>();
-                pjResponse.put("cnpj", usuarioSalvo.getPessoaJuridica().getCnpj());
-                pjResponse.put("razaoSocial", usuarioSalvo.getPessoaJuridica().getRazaoSocial());
-                response.put("pessoaJuridica", pjResponse);
-            }
-
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
-            
-        } catch (IllegalArgumentException ex) {
-            throw ex;
-        } catch (Exception ex) {
-            throw new RuntimeException("Erro ao registrar usuário: " + ex.getMessage(), ex);
+    public ResponseEntity<UsuarioResponse> registrar(@RequestBody UsuarioRequest request) {
+        if (request.tipoUsuario() == null) {
+            throw new IllegalArgumentException("Tipo de usuário é obrigatório");
         }
+
+        // Dados de Pessoa Física ou Jurídica são obrigatórios conforme o tipo
+        if (request.tipoUsuario() == TipoUsuario.PF && request.pessoaFisica() == null) {
+            throw new IllegalArgumentException("Dados de Pessoa Física são obrigatórios");
+        }
+        if (request.tipoUsuario() == TipoUsuario.PJ && request.pessoaJuridica() == null) {
+            throw new IllegalArgumentException("Dados de Pessoa Jurídica são obrigatórios");
+        }
+
+        Usuario usuario = usuarioMapper.paraEntidade(request);
+
+        // Apenas o perfil correspondente ao tipo é gravado
+        if (usuario.getTipoUsuario() == TipoUsuario.PF) {
+            usuario.setPessoaJuridica(null);
+        } else {
+            usuario.setPessoaFisica(null);
+        }
+
+        // Registrar usuário
+        Usuario usuarioSalvo = usuarioService.registrar(usuario);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(usuarioMapper.paraResposta(usuarioSalvo));
     }
 
     /**
      * Endpoint para login de usuário com JWT
      * POST /api/auth/login
      * 
-     * @param loginRequest Map contendo email e senha
+     * A verificação da senha roda no executor dedicado de login, liberando a thread da requisição
+     * 
+     * @param loginRequest Email e senha
      * @return Token JWT e informações do usuário autenticado
      */
     @PostMapping("/login")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Map<String, Object>> login(@RequestBody Map<String, String> loginRequest) {
-        String email = loginRequest.get("email");
-        String senha = loginRequest.get("senha");
+    public CompletableFuture<ResponseEntity<TokenResponse>> login(@RequestBody LoginRequest loginRequest) {
+        String email = loginRequest.email();
+        String senha = loginRequest.senha();
+
+        // Autenticar usuário (hash da senha no executor limitado)
+        return CompletableFuture
+                .supplyAsync(() -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(email, senha)), loginExecutor)
+                .thenApply(this::montarRespostaLogin);
+    }
 
-        // Autenticar usuário
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(email, senha)
-        );
+    /**
+     * Monta a resposta do login a partir do usuário já autenticado
+     * O principal foi carregado com Pessoa Física/Jurídica em uma única consulta,
+     * então nenhuma nova busca ao banco é necessária
+     */
+    private ResponseEntity<TokenResponse> montarRespostaLogin(Authentication authentication) {
+        Usuario usuario = (Usuario) authentication.getPrincipal();
 
         // Gerar token JWT
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        String token = jwtUtil.generateToken(userDetails);
-
-        // Buscar usuário completo
-        Usuario usuario = usuarioService.buscarPorEmail(email);
-
-        // Preparar resposta com token JWT
-        Map<String, Object> response = new HashMap<>();
-        response.put("token", token);
-        response.put("type", "Bearer");
-        response.put("expiresIn", jwtUtil.getExpirationTime() / 1000); // em segundos
-        response.put("message", "Login realizado com sucesso");
-        
-        // Dados do usuário
-        Map<String, Object> usuarioData = new HashMap<>();
-        usuarioData.put("idUsuario", usuario.getIdUsuario());
-        usuarioData.put("email", usuario.getEmail());
-        usuarioData.put("tipoUsuario", usuario.getTipoUsuario());
-        usuarioData.put("criadoEm", usuario.getCriadoEm());
-
-        // Adicionar dados de PF ou PJ
-        if (usuario.getTipoUsuario() == TipoUsuario.PF) {
-            try {
-                PessoaFisica pf = usuarioService.buscarPessoaFisicaPorIdUsuario(usuario.getIdUsuario());
-                Map<String, Object> pfResponse = new HashMap<>();
-                pfResponse.put("nome", pf.getNome());
-                pfResponse.put("cpf", pf.getCpf());
-                pfResponse.put("dataNasc", pf.getDataNasc());
-                usuarioData.put("pessoaFisica", pfResponse);
-            } catch (Exception e) {
-                // PF não encontrada
-            }
-        } else if (usuario.getTipoUsuario() == TipoUsuario.PJ) {
-            try {
-                PessoaJuridica pj = usuarioService.buscarPessoaJuridicaPorIdUsuario(usuario.getIdUsuario());
-                Map<String, Object> pjResponse = new HashMap<>();
-                pjResponse.put("cnpj", pj.getCnpj());
-                pjResponse.put("razaoSocial", pj.getRazaoSocial());
-                usuarioData.put("pessoaJuridica", pjResponse);
-            } catch (Exception e) {
-                // PJ não encontrada
-            }
-        }
-        
-        response.put("usuario", usuarioData);
+        String token = jwtUtil.generateToken(usuario);
 
-        return ResponseEntity.ok(response);
+        // Resposta com token JWT, refresh token e dados do usuário
+        return ResponseEntity.ok(montarRespostaTokens(token, refreshTokenService.emitir(usuario),
+                "Login realizado com sucesso", usuarioMapper.paraResposta(usuario)));
+    }
+
+    /**
+     * Endpoint para renovar o access token a partir de um refresh token
+     * POST /api/auth/refresh
+     * 
+     * Não verifica a senha: o refresh token é rotacionado e um novo par de tokens é emitido
+     * 
+     * @param refreshRequest refreshToken atual
+     * @return Novo access token e novo refresh token
+     */
+    @PostMapping("/refresh")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<TokenResponse> refresh(@RequestBody RefreshTokenRequest refreshRequest) {
+        RefreshTokenService.Renovacao renovacao = refreshTokenService.renovar(refreshRequest.refreshToken());
+
+        String token = jwtUtil.generateToken(renovacao.usuario());
+
+        return ResponseEntity.ok(montarRespostaTokens(token, renovacao.refreshToken(),
+                "Token renovado com sucesso", null));
     }
-}
 
+    /**
+     * Endpoint para logout (revoga o refresh token informado)
+     * POST /api/auth/logout
+     * 
+     * @param logoutRequest refreshToken a revogar
+     */
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public ResponseEntity<Void> logout(@RequestBody RefreshTokenRequest logoutRequest) {
+        refreshTokenService.revogar(logoutRequest.refreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Método auxiliar para montar os dados comuns de resposta com tokens
+     */
+    private TokenResponse montarRespostaTokens(String token, String refreshToken, String message, UsuarioResponse usuario) {
+        return new TokenResponse(
+                token,
+                "Bearer",
+                jwtUtil.getExpirationTime() / 1000, // em segundos
+                refreshToken,
+                refreshTokenService.getExpirationTime() / 1000, // em segundos
+                message,
+                usuario
+        );
+    }
+}
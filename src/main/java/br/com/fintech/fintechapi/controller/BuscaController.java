@@ -0,0 +1,40 @@
+package br.com.fintech.fintechapi.controller;
+
+import br.com.fintech.fintechapi.dto.ResultadoBusca;
+import br.com.fintech.fintechapi.security.UsuarioAutenticado;
+import br.com.fintech.fintechapi.service.BuscaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller da busca textual em despesas e receitas
+ */
+@RestController
+@RequestMapping("/api/busca")
+public class BuscaController {
+
+    @Autowired
+    private BuscaService buscaService;
+
+    private Long getUsuarioAutenticadoId() {
+        return UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication()).idUsuario();
+    }
+
+    /**
+     * Busca despesas e receitas do usuário pela descrição (sem diferenciar maiúsculas e acentos)
+     * GET /api/busca?q=uber
+     * GET /api/busca?q=alug&limite=5
+     */
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<ResultadoBusca>> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(buscaService.buscar(getUsuarioAutenticadoId(), q, limite));
+    }
+}
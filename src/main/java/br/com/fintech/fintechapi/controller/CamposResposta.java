@@ -0,0 +1,61 @@
+package br.com.fintech.fintechapi.controller;
+
+import br.com.fintech.fintechapi.config.JacksonConfig;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Tratamento do parâmetro fields= das listagens (sparse fieldsets)
+ * Ex.: fields=idDespesa,valor ou fields=resumo (atalho para a representação compacta)
+ */
+final class CamposResposta {
+
+    static final String RESUMO = "resumo";
+
+    private CamposResposta() {
+    }
+
+    /**
+     * Interpreta o parâmetro fields=
+     * @param fields Valor do parâmetro (pode ser null)
+     * @param permitidos Propriedades existentes na representação completa
+     * @param resumo Propriedades da representação compacta (expansão de "resumo")
+     * @return Campos solicitados, ou null se o parâmetro não foi informado
+     */
+    static Set<String> interpretar(String fields, Set<String> permitidos, Set<String> resumo) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<String> campos = new LinkedHashSet<>();
+        for (String campo : fields.split(",")) {
+            campo = campo.trim();
+            if (campo.isEmpty()) {
+                continue;
+            }
+            if (RESUMO.equals(campo)) {
+                campos.addAll(resumo);
+            } else if (permitidos.contains(campo)) {
+                campos.add(campo);
+            } else {
+                throw new IllegalArgumentException("Campo inválido em fields: " + campo
+                        + " (permitidos: " + String.join(", ", permitidos) + ")");
+            }
+        }
+        return campos.isEmpty() ? null : campos;
+    }
+
+    /**
+     * Mantém no JSON apenas os campos solicitados (demais propriedades não são serializadas)
+     */
+    static MappingJacksonValue filtrar(Object corpo, Set<String> campos) {
+        MappingJacksonValue resposta = new MappingJacksonValue(corpo);
+        resposta.setFilters(new SimpleFilterProvider()
+                .addFilter(JacksonConfig.FILTRO_CAMPOS, SimpleBeanPropertyFilter.filterOutAllExcept(campos)));
+        return resposta;
+    }
+}
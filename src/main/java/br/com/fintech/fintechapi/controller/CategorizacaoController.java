@@ -0,0 +1,42 @@
+package br.com.fintech.fintechapi.controller;
+
+import br.com.fintech.fintechapi.categorizacao.ModeloCategorizacao.Sugestao;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import br.com.fintech.fintechapi.security.UsuarioAutenticado;
+import br.com.fintech.fintechapi.service.CategorizacaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller das sugestões de categoria para novos lançamentos
+ */
+@RestController
+@RequestMapping("/api/categorizacao")
+public class CategorizacaoController {
+
+    @Autowired
+    private CategorizacaoService categorizacaoService;
+
+    private Long getUsuarioAutenticadoId() {
+        return UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication()).idUsuario();
+    }
+
+    /**
+     * Sugere categoria/subcategoria para a descrição, com base nos lançamentos já categorizados do usuário
+     * GET /api/categorizacao/sugestao?tipo=DESPESA&descricao=Uber centro
+     *
+     * @return 200 com a sugestão e a confiança, ou 204 se não houver sugestão
+     */
+    @GetMapping("/sugestao")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<Sugestao> sugerir(
+            @RequestParam TipoLancamento tipo,
+            @RequestParam String descricao) {
+        return categorizacaoService.sugerir(getUsuarioAutenticadoId(), tipo, descricao)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+}
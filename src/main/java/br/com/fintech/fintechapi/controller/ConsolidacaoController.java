@@ -0,0 +1,76 @@
+package br.com.fintech.fintechapi.controller;
+
+import br.com.fintech.fintechapi.dto.ConsolidacaoResponse;
+import br.com.fintech.fintechapi.dto.VinculoRequest;
+import br.com.fintech.fintechapi.model.VinculoUsuario;
+import br.com.fintech.fintechapi.security.UsuarioAutenticado;
+import br.com.fintech.fintechapi.service.ConsolidacaoService;
+import br.com.fintech.fintechapi.service.VinculoUsuarioService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller do relatório consolidado PJ e dos vínculos entre contas
+ */
+@RestController
+@RequestMapping("/api/consolidacao")
+public class ConsolidacaoController {
+
+    @Autowired
+    private ConsolidacaoService consolidacaoService;
+
+    @Autowired
+    private VinculoUsuarioService vinculoUsuarioService;
+
+    private Long getUsuarioAutenticadoId() {
+        return UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication()).idUsuario();
+    }
+
+    /**
+     * Totais da conta PJ e dos usuários vinculados no período
+     * GET /api/consolidacao?dataInicio=2025-01-01&dataFim=2025-12-31
+     */
+    @GetMapping
+    public ResponseEntity<ConsolidacaoResponse> consolidar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+        return ResponseEntity.ok(consolidacaoService.consolidar(getUsuarioAutenticadoId(), dataInicio, dataFim));
+    }
+
+    /**
+     * Vínculos do usuário, como conta PJ ou como vinculado
+     * GET /api/consolidacao/vinculos
+     */
+    @GetMapping("/vinculos")
+    public ResponseEntity<List<VinculoUsuario>> listarVinculos() {
+        return ResponseEntity.ok(vinculoUsuarioService.listar(getUsuarioAutenticadoId()));
+    }
+
+    /**
+     * Autoriza a conta PJ do email a consolidar os lançamentos do usuário autenticado
+     * POST /api/consolidacao/vinculos
+     */
+    @PostMapping("/vinculos")
+    public ResponseEntity<VinculoUsuario> autorizar(@RequestBody VinculoRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(vinculoUsuarioService.autorizar(getUsuarioAutenticadoId(), request.email()));
+    }
+
+    /**
+     * Remove o vínculo (pela conta PJ ou pelo usuário vinculado)
+     * DELETE /api/consolidacao/vinculos/{id}
+     */
+    @DeleteMapping("/vinculos/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public ResponseEntity<Void> removerVinculo(@PathVariable Long id) {
+        vinculoUsuarioService.remover(id, getUsuarioAutenticadoId());
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,68 @@
+package br.com.fintech.fintechapi.controller;
+
+import br.com.fintech.fintechapi.extrato.FormatoExtrato;
+import br.com.fintech.fintechapi.security.UsuarioAutenticado;
+import br.com.fintech.fintechapi.service.ExtratoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.YearMonth;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controller do extrato mensal para download
+ */
+@RestController
+@RequestMapping("/api/extratos")
+public class ExtratoController {
+
+    @Autowired
+    private ExtratoService extratoService;
+
+    private Long getUsuarioAutenticadoId() {
+        return UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication()).idUsuario();
+    }
+
+    /**
+     * Extrato do mês em XLSX (padrão) ou PDF
+     * GET /api/extratos?mes=2025-11
+     * GET /api/extratos?mes=2025-11&formato=PDF
+     * A requisição é liberada enquanto o arquivo é gerado; 503 quando a fila de geração está cheia
+     */
+    @GetMapping
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> baixar(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth mes,
+            @RequestParam(required = false) FormatoExtrato formato) {
+
+        FormatoExtrato formatoExtrato = formato != null ? formato : FormatoExtrato.XLSX;
+        YearMonth mesExtrato = mes != null ? mes : YearMonth.now();
+
+        return extratoService.gerar(getUsuarioAutenticadoId(), mesExtrato, formatoExtrato).thenApply(arquivo -> {
+            long tamanho;
+            try {
+                tamanho = Files.size(arquivo);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            StreamingResponseBody corpo = saida -> extratoService.transferir(arquivo, saida);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(formatoExtrato.getContentType()))
+                    .contentLength(tamanho)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"extrato-" + mesExtrato + "." + formatoExtrato.getExtensao() + "\"")
+                    .body(corpo);
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.fintech.fintechapi.controller;
+
+import br.com.fintech.fintechapi.dto.OrcamentoRequest;
+import br.com.fintech.fintechapi.dto.SituacaoOrcamento;
+import br.com.fintech.fintechapi.model.Orcamento;
+import br.com.fintech.fintechapi.security.UsuarioAutenticado;
+import br.com.fintech.fintechapi.service.OrcamentoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller dos orçamentos mensais por categoria
+ */
+@RestController
+@RequestMapping("/api/orcamentos")
+public class OrcamentoController {
+
+    @Autowired
+    private OrcamentoService orcamentoService;
+
+    private Long getUsuarioAutenticadoId() {
+        return UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication()).idUsuario();
+    }
+
+    /**
+     * Lista os orçamentos do usuário
+     * GET /api/orcamentos
+     */
+    @GetMapping
+    public ResponseEntity<List<Orcamento>> listar() {
+        return ResponseEntity.ok(orcamentoService.listarPorUsuario(getUsuarioAutenticadoId()));
+    }
+
+    /**
+     * Define (ou substitui) o limite mensal de uma categoria
+     * POST /api/orcamentos
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<Orcamento> definir(@RequestBody OrcamentoRequest request) {
+        return ResponseEntity.ok(orcamentoService.definir(getUsuarioAutenticadoId(), request.idCategoria(), request.valorLimite()));
+    }
+
+    /**
+     * Remove o orçamento
+     * DELETE /api/orcamentos/{id}
+     */
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public ResponseEntity<Void> deletar(@PathVariable Long id) {
+        orcamentoService.deletar(id, getUsuarioAutenticadoId());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Total gasto e limite de cada orçamento no mês (padrão: mês atual)
+     * GET /api/orcamentos/situacao?mes=2025-11-01
+     */
+    @GetMapping("/situacao")
+    public ResponseEntity<List<SituacaoOrcamento>> situacao(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate mes) {
+        return ResponseEntity.ok(orcamentoService.situacao(getUsuarioAutenticadoId(), mes != null ? mes : LocalDate.now()));
+    }
+}
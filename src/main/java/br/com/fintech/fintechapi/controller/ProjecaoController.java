@@ -0,0 +1,37 @@
+package br.com.fintech.fintechapi.controller;
+
+import br.com.fintech.fintechapi.dto.ProjecaoResponse;
+import br.com.fintech.fintechapi.security.UsuarioAutenticado;
+import br.com.fintech.fintechapi.service.ProjecaoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller da projeção de saldo
+ */
+@RestController
+@RequestMapping("/api/projecao")
+public class ProjecaoController {
+
+    @Autowired
+    private ProjecaoService projecaoService;
+
+    private Long getUsuarioAutenticadoId() {
+        return UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication()).idUsuario();
+    }
+
+    /**
+     * Saldo projetado mês a mês, contando o mês atual
+     * GET /api/projecao
+     * GET /api/projecao?meses=12
+     */
+    @GetMapping
+    public ResponseEntity<ProjecaoResponse> projetar(@RequestParam(required = false) Integer meses) {
+        return ResponseEntity.ok(projecaoService.projetar(getUsuarioAutenticadoId(), meses));
+    }
+}
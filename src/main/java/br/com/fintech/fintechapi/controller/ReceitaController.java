@@ -1,24 +1,25 @@
 package br.com.fintech.fintechapi.controller;
 
-import br.com.fintech.fintechapi.model.Categoria;
+import br.com.fintech.fintechapi.dto.ReceitaRequest;
+import br.com.fintech.fintechapi.dto.ReceitaResponse;
+import br.com.fintech.fintechapi.dto.ReceitaResumo;
+import br.com.fintech.fintechapi.mapper.ReceitaMapper;
 import br.com.fintech.fintechapi.model.Receita;
-import br.com.fintech.fintechapi.model.Subcategoria;
-import br.com.fintech.fintechapi.model.Usuario;
+import br.com.fintech.fintechapi.security.UsuarioAutenticado;
 import br.com.fintech.fintechapi.service.ReceitaService;
-import br.com.fintech.fintechapi.service.UsuarioService;
+import br.com.fintech.fintechapi.service.VersaoLedgerService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 
 /**
  * Controller responsável pelos endpoints de Receitas
@@ -27,20 +28,34 @@ import java.util.Map;
 @RequestMapping("/api/receitas")
 public class ReceitaController {
 
+    /**
+     * Propriedades aceitas no parâmetro fields=
+     */
+    private static final Set<String> CAMPOS = Set.of(
+            "idReceita", "descricao", "valor", "dataEntrada", "recorrente", "pendente",
+            "categoria", "subcategoria", "criadoEm", "atualizadoEm", "idRegraRecorrencia"
+    );
+
+    /**
+     * Listagens podem ser guardadas pelo cliente, mas sempre revalidadas com If-None-Match
+     */
+    private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private ReceitaService receitaService;
 
     @Autowired
-    private UsuarioService usuarioService;
+    private ReceitaMapper receitaMapper;
+
+    @Autowired
+    private VersaoLedgerService versaoLedgerService;
 
     /**
      * Método auxiliar para obter o ID do usuário autenticado
      */
     private Long getUsuarioAutenticadoId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        Usuario usuario = usuarioService.buscarPorEmail(email);
-        return usuario.getIdUsuario();
+        // ID vem do próprio access token (claim uid), sem consulta ao banco
+        return UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication()).idUsuario();
     }
 
     /**
@@ -49,6 +64,8 @@ public class ReceitaController {
      * GET /api/receitas?page=0&size=20
      * GET /api/receitas?dataInicio=2025-01-01&dataFim=2025-12-31&page=0&size=20
      * GET /api/receitas?idCategoria=1&pendente=1&page=0&size=20
+     * GET /api/receitas?fields=resumo&page=0&size=50
+     * GET /api/receitas?fields=idReceita,valor,dataEntrada
      * 
      * @param dataInicio Data inicial (opcional)
      * @param dataFim Data final (opcional)
@@ -56,6 +73,7 @@ public class ReceitaController {
      * @param pendente Status pendente 0=não, 1=sim (opcional)
      * @param page Número da página (0-based, padrão 0)
      * @param size Tamanho da página (padrão 20, máximo 100)
+     * @param fields Campos a retornar, separados por vírgula; "resumo" = id, descricao, valor, data e pendente (opcional)
      * @return Página de receitas filtradas ou lista completa se paginação não especificada
      */
     @GetMapping
@@ -66,33 +84,49 @@ public class ReceitaController {
             @RequestParam(required = false) Long idCategoria,
             @RequestParam(required = false) Integer pendente,
             @RequestParam(required = false) Integer page,
-            @RequestParam(required = false) Integer size) {
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
         
         Long idUsuario = getUsuarioAutenticadoId();
-        
-        // Se paginação foi fornecida, usa endpoint com paginação
-        if (page != null || size != null) {
-            int pageNumber = (page != null) ? page : 0;
-            int pageSize = (size != null) ? size : 20;
-            
-            Page<Receita> paginaReceitas = receitaService.listarComFiltrosEPaginacao(
+
+        // Nada mudou desde a última listagem do cliente: 304 sem executar a consulta
+        String etag = versaoLedgerService.etag(idUsuario);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        Set<String> campos = CamposResposta.interpretar(fields, CAMPOS, ReceitaResumo.CAMPOS);
+        boolean paginado = page != null || size != null;
+        int pageNumber = (page != null) ? page : 0;
+        int pageSize = (size != null) ? size : 20;
+
+        // Campos cobertos pela representação compacta: projeção que lê apenas essas colunas
+        if (campos != null && ReceitaResumo.CAMPOS.containsAll(campos)) {
+            Object resumo = paginado
+                    ? receitaService.listarResumoComPaginacao(idUsuario, dataInicio, dataFim, idCategoria, pendente, pageNumber, pageSize)
+                    : receitaService.listarResumo(idUsuario, dataInicio, dataFim, idCategoria, pendente);
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDAR).body(CamposResposta.filtrar(resumo, campos));
+        }
+
+        Object receitas;
+        if (paginado) {
+            // Se paginação foi fornecida, usa endpoint com paginação
+            receitas = receitaService.listarComFiltrosEPaginacao(
                 idUsuario, dataInicio, dataFim, idCategoria, pendente, pageNumber, pageSize
             );
-            return ResponseEntity.ok(paginaReceitas);
-        }
-        
-        // Caso contrário, retorna lista completa (sem paginação)
-        // Se algum filtro foi fornecido, usa o método com filtros
-        if (dataInicio != null || dataFim != null || idCategoria != null || pendente != null) {
-            List<Receita> receitas = receitaService.listarComFiltros(
+        } else if (dataInicio != null || dataFim != null || idCategoria != null || pendente != null) {
+            // Sem paginação, com filtros
+            receitas = receitaService.listarComFiltros(
                 idUsuario, dataInicio, dataFim, idCategoria, pendente
             );
-            return ResponseEntity.ok(receitas);
+        } else {
+            // Caso contrário, lista todas
+            receitas = receitaService.listarPorUsuario(idUsuario);
         }
-        
-        // Caso contrário, lista todas
-        List<Receita> receitas = receitaService.listarPorUsuario(idUsuario);
-        return ResponseEntity.ok(receitas);
+
+        Object corpo = campos != null ? CamposResposta.filtrar(receitas, campos) : receitas;
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDAR).body(corpo);
     }
 
     /**
@@ -122,11 +156,17 @@ public class ReceitaController {
     @ResponseStatus(HttpStatus.OK)
     public ResponseEntity<List<Receita>> listarPorPeriodo(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            WebRequest webRequest) {
         
         Long idUsuario = getUsuarioAutenticadoId();
+        String etag = versaoLedgerService.etag(idUsuario);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<Receita> receitas = receitaService.listarPorPeriodo(idUsuario, dataInicio, dataFim);
-        return ResponseEntity.ok(receitas);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDAR).body(receitas);
     }
 
     /**
@@ -137,82 +177,33 @@ public class ReceitaController {
      */
     @GetMapping("/pendentes")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<Receita>> listarPendentes() {
+    public ResponseEntity<List<Receita>> listarPendentes(WebRequest webRequest) {
         Long idUsuario = getUsuarioAutenticadoId();
+        String etag = versaoLedgerService.etag(idUsuario);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<Receita> receitas = receitaService.listarPendentes(idUsuario);
-        return ResponseEntity.ok(receitas);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDAR).body(receitas);
     }
 
     /**
      * Cria uma nova receita
      * POST /api/receitas
      * 
-     * @param requestBody Map contendo dados da receita
+     * @param request Dados da receita
      * @return Receita criada
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<Map<String, Object>> criar(@RequestBody Map<String, Object> requestBody) {
+    public ResponseEntity<ReceitaResponse> criar(@RequestBody ReceitaRequest request) {
         Long idUsuario = getUsuarioAutenticadoId();
 
-        // Montar objeto Receita
-        Receita receita = new Receita();
-        receita.setDescricao((String) requestBody.get("descricao"));
-        receita.setValor(new java.math.BigDecimal(requestBody.get("valor").toString()));
-        receita.setDataEntrada(LocalDate.parse((String) requestBody.get("dataEntrada")));
-        
-        // Campos opcionais
-        if (requestBody.containsKey("recorrente")) {
-            receita.setRecorrente((Integer) requestBody.get("recorrente"));
-        }
-        if (requestBody.containsKey("pendente")) {
-            receita.setPendente((Integer) requestBody.get("pendente"));
-        }
-        
-        // Categoria (opcional)
-        if (requestBody.containsKey("idCategoria") && requestBody.get("idCategoria") != null) {
-            Categoria categoria = new Categoria();
-            categoria.setIdCategoria(Long.valueOf(requestBody.get("idCategoria").toString()));
-            receita.setCategoria(categoria);
-        }
-        
-        // Subcategoria (opcional)
-        if (requestBody.containsKey("idSubcategoria") && requestBody.get("idSubcategoria") != null) {
-            Subcategoria subcategoria = new Subcategoria();
-            subcategoria.setIdSubcategoria(Long.valueOf(requestBody.get("idSubcategoria").toString()));
-            receita.setSubcategoria(subcategoria);
-        }
-
-        Receita receitaCriada = receitaService.criar(receita, idUsuario);
+        Receita receitaCriada = receitaService.criar(receitaMapper.paraEntidade(request), idUsuario);
 
-        // Montar resposta
-        Map<String, Object> response = new HashMap<>();
-        response.put("idReceita", receitaCriada.getIdReceita());
-        response.put("descricao", receitaCriada.getDescricao());
-        response.put("valor", receitaCriada.getValor());
-        response.put("dataEntrada", receitaCriada.getDataEntrada());
-        response.put("recorrente", receitaCriada.getRecorrente());
-        response.put("pendente", receitaCriada.getPendente());
-        
-        if (receitaCriada.getCategoria() != null) {
-            Map<String, Object> categoriaMap = new HashMap<>();
-            categoriaMap.put("idCategoria", receitaCriada.getCategoria().getIdCategoria());
-            categoriaMap.put("nomeCategoria", receitaCriada.getCategoria().getNomeCategoria());
-            categoriaMap.put("tipoCategoria", receitaCriada.getCategoria().getTipoCategoria());
-            response.put("categoria", categoriaMap);
-        }
-        
-        if (receitaCriada.getSubcategoria() != null) {
-            Map<String, Object> subcategoriaMap = new HashMap<>();
-            subcategoriaMap.put("idSubcategoria", receitaCriada.getSubcategoria().getIdSubcategoria());
-            subcategoriaMap.put("nomeSubcat", receitaCriada.getSubcategoria().getNomeSubcat());
-            response.put("subcategoria", subcategoriaMap);
-        }
-        
-        response.put("criadoEm", receitaCriada.getCriadoEm());
-        response.put("message", "Receita criada com sucesso");
-
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(receitaMapper.paraResposta(receitaCriada, "Receita criada com sucesso"));
     }
 
     /**
@@ -220,89 +211,24 @@ public class ReceitaController {
      * PUT /api/receitas/{id}
      * 
      * @param id ID da receita
-     * @param requestBody Map contendo dados atualizados
+     * @param request Dados atualizados (campos ausentes não são alterados)
      * @return Receita atualizada
      */
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Map<String, Object>> atualizar(
+    public ResponseEntity<ReceitaResponse> atualizar(
             @PathVariable Long id,
-            @RequestBody Map<String, Object> requestBody) {
+            @RequestBody ReceitaRequest request) {
         
         Long idUsuario = getUsuarioAutenticadoId();
 
-        // Montar objeto Receita
-        Receita receita = new Receita();
+        // Campos ausentes ficam null e não são alterados pelo service
+        Receita receita = receitaMapper.paraEntidade(request);
         receita.setIdReceita(id);
-        
-        if (requestBody.containsKey("descricao")) {
-            receita.setDescricao((String) requestBody.get("descricao"));
-        }
-        if (requestBody.containsKey("valor")) {
-            receita.setValor(new java.math.BigDecimal(requestBody.get("valor").toString()));
-        }
-        if (requestBody.containsKey("dataEntrada")) {
-            receita.setDataEntrada(LocalDate.parse((String) requestBody.get("dataEntrada")));
-        }
-        if (requestBody.containsKey("recorrente")) {
-            receita.setRecorrente((Integer) requestBody.get("recorrente"));
-        }
-        if (requestBody.containsKey("pendente")) {
-            receita.setPendente((Integer) requestBody.get("pendente"));
-        }
-        
-        // Categoria (opcional)
-        if (requestBody.containsKey("idCategoria")) {
-            if (requestBody.get("idCategoria") != null) {
-                Categoria categoria = new Categoria();
-                categoria.setIdCategoria(Long.valueOf(requestBody.get("idCategoria").toString()));
-                receita.setCategoria(categoria);
-            } else {
-                receita.setCategoria(new Categoria()); // Para remover a categoria
-            }
-        }
-        
-        // Subcategoria (opcional)
-        if (requestBody.containsKey("idSubcategoria")) {
-            if (requestBody.get("idSubcategoria") != null) {
-                Subcategoria subcategoria = new Subcategoria();
-                subcategoria.setIdSubcategoria(Long.valueOf(requestBody.get("idSubcategoria").toString()));
-                receita.setSubcategoria(subcategoria);
-            } else {
-                receita.setSubcategoria(new Subcategoria()); // Para remover a subcategoria
-            }
-        }
 
         Receita receitaAtualizada = receitaService.atualizar(receita, idUsuario);
 
-        // Montar resposta
-        Map<String, Object> response = new HashMap<>();
-        response.put("idReceita", receitaAtualizada.getIdReceita());
-        response.put("descricao", receitaAtualizada.getDescricao());
-        response.put("valor", receitaAtualizada.getValor());
-        response.put("dataEntrada", receitaAtualizada.getDataEntrada());
-        response.put("recorrente", receitaAtualizada.getRecorrente());
-        response.put("pendente", receitaAtualizada.getPendente());
-        
-        if (receitaAtualizada.getCategoria() != null) {
-            Map<String, Object> categoriaMap = new HashMap<>();
-            categoriaMap.put("idCategoria", receitaAtualizada.getCategoria().getIdCategoria());
-            categoriaMap.put("nomeCategoria", receitaAtualizada.getCategoria().getNomeCategoria());
-            categoriaMap.put("tipoCategoria", receitaAtualizada.getCategoria().getTipoCategoria());
-            response.put("categoria", categoriaMap);
-        }
-        
-        if (receitaAtualizada.getSubcategoria() != null) {
-            Map<String, Object> subcategoriaMap = new HashMap<>();
-            subcategoriaMap.put("idSubcategoria", receitaAtualizada.getSubcategoria().getIdSubcategoria());
-            subcategoriaMap.put("nomeSubcat", receitaAtualizada.getSubcategoria().getNomeSubcat());
-            response.put("subcategoria", subcategoriaMap);
-        }
-        
-        response.put("criadoEm", receitaAtualizada.getCriadoEm());
-        response.put("message", "Receita atualizada com sucesso");
-
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(receitaMapper.paraResposta(receitaAtualizada, "Receita atualizada com sucesso"));
     }
 
     /**
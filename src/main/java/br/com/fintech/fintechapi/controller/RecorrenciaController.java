@@ -0,0 +1,76 @@
+package br.com.fintech.fintechapi.controller;
+
+import br.com.fintech.fintechapi.dto.RegraRecorrenciaRequest;
+import br.com.fintech.fintechapi.mapper.RegraRecorrenciaMapper;
+import br.com.fintech.fintechapi.model.RegraRecorrencia;
+import br.com.fintech.fintechapi.security.UsuarioAutenticado;
+import br.com.fintech.fintechapi.service.RecorrenciaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller das regras de recorrência
+ * As despesas/receitas geradas aparecem nas listagens normais, com recorrente=1 e idRegraRecorrencia
+ */
+@RestController
+@RequestMapping("/api/recorrencias")
+public class RecorrenciaController {
+
+    @Autowired
+    private RecorrenciaService recorrenciaService;
+
+    @Autowired
+    private RegraRecorrenciaMapper regraRecorrenciaMapper;
+
+    private Long getUsuarioAutenticadoId() {
+        return UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication()).idUsuario();
+    }
+
+    /**
+     * Lista as regras do usuário autenticado
+     * GET /api/recorrencias
+     */
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<List<RegraRecorrencia>> listar() {
+        return ResponseEntity.ok(recorrenciaService.listarPorUsuario(getUsuarioAutenticadoId()));
+    }
+
+    @GetMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<RegraRecorrencia> buscarPorId(@PathVariable Long id) {
+        return ResponseEntity.ok(recorrenciaService.buscarPorId(id, getUsuarioAutenticadoId()));
+    }
+
+    /**
+     * Cria uma regra de recorrência
+     * POST /api/recorrencias
+     * Body: {"tipoLancamento": "DESPESA", "descricao": "Aluguel", "valor": 1500.00,
+     *        "frequencia": "MENSAL", "intervalo": 1, "dataInicio": "2025-03-10", "idCategoria": 3}
+     * 
+     * As ocorrências até o horizonte (fintech.recorrencia.horizonte-dias) são geradas na criação;
+     * as seguintes, pelo job de recorrência
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public ResponseEntity<RegraRecorrencia> criar(@RequestBody RegraRecorrenciaRequest request) {
+        RegraRecorrencia regra = recorrenciaService.criar(regraRecorrenciaMapper.paraEntidade(request), getUsuarioAutenticadoId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(regra);
+    }
+
+    /**
+     * Exclui a regra e as ocorrências futuras ainda pendentes; as passadas ou pagas são mantidas
+     * DELETE /api/recorrencias/{id}
+     */
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public ResponseEntity<Void> deletar(@PathVariable Long id) {
+        recorrenciaService.deletar(id, getUsuarioAutenticadoId());
+        return ResponseEntity.noContent().build();
+    }
+}
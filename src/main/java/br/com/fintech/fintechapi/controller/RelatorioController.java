@@ -0,0 +1,70 @@
+package br.com.fintech.fintechapi.controller;
+
+import br.com.fintech.fintechapi.dto.RelatorioJobResponse;
+import br.com.fintech.fintechapi.dto.RelatorioRequest;
+import br.com.fintech.fintechapi.model.StatusRelatorio;
+import br.com.fintech.fintechapi.security.UsuarioAutenticado;
+import br.com.fintech.fintechapi.service.RelatorioJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Controller dos relatórios assíncronos
+ */
+@RestController
+@RequestMapping("/api/relatorios")
+public class RelatorioController {
+
+    @Autowired
+    private RelatorioJobService relatorioJobService;
+
+    private Long getUsuarioAutenticadoId() {
+        return UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication()).idUsuario();
+    }
+
+    /**
+     * Solicita um relatório
+     * POST /api/relatorios  {"tipo": "ANUAL", "ano": 2025}
+     * 200 quando o resultado já está em cache; 202 com Location para acompanhar a geração
+     */
+    @PostMapping
+    public ResponseEntity<RelatorioJobResponse> solicitar(@RequestBody RelatorioRequest request) {
+        RelatorioJobResponse job = relatorioJobService.solicitar(getUsuarioAutenticadoId(), request);
+        if (job.status() == StatusRelatorio.CONCLUIDO) {
+            return ResponseEntity.ok(job);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/relatorios/" + job.idJob()))
+                .header(HttpHeaders.RETRY_AFTER, "2")
+                .body(job);
+    }
+
+    /**
+     * Situação do pedido
+     * GET /api/relatorios/{id}
+     */
+    @GetMapping("/{id}")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<RelatorioJobResponse> buscar(@PathVariable Long id) {
+        return ResponseEntity.ok(relatorioJobService.buscar(id, getUsuarioAutenticadoId()));
+    }
+
+    /**
+     * Resultado do relatório concluído (503 enquanto está em geração)
+     * GET /api/relatorios/{id}/resultado
+     */
+    @GetMapping("/{id}/resultado")
+    public ResponseEntity<String> resultado(@PathVariable Long id) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"relatorio-" + id + ".json\"")
+                .body(relatorioJobService.resultado(id, getUsuarioAutenticadoId()));
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.fintech.fintechapi.controller;
+
+import br.com.fintech.fintechapi.dto.SincronizacaoResponse;
+import br.com.fintech.fintechapi.dto.VersaoResponse;
+import br.com.fintech.fintechapi.security.UsuarioAutenticado;
+import br.com.fintech.fintechapi.service.NotificacaoLedgerService;
+import br.com.fintech.fintechapi.service.SincronizacaoService;
+import br.com.fintech.fintechapi.service.VersaoLedgerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controller responsável pelos endpoints de sincronização dos clientes
+ */
+@RestController
+@RequestMapping("/api/sincronizacao")
+public class SincronizacaoController {
+
+    @Autowired
+    private VersaoLedgerService versaoLedgerService;
+
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    @Autowired
+    private NotificacaoLedgerService notificacaoLedgerService;
+
+    private Long getUsuarioAutenticadoId() {
+        return UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication()).idUsuario();
+    }
+
+    /**
+     * Versão atual dos lançamentos do usuário autenticado
+     * GET /api/sincronizacao/versao
+     * 
+     * O cliente só precisa buscar /api/despesas e /api/receitas quando este número muda.
+     * Servido da memória (sem consulta ao banco enquanto a versão local estiver válida)
+     * 
+     * @return Versão atual
+     */
+    @GetMapping("/versao")
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<VersaoResponse> buscarVersao(WebRequest webRequest) {
+        Long idUsuario = getUsuarioAutenticadoId();
+        long versao = versaoLedgerService.obterVersao(idUsuario);
+
+        String etag = versaoLedgerService.etag(idUsuario, versao);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(new VersaoResponse(versao));
+    }
+
+    /**
+     * Sincronização incremental: lançamentos criados, atualizados e excluídos desde a marca do cliente
+     * GET /api/sincronizacao
+     * GET /api/sincronizacao?desde=2025-03-10T14:30:00
+     * 
+     * @param desde Marca devolvida na sincronização anterior (opcional; ausente = sincronização completa)
+     * @return Alterações e a nova marca
+     */
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public ResponseEntity<SincronizacaoResponse> sincronizar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde) {
+        
+        Long idUsuario = getUsuarioAutenticadoId();
+        return ResponseEntity.ok(sincronizacaoService.buscarAlteracoes(idUsuario, desde));
+    }
+
+    /**
+     * Canal de eventos (server-sent events) com a versão dos lançamentos do usuário autenticado
+     * GET /api/sincronizacao/eventos
+     * 
+     * Substitui o polling das listagens: o primeiro evento "versao" traz a versão atual e os seguintes
+     * chegam após cada alteração confirmada; ao receber, o cliente chama GET /api/sincronizacao?desde=
+     * 
+     * @return Stream text/event-stream, ou 429 se o limite de conexões abertas foi atingido
+     */
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> assinarEventos() {
+        SseEmitter emitter = notificacaoLedgerService.assinar(getUsuarioAutenticadoId());
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+
+        // Impede que proxies (ex.: nginx) acumulem os eventos antes de repassar ao cliente
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
@@ -1,8 +1,8 @@
 package br.com.fintech.fintechapi.controller;
 
-import br.com.fintech.fintechapi.model.PessoaFisica;
-import br.com.fintech.fintechapi.model.PessoaJuridica;
-import br.com.fintech.fintechapi.model.TipoUsuario;
+import br.com.fintech.fintechapi.dto.UsuarioRequest;
+import br.com.fintech.fintechapi.dto.UsuarioResponse;
+import br.com.fintech.fintechapi.mapper.UsuarioMapper;
 import br.com.fintech.fintechapi.model.Usuario;
 import br.com.fintech.fintechapi.service.UsuarioService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,10 +12,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Controller responsável pelos endpoints de gerenciamento de usuários
@@ -28,6 +25,9 @@ public class UsuarioController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private UsuarioMapper usuarioMapper;
+
     /**
      * Busca o usuário autenticado
      * GET /api/usuarios/me
@@ -36,13 +36,13 @@ public class UsuarioController {
      */
     @GetMapping("/me")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Map<String, Object>> buscarUsuarioAutenticado() {
+    public ResponseEntity<UsuarioResponse> buscarUsuarioAutenticado() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
         
         Usuario usuario = usuarioService.buscarPorEmail(email);
         
-        return ResponseEntity.ok(montarResponseUsuario(usuario));
+        return ResponseEntity.ok(usuarioMapper.paraResposta(usuario));
     }
 
     /**
@@ -53,13 +53,10 @@ public class UsuarioController {
      */
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<Map<String, Object>>> listarTodos() {
-        List<Usuario> usuarios = usuarioService.listarTodos();
-        List<Map<String, Object>> response = new ArrayList<>();
-        
-        for (Usuario usuario : usuarios) {
-            response.add(montarResponseUsuario(usuario));
-        }
+    public ResponseEntity<List<UsuarioResponse>> listarTodos() {
+        List<UsuarioResponse> response = usuarioService.listarTodos().stream()
+                .map(usuarioMapper::paraResposta)
+                .toList();
         
         return ResponseEntity.ok(response);
     }
@@ -73,9 +70,9 @@ public class UsuarioController {
      */
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Map<String, Object>> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<UsuarioResponse> buscarPorId(@PathVariable Long id) {
         Usuario usuario = usuarioService.buscarPorId(id);
-        return ResponseEntity.ok(montarResponseUsuario(usuario));
+        return ResponseEntity.ok(usuarioMapper.paraResposta(usuario));
     }
 
     /**
@@ -83,53 +80,23 @@ public class UsuarioController {
      * PUT /api/usuarios/{id}
      * 
      * @param id ID do usuário
-     * @param requestBody Map contendo dados do usuario e pessoaFisica/pessoaJuridica
+     * @param request Dados do usuario e pessoaFisica/pessoaJuridica
      * @return Usuario atualizado
      */
-    @SuppressWarnings("unchecked")
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<Map<String, Object>> atualizar(
+    public ResponseEntity<UsuarioResponse> atualizar(
             @PathVariable Long id,
-            @RequestBody Map<String, Object> requestBody) {
+            @RequestBody UsuarioRequest request) {
         
-        // Extrair dados do usuario
-        Usuario usuario = new Usuario();
+        // Senha é opcional na atualização; PF/PJ só são alterados se enviados
+        Usuario usuario = usuarioMapper.paraEntidade(request);
         usuario.setIdUsuario(id);
-        usuario.setEmail((String) requestBody.get("email"));
-        usuario.setTipoUsuario(TipoUsuario.valueOf((String) requestBody.get("tipoUsuario")));
-        
-        // Senha é opcional na atualização
-        if (requestBody.containsKey("senha")) {
-            usuario.setSenha((String) requestBody.get("senha"));
-        }
-        
-        // Extrair dados de Pessoa Física (se existir)
-        PessoaFisica pessoaFisica = null;
-        if (requestBody.containsKey("pessoaFisica")) {
-            Map<String, Object> pfData = (Map<String, Object>) requestBody.get("pessoaFisica");
-            pessoaFisica = new PessoaFisica();
-            pessoaFisica.setNome((String) pfData.get("nome"));
-            pessoaFisica.setCpf((String) pfData.get("cpf"));
-            
-            if (pfData.containsKey("dataNasc")) {
-                pessoaFisica.setDataNasc(java.time.LocalDate.parse((String) pfData.get("dataNasc")));
-            }
-        }
-        
-        // Extrair dados de Pessoa Jurídica (se existir)
-        PessoaJuridica pessoaJuridica = null;
-        if (requestBody.containsKey("pessoaJuridica")) {
-            Map<String, Object> pjData = (Map<String, Object>) requestBody.get("pessoaJuridica");
-            pessoaJuridica = new PessoaJuridica();
-            pessoaJuridica.setCnpj((String) pjData.get("cnpj"));
-            pessoaJuridica.setRazaoSocial((String) pjData.get("razaoSocial"));
-        }
         
         // Atualizar usuario e relacionamentos
-        Usuario usuarioAtualizado = usuarioService.atualizar(usuario, pessoaFisica, pessoaJuridica);
+        Usuario usuarioAtualizado = usuarioService.atualizar(usuario, usuario.getPessoaFisica(), usuario.getPessoaJuridica());
         
-        return ResponseEntity.ok(montarResponseUsuario(usuarioAtualizado));
+        return ResponseEntity.ok(usuarioMapper.paraResposta(usuarioAtualizado));
     }
 
     /**
@@ -144,47 +111,4 @@ public class UsuarioController {
         usuarioService.deletar(id);
         return ResponseEntity.noContent().build();
     }
-
-    /**
-     * Método auxiliar para montar a resposta do usuário sem expor a senha
-     * 
-     * @param usuario Usuario a ser transformado
-     * @return Map com os dados do usuário
-     */
-    private Map<String, Object> montarResponseUsuario(Usuario usuario) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("idUsuario", usuario.getIdUsuario());
-        response.put("email", usuario.getEmail());
-        response.put("tipoUsuario", usuario.getTipoUsuario());
-        response.put("criadoEm", usuario.getCriadoEm());
-
-        // Adicionar dados de PF ou PJ
-        if (usuario.getTipoUsuario() == TipoUsuario.PF) {
-            try {
-                PessoaFisica pf = usuarioService.buscarPessoaFisicaPorIdUsuario(usuario.getIdUsuario());
-                Map<String, Object> pfResponse = new HashMap<>();
-                pfResponse.put("idPf", pf.getIdPf());
-                pfResponse.put("nome", pf.getNome());
-                pfResponse.put("cpf", pf.getCpf());
-                pfResponse.put("dataNasc", pf.getDataNasc());
-                response.put("pessoaFisica", pfResponse);
-            } catch (Exception e) {
-                // PF não encontrada
-            }
-        } else if (usuario.getTipoUsuario() == TipoUsuario.PJ) {
-            try {
-                PessoaJuridica pj = usuarioService.buscarPessoaJuridicaPorIdUsuario(usuario.getIdUsuario());
-                Map<String, Object> pjResponse = new HashMap<>();
-                pjResponse.put("idPj", pj.getIdPj());
-                pjResponse.put("cnpj", pj.getCnpj());
-                pjResponse.put("razaoSocial", pj.getRazaoSocial());
-                response.put("pessoaJuridica", pjResponse);
-            } catch (Exception e) {
-                // PJ não encontrada
-            }
-        }
-
-        return response;
-    }
 }
-
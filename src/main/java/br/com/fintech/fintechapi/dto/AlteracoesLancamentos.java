@@ -0,0 +1,17 @@
+package br.com.fintech.fintechapi.dto;
+
+import java.util.List;
+
+/**
+ * Alterações de um tipo de lançamento desde a marca informada pelo cliente
+ * O cliente deve aplicar criados/atualizados como upsert: a margem de segurança da marca
+ * faz com que um mesmo registro possa ser reenviado em sincronizações seguidas
+ *
+ * @param <T> Despesa ou Receita
+ */
+public record AlteracoesLancamentos<T>(
+        List<T> criados,
+        List<T> atualizados,
+        List<Long> excluidos
+) {
+}
@@ -0,0 +1,13 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.model.TipoCategoria;
+
+/**
+ * Categoria resumida, embutida nas respostas de despesas e receitas
+ */
+public record CategoriaResumo(
+        Long idCategoria,
+        String nomeCategoria,
+        TipoCategoria tipoCategoria
+) {
+}
@@ -0,0 +1,25 @@
+package br.com.fintech.fintechapi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Relatório consolidado da conta PJ e dos usuários vinculados no período
+ *
+ * @param completa false quando algum usuário não foi agregado dentro do prazo (ver usuariosPendentes)
+ * @param usuariosPendentes Usuários fora dos totais
+ */
+public record ConsolidacaoResponse(
+        LocalDate dataInicio,
+        LocalDate dataFim,
+        boolean completa,
+        List<Long> usuariosPendentes,
+        BigDecimal receitas,
+        BigDecimal despesas,
+        BigDecimal saldo,
+        List<ResumoUsuarioConsolidado> usuarios,
+        List<TotalCategoria> despesasPorCategoria,
+        List<TotalCategoria> receitasPorCategoria
+) {
+}
@@ -0,0 +1,22 @@
+package br.com.fintech.fintechapi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Corpo das requisições de criação e atualização de despesa
+ *
+ * idCategoria e idSubcategoria distinguem campo ausente (null, mantém o valor atual)
+ * de campo enviado como null (Optional.empty(), remove a associação)
+ */
+public record DespesaRequest(
+        String descricao,
+        BigDecimal valor,
+        LocalDate dataVencimento,
+        Integer recorrente,
+        Integer pendente,
+        Optional<Long> idCategoria,
+        Optional<Long> idSubcategoria
+) {
+}
@@ -0,0 +1,25 @@
+package br.com.fintech.fintechapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Resposta das operações de criação e atualização de despesa
+ */
+public record DespesaResponse(
+        Long idDespesa,
+        String descricao,
+        BigDecimal valor,
+        LocalDate dataVencimento,
+        Integer recorrente,
+        Integer pendente,
+        @JsonInclude(JsonInclude.Include.NON_NULL) CategoriaResumo categoria,
+        @JsonInclude(JsonInclude.Include.NON_NULL) SubcategoriaResumo subcategoria,
+        LocalDateTime criadoEm,
+        @JsonInclude(JsonInclude.Include.NON_NULL) SituacaoOrcamento situacaoOrcamento,
+        String message
+) {
+}
@@ -0,0 +1,24 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.config.JacksonConfig;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Representação compacta de despesa para listagens (sem categoria/subcategoria)
+ * Preenchida por projeção JPQL, que seleciona apenas estas colunas
+ */
+@JsonFilter(JacksonConfig.FILTRO_CAMPOS)
+public record DespesaResumo(
+        Long idDespesa,
+        String descricao,
+        BigDecimal valor,
+        LocalDate dataVencimento,
+        Integer pendente
+) {
+
+    public static final Set<String> CAMPOS = Set.of("idDespesa", "descricao", "valor", "dataVencimento", "pendente");
+}
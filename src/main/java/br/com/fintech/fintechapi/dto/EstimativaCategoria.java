@@ -0,0 +1,17 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.model.TipoLancamento;
+
+import java.math.BigDecimal;
+
+/**
+ * Média mensal dos lançamentos avulsos de uma categoria, usada como estimativa na projeção
+ *
+ * @param idCategoria null para lançamentos sem categoria
+ */
+public record EstimativaCategoria(
+        TipoLancamento tipo,
+        Long idCategoria,
+        BigDecimal mediaMensal
+) {
+}
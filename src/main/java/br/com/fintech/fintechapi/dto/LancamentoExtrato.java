@@ -0,0 +1,17 @@
+package br.com.fintech.fintechapi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Linha do extrato mensal (despesa ou receita)
+ * Preenchida por projeção JPQL: não é entidade gerenciada, então não se acumula no contexto de persistência
+ */
+public record LancamentoExtrato(
+        LocalDate data,
+        String descricao,
+        String categoria,
+        BigDecimal valor,
+        Integer pendente
+) {
+}
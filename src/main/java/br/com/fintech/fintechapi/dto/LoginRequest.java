@@ -0,0 +1,10 @@
+package br.com.fintech.fintechapi.dto;
+
+/**
+ * Corpo da requisição de login
+ */
+public record LoginRequest(
+        String email,
+        String senha
+) {
+}
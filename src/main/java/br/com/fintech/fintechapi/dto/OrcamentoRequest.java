@@ -0,0 +1,13 @@
+package br.com.fintech.fintechapi.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Corpo da definição de orçamento: limite mensal de despesas na categoria
+ * Se a categoria já tem orçamento, o limite é substituído
+ */
+public record OrcamentoRequest(
+        Long idCategoria,
+        BigDecimal valorLimite
+) {
+}
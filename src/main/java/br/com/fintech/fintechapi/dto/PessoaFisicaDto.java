@@ -0,0 +1,16 @@
+package br.com.fintech.fintechapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+
+/**
+ * Dados de Pessoa Física (entrada e saída); idPf é apenas de leitura
+ */
+public record PessoaFisicaDto(
+        @JsonProperty(access = JsonProperty.Access.READ_ONLY) Long idPf,
+        String nome,
+        String cpf,
+        LocalDate dataNasc
+) {
+}
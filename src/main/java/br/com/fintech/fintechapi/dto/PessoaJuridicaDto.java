@@ -0,0 +1,13 @@
+package br.com.fintech.fintechapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Dados de Pessoa Jurídica (entrada e saída); idPj é apenas de leitura
+ */
+public record PessoaJuridicaDto(
+        @JsonProperty(access = JsonProperty.Access.READ_ONLY) Long idPj,
+        String cnpj,
+        String razaoSocial
+) {
+}
@@ -0,0 +1,32 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.projecao.FluxoDiario;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Saldo projetado de um mês
+ *
+ * @param mes Primeiro dia projetado do mês (no mês atual, a data base)
+ * @param saldoMinimo Menor saldo ao fim de um dia do mês
+ */
+public record ProjecaoMensal(
+        LocalDate mes,
+        BigDecimal entradas,
+        BigDecimal saidas,
+        BigDecimal saldoFinal,
+        BigDecimal saldoMinimo,
+        LocalDate dataSaldoMinimo
+) {
+
+    public static ProjecaoMensal de(FluxoDiario.Mes mes) {
+        return new ProjecaoMensal(
+                mes.inicio(),
+                BigDecimal.valueOf(mes.entradas(), 2),
+                BigDecimal.valueOf(mes.saidas(), 2),
+                BigDecimal.valueOf(mes.saldoFinal(), 2),
+                BigDecimal.valueOf(mes.saldoMinimo(), 2),
+                mes.dataSaldoMinimo());
+    }
+}
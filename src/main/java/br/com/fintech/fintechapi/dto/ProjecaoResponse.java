@@ -0,0 +1,27 @@
+package br.com.fintech.fintechapi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Projeção do saldo do usuário mês a mês
+ *
+ * @param dataBase Dia a partir do qual o saldo é projetado
+ * @param versao Versão do ledger usada no cálculo
+ * @param desatualizada true quando o cálculo atual não terminou no prazo e foi devolvida a projeção anterior
+ * @param saldoInicial Receitas menos despesas já pagas até a data base
+ */
+public record ProjecaoResponse(
+        LocalDate dataBase,
+        long versao,
+        boolean desatualizada,
+        BigDecimal saldoInicial,
+        List<ProjecaoMensal> meses,
+        List<EstimativaCategoria> estimativas
+) {
+
+    public ProjecaoResponse comoDesatualizada() {
+        return new ProjecaoResponse(dataBase, versao, true, saldoInicial, meses, estimativas);
+    }
+}
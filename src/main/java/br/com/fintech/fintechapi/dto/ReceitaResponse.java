@@ -0,0 +1,24 @@
+package br.com.fintech.fintechapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Resposta das operações de criação e atualização de receita
+ */
+public record ReceitaResponse(
+        Long idReceita,
+        String descricao,
+        BigDecimal valor,
+        LocalDate dataEntrada,
+        Integer recorrente,
+        Integer pendente,
+        @JsonInclude(JsonInclude.Include.NON_NULL) CategoriaResumo categoria,
+        @JsonInclude(JsonInclude.Include.NON_NULL) SubcategoriaResumo subcategoria,
+        LocalDateTime criadoEm,
+        String message
+) {
+}
@@ -0,0 +1,24 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.config.JacksonConfig;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Representação compacta de receita para listagens (sem categoria/subcategoria)
+ * Preenchida por projeção JPQL, que seleciona apenas estas colunas
+ */
+@JsonFilter(JacksonConfig.FILTRO_CAMPOS)
+public record ReceitaResumo(
+        Long idReceita,
+        String descricao,
+        BigDecimal valor,
+        LocalDate dataEntrada,
+        Integer pendente
+) {
+
+    public static final Set<String> CAMPOS = Set.of("idReceita", "descricao", "valor", "dataEntrada", "pendente");
+}
@@ -0,0 +1,9 @@
+package br.com.fintech.fintechapi.dto;
+
+/**
+ * Corpo das requisições de renovação de token e logout
+ */
+public record RefreshTokenRequest(
+        String refreshToken
+) {
+}
@@ -0,0 +1,27 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.model.FrequenciaRecorrencia;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Corpo da criação de regra de recorrência
+ *
+ * @param intervalo A cada quantos meses (MENSAL), semanas (SEMANAL) ou dias (PERSONALIZADA); padrão 1
+ * @param pendente Situação dos lançamentos gerados (padrão 1 = pendente)
+ */
+public record RegraRecorrenciaRequest(
+        TipoLancamento tipoLancamento,
+        String descricao,
+        BigDecimal valor,
+        FrequenciaRecorrencia frequencia,
+        Integer intervalo,
+        LocalDate dataInicio,
+        LocalDate dataFim,
+        Integer pendente,
+        Long idCategoria,
+        Long idSubcategoria
+) {
+}
@@ -0,0 +1,29 @@
+package br.com.fintech.fintechapi.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Resultado do relatório ANUAL: receitas, despesas e saldo de cada mês do ano
+ */
+public record RelatorioAnual(
+        int ano,
+        BigDecimal receitas,
+        BigDecimal despesas,
+        BigDecimal saldo,
+        List<Mes> meses
+) {
+
+    /**
+     * @param mes 1 a 12
+     * @param despesasPendentes Parte das despesas do mês ainda não paga
+     */
+    public record Mes(
+            int mes,
+            BigDecimal receitas,
+            BigDecimal despesas,
+            BigDecimal despesasPendentes,
+            BigDecimal saldo
+    ) {
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.model.TipoLancamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Resultado do relatório CATEGORIAS: totais por categoria e ano no período
+ */
+public record RelatorioCategorias(
+        LocalDate dataInicio,
+        LocalDate dataFim,
+        List<Linha> linhas
+) {
+
+    /**
+     * @param idCategoria null para lançamentos sem categoria
+     */
+    public record Linha(
+            TipoLancamento tipo,
+            Long idCategoria,
+            String nomeCategoria,
+            int ano,
+            long quantidade,
+            BigDecimal total
+    ) {
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.model.StatusRelatorio;
+import br.com.fintech.fintechapi.model.TipoRelatorio;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Situação de um pedido de relatório (o resultado é baixado em /api/relatorios/{id}/resultado)
+ */
+public record RelatorioJobResponse(
+        Long idJob,
+        @JsonIgnore Long idUsuario,
+        TipoRelatorio tipo,
+        String parametros,
+        StatusRelatorio status,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String erro,
+        LocalDateTime criadoEm,
+        LocalDateTime atualizadoEm,
+        @JsonInclude(JsonInclude.Include.NON_NULL) LocalDateTime concluidoEm
+) {
+}
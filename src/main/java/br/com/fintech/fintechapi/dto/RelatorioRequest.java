@@ -0,0 +1,20 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.model.TipoRelatorio;
+
+import java.time.LocalDate;
+
+/**
+ * Pedido de relatório assíncrono
+ *
+ * @param ano Obrigatório no relatório ANUAL
+ * @param dataInicio Obrigatória no relatório CATEGORIAS
+ * @param dataFim Obrigatória no relatório CATEGORIAS
+ */
+public record RelatorioRequest(
+        TipoRelatorio tipo,
+        Integer ano,
+        LocalDate dataInicio,
+        LocalDate dataFim
+) {
+}
@@ -0,0 +1,38 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.busca.IndiceInvertido;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Lançamento encontrado pela busca textual
+ *
+ * @param id ID da despesa ou da receita, conforme tipoLancamento
+ * @param data Data de vencimento (despesa) ou de entrada (receita)
+ * @param relevancia Pontuação da busca (maior = mais relevante)
+ */
+public record ResultadoBusca(
+        TipoLancamento tipoLancamento,
+        Long id,
+        String descricao,
+        BigDecimal valor,
+        LocalDate data,
+        Integer pendente,
+        double relevancia
+) {
+
+    public static ResultadoBusca de(IndiceInvertido.Acerto acerto) {
+        var documento = acerto.documento();
+        return new ResultadoBusca(
+                documento.tipoLancamento(),
+                documento.id(),
+                documento.descricao(),
+                documento.valor(),
+                documento.data(),
+                documento.pendente(),
+                acerto.relevancia()
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.fintech.fintechapi.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais de um usuário no relatório consolidado
+ */
+public record ResumoUsuarioConsolidado(
+        Long idUsuario,
+        String email,
+        BigDecimal receitas,
+        BigDecimal despesas,
+        BigDecimal saldo
+) {
+}
@@ -0,0 +1,21 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.model.Despesa;
+import br.com.fintech.fintechapi.model.Receita;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resposta da sincronização incremental
+ *
+ * @param marca Valor a enviar em desde= na próxima sincronização
+ * @param completa true quando a resposta contém todos os lançamentos (primeira sincronização
+ *                 ou marca mais antiga que a retenção das exclusões); o cliente deve substituir sua cópia local
+ */
+public record SincronizacaoResponse(
+        LocalDateTime marca,
+        boolean completa,
+        AlteracoesLancamentos<Despesa> despesas,
+        AlteracoesLancamentos<Receita> receitas
+) {
+}
@@ -0,0 +1,24 @@
+package br.com.fintech.fintechapi.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Situação do orçamento de uma categoria em um mês
+ *
+ * @param mes Primeiro dia do mês
+ * @param total Soma das despesas da categoria no mês
+ * @param excedido true quando o total passou do limite
+ */
+public record SituacaoOrcamento(
+        Long idCategoria,
+        LocalDate mes,
+        BigDecimal valorLimite,
+        BigDecimal total,
+        boolean excedido
+) {
+
+    public static SituacaoOrcamento de(Long idCategoria, LocalDate mes, BigDecimal valorLimite, BigDecimal total) {
+        return new SituacaoOrcamento(idCategoria, mes, valorLimite, total, total.compareTo(valorLimite) > 0);
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.fintech.fintechapi.dto;
+
+/**
+ * Subcategoria resumida, embutida nas respostas de despesas e receitas
+ */
+public record SubcategoriaResumo(
+        Long idSubcategoria,
+        String nomeSubcat
+) {
+}
@@ -0,0 +1,18 @@
+package br.com.fintech.fintechapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resposta do login e da renovação de token
+ * expiresIn e refreshExpiresIn em segundos; usuario só é enviado no login
+ */
+public record TokenResponse(
+        String token,
+        String type,
+        long expiresIn,
+        String refreshToken,
+        long refreshExpiresIn,
+        String message,
+        @JsonInclude(JsonInclude.Include.NON_NULL) UsuarioResponse usuario
+) {
+}
@@ -0,0 +1,17 @@
+package br.com.fintech.fintechapi.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais de uma categoria no relatório consolidado
+ *
+ * @param idCategoria null para lançamentos sem categoria
+ * @param pendente Parte do total ainda pendente
+ */
+public record TotalCategoria(
+        Long idCategoria,
+        long quantidade,
+        BigDecimal total,
+        BigDecimal pendente
+) {
+}
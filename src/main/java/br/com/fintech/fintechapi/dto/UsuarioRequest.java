@@ -0,0 +1,16 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.model.TipoUsuario;
+
+/**
+ * Corpo das requisições de registro e atualização de usuário
+ * Senha é opcional na atualização
+ */
+public record UsuarioRequest(
+        String email,
+        String senha,
+        TipoUsuario tipoUsuario,
+        PessoaFisicaDto pessoaFisica,
+        PessoaJuridicaDto pessoaJuridica
+) {
+}
@@ -0,0 +1,19 @@
+package br.com.fintech.fintechapi.dto;
+
+import br.com.fintech.fintechapi.model.TipoUsuario;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dados do usuário devolvidos pela API (sem a senha)
+ */
+public record UsuarioResponse(
+        Long idUsuario,
+        String email,
+        TipoUsuario tipoUsuario,
+        LocalDateTime criadoEm,
+        @JsonInclude(JsonInclude.Include.NON_NULL) PessoaFisicaDto pessoaFisica,
+        @JsonInclude(JsonInclude.Include.NON_NULL) PessoaJuridicaDto pessoaJuridica
+) {
+}
@@ -0,0 +1,9 @@
+package br.com.fintech.fintechapi.dto;
+
+/**
+ * Versão atual dos lançamentos (despesas e receitas) do usuário
+ */
+public record VersaoResponse(
+        long versao
+) {
+}
@@ -0,0 +1,9 @@
+package br.com.fintech.fintechapi.dto;
+
+/**
+ * Autorização para uma conta PJ consolidar os lançamentos do usuário autenticado
+ *
+ * @param email Email da conta PJ
+ */
+public record VinculoRequest(String email) {
+}
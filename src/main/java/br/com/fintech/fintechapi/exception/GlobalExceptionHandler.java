@@ -1,7 +1,9 @@
 package br.com.fintech.fintechapi.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -34,6 +36,17 @@ public class GlobalExceptionHandler {
         );
     }
     
+    @ExceptionHandler(TokenInvalidoException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    public ErrorResponse handleTokenInvalido(TokenInvalidoException ex, HttpServletRequest request) {
+        return new ErrorResponse(
+            HttpStatus.UNAUTHORIZED.value(),
+            "Unauthorized",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+    }
+    
     @ExceptionHandler(DadosDuplicadosException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorResponse handleDadosDuplicados(DadosDuplicadosException ex, HttpServletRequest request) {
@@ -56,6 +69,39 @@ public class GlobalExceptionHandler {
         );
     }
     
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleMessageNotReadable(HttpMessageNotReadableException ex, HttpServletRequest request) {
+        return new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Bad Request",
+            "Corpo da requisição inválido ou com campos em formato incorreto",
+            request.getRequestURI()
+        );
+    }
+    
+    @ExceptionHandler(TaskRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleTaskRejected(TaskRejectedException ex, HttpServletRequest request) {
+        return new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            "Servidor sobrecarregado, tente novamente em instantes",
+            request.getRequestURI()
+        );
+    }
+    
+    @ExceptionHandler(ProcessamentoEmAndamentoException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleProcessamentoEmAndamento(ProcessamentoEmAndamentoException ex, HttpServletRequest request) {
+        return new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+    }
+    
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleGenericException(Exception ex, HttpServletRequest request) {
@@ -0,0 +1,12 @@
+package br.com.fintech.fintechapi.exception;
+
+/**
+ * Exceção lançada quando um cálculo não terminou dentro do prazo da requisição e continua em segundo plano
+ * Retorna HTTP 503 Service Unavailable
+ */
+public class ProcessamentoEmAndamentoException extends RuntimeException {
+
+    public ProcessamentoEmAndamentoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.fintech.fintechapi.exception;
+
+/**
+ * Exceção lançada quando um refresh token é inválido, expirado ou já foi utilizado
+ * Retorna HTTP 401 Unauthorized
+ */
+public class TokenInvalidoException extends RuntimeException {
+    
+    public TokenInvalidoException(String mensagem) {
+        super(mensagem);
+    }
+    
+    public TokenInvalidoException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
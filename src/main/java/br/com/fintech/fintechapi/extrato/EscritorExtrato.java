@@ -0,0 +1,28 @@
+package br.com.fintech.fintechapi.extrato;
+
+import br.com.fintech.fintechapi.dto.LancamentoExtrato;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Escritor de extrato em streaming: recebe os lançamentos um a um, em ordem de data, e grava direto na saída
+ * Não guarda os lançamentos já escritos; close() finaliza o documento e fecha a saída
+ */
+public interface EscritorExtrato extends Closeable {
+
+    /**
+     * Título e período do extrato; chamado uma vez, antes dos lançamentos
+     */
+    void cabecalho(String titular, YearMonth mes) throws IOException;
+
+    void lancamento(TipoLancamento tipo, LancamentoExtrato lancamento) throws IOException;
+
+    /**
+     * Totais do mês; chamado uma vez, depois dos lançamentos
+     */
+    void totais(BigDecimal receitas, BigDecimal despesas) throws IOException;
+}
@@ -0,0 +1,289 @@
+package br.com.fintech.fintechapi.extrato;
+
+import br.com.fintech.fintechapi.dto.LancamentoExtrato;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * PDF do extrato escrito em streaming, página a página
+ *
+ * Só a página corrente fica em memória: ao completar, o conteúdo e o objeto da página são gravados e o
+ * buffer é reaproveitado. Do documento inteiro restam apenas as posições dos objetos (para a tabela xref)
+ * e a contagem de páginas, que entra no objeto Pages, escrito por último. Usa as fontes padrão Helvetica
+ * com codificação WinAnsi (cp1252), que cobre a acentuação do português sem embutir fontes.
+ */
+public final class EscritorPdf implements EscritorExtrato {
+
+    private static final Charset WIN_ANSI = Charset.forName("windows-1252");
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    // A4 em pontos
+    private static final int LARGURA = 595;
+    private static final int ALTURA = 842;
+    private static final int MARGEM = 40;
+
+    private static final int TAMANHO_FONTE = 9;
+    private static final int ALTURA_LINHA = 12;
+    private static final int TOPO_LANCAMENTOS = 750;
+    private static final int BASE_LANCAMENTOS = 60;
+
+    // Colunas (x em pontos); o valor é alinhado à direita
+    private static final int X_DATA = MARGEM;
+    private static final int X_TIPO = 95;
+    private static final int X_DESCRICAO = 145;
+    private static final int X_CATEGORIA = 385;
+    private static final int X_VALOR_DIREITA = 510;
+    private static final int X_SITUACAO = 520;
+
+    // Largura de "Valor" em Helvetica-Bold 9pt, para alinhar o título da coluna à direita
+    private static final float LARGURA_TITULO_VALOR = 22.5f;
+
+    private static final int MAX_DESCRICAO = 48;
+    private static final int MAX_CATEGORIA = 22;
+
+    // Objetos fixos; cada página usa dois objetos a partir de PRIMEIRA_PAGINA (conteúdo e página)
+    private static final int OBJ_CATALOGO = 1;
+    private static final int OBJ_PAGINAS = 2;
+    private static final int OBJ_FONTE = 3;
+    private static final int OBJ_FONTE_NEGRITO = 4;
+    private static final int PRIMEIRA_PAGINA = 5;
+
+    private final Contador saida;
+    private final ByteArrayOutputStream pagina = new ByteArrayOutputStream(8 * 1024);
+    private final DecimalFormat formatoValor = new DecimalFormat("#,##0.00", DecimalFormatSymbols.getInstance(Locale.forLanguageTag("pt-BR")));
+
+    private long[] posicoes = new long[64];
+    private int paginas;
+    private boolean paginaAberta;
+    private int y;
+
+    private String titulo = "Extrato";
+    private String titular = "";
+
+    /**
+     * Conta os bytes gravados para registrar a posição de cada objeto
+     */
+    private static final class Contador extends FilterOutputStream {
+        long posicao;
+
+        Contador(OutputStream saida) {
+            super(new BufferedOutputStream(saida));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            posicao++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            posicao += len;
+        }
+    }
+
+    public EscritorPdf(OutputStream saida) throws IOException {
+        this.saida = new Contador(saida);
+        escrever("%PDF-1.4\n");
+        // Comentário binário: sinaliza a leitores e transferências que o arquivo não é texto
+        this.saida.write(new byte[]{'%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'});
+
+        objeto(OBJ_FONTE, "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>");
+        objeto(OBJ_FONTE_NEGRITO, "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>");
+    }
+
+    @Override
+    public void cabecalho(String titular, YearMonth mes) throws IOException {
+        this.titulo = "Extrato de " + String.format("%02d/%d", mes.getMonthValue(), mes.getYear());
+        this.titular = titular != null ? titular : "";
+        novaPagina();
+    }
+
+    @Override
+    public void lancamento(TipoLancamento tipo, LancamentoExtrato lancamento) throws IOException {
+        reservar(1);
+        boolean despesa = tipo == TipoLancamento.DESPESA;
+        texto("F1", X_DATA, y, lancamento.data().format(DATA));
+        texto("F1", X_TIPO, y, despesa ? "Despesa" : "Receita");
+        texto("F1", X_DESCRICAO, y, truncar(lancamento.descricao(), MAX_DESCRICAO));
+        texto("F1", X_CATEGORIA, y, truncar(lancamento.categoria(), MAX_CATEGORIA));
+        valor("F1", y, despesa ? lancamento.valor().negate() : lancamento.valor());
+        texto("F1", X_SITUACAO, y, Integer.valueOf(1).equals(lancamento.pendente()) ? "Pendente" : "Pago");
+        y -= ALTURA_LINHA;
+    }
+
+    @Override
+    public void totais(BigDecimal receitas, BigDecimal despesas) throws IOException {
+        y -= ALTURA_LINHA;
+        reservar(3);
+        total("Receitas", receitas);
+        total("Despesas", despesas.negate());
+        total("Saldo", receitas.subtract(despesas));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!paginaAberta && paginas == 0) {
+                novaPagina();
+            }
+            fecharPagina();
+
+            StringBuilder kids = new StringBuilder("<< /Type /Pages /Kids [");
+            for (int i = 0; i < paginas; i++) {
+                kids.append(' ').append(PRIMEIRA_PAGINA + 2 * i + 1).append(" 0 R");
+            }
+            kids.append(" ] /Count ").append(paginas).append(" >>");
+            objeto(OBJ_PAGINAS, kids.toString());
+            objeto(OBJ_CATALOGO, "<< /Type /Catalog /Pages " + OBJ_PAGINAS + " 0 R >>");
+
+            int totalObjetos = PRIMEIRA_PAGINA + 2 * paginas;
+            long inicioXref = saida.posicao;
+            StringBuilder xref = new StringBuilder("xref\n0 ").append(totalObjetos).append("\n0000000000 65535 f \n");
+            for (int i = 1; i < totalObjetos; i++) {
+                xref.append(String.format("%010d 00000 n \n", posicoes[i]));
+            }
+            escrever(xref.toString());
+            escrever("trailer\n<< /Size " + totalObjetos + " /Root " + OBJ_CATALOGO + " 0 R >>\nstartxref\n" + inicioXref + "\n%%EOF\n");
+        } finally {
+            saida.close();
+        }
+    }
+
+    private void total(String rotulo, BigDecimal valor) {
+        texto("F2", X_DESCRICAO, y, rotulo);
+        valor("F2", y, valor);
+        y -= ALTURA_LINHA;
+    }
+
+    /**
+     * Abre nova página quando as próximas linhas não cabem na atual
+     */
+    private void reservar(int linhas) throws IOException {
+        if (!paginaAberta || y - (linhas - 1) * ALTURA_LINHA < BASE_LANCAMENTOS) {
+            novaPagina();
+        }
+    }
+
+    private void novaPagina() throws IOException {
+        fecharPagina();
+        paginas++;
+        paginaAberta = true;
+        pagina.reset();
+
+        texto("F2", MARGEM, ALTURA - 40, titulo, 12);
+        texto("F1", MARGEM, ALTURA - 54, titular);
+        int yColunas = TOPO_LANCAMENTOS + 16;
+        texto("F2", X_DATA, yColunas, "Data");
+        texto("F2", X_TIPO, yColunas, "Tipo");
+        texto("F2", X_DESCRICAO, yColunas, "Descrição");
+        texto("F2", X_CATEGORIA, yColunas, "Categoria");
+        texto("F2", X_VALOR_DIREITA - LARGURA_TITULO_VALOR, yColunas, "Valor");
+        texto("F2", X_SITUACAO, yColunas, "Situação");
+        y = TOPO_LANCAMENTOS;
+    }
+
+    /**
+     * Grava o conteúdo e o objeto da página corrente e libera o buffer para a próxima
+     */
+    private void fecharPagina() throws IOException {
+        if (!paginaAberta) {
+            return;
+        }
+        paginaAberta = false;
+        texto("F1", LARGURA - MARGEM - 40, 30, "Página " + paginas);
+
+        int objConteudo = PRIMEIRA_PAGINA + 2 * (paginas - 1);
+        registrar(objConteudo);
+        escrever(objConteudo + " 0 obj\n<< /Length " + pagina.size() + " >>\nstream\n");
+        pagina.writeTo(saida);
+        escrever("\nendstream\nendobj\n");
+
+        objeto(objConteudo + 1, "<< /Type /Page /Parent " + OBJ_PAGINAS + " 0 R /MediaBox [0 0 " + LARGURA + " " + ALTURA + "]" +
+                " /Resources << /Font << /F1 " + OBJ_FONTE + " 0 R /F2 " + OBJ_FONTE_NEGRITO + " 0 R >> >>" +
+                " /Contents " + objConteudo + " 0 R >>");
+    }
+
+    private void objeto(int numero, String dicionario) throws IOException {
+        registrar(numero);
+        escrever(numero + " 0 obj\n" + dicionario + "\nendobj\n");
+    }
+
+    private void registrar(int numero) {
+        if (numero >= posicoes.length) {
+            posicoes = Arrays.copyOf(posicoes, Math.max(numero + 1, posicoes.length * 2));
+        }
+        posicoes[numero] = saida.posicao;
+    }
+
+    private void escrever(String texto) throws IOException {
+        saida.write(texto.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void valor(String fonte, int y, BigDecimal valor) {
+        String formatado = formatoValor.format(valor);
+        texto(fonte, X_VALOR_DIREITA - largura(formatado), y, formatado);
+    }
+
+    private void texto(String fonte, float x, int y, String texto) {
+        texto(fonte, x, y, texto, TAMANHO_FONTE);
+    }
+
+    private void texto(String fonte, float x, int y, String texto, int tamanho) {
+        if (texto == null || texto.isEmpty()) {
+            return;
+        }
+        byte[] inicio = String.format(Locale.ROOT, "BT /%s %d Tf %.2f %d Td (", fonte, tamanho, x, y).getBytes(StandardCharsets.US_ASCII);
+        pagina.writeBytes(inicio);
+        // Caracteres fora do cp1252 viram '?'; parênteses e barra invertida são escapados
+        for (byte b : texto.getBytes(WIN_ANSI)) {
+            if (b == '(' || b == ')' || b == '\\') {
+                pagina.write('\\');
+                pagina.write(b);
+            } else if (b >= 0 && b < 0x20) {
+                pagina.write(' ');
+            } else {
+                pagina.write(b);
+            }
+        }
+        pagina.writeBytes(") Tj ET\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Largura de um valor formatado no corpo padrão (métricas da Helvetica)
+     * Dígitos, ponto, vírgula e sinal têm a mesma largura na Helvetica e na Helvetica-Bold
+     */
+    private static float largura(String valor) {
+        int unidades = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            unidades += switch (valor.charAt(i)) {
+                case '.', ',' -> 278;
+                case '-' -> 333;
+                default -> 556;
+            };
+        }
+        return unidades * TAMANHO_FONTE / 1000f;
+    }
+
+    private static String truncar(String texto, int maximo) {
+        if (texto == null || texto.length() <= maximo) {
+            return texto;
+        }
+        return texto.substring(0, maximo - 3) + "...";
+    }
+}
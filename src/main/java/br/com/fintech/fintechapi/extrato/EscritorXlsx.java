@@ -0,0 +1,220 @@
+package br.com.fintech.fintechapi.extrato;
+
+import br.com.fintech.fintechapi.dto.LancamentoExtrato;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Planilha XLSX (SpreadsheetML) escrita em streaming
+ *
+ * As partes fixas do pacote (tipos, relacionamentos, pasta de trabalho, estilos) são gravadas na criação;
+ * a planilha é gravada linha a linha direto na entrada do zip, com textos inline (sem tabela de strings
+ * compartilhadas), então nenhuma linha fica em memória depois de escrita.
+ */
+public final class EscritorXlsx implements EscritorExtrato {
+
+    private static final String CABECALHO_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final String CONTENT_TYPES = CABECALHO_XML +
+            "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">" +
+            "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>" +
+            "<Default Extension=\"xml\" ContentType=\"application/xml\"/>" +
+            "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>" +
+            "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>" +
+            "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>" +
+            "</Types>";
+
+    private static final String RELS = CABECALHO_XML +
+            "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" +
+            "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>" +
+            "</Relationships>";
+
+    private static final String WORKBOOK = CABECALHO_XML +
+            "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" " +
+            "xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">" +
+            "<sheets><sheet name=\"Extrato\" sheetId=\"1\" r:id=\"rId1\"/></sheets>" +
+            "</workbook>";
+
+    private static final String WORKBOOK_RELS = CABECALHO_XML +
+            "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">" +
+            "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/>" +
+            "<Relationship Id=\"rId2\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>" +
+            "</Relationships>";
+
+    /**
+     * Estilos: 0 padrão, 1 data, 2 valor (#,##0.00), 3 negrito
+     */
+    private static final String STYLES = CABECALHO_XML +
+            "<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">" +
+            "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>" +
+            "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>" +
+            "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill><fill><patternFill patternType=\"gray125\"/></fill></fills>" +
+            "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>" +
+            "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>" +
+            "<cellXfs count=\"4\">" +
+            "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>" +
+            "<xf numFmtId=\"14\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>" +
+            "<xf numFmtId=\"4\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>" +
+            "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>" +
+            "</cellXfs></styleSheet>";
+
+    private static final String INICIO_PLANILHA = CABECALHO_XML +
+            "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">" +
+            "<cols><col min=\"1\" max=\"2\" width=\"12\" customWidth=\"1\"/>" +
+            "<col min=\"3\" max=\"3\" width=\"45\" customWidth=\"1\"/>" +
+            "<col min=\"4\" max=\"4\" width=\"22\" customWidth=\"1\"/>" +
+            "<col min=\"5\" max=\"6\" width=\"14\" customWidth=\"1\"/></cols>" +
+            "<sheetData>";
+
+    private static final String FIM_PLANILHA = "</sheetData></worksheet>";
+
+    private static final int ESTILO_PADRAO = 0;
+    private static final int ESTILO_DATA = 1;
+    private static final int ESTILO_VALOR = 2;
+    private static final int ESTILO_NEGRITO = 3;
+
+    /**
+     * Data zero do sistema de datas 1900 do Excel (já compensando o 29/02/1900 inexistente)
+     */
+    private static final LocalDate EPOCA_EXCEL = LocalDate.of(1899, 12, 30);
+
+    private final ZipOutputStream zip;
+    private final Writer planilha;
+    private int linha;
+    private char coluna;
+
+    public EscritorXlsx(OutputStream saida) throws IOException {
+        this.zip = new ZipOutputStream(saida, StandardCharsets.UTF_8);
+        this.planilha = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+
+        parte("[Content_Types].xml", CONTENT_TYPES);
+        parte("_rels/.rels", RELS);
+        parte("xl/workbook.xml", WORKBOOK);
+        parte("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+        parte("xl/styles.xml", STYLES);
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        planilha.write(INICIO_PLANILHA);
+    }
+
+    @Override
+    public void cabecalho(String titular, YearMonth mes) throws IOException {
+        novaLinha();
+        texto("Extrato de " + mes.getMonthValue() + "/" + mes.getYear(), ESTILO_NEGRITO);
+        fimLinha();
+
+        novaLinha();
+        texto(titular, ESTILO_PADRAO);
+        fimLinha();
+
+        linha++;
+        novaLinha();
+        for (String titulo : new String[]{"Data", "Tipo", "Descrição", "Categoria", "Valor", "Situação"}) {
+            texto(titulo, ESTILO_NEGRITO);
+        }
+        fimLinha();
+    }
+
+    @Override
+    public void lancamento(TipoLancamento tipo, LancamentoExtrato lancamento) throws IOException {
+        BigDecimal valor = tipo == TipoLancamento.DESPESA ? lancamento.valor().negate() : lancamento.valor();
+
+        novaLinha();
+        numero(Long.toString(ChronoUnit.DAYS.between(EPOCA_EXCEL, lancamento.data())), ESTILO_DATA);
+        texto(tipo == TipoLancamento.DESPESA ? "Despesa" : "Receita", ESTILO_PADRAO);
+        texto(lancamento.descricao(), ESTILO_PADRAO);
+        texto(lancamento.categoria(), ESTILO_PADRAO);
+        numero(valor.toPlainString(), ESTILO_VALOR);
+        texto(Integer.valueOf(1).equals(lancamento.pendente()) ? "Pendente" : "Pago", ESTILO_PADRAO);
+        fimLinha();
+    }
+
+    @Override
+    public void totais(BigDecimal receitas, BigDecimal despesas) throws IOException {
+        linha++;
+        total("Receitas", receitas);
+        total("Despesas", despesas.negate());
+        total("Saldo", receitas.subtract(despesas));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            planilha.write(FIM_PLANILHA);
+            planilha.flush();
+            zip.closeEntry();
+        } finally {
+            zip.close();
+        }
+    }
+
+    private void total(String rotulo, BigDecimal valor) throws IOException {
+        novaLinha();
+        texto(rotulo, ESTILO_NEGRITO);
+        coluna = 'E';
+        numero(valor.toPlainString(), ESTILO_VALOR);
+        fimLinha();
+    }
+
+    private void parte(String nome, String conteudo) throws IOException {
+        zip.putNextEntry(new ZipEntry(nome));
+        zip.write(conteudo.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private void novaLinha() throws IOException {
+        linha++;
+        coluna = 'A';
+        planilha.write("<row r=\"" + linha + "\">");
+    }
+
+    private void fimLinha() throws IOException {
+        planilha.write("</row>");
+    }
+
+    private void texto(String valor, int estilo) throws IOException {
+        if (valor != null && !valor.isEmpty()) {
+            planilha.write("<c r=\"" + coluna + linha + "\" s=\"" + estilo + "\" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+            escapar(valor);
+            planilha.write("</t></is></c>");
+        }
+        coluna++;
+    }
+
+    private void numero(String valor, int estilo) throws IOException {
+        planilha.write("<c r=\"" + coluna + linha + "\" s=\"" + estilo + "\"><v>" + valor + "</v></c>");
+        coluna++;
+    }
+
+    /**
+     * Escapa os caracteres especiais do XML e descarta os de controle, que o XML 1.0 não aceita
+     */
+    private void escapar(String valor) throws IOException {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '&' -> planilha.write("&amp;");
+                case '<' -> planilha.write("&lt;");
+                case '>' -> planilha.write("&gt;");
+                case '"' -> planilha.write("&quot;");
+                default -> {
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        planilha.write(c);
+                    }
+                }
+            }
+        }
+    }
+}
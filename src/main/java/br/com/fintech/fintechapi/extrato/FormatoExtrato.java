@@ -0,0 +1,38 @@
+package br.com.fintech.fintechapi.extrato;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Formatos do extrato mensal
+ */
+public enum FormatoExtrato {
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+    PDF("application/pdf", "pdf");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExtrato(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    /**
+     * Cria o escritor do formato sobre a saída (fechada pelo escritor)
+     */
+    public EscritorExtrato escritor(OutputStream saida) throws IOException {
+        return switch (this) {
+            case XLSX -> new EscritorXlsx(saida);
+            case PDF -> new EscritorPdf(saida);
+        };
+    }
+}
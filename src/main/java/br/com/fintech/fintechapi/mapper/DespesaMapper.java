@@ -0,0 +1,28 @@
+package br.com.fintech.fintechapi.mapper;
+
+import br.com.fintech.fintechapi.dto.DespesaRequest;
+import br.com.fintech.fintechapi.dto.DespesaResponse;
+import br.com.fintech.fintechapi.model.Despesa;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Conversão entre DTOs e a entidade Despesa (implementação gerada pelo MapStruct em tempo de compilação)
+ */
+@Mapper(componentModel = "spring", uses = ReferenciaMapper.class, injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface DespesaMapper {
+
+    @Mapping(target = "idDespesa", ignore = true)
+    @Mapping(target = "usuario", ignore = true)
+    @Mapping(target = "criadoEm", ignore = true)
+    @Mapping(target = "atualizadoEm", ignore = true)
+    @Mapping(target = "idRegraRecorrencia", ignore = true)
+    @Mapping(target = "situacaoOrcamento", ignore = true)
+    @Mapping(target = "categoria", source = "idCategoria")
+    @Mapping(target = "subcategoria", source = "idSubcategoria")
+    Despesa paraEntidade(DespesaRequest request);
+
+    @Mapping(target = "message", source = "message")
+    DespesaResponse paraResposta(Despesa despesa, String message);
+}
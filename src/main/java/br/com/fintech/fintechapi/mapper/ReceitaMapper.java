@@ -0,0 +1,27 @@
+package br.com.fintech.fintechapi.mapper;
+
+import br.com.fintech.fintechapi.dto.ReceitaRequest;
+import br.com.fintech.fintechapi.dto.ReceitaResponse;
+import br.com.fintech.fintechapi.model.Receita;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Conversão entre DTOs e a entidade Receita (implementação gerada pelo MapStruct em tempo de compilação)
+ */
+@Mapper(componentModel = "spring", uses = ReferenciaMapper.class, injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface ReceitaMapper {
+
+    @Mapping(target = "idReceita", ignore = true)
+    @Mapping(target = "usuario", ignore = true)
+    @Mapping(target = "criadoEm", ignore = true)
+    @Mapping(target = "atualizadoEm", ignore = true)
+    @Mapping(target = "idRegraRecorrencia", ignore = true)
+    @Mapping(target = "categoria", source = "idCategoria")
+    @Mapping(target = "subcategoria", source = "idSubcategoria")
+    Receita paraEntidade(ReceitaRequest request);
+
+    @Mapping(target = "message", source = "message")
+    ReceitaResponse paraResposta(Receita receita, String message);
+}
@@ -0,0 +1,35 @@
+package br.com.fintech.fintechapi.mapper;
+
+import br.com.fintech.fintechapi.model.Categoria;
+import br.com.fintech.fintechapi.model.Subcategoria;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Converte os IDs opcionais das requisições em referências de Categoria/Subcategoria
+ *
+ * null (campo ausente) não altera a associação; Optional.empty() (campo enviado como null)
+ * gera uma referência sem ID, que os services interpretam como remoção da associação
+ */
+@Component
+public class ReferenciaMapper {
+
+    public Categoria categoria(Optional<Long> idCategoria) {
+        if (idCategoria == null) {
+            return null;
+        }
+        Categoria categoria = new Categoria();
+        categoria.setIdCategoria(idCategoria.orElse(null));
+        return categoria;
+    }
+
+    public Subcategoria subcategoria(Optional<Long> idSubcategoria) {
+        if (idSubcategoria == null) {
+            return null;
+        }
+        Subcategoria subcategoria = new Subcategoria();
+        subcategoria.setIdSubcategoria(idSubcategoria.orElse(null));
+        return subcategoria;
+    }
+}
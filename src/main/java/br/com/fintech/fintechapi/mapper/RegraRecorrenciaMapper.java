@@ -0,0 +1,20 @@
+package br.com.fintech.fintechapi.mapper;
+
+import br.com.fintech.fintechapi.dto.RegraRecorrenciaRequest;
+import br.com.fintech.fintechapi.model.RegraRecorrencia;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Conversão da requisição para a entidade RegraRecorrencia
+ */
+@Mapper(componentModel = "spring")
+public interface RegraRecorrenciaMapper {
+
+    @Mapping(target = "idRegraRecorrencia", ignore = true)
+    @Mapping(target = "idUsuario", ignore = true)
+    @Mapping(target = "geradoAte", ignore = true)
+    @Mapping(target = "ativa", ignore = true)
+    @Mapping(target = "criadoEm", ignore = true)
+    RegraRecorrencia paraEntidade(RegraRecorrenciaRequest request);
+}
@@ -0,0 +1,51 @@
+package br.com.fintech.fintechapi.mapper;
+
+import br.com.fintech.fintechapi.dto.PessoaFisicaDto;
+import br.com.fintech.fintechapi.dto.PessoaJuridicaDto;
+import br.com.fintech.fintechapi.dto.UsuarioRequest;
+import br.com.fintech.fintechapi.dto.UsuarioResponse;
+import br.com.fintech.fintechapi.model.PessoaFisica;
+import br.com.fintech.fintechapi.model.PessoaJuridica;
+import br.com.fintech.fintechapi.model.Usuario;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+/**
+ * Conversão entre DTOs e as entidades de usuário (implementação gerada pelo MapStruct em tempo de compilação)
+ */
+@Mapper(componentModel = "spring")
+public interface UsuarioMapper {
+
+    @Mapping(target = "idUsuario", ignore = true)
+    @Mapping(target = "criadoEm", ignore = true)
+    Usuario paraEntidade(UsuarioRequest request);
+
+    @Mapping(target = "idPf", ignore = true)
+    @Mapping(target = "usuario", ignore = true)
+    PessoaFisica paraEntidade(PessoaFisicaDto dados);
+
+    @Mapping(target = "idPj", ignore = true)
+    @Mapping(target = "usuario", ignore = true)
+    PessoaJuridica paraEntidade(PessoaJuridicaDto dados);
+
+    UsuarioResponse paraResposta(Usuario usuario);
+
+    PessoaFisicaDto paraResposta(PessoaFisica pessoaFisica);
+
+    PessoaJuridicaDto paraResposta(PessoaJuridica pessoaJuridica);
+
+    /**
+     * Liga Pessoa Física/Jurídica ao usuário (lado dono do relacionamento)
+     */
+    @AfterMapping
+    default void vincularPessoa(@MappingTarget Usuario usuario) {
+        if (usuario.getPessoaFisica() != null) {
+            usuario.getPessoaFisica().setUsuario(usuario);
+        }
+        if (usuario.getPessoaJuridica() != null) {
+            usuario.getPessoaJuridica().setUsuario(usuario);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.fintech.fintechapi.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Alerta de vencimento gerado pelo job de vencimentos para uma despesa pendente
+ */
+@Entity
+@Table(name = "ALERTA_VENCIMENTO")
+public class AlertaVencimento {
+
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "SEQ_ALERTAS_VENCIMENTO"
+    )
+    @SequenceGenerator(
+            name = "SEQ_ALERTAS_VENCIMENTO",
+            sequenceName = "SEQ_ALERTAS_VENCIMENTO",
+            allocationSize = 1
+    )
+    @Column(name = "id_alerta")
+    private Long idAlerta;
+
+    @JsonIgnore
+    @Column(name = "id_usuario", nullable = false)
+    private Long idUsuario;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_despesa", nullable = false)
+    private Despesa despesa;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_alerta", nullable = false, length = 10)
+    private TipoAlerta tipoAlerta;
+
+    @Column(name = "data_vencimento", nullable = false)
+    private LocalDate dataVencimento;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "lido_em")
+    private LocalDateTime lidoEm;
+
+    public AlertaVencimento() {
+    }
+
+    public Long getIdAlerta() {
+        return idAlerta;
+    }
+
+    public void setIdAlerta(Long idAlerta) {
+        this.idAlerta = idAlerta;
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(Long idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public Despesa getDespesa() {
+        return despesa;
+    }
+
+    public void setDespesa(Despesa despesa) {
+        this.despesa = despesa;
+    }
+
+    public TipoAlerta getTipoAlerta() {
+        return tipoAlerta;
+    }
+
+    public void setTipoAlerta(TipoAlerta tipoAlerta) {
+        this.tipoAlerta = tipoAlerta;
+    }
+
+    public LocalDate getDataVencimento() {
+        return dataVencimento;
+    }
+
+    public void setDataVencimento(LocalDate dataVencimento) {
+        this.dataVencimento = dataVencimento;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public void setCriadoEm(LocalDateTime criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+
+    public LocalDateTime getLidoEm() {
+        return lidoEm;
+    }
+
+    public void setLidoEm(LocalDateTime lidoEm) {
+        this.lidoEm = lidoEm;
+    }
+}
@@ -1,5 +1,8 @@
 package br.com.fintech.fintechapi.model;
 
+import br.com.fintech.fintechapi.config.JacksonConfig;
+import br.com.fintech.fintechapi.dto.SituacaoOrcamento;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
@@ -7,6 +10,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@JsonFilter(JacksonConfig.FILTRO_CAMPOS)
 @Table(name = "DESPESA")
 public class Despesa {
 
@@ -54,6 +58,22 @@ public class Despesa {
     @Column(name = "criado_em", nullable = false)
     private LocalDateTime criadoEm;
 
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    /**
+     * Regra que gerou este lançamento (null para lançamentos avulsos)
+     */
+    @Column(name = "id_regra_recorrencia", updatable = false)
+    private Long idRegraRecorrencia;
+
+    /**
+     * Situação do orçamento da categoria no mês após a gravação (não persistida; null sem orçamento)
+     */
+    @Transient
+    @JsonIgnore
+    private SituacaoOrcamento situacaoOrcamento;
+
     public Despesa() {
         this.criadoEm = LocalDateTime.now();
         this.recorrente = 0;
@@ -139,5 +159,37 @@ public class Despesa {
     public void setCriadoEm(LocalDateTime criadoEm) {
         this.criadoEm = criadoEm;
     }
-}
 
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(LocalDateTime atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    public Long getIdRegraRecorrencia() {
+        return idRegraRecorrencia;
+    }
+
+    public void setIdRegraRecorrencia(Long idRegraRecorrencia) {
+        this.idRegraRecorrencia = idRegraRecorrencia;
+    }
+
+    public SituacaoOrcamento getSituacaoOrcamento() {
+        return situacaoOrcamento;
+    }
+
+    public void setSituacaoOrcamento(SituacaoOrcamento situacaoOrcamento) {
+        this.situacaoOrcamento = situacaoOrcamento;
+    }
+
+    /**
+     * Mantém atualizado_em, usado pela sincronização incremental
+     */
+    @PrePersist
+    @PreUpdate
+    protected void registrarAtualizacao() {
+        this.atualizadoEm = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.fintech.fintechapi.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio gravado no outbox, na mesma transação da alteração de despesa/receita
+ * O relay (RelayOutboxService) repassa os eventos pendentes aos destinos configurados
+ */
+@Entity
+@Table(name = "OUTBOX_EVENTO")
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "SEQ_OUTBOX_EVENTOS"
+    )
+    @SequenceGenerator(
+            name = "SEQ_OUTBOX_EVENTOS",
+            sequenceName = "SEQ_OUTBOX_EVENTOS",
+            allocationSize = 50
+    )
+    @Column(name = "id_evento")
+    private Long idEvento;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_evento", nullable = false, length = 10)
+    private TipoEventoOutbox tipoEvento;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_lancamento", nullable = false, length = 10)
+    private TipoLancamento tipoLancamento;
+
+    @Column(name = "id_registro", nullable = false)
+    private Long idRegistro;
+
+    @Column(name = "id_usuario", nullable = false)
+    private Long idUsuario;
+
+    /**
+     * Versão do ledger do usuário após a alteração: ordena os eventos de um mesmo usuário
+     */
+    @Column(name = "versao_ledger", nullable = false)
+    private Long versaoLedger;
+
+    /**
+     * Dados resumidos do lançamento em JSON (null em exclusões)
+     */
+    @Column(length = 1000)
+    private String carga;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "publicado_em")
+    private LocalDateTime publicadoEm;
+
+    public EventoOutbox() {
+    }
+
+    public EventoOutbox(TipoEventoOutbox tipoEvento, TipoLancamento tipoLancamento, Long idRegistro,
+                        Long idUsuario, Long versaoLedger, String carga) {
+        this.tipoEvento = tipoEvento;
+        this.tipoLancamento = tipoLancamento;
+        this.idRegistro = idRegistro;
+        this.idUsuario = idUsuario;
+        this.versaoLedger = versaoLedger;
+        this.carga = carga;
+        this.criadoEm = LocalDateTime.now();
+    }
+
+    public Long getIdEvento() {
+        return idEvento;
+    }
+
+    public TipoEventoOutbox getTipoEvento() {
+        return tipoEvento;
+    }
+
+    public TipoLancamento getTipoLancamento() {
+        return tipoLancamento;
+    }
+
+    public Long getIdRegistro() {
+        return idRegistro;
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public Long getVersaoLedger() {
+        return versaoLedger;
+    }
+
+    public String getCarga() {
+        return carga;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public LocalDateTime getPublicadoEm() {
+        return publicadoEm;
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.fintech.fintechapi.model;
+
+/**
+ * Frequência de uma regra de recorrência
+ * O intervalo da regra é contado em meses (MENSAL), semanas (SEMANAL) ou dias (PERSONALIZADA)
+ */
+public enum FrequenciaRecorrencia {
+    MENSAL,
+    SEMANAL,
+    PERSONALIZADA
+}
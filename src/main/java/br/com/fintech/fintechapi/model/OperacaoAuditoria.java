@@ -0,0 +1,10 @@
+package br.com.fintech.fintechapi.model;
+
+/**
+ * Operação registrada na trilha de auditoria
+ */
+public enum OperacaoAuditoria {
+    INCLUSAO,
+    ALTERACAO,
+    EXCLUSAO
+}
@@ -0,0 +1,83 @@
+package br.com.fintech.fintechapi.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Limite mensal de despesas de um usuário em uma categoria
+ */
+@Entity
+@Table(name = "ORCAMENTO")
+public class Orcamento {
+
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "SEQ_ORCAMENTOS"
+    )
+    @SequenceGenerator(
+            name = "SEQ_ORCAMENTOS",
+            sequenceName = "SEQ_ORCAMENTOS",
+            allocationSize = 1
+    )
+    @Column(name = "id_orcamento")
+    private Long idOrcamento;
+
+    @JsonIgnore
+    @Column(name = "id_usuario", nullable = false)
+    private Long idUsuario;
+
+    @Column(name = "id_categoria", nullable = false)
+    private Long idCategoria;
+
+    @Column(name = "valor_limite", precision = 12, scale = 2, nullable = false)
+    private BigDecimal valorLimite;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    public Orcamento() {
+    }
+
+    public Long getIdOrcamento() {
+        return idOrcamento;
+    }
+
+    public void setIdOrcamento(Long idOrcamento) {
+        this.idOrcamento = idOrcamento;
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(Long idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public Long getIdCategoria() {
+        return idCategoria;
+    }
+
+    public void setIdCategoria(Long idCategoria) {
+        this.idCategoria = idCategoria;
+    }
+
+    public BigDecimal getValorLimite() {
+        return valorLimite;
+    }
+
+    public void setValorLimite(BigDecimal valorLimite) {
+        this.valorLimite = valorLimite;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public void setCriadoEm(LocalDateTime criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.fintech.fintechapi.model;
 
+import br.com.fintech.fintechapi.config.JacksonConfig;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
@@ -10,6 +12,7 @@ import java.time.LocalDateTime;
  * Entidade que representa uma receita no sistema
  */
 @Entity
+@JsonFilter(JacksonConfig.FILTRO_CAMPOS)
 @Table(name = "RECEITA")
 public class Receita {
 
@@ -57,6 +60,15 @@ public class Receita {
     @Column(name = "criado_em", nullable = false)
     private LocalDateTime criadoEm;
 
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    /**
+     * Regra que gerou este lançamento (null para lançamentos avulsos)
+     */
+    @Column(name = "id_regra_recorrencia", updatable = false)
+    private Long idRegraRecorrencia;
+
     // Construtor padrão
     public Receita() {
         this.criadoEm = LocalDateTime.now();
@@ -144,5 +156,29 @@ public class Receita {
     public void setSubcategoria(Subcategoria subcategoria) {
         this.subcategoria = subcategoria;
     }
-}
 
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    public void setAtualizadoEm(LocalDateTime atualizadoEm) {
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    public Long getIdRegraRecorrencia() {
+        return idRegraRecorrencia;
+    }
+
+    public void setIdRegraRecorrencia(Long idRegraRecorrencia) {
+        this.idRegraRecorrencia = idRegraRecorrencia;
+    }
+
+    /**
+     * Mantém atualizado_em, usado pela sincronização incremental
+     */
+    @PrePersist
+    @PreUpdate
+    protected void registrarAtualizacao() {
+        this.atualizadoEm = LocalDateTime.now();
+    }
+}
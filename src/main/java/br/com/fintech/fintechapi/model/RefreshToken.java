@@ -0,0 +1,106 @@
+package br.com.fintech.fintechapi.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que representa um refresh token emitido no login
+ * Apenas o hash SHA-256 do token é armazenado; o valor original fica somente com o cliente
+ */
+@Entity
+@Table(name = "REFRESH_TOKEN")
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "SEQ_REFRESH_TOKENS"
+    )
+    @SequenceGenerator(
+            name = "SEQ_REFRESH_TOKENS",
+            sequenceName = "SEQ_REFRESH_TOKENS",
+            allocationSize = 1
+    )
+    @Column(name = "id_refresh_token")
+    private Long idRefreshToken;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_usuario", nullable = false)
+    private Usuario usuario;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(name = "revogado_em")
+    private LocalDateTime revogadoEm;
+
+    // Construtor padrão
+    public RefreshToken() {
+        this.criadoEm = LocalDateTime.now();
+    }
+
+    // Construtor com parâmetros
+    public RefreshToken(Usuario usuario, String tokenHash, LocalDateTime expiraEm) {
+        this.usuario = usuario;
+        this.tokenHash = tokenHash;
+        this.expiraEm = expiraEm;
+        this.criadoEm = LocalDateTime.now();
+    }
+
+    // Getters e Setters
+    public Long getIdRefreshToken() {
+        return idRefreshToken;
+    }
+
+    public void setIdRefreshToken(Long idRefreshToken) {
+        this.idRefreshToken = idRefreshToken;
+    }
+
+    public Usuario getUsuario() {
+        return usuario;
+    }
+
+    public void setUsuario(Usuario usuario) {
+        this.usuario = usuario;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public void setExpiraEm(LocalDateTime expiraEm) {
+        this.expiraEm = expiraEm;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public void setCriadoEm(LocalDateTime criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+
+    public LocalDateTime getRevogadoEm() {
+        return revogadoEm;
+    }
+
+    public void setRevogadoEm(LocalDateTime revogadoEm) {
+        this.revogadoEm = revogadoEm;
+    }
+}
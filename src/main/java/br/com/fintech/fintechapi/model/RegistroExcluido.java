@@ -0,0 +1,89 @@
+package br.com.fintech.fintechapi.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Registro de exclusão (tombstone) de uma despesa ou receita
+ * Permite que a sincronização incremental informe aos clientes os lançamentos removidos
+ */
+@Entity
+@Table(name = "REGISTRO_EXCLUIDO")
+public class RegistroExcluido {
+
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "SEQ_REGISTROS_EXCLUIDOS"
+    )
+    @SequenceGenerator(
+            name = "SEQ_REGISTROS_EXCLUIDOS",
+            sequenceName = "SEQ_REGISTROS_EXCLUIDOS",
+            allocationSize = 1
+    )
+    @Column(name = "id_registro_excluido")
+    private Long idRegistroExcluido;
+
+    @Column(name = "id_usuario", nullable = false)
+    private Long idUsuario;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_lancamento", nullable = false, length = 10)
+    private TipoLancamento tipoLancamento;
+
+    @Column(name = "id_registro", nullable = false)
+    private Long idRegistro;
+
+    @Column(name = "excluido_em", nullable = false)
+    private LocalDateTime excluidoEm;
+
+    public RegistroExcluido() {
+    }
+
+    public RegistroExcluido(Long idUsuario, TipoLancamento tipoLancamento, Long idRegistro) {
+        this.idUsuario = idUsuario;
+        this.tipoLancamento = tipoLancamento;
+        this.idRegistro = idRegistro;
+        this.excluidoEm = LocalDateTime.now();
+    }
+
+    public Long getIdRegistroExcluido() {
+        return idRegistroExcluido;
+    }
+
+    public void setIdRegistroExcluido(Long idRegistroExcluido) {
+        this.idRegistroExcluido = idRegistroExcluido;
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(Long idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public TipoLancamento getTipoLancamento() {
+        return tipoLancamento;
+    }
+
+    public void setTipoLancamento(TipoLancamento tipoLancamento) {
+        this.tipoLancamento = tipoLancamento;
+    }
+
+    public Long getIdRegistro() {
+        return idRegistro;
+    }
+
+    public void setIdRegistro(Long idRegistro) {
+        this.idRegistro = idRegistro;
+    }
+
+    public LocalDateTime getExcluidoEm() {
+        return excluidoEm;
+    }
+
+    public void setExcluidoEm(LocalDateTime excluidoEm) {
+        this.excluidoEm = excluidoEm;
+    }
+}
@@ -0,0 +1,245 @@
+package br.com.fintech.fintechapi.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Regra de recorrência de despesa ou receita
+ * As ocorrências são materializadas como lançamentos comuns pelo job de recorrência,
+ * até um horizonte móvel à frente da data atual
+ */
+@Entity
+@Table(name = "REGRA_RECORRENCIA")
+public class RegraRecorrencia {
+
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "SEQ_REGRAS_RECORRENCIA"
+    )
+    @SequenceGenerator(
+            name = "SEQ_REGRAS_RECORRENCIA",
+            sequenceName = "SEQ_REGRAS_RECORRENCIA",
+            allocationSize = 1
+    )
+    @Column(name = "id_regra_recorrencia")
+    private Long idRegraRecorrencia;
+
+    @JsonIgnore
+    @Column(name = "id_usuario", nullable = false)
+    private Long idUsuario;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo_lancamento", nullable = false, length = 10)
+    private TipoLancamento tipoLancamento;
+
+    @Column(length = 255)
+    private String descricao;
+
+    @Column(precision = 12, scale = 2, nullable = false)
+    private BigDecimal valor;
+
+    @Column(name = "id_categoria")
+    private Long idCategoria;
+
+    @Column(name = "id_subcategoria")
+    private Long idSubcategoria;
+
+    @Column(columnDefinition = "NUMBER(1) DEFAULT 1", nullable = false)
+    private Integer pendente = 1;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 15)
+    private FrequenciaRecorrencia frequencia;
+
+    @Column(nullable = false)
+    private Integer intervalo = 1;
+
+    @Column(name = "data_inicio", nullable = false)
+    private LocalDate dataInicio;
+
+    @Column(name = "data_fim")
+    private LocalDate dataFim;
+
+    /**
+     * Última data já coberta pela materialização (ocorrências até ela existem ou foram excluídas pelo usuário)
+     */
+    @Column(name = "gerado_ate", nullable = false)
+    private LocalDate geradoAte;
+
+    /**
+     * 1 = ativa; 0 = encerrada (data_fim alcançada)
+     */
+    @Column(columnDefinition = "NUMBER(1) DEFAULT 1", nullable = false)
+    private Integer ativa = 1;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    public RegraRecorrencia() {
+        this.criadoEm = LocalDateTime.now();
+    }
+
+    /**
+     * Datas das ocorrências posteriores a geradoAte, até a data limite (inclusive)
+     * Cada ocorrência é calculada a partir da data de início, para que o dia do mês se mantenha
+     * (uma regra do dia 31 cai no último dia dos meses mais curtos e volta ao dia 31 no seguinte)
+     * @param ate Data limite
+     * @param maximo Quantidade máxima de datas retornadas
+     */
+    public List<LocalDate> proximasOcorrencias(LocalDate ate, int maximo) {
+        List<LocalDate> datas = new ArrayList<>();
+        LocalDate limite = (dataFim != null && dataFim.isBefore(ate)) ? dataFim : ate;
+
+        // Começa perto de geradoAte em vez de percorrer todas as ocorrências desde o início
+        long decorrido = geradoAte.isBefore(dataInicio) ? 0 : unidade().between(dataInicio, geradoAte);
+        long indice = Math.max(0, decorrido / intervalo - 1);
+
+        LocalDate data = ocorrencia(indice);
+        while (!data.isAfter(limite) && datas.size() < maximo) {
+            if (data.isAfter(geradoAte)) {
+                datas.add(data);
+            }
+            data = ocorrencia(++indice);
+        }
+        return datas;
+    }
+
+    private LocalDate ocorrencia(long indice) {
+        return dataInicio.plus(indice * intervalo, unidade());
+    }
+
+    private ChronoUnit unidade() {
+        return switch (frequencia) {
+            case MENSAL -> ChronoUnit.MONTHS;
+            case SEMANAL -> ChronoUnit.WEEKS;
+            case PERSONALIZADA -> ChronoUnit.DAYS;
+        };
+    }
+
+    public Long getIdRegraRecorrencia() {
+        return idRegraRecorrencia;
+    }
+
+    public void setIdRegraRecorrencia(Long idRegraRecorrencia) {
+        this.idRegraRecorrencia = idRegraRecorrencia;
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(Long idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public TipoLancamento getTipoLancamento() {
+        return tipoLancamento;
+    }
+
+    public void setTipoLancamento(TipoLancamento tipoLancamento) {
+        this.tipoLancamento = tipoLancamento;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+
+    public Long getIdCategoria() {
+        return idCategoria;
+    }
+
+    public void setIdCategoria(Long idCategoria) {
+        this.idCategoria = idCategoria;
+    }
+
+    public Long getIdSubcategoria() {
+        return idSubcategoria;
+    }
+
+    public void setIdSubcategoria(Long idSubcategoria) {
+        this.idSubcategoria = idSubcategoria;
+    }
+
+    public Integer getPendente() {
+        return pendente;
+    }
+
+    public void setPendente(Integer pendente) {
+        this.pendente = pendente;
+    }
+
+    public FrequenciaRecorrencia getFrequencia() {
+        return frequencia;
+    }
+
+    public void setFrequencia(FrequenciaRecorrencia frequencia) {
+        this.frequencia = frequencia;
+    }
+
+    public Integer getIntervalo() {
+        return intervalo;
+    }
+
+    public void setIntervalo(Integer intervalo) {
+        this.intervalo = intervalo;
+    }
+
+    public LocalDate getDataInicio() {
+        return dataInicio;
+    }
+
+    public void setDataInicio(LocalDate dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    public LocalDate getDataFim() {
+        return dataFim;
+    }
+
+    public void setDataFim(LocalDate dataFim) {
+        this.dataFim = dataFim;
+    }
+
+    public LocalDate getGeradoAte() {
+        return geradoAte;
+    }
+
+    public void setGeradoAte(LocalDate geradoAte) {
+        this.geradoAte = geradoAte;
+    }
+
+    public Integer getAtiva() {
+        return ativa;
+    }
+
+    public void setAtiva(Integer ativa) {
+        this.ativa = ativa;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public void setCriadoEm(LocalDateTime criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+}
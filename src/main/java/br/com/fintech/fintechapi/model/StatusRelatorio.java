@@ -0,0 +1,11 @@
+package br.com.fintech.fintechapi.model;
+
+/**
+ * Situação de um pedido de relatório
+ */
+public enum StatusRelatorio {
+    PENDENTE,
+    EXECUTANDO,
+    CONCLUIDO,
+    FALHOU
+}
@@ -0,0 +1,9 @@
+package br.com.fintech.fintechapi.model;
+
+/**
+ * Tipo de alerta de vencimento de despesa pendente
+ */
+public enum TipoAlerta {
+    A_VENCER,
+    VENCIDA
+}
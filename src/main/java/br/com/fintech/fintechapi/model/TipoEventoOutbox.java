@@ -0,0 +1,10 @@
+package br.com.fintech.fintechapi.model;
+
+/**
+ * Operação que originou um evento do outbox
+ */
+public enum TipoEventoOutbox {
+    CRIADO,
+    ATUALIZADO,
+    EXCLUIDO
+}
@@ -0,0 +1,9 @@
+package br.com.fintech.fintechapi.model;
+
+/**
+ * Tipo de lançamento financeiro do usuário
+ */
+public enum TipoLancamento {
+    DESPESA,
+    RECEITA
+}
@@ -0,0 +1,9 @@
+package br.com.fintech.fintechapi.model;
+
+/**
+ * Relatórios gerados de forma assíncrona
+ */
+public enum TipoRelatorio {
+    ANUAL,      // Receitas, despesas e saldo mês a mês de um ano
+    CATEGORIAS  // Totais por categoria e ano em um período (até 10 anos)
+}
@@ -39,7 +39,7 @@ public class Usuario implements UserDetails {
     private String email;
 
     @JsonIgnore  // Nunca expor a senha no JSON
-    @Column(nullable = false, length = 100)
+    @Column(nullable = false, length = 255)
     private String senha;
 
     @Column(name = "criado_em", nullable = false)
@@ -0,0 +1,38 @@
+package br.com.fintech.fintechapi.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Versão das alterações de despesas e receitas de um usuário
+ * Incrementada na mesma transação de cada criação, atualização ou exclusão
+ */
+@Entity
+@Table(name = "VERSAO_LEDGER")
+public class VersaoLedger {
+
+    @Id
+    @Column(name = "id_usuario")
+    private Long idUsuario;
+
+    @Column(nullable = false)
+    private Long versao;
+
+    public VersaoLedger() {
+    }
+
+    public Long getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(Long idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.fintech.fintechapi.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Autorização de um usuário para que uma conta PJ consolide seus lançamentos
+ */
+@Entity
+@Table(name = "VINCULO_USUARIO")
+public class VinculoUsuario {
+
+    @Id
+    @GeneratedValue(
+            strategy = GenerationType.SEQUENCE,
+            generator = "SEQ_VINCULOS_USUARIO"
+    )
+    @SequenceGenerator(
+            name = "SEQ_VINCULOS_USUARIO",
+            sequenceName = "SEQ_VINCULOS_USUARIO",
+            allocationSize = 1
+    )
+    @Column(name = "id_vinculo")
+    private Long idVinculo;
+
+    @Column(name = "id_usuario_pj", nullable = false, updatable = false)
+    private Long idUsuarioPj;
+
+    @Column(name = "id_usuario_vinculado", nullable = false, updatable = false)
+    private Long idUsuarioVinculado;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    public VinculoUsuario() {
+    }
+
+    public VinculoUsuario(Long idUsuarioPj, Long idUsuarioVinculado) {
+        this.idUsuarioPj = idUsuarioPj;
+        this.idUsuarioVinculado = idUsuarioVinculado;
+        this.criadoEm = LocalDateTime.now();
+    }
+
+    public Long getIdVinculo() {
+        return idVinculo;
+    }
+
+    public void setIdVinculo(Long idVinculo) {
+        this.idVinculo = idVinculo;
+    }
+
+    public Long getIdUsuarioPj() {
+        return idUsuarioPj;
+    }
+
+    public void setIdUsuarioPj(Long idUsuarioPj) {
+        this.idUsuarioPj = idUsuarioPj;
+    }
+
+    public Long getIdUsuarioVinculado() {
+        return idUsuarioVinculado;
+    }
+
+    public void setIdUsuarioVinculado(Long idUsuarioVinculado) {
+        this.idUsuarioVinculado = idUsuarioVinculado;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public void setCriadoEm(LocalDateTime criadoEm) {
+        this.criadoEm = criadoEm;
+    }
+}
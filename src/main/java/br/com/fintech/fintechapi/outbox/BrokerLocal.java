@@ -0,0 +1,48 @@
+package br.com.fintech.fintechapi.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Broker local em memória, no lugar de um broker externo (Kafka, RabbitMQ) em desenvolvimento e testes
+ * Fila limitada: com a fila cheia o lote é recusado e o relay tenta de novo depois, sem perder eventos
+ */
+@Component
+public class BrokerLocal implements DestinoEventos {
+
+    private final ArrayBlockingQueue<EventoPublicado> fila;
+
+    public BrokerLocal(@Value("${fintech.outbox.broker.capacidade:10000}") int capacidade) {
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+    }
+
+    @Override
+    public String nome() {
+        return "broker";
+    }
+
+    @Override
+    public synchronized void publicar(List<EventoPublicado> eventos) {
+        if (fila.remainingCapacity() < eventos.size()) {
+            throw new IllegalStateException("Broker local cheio: " + fila.size() + " eventos aguardando consumo");
+        }
+        fila.addAll(eventos);
+    }
+
+    /**
+     * Retira até max eventos da fila, na ordem de publicação
+     */
+    public List<EventoPublicado> consumir(int max) {
+        List<EventoPublicado> eventos = new ArrayList<>(Math.min(max, fila.size()));
+        fila.drainTo(eventos, max);
+        return eventos;
+    }
+
+    public int pendentes() {
+        return fila.size();
+    }
+}
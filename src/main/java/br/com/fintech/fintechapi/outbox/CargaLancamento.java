@@ -0,0 +1,19 @@
+package br.com.fintech.fintechapi.outbox;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Dados resumidos de uma despesa/receita gravados na carga do evento
+ * Sem descrição, para manter a linha do outbox pequena; quem precisar do registro completo consulta pelo ID
+ *
+ * @param data Data de vencimento (despesa) ou de entrada (receita)
+ */
+public record CargaLancamento(
+        BigDecimal valor,
+        LocalDate data,
+        Integer pendente,
+        Long idCategoria,
+        Long idSubcategoria
+) {
+}
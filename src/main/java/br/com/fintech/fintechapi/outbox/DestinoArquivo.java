@@ -0,0 +1,62 @@
+package br.com.fintech.fintechapi.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Destino em arquivo: acrescenta cada evento como uma linha JSON (JSON Lines)
+ * O lote é gravado com uma única escrita e sincronizado em disco antes de o relay marcar os eventos como publicados
+ */
+@Component
+public class DestinoArquivo implements DestinoEventos {
+
+    private final ObjectMapper objectMapper;
+    private final Path arquivo;
+
+    public DestinoArquivo(ObjectMapper objectMapper,
+                          @Value("${fintech.outbox.arquivo:outbox-eventos.jsonl}") String arquivo) {
+        this.objectMapper = objectMapper;
+        this.arquivo = Path.of(arquivo);
+    }
+
+    @Override
+    public String nome() {
+        return "arquivo";
+    }
+
+    @Override
+    public synchronized void publicar(List<EventoPublicado> eventos) {
+        try {
+            StringBuilder linhas = new StringBuilder(eventos.size() * 200);
+            for (EventoPublicado evento : eventos) {
+                linhas.append(objectMapper.writeValueAsString(evento)).append('\n');
+            }
+
+            Path diretorio = arquivo.toAbsolutePath().getParent();
+            if (diretorio != null) {
+                Files.createDirectories(diretorio);
+            }
+            try (FileChannel canal = FileChannel.open(arquivo,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(linhas.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+                canal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar eventos do outbox em " + arquivo, e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.fintech.fintechapi.outbox;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos do outbox
+ * Uma exceção em publicar() desfaz o lote inteiro, que é entregue de novo na próxima execução do relay
+ */
+public interface DestinoEventos {
+
+    /**
+     * Nome usado em fintech.outbox.destinos
+     */
+    String nome();
+
+    /**
+     * Entrega um lote de eventos, em ordem de idEvento
+     */
+    void publicar(List<EventoPublicado> eventos);
+}
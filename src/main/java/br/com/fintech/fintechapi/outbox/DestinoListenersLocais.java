@@ -0,0 +1,30 @@
+package br.com.fintech.fintechapi.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Destino em processo: publica cada evento como ApplicationEvent
+ * Consumidores na própria aplicação usam @EventListener(EventoPublicado.class), fora do caminho da requisição
+ */
+@Component
+public class DestinoListenersLocais implements DestinoEventos {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public String nome() {
+        return "listeners";
+    }
+
+    @Override
+    public void publicar(List<EventoPublicado> eventos) {
+        for (EventoPublicado evento : eventos) {
+            eventPublisher.publishEvent(evento);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.fintech.fintechapi.outbox;
+
+import br.com.fintech.fintechapi.model.TipoEventoOutbox;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento do outbox entregue aos destinos pelo relay
+ * A entrega é "pelo menos uma vez": um destino pode receber o mesmo idEvento de novo após falha,
+ * e deve tratá-lo de forma idempotente
+ *
+ * @param versaoLedger Versão do ledger do usuário após a alteração (ordem dos eventos de um usuário)
+ * @param carga JSON de CargaLancamento (null em EXCLUIDO)
+ */
+public record EventoPublicado(
+        long idEvento,
+        TipoEventoOutbox tipoEvento,
+        TipoLancamento tipoLancamento,
+        long idRegistro,
+        long idUsuario,
+        long versaoLedger,
+        String carga,
+        LocalDateTime criadoEm
+) {
+}
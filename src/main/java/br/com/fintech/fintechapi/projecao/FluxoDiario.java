@@ -0,0 +1,238 @@
+package br.com.fintech.fintechapi.projecao;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fluxo de caixa diário de um período, em centavos, usado pela projeção de saldo
+ *
+ * Os lançamentos são separados por mês na inclusão, em arrays primitivos (dia, valor). A projeção
+ * preenche as entradas e saídas de cada dia e resume cada mês (variação e menor saldo relativo ao
+ * início do mês) de forma independente; com muitos lançamentos os meses são resumidos em paralelo
+ * no ForkJoinPool. Os resumos são então encadeados a partir do saldo inicial, em ordem.
+ * Não é thread-safe na inclusão.
+ */
+public final class FluxoDiario {
+
+    /**
+     * Abaixo dessa quantidade de lançamentos os meses são resumidos na thread chamadora
+     */
+    static final int LIMIAR_PARALELO = 10_000;
+
+    private final LocalDate inicio;
+    private final LocalDate fim;
+    private final LocalDate[] iniciosMes;
+    private final int[] primeiroDia;
+    private final Lancamentos[] porMes;
+
+    private long estimativaEntradasMes;
+    private long estimativaSaidasMes;
+    private int totalLancamentos;
+
+    /**
+     * Projeção de um mês: valores em centavos
+     * @param saldoMinimo Menor saldo ao fim de um dia do mês
+     */
+    public record Mes(LocalDate inicio, long entradas, long saidas, long saldoFinal,
+                      long saldoMinimo, LocalDate dataSaldoMinimo) {
+    }
+
+    /**
+     * Lançamentos de um mês: dia relativo ao início do período e valor (positivo = entrada)
+     */
+    private static final class Lancamentos {
+        int[] dias = new int[16];
+        long[] valores = new long[16];
+        int tamanho;
+
+        void adicionar(int dia, long valor) {
+            if (tamanho == dias.length) {
+                dias = Arrays.copyOf(dias, tamanho * 2);
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            dias[tamanho] = dia;
+            valores[tamanho] = valor;
+            tamanho++;
+        }
+    }
+
+    /**
+     * @param inicio Dia base (hoje); o saldo inicial é o saldo ao início deste dia
+     * @param meses Quantidade de meses projetados, contando o mês de inicio
+     */
+    public FluxoDiario(LocalDate inicio, int meses) {
+        if (meses <= 0) {
+            throw new IllegalArgumentException("Quantidade de meses deve ser maior que zero");
+        }
+        this.inicio = inicio;
+        this.fim = inicio.withDayOfMonth(1).plusMonths(meses).minusDays(1);
+        this.iniciosMes = new LocalDate[meses];
+        this.primeiroDia = new int[meses + 1];
+        this.porMes = new Lancamentos[meses];
+
+        for (int i = 0; i < meses; i++) {
+            iniciosMes[i] = i == 0 ? inicio : inicio.withDayOfMonth(1).plusMonths(i);
+            primeiroDia[i] = (int) ChronoUnit.DAYS.between(inicio, iniciosMes[i]);
+            porMes[i] = new Lancamentos();
+        }
+        primeiroDia[meses] = (int) ChronoUnit.DAYS.between(inicio, fim) + 1;
+    }
+
+    public LocalDate getFim() {
+        return fim;
+    }
+
+    /**
+     * Inclui um lançamento; datas anteriores ao início contam no primeiro dia (pendências em atraso)
+     * e datas após o fim do período são ignoradas
+     * @param centavos Valor com sinal: positivo para entrada, negativo para saída
+     */
+    public void adicionar(LocalDate data, long centavos) {
+        if (data.isAfter(fim) || centavos == 0) {
+            return;
+        }
+        int dia = data.isBefore(inicio) ? 0 : (int) ChronoUnit.DAYS.between(inicio, data);
+        int mes = data.isBefore(inicio) ? 0 : (int) ChronoUnit.MONTHS.between(iniciosMes[0].withDayOfMonth(1), data.withDayOfMonth(1));
+        porMes[mes].adicionar(dia, centavos);
+        totalLancamentos++;
+    }
+
+    /**
+     * Define as médias mensais estimadas, distribuídas igualmente pelos dias a partir de amanhã
+     * @param entradasMes Entradas esperadas por mês, em centavos
+     * @param saidasMes Saídas esperadas por mês, em centavos (valor positivo)
+     */
+    public void estimar(long entradasMes, long saidasMes) {
+        this.estimativaEntradasMes = entradasMes;
+        this.estimativaSaidasMes = saidasMes;
+    }
+
+    /**
+     * Projeta o saldo mês a mês
+     * @param saldoInicial Saldo ao início do dia base, em centavos
+     * @param pool Pool usado quando há lançamentos suficientes para compensar o paralelismo
+     */
+    public List<Mes> projetar(long saldoInicial, ForkJoinPool pool) {
+        return projetar(saldoInicial, pool, totalLancamentos >= LIMIAR_PARALELO);
+    }
+
+    List<Mes> projetar(long saldoInicial, ForkJoinPool pool, boolean paralelo) {
+        int meses = porMes.length;
+        int dias = primeiroDia[meses];
+        long[] entradas = new long[dias];
+        long[] saidas = new long[dias];
+        long[] variacao = new long[meses];
+        long[] minimo = new long[meses];
+        int[] diaMinimo = new int[meses];
+
+        ResumoMeses tarefa = new ResumoMeses(0, meses, entradas, saidas, variacao, minimo, diaMinimo);
+        if (paralelo && meses > 1) {
+            pool.invoke(tarefa);
+        } else {
+            tarefa.resumir(0, meses);
+        }
+
+        List<Mes> resultado = new ArrayList<>(meses);
+        long saldo = saldoInicial;
+        for (int m = 0; m < meses; m++) {
+            long somaEntradas = 0;
+            long somaSaidas = 0;
+            for (int d = primeiroDia[m]; d < primeiroDia[m + 1]; d++) {
+                somaEntradas += entradas[d];
+                somaSaidas += saidas[d];
+            }
+            resultado.add(new Mes(iniciosMes[m], somaEntradas, somaSaidas, saldo + variacao[m],
+                    saldo + minimo[m], inicio.plusDays(diaMinimo[m])));
+            saldo += variacao[m];
+        }
+        return resultado;
+    }
+
+    /**
+     * Resume um intervalo de meses, dividindo-o ao meio até restar um mês por tarefa
+     * Cada mês escreve apenas na sua faixa dos arrays, então as tarefas não disputam posições
+     */
+    private final class ResumoMeses extends RecursiveAction {
+
+        private final int de;
+        private final int ate;
+        private final long[] entradas;
+        private final long[] saidas;
+        private final long[] variacao;
+        private final long[] minimo;
+        private final int[] diaMinimo;
+
+        ResumoMeses(int de, int ate, long[] entradas, long[] saidas, long[] variacao, long[] minimo, int[] diaMinimo) {
+            this.de = de;
+            this.ate = ate;
+            this.entradas = entradas;
+            this.saidas = saidas;
+            this.variacao = variacao;
+            this.minimo = minimo;
+            this.diaMinimo = diaMinimo;
+        }
+
+        @Override
+        protected void compute() {
+            if (ate - de == 1) {
+                resumir(de, ate);
+                return;
+            }
+            int meio = (de + ate) >>> 1;
+            invokeAll(new ResumoMeses(de, meio, entradas, saidas, variacao, minimo, diaMinimo),
+                    new ResumoMeses(meio, ate, entradas, saidas, variacao, minimo, diaMinimo));
+        }
+
+        void resumir(int deMes, int ateMes) {
+            for (int m = deMes; m < ateMes; m++) {
+                resumirMes(m);
+            }
+        }
+
+        private void resumirMes(int m) {
+            int primeiro = primeiroDia[m];
+            int ultimo = primeiroDia[m + 1];
+
+            Lancamentos lancamentos = porMes[m];
+            for (int i = 0; i < lancamentos.tamanho; i++) {
+                long valor = lancamentos.valores[i];
+                if (valor > 0) {
+                    entradas[lancamentos.dias[i]] += valor;
+                } else {
+                    saidas[lancamentos.dias[i]] -= valor;
+                }
+            }
+
+            // Médias distribuídas pelos dias do mês civil; o resto da divisão não se perde entre os dias
+            int diasNoMes = iniciosMes[m].lengthOfMonth();
+            for (int d = Math.max(primeiro, 1); d < ultimo; d++) {
+                int diaDoMes = iniciosMes[m].getDayOfMonth() + (d - primeiro);
+                entradas[d] += parcela(estimativaEntradasMes, diaDoMes, diasNoMes);
+                saidas[d] += parcela(estimativaSaidasMes, diaDoMes, diasNoMes);
+            }
+
+            long acumulado = 0;
+            long menor = Long.MAX_VALUE;
+            int diaMenor = primeiro;
+            for (int d = primeiro; d < ultimo; d++) {
+                acumulado += entradas[d] - saidas[d];
+                if (acumulado < menor) {
+                    menor = acumulado;
+                    diaMenor = d;
+                }
+            }
+            variacao[m] = acumulado;
+            minimo[m] = menor;
+            diaMinimo[m] = diaMenor;
+        }
+    }
+
+    private static long parcela(long totalMes, int diaDoMes, int diasNoMes) {
+        return totalMes * diaDoMes / diasNoMes - totalMes * (diaDoMes - 1) / diasNoMes;
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.fintech.fintechapi.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limita a quantidade de requisições simultâneas por chave
+ *
+ * Os contadores ficam em um ConcurrentHashMap e são alterados dentro de compute(),
+ * que trava apenas o bin da chave (contenção distribuída entre as chaves).
+ * Chaves sem requisições em andamento são removidas, então a memória acompanha só os usuários ativos.
+ *
+ * @param <K> Tipo da chave limitada
+ */
+public class LimitadorConcorrencia<K> {
+
+    private final ConcurrentHashMap<K, Contador> ativas = new ConcurrentHashMap<>();
+
+    private static final class Contador {
+        private int emAndamento;
+    }
+
+    /**
+     * Tenta reservar uma vaga para a chave
+     * @param chave Chave limitada
+     * @param maximo Máximo de requisições simultâneas para a chave
+     * @return true se a vaga foi reservada (deve ser liberada com liberar)
+     */
+    public boolean adquirir(K chave, int maximo) {
+        boolean[] adquirida = new boolean[1];
+        ativas.compute(chave, (k, contador) -> {
+            if (contador == null) {
+                contador = new Contador();
+            }
+            if (contador.emAndamento < maximo) {
+                contador.emAndamento++;
+                adquirida[0] = true;
+            }
+            return contador.emAndamento == 0 ? null : contador;
+        });
+        return adquirida[0];
+    }
+
+    /**
+     * Libera uma vaga reservada com adquirir
+     * @param chave Chave limitada
+     */
+    public void liberar(K chave) {
+        ativas.computeIfPresent(chave, (k, contador) -> --contador.emAndamento <= 0 ? null : contador);
+    }
+
+    /**
+     * @return Quantidade de chaves com requisições em andamento
+     */
+    public long quantidadeChaves() {
+        return ativas.mappingCount();
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.fintech.fintechapi.ratelimit;
+
+import br.com.fintech.fintechapi.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escreve a resposta HTTP 429 (ou 413) diretamente no filtro, sem passar pelo DispatcherServlet
+ * Evita sendError: o dispatch de erro para /error passaria de novo pela cadeia de segurança
+ */
+public final class RespostaLimiteExcedido {
+
+    private RespostaLimiteExcedido() {
+    }
+
+    /**
+     * @param esperaNanos Tempo até a próxima permissão (vira o header Retry-After, em segundos)
+     */
+    public static void escrever(HttpServletRequest request, HttpServletResponse response, ObjectMapper objectMapper,
+                                long esperaNanos, String mensagem) throws IOException {
+        long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + 999_999_999L));
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        escrever(request, response, objectMapper, HttpStatus.TOO_MANY_REQUESTS, mensagem);
+    }
+
+    /**
+     * Escreve o ErrorResponse com o status informado, sem Retry-After
+     */
+    public static void escrever(HttpServletRequest request, HttpServletResponse response, ObjectMapper objectMapper,
+                                HttpStatus status, String mensagem) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        ErrorResponse erro = new ErrorResponse(
+            status.value(),
+            status.getReasonPhrase(),
+            mensagem,
+            request.getRequestURI()
+        );
+        objectMapper.writeValue(response.getOutputStream(), erro);
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.fintech.fintechapi.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de taxa por chave (IP, email, usuário) no modelo token bucket
+ *
+ * Cada chave guarda um único long com o "tempo teórico de chegada" (algoritmo GCRA),
+ * atualizado por CAS: não há locks nem alocação por requisição depois que a chave existe.
+ * Chaves com o balde cheio são equivalentes a chaves novas e podem ser removidas a qualquer momento.
+ *
+ * @param <K> Tipo da chave limitada
+ */
+public class TokenBucketRateLimiter<K> {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final int maxChaves;
+    private final LongSupplier relogio;
+
+    private final ConcurrentHashMap<K, AtomicLong> baldes = new ConcurrentHashMap<>();
+    private final AtomicBoolean limpando = new AtomicBoolean(false);
+
+    /**
+     * @param permissoesPorMinuto Taxa de reposição do balde
+     * @param rajada Capacidade do balde (requisições seguidas permitidas)
+     * @param maxChaves Quantidade máxima de chaves em memória
+     */
+    public TokenBucketRateLimiter(double permissoesPorMinuto, int rajada, int maxChaves) {
+        this(permissoesPorMinuto, rajada, maxChaves, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double permissoesPorMinuto, int rajada, int maxChaves, LongSupplier relogio) {
+        if (permissoesPorMinuto <= 0 || rajada <= 0 || maxChaves <= 0) {
+            throw new IllegalArgumentException("Parâmetros do limitador devem ser maiores que zero");
+        }
+        this.intervaloNanos = (long) (60_000_000_000L / permissoesPorMinuto);
+        this.toleranciaNanos = intervaloNanos * rajada;
+        this.maxChaves = maxChaves;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Tenta consumir uma permissão para a chave
+     * @param chave Chave limitada
+     * @return 0 se a requisição foi permitida; caso contrário, nanossegundos até a próxima permissão
+     */
+    public long consumir(K chave) {
+        long agora = relogio.getAsLong();
+
+        AtomicLong balde = baldes.get(chave);
+        if (balde == null) {
+            if (baldes.mappingCount() >= maxChaves && !liberarEspaco()) {
+                // Memória limitada: sob inundação de chaves novas, recusa em vez de crescer
+                return intervaloNanos;
+            }
+            balde = baldes.computeIfAbsent(chave, k -> new AtomicLong(agora));
+        }
+
+        while (true) {
+            long tat = balde.get();
+            long novoTat = Math.max(tat, agora) + intervaloNanos;
+            long excesso = novoTat - agora - toleranciaNanos;
+            if (excesso > 0) {
+                return excesso;
+            }
+            if (balde.compareAndSet(tat, novoTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Remove as chaves ociosas (balde cheio novamente)
+     * @return Quantidade de chaves removidas
+     */
+    public int removerOciosas() {
+        long agora = relogio.getAsLong();
+        int removidas = 0;
+        for (Map.Entry<K, AtomicLong> entrada : baldes.entrySet()) {
+            if (entrada.getValue().get() <= agora && baldes.remove(entrada.getKey(), entrada.getValue())) {
+                removidas++;
+            }
+        }
+        return removidas;
+    }
+
+    /**
+     * @return Quantidade de chaves atualmente em memória
+     */
+    public long quantidadeChaves() {
+        return baldes.mappingCount();
+    }
+
+    /**
+     * Executa uma limpeza imediata quando o limite de chaves é atingido (apenas uma thread por vez)
+     */
+    private boolean liberarEspaco() {
+        if (limpando.compareAndSet(false, true)) {
+            try {
+                removerOciosas();
+            } finally {
+                limpando.set(false);
+            }
+        }
+        return baldes.mappingCount() < maxChaves;
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.fintech.fintechapi.repository;
+
+import br.com.fintech.fintechapi.model.AlertaVencimento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository dos alertas de vencimento
+ */
+@Repository
+public interface AlertaVencimentoRepository extends JpaRepository<AlertaVencimento, Long> {
+
+    /**
+     * Alertas das despesas que continuam pendentes (despesas pagas deixam de aparecer)
+     */
+    @Query("SELECT a FROM AlertaVencimento a JOIN FETCH a.despesa d " +
+           "LEFT JOIN FETCH d.categoria LEFT JOIN FETCH d.subcategoria " +
+           "WHERE a.idUsuario = :idUsuario AND d.pendente = 1 " +
+           "AND (:apenasNaoLidos = false OR a.lidoEm IS NULL) " +
+           "ORDER BY a.dataVencimento, a.idAlerta")
+    List<AlertaVencimento> findPendentesByIdUsuario(@Param("idUsuario") Long idUsuario,
+                                                    @Param("apenasNaoLidos") boolean apenasNaoLidos);
+}
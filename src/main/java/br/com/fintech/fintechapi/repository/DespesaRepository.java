@@ -1,15 +1,22 @@
 package br.com.fintech.fintechapi.repository;
 
+import br.com.fintech.fintechapi.categorizacao.ExemploCategorizacao;
+import br.com.fintech.fintechapi.dto.DespesaResumo;
+import br.com.fintech.fintechapi.dto.LancamentoExtrato;
 import br.com.fintech.fintechapi.model.Despesa;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface DespesaRepository extends JpaRepository<Despesa, Long> {
@@ -24,6 +31,15 @@ public interface DespesaRepository extends JpaRepository<Despesa, Long> {
 
     List<Despesa> findByUsuarioIdUsuarioAndPendente(Long idUsuario, Integer pendente);
 
+    /**
+     * Ocorrências de uma regra de recorrência com vencimento posterior à data e na situação informada
+     */
+    List<Despesa> findByIdRegraRecorrenciaAndPendenteAndDataVencimentoAfter(
+            Long idRegraRecorrencia,
+            Integer pendente,
+            LocalDate data
+    );
+
     /**
      * Busca despesas com filtros opcionais (JPQL dinâmica)
      * Todos os parâmetros são opcionais
@@ -72,5 +88,86 @@ public interface DespesaRepository extends JpaRepository<Despesa, Long> {
             @Param("pendente") Integer pendente,
             Pageable pageable
     );
-}
 
+    /**
+     * Versão compacta de findByFiltros: seleciona só as colunas de DespesaResumo, sem carregar categoria/subcategoria
+     * @return Lista de despesas resumidas
+     */
+    @Query("SELECT new br.com.fintech.fintechapi.dto.DespesaResumo(d.idDespesa, d.descricao, d.valor, d.dataVencimento, d.pendente) " +
+           "FROM Despesa d WHERE d.usuario.idUsuario = :idUsuario " +
+           "AND (:dataInicio IS NULL OR d.dataVencimento >= :dataInicio) " +
+           "AND (:dataFim IS NULL OR d.dataVencimento <= :dataFim) " +
+           "AND (:idCategoria IS NULL OR d.categoria.idCategoria = :idCategoria) " +
+           "AND (:pendente IS NULL OR d.pendente = :pendente) " +
+           "ORDER BY d.dataVencimento DESC")
+    List<DespesaResumo> findResumoByFiltros(
+            @Param("idUsuario") Long idUsuario,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim,
+            @Param("idCategoria") Long idCategoria,
+            @Param("pendente") Integer pendente
+    );
+
+    /**
+     * Versão compacta e paginada de findByFiltrosComPaginacao
+     * @return Página de despesas resumidas
+     */
+    @Query(value = "SELECT new br.com.fintech.fintechapi.dto.DespesaResumo(d.idDespesa, d.descricao, d.valor, d.dataVencimento, d.pendente) " +
+           "FROM Despesa d WHERE d.usuario.idUsuario = :idUsuario " +
+           "AND (:dataInicio IS NULL OR d.dataVencimento >= :dataInicio) " +
+           "AND (:dataFim IS NULL OR d.dataVencimento <= :dataFim) " +
+           "AND (:idCategoria IS NULL OR d.categoria.idCategoria = :idCategoria) " +
+           "AND (:pendente IS NULL OR d.pendente = :pendente)",
+           countQuery = "SELECT COUNT(d) FROM Despesa d WHERE d.usuario.idUsuario = :idUsuario " +
+           "AND (:dataInicio IS NULL OR d.dataVencimento >= :dataInicio) " +
+           "AND (:dataFim IS NULL OR d.dataVencimento <= :dataFim) " +
+           "AND (:idCategoria IS NULL OR d.categoria.idCategoria = :idCategoria) " +
+           "AND (:pendente IS NULL OR d.pendente = :pendente)")
+    Page<DespesaResumo> findResumoByFiltrosComPaginacao(
+            @Param("idUsuario") Long idUsuario,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim,
+            @Param("idCategoria") Long idCategoria,
+            @Param("pendente") Integer pendente,
+            Pageable pageable
+    );
+
+    /**
+     * Despesas criadas ou alteradas após o instante informado (sincronização incremental)
+     * Usa o índice (id_usuario, atualizado_em) e já traz categoria/subcategoria na mesma consulta
+     */
+    @Query("SELECT d FROM Despesa d LEFT JOIN FETCH d.categoria LEFT JOIN FETCH d.subcategoria " +
+           "WHERE d.usuario.idUsuario = :idUsuario AND d.atualizadoEm > :desde")
+    List<Despesa> findAlteradasDesde(
+            @Param("idUsuario") Long idUsuario,
+            @Param("desde") LocalDateTime desde
+    );
+
+    /**
+     * Despesas já categorizadas do usuário, das mais recentes para as mais antigas (treino da categorização)
+     * Seleciona só a descrição e os IDs de categoria/subcategoria
+     */
+    @Query("SELECT new br.com.fintech.fintechapi.categorizacao.ExemploCategorizacao(d.idDespesa, d.descricao, c.idCategoria, s.idSubcategoria) " +
+           "FROM Despesa d JOIN d.categoria c LEFT JOIN d.subcategoria s " +
+           "WHERE d.usuario.idUsuario = :idUsuario " +
+           "ORDER BY d.dataVencimento DESC")
+    List<ExemploCategorizacao> findExemplosCategorizacao(
+            @Param("idUsuario") Long idUsuario,
+            Pageable pageable
+    );
+
+    /**
+     * Lançamentos do extrato no período, em ordem de data, lidos sob demanda (exige transação aberta)
+     * Projeção sem entidades gerenciadas e fetch size maior: o consumo de memória não cresce com o número de despesas
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new br.com.fintech.fintechapi.dto.LancamentoExtrato(d.dataVencimento, d.descricao, c.nomeCategoria, d.valor, d.pendente) " +
+           "FROM Despesa d LEFT JOIN d.categoria c " +
+           "WHERE d.usuario.idUsuario = :idUsuario AND d.dataVencimento BETWEEN :dataInicio AND :dataFim " +
+           "ORDER BY d.dataVencimento, d.idDespesa")
+    Stream<LancamentoExtrato> streamExtrato(
+            @Param("idUsuario") Long idUsuario,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim
+    );
+}
@@ -0,0 +1,22 @@
+package br.com.fintech.fintechapi.repository;
+
+import br.com.fintech.fintechapi.model.EventoOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository do outbox de eventos
+ * A leitura dos pendentes (FOR UPDATE SKIP LOCKED) fica em RelayOutboxService, via JDBC
+ */
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    @Modifying
+    @Query("DELETE FROM EventoOutbox e WHERE e.publicadoEm < :limite")
+    int removerPublicadosAntesDe(@Param("limite") LocalDateTime limite);
+}
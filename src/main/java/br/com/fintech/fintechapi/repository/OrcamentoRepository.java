@@ -0,0 +1,20 @@
+package br.com.fintech.fintechapi.repository;
+
+import br.com.fintech.fintechapi.model.Orcamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository dos orçamentos por categoria
+ * Os totais mensais (TOTAL_CATEGORIA_MES) são mantidos via JDBC em TotalCategoriaService
+ */
+@Repository
+public interface OrcamentoRepository extends JpaRepository<Orcamento, Long> {
+
+    List<Orcamento> findByIdUsuario(Long idUsuario);
+
+    Optional<Orcamento> findByIdUsuarioAndIdCategoria(Long idUsuario, Long idCategoria);
+}
@@ -1,15 +1,22 @@
 package br.com.fintech.fintechapi.repository;
 
+import br.com.fintech.fintechapi.categorizacao.ExemploCategorizacao;
+import br.com.fintech.fintechapi.dto.LancamentoExtrato;
+import br.com.fintech.fintechapi.dto.ReceitaResumo;
 import br.com.fintech.fintechapi.model.Receita;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository para operações de Receita no banco de dados
@@ -45,6 +52,15 @@ public interface ReceitaRepository extends JpaRepository<Receita, Long> {
      */
     List<Receita> findByUsuarioIdUsuarioAndPendente(Long idUsuario, Integer pendente);
 
+    /**
+     * Ocorrências de uma regra de recorrência com entrada posterior à data e na situação informada
+     */
+    List<Receita> findByIdRegraRecorrenciaAndPendenteAndDataEntradaAfter(
+            Long idRegraRecorrencia,
+            Integer pendente,
+            LocalDate data
+    );
+
     /**
      * Busca receitas com filtros opcionais (JPQL dinâmica)
      * Todos os parâmetros são opcionais
@@ -93,5 +109,86 @@ public interface ReceitaRepository extends JpaRepository<Receita, Long> {
             @Param("pendente") Integer pendente,
             Pageable pageable
     );
-}
 
+    /**
+     * Versão compacta de findByFiltros: seleciona só as colunas de ReceitaResumo, sem carregar categoria/subcategoria
+     * @return Lista de receitas resumidas
+     */
+    @Query("SELECT new br.com.fintech.fintechapi.dto.ReceitaResumo(r.idReceita, r.descricao, r.valor, r.dataEntrada, r.pendente) " +
+           "FROM Receita r WHERE r.usuario.idUsuario = :idUsuario " +
+           "AND (:dataInicio IS NULL OR r.dataEntrada >= :dataInicio) " +
+           "AND (:dataFim IS NULL OR r.dataEntrada <= :dataFim) " +
+           "AND (:idCategoria IS NULL OR r.categoria.idCategoria = :idCategoria) " +
+           "AND (:pendente IS NULL OR r.pendente = :pendente) " +
+           "ORDER BY r.dataEntrada DESC")
+    List<ReceitaResumo> findResumoByFiltros(
+            @Param("idUsuario") Long idUsuario,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim,
+            @Param("idCategoria") Long idCategoria,
+            @Param("pendente") Integer pendente
+    );
+
+    /**
+     * Versão compacta e paginada de findByFiltrosComPaginacao
+     * @return Página de receitas resumidas
+     */
+    @Query(value = "SELECT new br.com.fintech.fintechapi.dto.ReceitaResumo(r.idReceita, r.descricao, r.valor, r.dataEntrada, r.pendente) " +
+           "FROM Receita r WHERE r.usuario.idUsuario = :idUsuario " +
+           "AND (:dataInicio IS NULL OR r.dataEntrada >= :dataInicio) " +
+           "AND (:dataFim IS NULL OR r.dataEntrada <= :dataFim) " +
+           "AND (:idCategoria IS NULL OR r.categoria.idCategoria = :idCategoria) " +
+           "AND (:pendente IS NULL OR r.pendente = :pendente)",
+           countQuery = "SELECT COUNT(r) FROM Receita r WHERE r.usuario.idUsuario = :idUsuario " +
+           "AND (:dataInicio IS NULL OR r.dataEntrada >= :dataInicio) " +
+           "AND (:dataFim IS NULL OR r.dataEntrada <= :dataFim) " +
+           "AND (:idCategoria IS NULL OR r.categoria.idCategoria = :idCategoria) " +
+           "AND (:pendente IS NULL OR r.pendente = :pendente)")
+    Page<ReceitaResumo> findResumoByFiltrosComPaginacao(
+            @Param("idUsuario") Long idUsuario,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim,
+            @Param("idCategoria") Long idCategoria,
+            @Param("pendente") Integer pendente,
+            Pageable pageable
+    );
+
+    /**
+     * Receitas criadas ou alteradas após o instante informado (sincronização incremental)
+     * Usa o índice (id_usuario, atualizado_em) e já traz categoria/subcategoria na mesma consulta
+     */
+    @Query("SELECT r FROM Receita r LEFT JOIN FETCH r.categoria LEFT JOIN FETCH r.subcategoria " +
+           "WHERE r.usuario.idUsuario = :idUsuario AND r.atualizadoEm > :desde")
+    List<Receita> findAlteradasDesde(
+            @Param("idUsuario") Long idUsuario,
+            @Param("desde") LocalDateTime desde
+    );
+
+    /**
+     * Receitas já categorizadas do usuário, das mais recentes para as mais antigas (treino da categorização)
+     * Seleciona só a descrição e os IDs de categoria/subcategoria
+     */
+    @Query("SELECT new br.com.fintech.fintechapi.categorizacao.ExemploCategorizacao(r.idReceita, r.descricao, c.idCategoria, s.idSubcategoria) " +
+           "FROM Receita r JOIN r.categoria c LEFT JOIN r.subcategoria s " +
+           "WHERE r.usuario.idUsuario = :idUsuario " +
+           "ORDER BY r.dataEntrada DESC")
+    List<ExemploCategorizacao> findExemplosCategorizacao(
+            @Param("idUsuario") Long idUsuario,
+            Pageable pageable
+    );
+
+    /**
+     * Lançamentos do extrato no período, em ordem de data, lidos sob demanda (exige transação aberta)
+     * Projeção sem entidades gerenciadas e fetch size maior: o consumo de memória não cresce com o número de receitas
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new br.com.fintech.fintechapi.dto.LancamentoExtrato(r.dataEntrada, r.descricao, c.nomeCategoria, r.valor, r.pendente) " +
+           "FROM Receita r LEFT JOIN r.categoria c " +
+           "WHERE r.usuario.idUsuario = :idUsuario AND r.dataEntrada BETWEEN :dataInicio AND :dataFim " +
+           "ORDER BY r.dataEntrada, r.idReceita")
+    Stream<LancamentoExtrato> streamExtrato(
+            @Param("idUsuario") Long idUsuario,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim
+    );
+}
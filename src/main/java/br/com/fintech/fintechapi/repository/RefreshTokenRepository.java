@@ -0,0 +1,57 @@
+package br.com.fintech.fintechapi.repository;
+
+import br.com.fintech.fintechapi.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository para a entidade RefreshToken
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Busca um refresh token pelo hash (índice único em token_hash), já com o usuário
+     * @param tokenHash Hash SHA-256 do token
+     * @return Optional contendo o token se encontrado
+     */
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.usuario WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Revoga o token apenas se ele ainda não tiver sido revogado (protege contra uso concorrente)
+     * @param idRefreshToken ID do token
+     * @param agora Data/hora da revogação
+     * @return 1 se revogou, 0 se já estava revogado
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revogadoEm = :agora " +
+           "WHERE t.idRefreshToken = :idRefreshToken AND t.revogadoEm IS NULL")
+    int revogar(@Param("idRefreshToken") Long idRefreshToken, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Revoga todos os tokens ativos de um usuário
+     * @param idUsuario ID do usuário
+     * @param agora Data/hora da revogação
+     * @return Quantidade de tokens revogados
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revogadoEm = :agora " +
+           "WHERE t.usuario.idUsuario = :idUsuario AND t.revogadoEm IS NULL")
+    int revogarTodosDoUsuario(@Param("idUsuario") Long idUsuario, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Remove tokens expirados
+     * @param limite Tokens com expiração anterior a esta data são removidos
+     * @return Quantidade de tokens removidos
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiraEm < :limite")
+    int removerExpirados(@Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,28 @@
+package br.com.fintech.fintechapi.repository;
+
+import br.com.fintech.fintechapi.model.RegistroExcluido;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository dos registros de exclusão (tombstones) de despesas e receitas
+ */
+@Repository
+public interface RegistroExcluidoRepository extends JpaRepository<RegistroExcluido, Long> {
+
+    List<RegistroExcluido> findByIdUsuarioAndExcluidoEmAfter(Long idUsuario, LocalDateTime desde);
+
+    /**
+     * Remove os registros mais antigos que a retenção
+     * Clientes com marca anterior a esse limite recebem uma sincronização completa
+     */
+    @Modifying
+    @Query("DELETE FROM RegistroExcluido r WHERE r.excluidoEm < :limite")
+    int removerAnterioresA(@Param("limite") LocalDateTime limite);
+}
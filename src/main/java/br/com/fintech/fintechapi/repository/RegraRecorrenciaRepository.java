@@ -0,0 +1,29 @@
+package br.com.fintech.fintechapi.repository;
+
+import br.com.fintech.fintechapi.model.RegraRecorrencia;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository das regras de recorrência
+ * A varredura do job (com FOR UPDATE SKIP LOCKED) fica em MaterializacaoRecorrenciaService, via JDBC
+ */
+@Repository
+public interface RegraRecorrenciaRepository extends JpaRepository<RegraRecorrencia, Long> {
+
+    List<RegraRecorrencia> findByIdUsuarioOrderByDataInicio(Long idUsuario);
+
+    /**
+     * Busca a regra com SELECT ... FOR UPDATE: espera o job terminar um lote que a esteja materializando
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM RegraRecorrencia r WHERE r.idRegraRecorrencia = :id")
+    Optional<RegraRecorrencia> findByIdParaAtualizacao(@Param("id") Long id);
+}
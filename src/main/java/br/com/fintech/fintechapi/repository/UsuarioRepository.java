@@ -1,7 +1,11 @@
 package br.com.fintech.fintechapi.repository;
 
 import br.com.fintech.fintechapi.model.Usuario;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -20,11 +24,29 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      */
     Optional<Usuario> findByEmail(String email);
     
+    /**
+     * Busca um usuário pelo email já com Pessoa Física/Jurídica (uma única consulta com join)
+     * @param email Email do usuário
+     * @return Optional contendo o usuário se encontrado
+     */
+    @EntityGraph(attributePaths = {"pessoaFisica", "pessoaJuridica"})
+    @Query("SELECT u FROM Usuario u WHERE u.email = :email")
+    Optional<Usuario> findComPerfilByEmail(@Param("email") String email);
+    
     /**
      * Verifica se existe um usuário com o email informado
      * @param email Email a ser verificado
      * @return true se existe, false caso contrário
      */
     boolean existsByEmail(String email);
+    
+    /**
+     * Atualiza apenas o hash da senha do usuário (sem carregar a entidade)
+     * @param idUsuario ID do usuário
+     * @param senha Novo hash da senha
+     * @return Quantidade de registros atualizados
+     */
+    @Modifying
+    @Query("UPDATE Usuario u SET u.senha = :senha WHERE u.idUsuario = :idUsuario")
+    int atualizarSenha(@Param("idUsuario") Long idUsuario, @Param("senha") String senha);
 }
-
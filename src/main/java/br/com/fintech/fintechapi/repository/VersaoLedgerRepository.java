@@ -0,0 +1,32 @@
+package br.com.fintech.fintechapi.repository;
+
+import br.com.fintech.fintechapi.model.VersaoLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository da versão de alterações por usuário
+ */
+@Repository
+public interface VersaoLedgerRepository extends JpaRepository<VersaoLedger, Long> {
+
+    /**
+     * Incrementa a versão do usuário (cria o registro na primeira alteração)
+     * O MERGE trava a linha do usuário até o fim da transação, serializando alterações concorrentes
+     */
+    @Modifying
+    @Query(value = "MERGE INTO VERSAO_LEDGER v " +
+                   "USING (SELECT :idUsuario AS id_usuario FROM DUAL) s ON (v.id_usuario = s.id_usuario) " +
+                   "WHEN MATCHED THEN UPDATE SET v.versao = v.versao + 1 " +
+                   "WHEN NOT MATCHED THEN INSERT (id_usuario, versao) VALUES (s.id_usuario, 1)",
+           nativeQuery = true)
+    void incrementar(@Param("idUsuario") Long idUsuario);
+
+    @Query("SELECT v.versao FROM VersaoLedger v WHERE v.idUsuario = :idUsuario")
+    Optional<Long> findVersaoByIdUsuario(@Param("idUsuario") Long idUsuario);
+}
@@ -0,0 +1,28 @@
+package br.com.fintech.fintechapi.repository;
+
+import br.com.fintech.fintechapi.model.VinculoUsuario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository dos vínculos entre contas PJ e usuários consolidados
+ */
+@Repository
+public interface VinculoUsuarioRepository extends JpaRepository<VinculoUsuario, Long> {
+
+    /**
+     * Vínculos em que o usuário participa, como conta PJ ou como vinculado
+     */
+    @Query("SELECT v FROM VinculoUsuario v WHERE v.idUsuarioPj = :idUsuario OR v.idUsuarioVinculado = :idUsuario")
+    List<VinculoUsuario> findByParticipante(@Param("idUsuario") Long idUsuario);
+
+    @Query("SELECT v.idUsuarioVinculado FROM VinculoUsuario v WHERE v.idUsuarioPj = :idUsuarioPj ORDER BY v.idUsuarioVinculado")
+    List<Long> findIdsVinculados(@Param("idUsuarioPj") Long idUsuarioPj);
+
+    Optional<VinculoUsuario> findByIdUsuarioPjAndIdUsuarioVinculado(Long idUsuarioPj, Long idUsuarioVinculado);
+}
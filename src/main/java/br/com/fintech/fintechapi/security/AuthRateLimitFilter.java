@@ -0,0 +1,217 @@
+package br.com.fintech.fintechapi.security;
+
+import br.com.fintech.fintechapi.ratelimit.RespostaLimiteExcedido;
+import br.com.fintech.fintechapi.ratelimit.TokenBucketRateLimiter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Filtro de proteção contra força bruta nos endpoints públicos de autenticação
+ * Aplica um token bucket por IP e outro por email antes de qualquer hash de senha ou consulta ao banco
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> ENDPOINTS_LIMITADOS = Set.of(
+            "/api/auth/login",
+            "/api/auth/registro",
+            "/api/auth/refresh"
+    );
+
+    private final TokenBucketRateLimiter<String> limitadorIp;
+    private final TokenBucketRateLimiter<String> limitadorEmail;
+    private final int maxCorpoBytes;
+    private final ObjectMapper objectMapper;
+
+    private final Counter permitidas;
+    private final Counter bloqueadasIp;
+    private final Counter bloqueadasEmail;
+
+    public AuthRateLimitFilter(
+            @Value("${seguranca.rate-limit.auth.ip.por-minuto:30}") double ipPorMinuto,
+            @Value("${seguranca.rate-limit.auth.ip.rajada:10}") int ipRajada,
+            @Value("${seguranca.rate-limit.auth.email.por-minuto:10}") double emailPorMinuto,
+            @Value("${seguranca.rate-limit.auth.email.rajada:5}") int emailRajada,
+            @Value("${seguranca.rate-limit.auth.max-chaves:100000}") int maxChaves,
+            @Value("${seguranca.rate-limit.auth.max-corpo-bytes:8192}") int maxCorpoBytes,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+
+        this.limitadorIp = new TokenBucketRateLimiter<>(ipPorMinuto, ipRajada, maxChaves);
+        this.limitadorEmail = new TokenBucketRateLimiter<>(emailPorMinuto, emailRajada, maxChaves);
+        this.maxCorpoBytes = maxCorpoBytes;
+        this.objectMapper = objectMapper;
+
+        this.permitidas = Counter.builder("fintech.ratelimit.auth")
+                .tag("resultado", "permitida").tag("chave", "todas")
+                .register(meterRegistry);
+        this.bloqueadasIp = Counter.builder("fintech.ratelimit.auth")
+                .tag("resultado", "bloqueada").tag("chave", "ip")
+                .register(meterRegistry);
+        this.bloqueadasEmail = Counter.builder("fintech.ratelimit.auth")
+                .tag("resultado", "bloqueada").tag("chave", "email")
+                .register(meterRegistry);
+
+        Gauge.builder("fintech.ratelimit.auth.chaves", limitadorIp, TokenBucketRateLimiter::quantidadeChaves)
+                .tag("chave", "ip").register(meterRegistry);
+        Gauge.builder("fintech.ratelimit.auth.chaves", limitadorEmail, TokenBucketRateLimiter::quantidadeChaves)
+                .tag("chave", "email").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !ENDPOINTS_LIMITADOS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // Limite por IP: não exige leitura do corpo
+        // Atrás de proxy reverso, o IP do cliente vem do X-Forwarded-For (server.forward-headers-strategy=native,
+        // aceito apenas de proxies em server.tomcat.remoteip.internal-proxies); sem isso, todos dividiriam o bucket do proxy
+        long espera = limitadorIp.consumir(request.getRemoteAddr());
+        if (espera > 0) {
+            bloqueadasIp.increment();
+            RespostaLimiteExcedido.escrever(request, response, objectMapper, espera,
+                    "Muitas tentativas a partir deste endereço, tente novamente mais tarde");
+            return;
+        }
+
+        // Limite por email: o corpo é lido uma vez e reaproveitado pelo controller
+        byte[] corpo = request.getInputStream().readNBytes(maxCorpoBytes + 1);
+        if (corpo.length > maxCorpoBytes) {
+            // Payloads de autenticação são pequenos; corpos grandes não são processados
+            RespostaLimiteExcedido.escrever(request, response, objectMapper, HttpStatus.CONTENT_TOO_LARGE,
+                    "Corpo da requisição excede o limite de " + maxCorpoBytes + " bytes");
+            return;
+        }
+
+        String email = extrairEmail(corpo);
+        if (email != null) {
+            espera = limitadorEmail.consumir(email);
+            if (espera > 0) {
+                bloqueadasEmail.increment();
+                RespostaLimiteExcedido.escrever(request, response, objectMapper, espera,
+                        "Muitas tentativas para este email, tente novamente mais tarde");
+                return;
+            }
+        }
+
+        permitidas.increment();
+        filterChain.doFilter(new CorpoEmCacheRequest(request, corpo), response);
+    }
+
+    /**
+     * Remove periodicamente as chaves ociosas, mantendo a memória limitada
+     */
+    @Scheduled(fixedDelayString = "${seguranca.rate-limit.limpeza-ms:60000}")
+    public void removerChavesOciosas() {
+        limitadorIp.removerOciosas();
+        limitadorEmail.removerOciosas();
+    }
+
+    private String extrairEmail(byte[] corpo) {
+        try {
+            JsonNode raiz = objectMapper.readTree(corpo);
+            JsonNode email = raiz != null ? raiz.get("email") : null;
+            if (email == null || !email.isTextual() || email.asText().isBlank()) {
+                return null;
+            }
+            return email.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            // Corpo inválido: o controller responde com o erro adequado
+            return null;
+        }
+    }
+
+    /**
+     * Requisição com o corpo já lido em memória, permitindo nova leitura pelo controller
+     */
+    private static class CorpoEmCacheRequest extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        CorpoEmCacheRequest(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // Corpo já está em memória: tudo está disponível de imediato
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return corpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return corpo.length;
+        }
+    }
+}
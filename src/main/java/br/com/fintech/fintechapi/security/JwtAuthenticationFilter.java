@@ -1,12 +1,15 @@
 package br.com.fintech.fintechapi.security;
 
 import br.com.fintech.fintechapi.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -14,13 +17,18 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Filtro que intercepta todas as requisições para validar o token JWT
+ * Tokens com claims de usuário são validados sem acesso ao banco
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final List<GrantedAuthority> AUTHORITIES_USUARIO = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -33,36 +41,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
         // Extrair o token do header Authorization
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                // Token inválido ou expirado
-                logger.error("Erro ao extrair username do token: " + e.getMessage());
-            }
-        }
+                // Valida assinatura e expiração em um único parse
+                Claims claims = jwtUtil.extractAllClaims(jwt);
+
+                Object principal = jwtUtil.extractUsuarioAutenticado(claims);
+                Collection<? extends GrantedAuthority> authorities = AUTHORITIES_USUARIO;
 
-        // Validar o token e autenticar o usuário
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                if (principal == null) {
+                    // Token emitido antes da inclusão dos claims de usuário
+                    UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+                    principal = userDetails;
+                    authorities = userDetails.getAuthorities();
+                }
 
-            if (jwtUtil.validateToken(jwt, userDetails)) {
                 UsernamePasswordAuthenticationToken authenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        new UsernamePasswordAuthenticationToken(principal, null, authorities);
                 
                 authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 // Definir a autenticação no contexto de segurança
                 SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            } catch (Exception e) {
+                // Token inválido ou expirado
+                logger.error("Erro ao validar token: " + e.getMessage());
             }
         }
 
         filterChain.doFilter(request, response);
     }
 }
-
@@ -1,5 +1,7 @@
 package br.com.fintech.fintechapi.security;
 
+import br.com.fintech.fintechapi.model.TipoUsuario;
+import br.com.fintech.fintechapi.model.Usuario;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
@@ -16,22 +18,32 @@ import java.util.function.Function;
 
 /**
  * Utilitário para geração e validação de tokens JWT
+ * Access tokens são de curta duração e carregam id e tipo do usuário,
+ * permitindo a validação sem consulta ao banco
  */
 @Component
 public class JwtUtil {
 
+    private static final String CLAIM_ID_USUARIO = "uid";
+    private static final String CLAIM_TIPO_USUARIO = "tipo";
+
     @Value("${jwt.secret:fintech-api-secret-key-very-secure-and-long-enough-for-hs256-algorithm}")
     private String secret;
 
-    @Value("${jwt.expiration:86400000}") // 24 horas em milissegundos
+    @Value("${jwt.expiration:900000}") // 15 minutos em milissegundos
     private Long expiration;
 
+    private SecretKey signingKey;
+
     /**
-     * Gera a chave secreta para assinar os tokens
+     * Gera a chave secreta para assinar os tokens (calculada uma única vez)
      */
     private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        if (signingKey == null) {
+            byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+            signingKey = Keys.hmacShaKeyFor(keyBytes);
+        }
+        return signingKey;
     }
 
     /**
@@ -57,9 +69,9 @@ public class JwtUtil {
     }
 
     /**
-     * Extrai todos os claims do token
+     * Extrai todos os claims do token, validando assinatura e expiração
      */
-    private Claims extractAllClaims(String token) {
+    public Claims extractAllClaims(String token) {
         return Jwts.parser()
                 .verifyWith(getSigningKey())
                 .build()
@@ -79,9 +91,26 @@ public class JwtUtil {
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof Usuario usuario) {
+            claims.put(CLAIM_ID_USUARIO, usuario.getIdUsuario());
+            claims.put(CLAIM_TIPO_USUARIO, usuario.getTipoUsuario().name());
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
+    /**
+     * Monta o principal a partir dos claims de um token já validado
+     * @return UsuarioAutenticado, ou null se o token não possui os claims de usuário
+     */
+    public UsuarioAutenticado extractUsuarioAutenticado(Claims claims) {
+        Number idUsuario = claims.get(CLAIM_ID_USUARIO, Number.class);
+        String tipoUsuario = claims.get(CLAIM_TIPO_USUARIO, String.class);
+        if (idUsuario == null || tipoUsuario == null) {
+            return null;
+        }
+        return new UsuarioAutenticado(idUsuario.longValue(), claims.getSubject(), TipoUsuario.valueOf(tipoUsuario));
+    }
+
     /**
      * Cria o token JWT com os claims e subject
      */
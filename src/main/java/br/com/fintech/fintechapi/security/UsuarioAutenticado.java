@@ -0,0 +1,37 @@
+package br.com.fintech.fintechapi.security;
+
+import br.com.fintech.fintechapi.model.TipoUsuario;
+import br.com.fintech.fintechapi.model.Usuario;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Principal montado a partir das claims do access token, sem consulta ao banco
+ * getName() retorna o email, mantendo compatibilidade com authentication.getName()
+ */
+public record UsuarioAutenticado(Long idUsuario, String email, TipoUsuario tipoUsuario) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    /**
+     * Obtém o usuário autenticado a partir da autenticação do Spring Security
+     * Aceita tanto o principal do access token quanto o Usuario carregado do banco (tokens antigos)
+     * @return UsuarioAutenticado, ou null se a requisição não estiver autenticada
+     */
+    public static UsuarioAutenticado de(Authentication authentication) {
+        if (authentication == null) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof UsuarioAutenticado usuarioAutenticado) {
+            return usuarioAutenticado;
+        }
+        if (principal instanceof Usuario usuario) {
+            return new UsuarioAutenticado(usuario.getIdUsuario(), usuario.getEmail(), usuario.getTipoUsuario());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.fintech.fintechapi.security;
+
+import br.com.fintech.fintechapi.model.TipoUsuario;
+import br.com.fintech.fintechapi.ratelimit.LimitadorConcorrencia;
+import br.com.fintech.fintechapi.ratelimit.RespostaLimiteExcedido;
+import br.com.fintech.fintechapi.ratelimit.TokenBucketRateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limites por usuário autenticado nas rotas /api/**
+ * Cada idUsuario tem um token bucket (requisições por minuto) e um teto de requisições simultâneas,
+ * ambos configuráveis por TipoUsuario, para que um cliente não monopolize o pool de conexões do banco
+ * O canal de eventos (SSE) passa só pelo token bucket: fica aberto por até fintech.sse.timeout-ms sem
+ * ocupar conexão do banco e já tem limite próprio de conexões por usuário (fintech.sse.max-por-usuario)
+ */
+@Component
+public class UsuarioRateLimitFilter extends OncePerRequestFilter {
+
+    private static final long ESPERA_CONCORRENCIA_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String ROTA_EVENTOS = "/api/sincronizacao/eventos";
+
+    private final Map<TipoUsuario, TokenBucketRateLimiter<Long>> limitadoresTaxa = new EnumMap<>(TipoUsuario.class);
+    private final Map<TipoUsuario, Integer> maxConcorrencia = new EnumMap<>(TipoUsuario.class);
+    private final LimitadorConcorrencia<Long> limitadorConcorrencia = new LimitadorConcorrencia<>();
+    private final ObjectMapper objectMapper;
+
+    private final Counter permitidas;
+    private final Counter bloqueadasTaxa;
+    private final Counter bloqueadasConcorrencia;
+
+    public UsuarioRateLimitFilter(
+            @Value("${seguranca.rate-limit.usuario.pf.por-minuto:300}") double pfPorMinuto,
+            @Value("${seguranca.rate-limit.usuario.pf.rajada:50}") int pfRajada,
+            @Value("${seguranca.rate-limit.usuario.pf.concorrencia:4}") int pfConcorrencia,
+            @Value("${seguranca.rate-limit.usuario.pj.por-minuto:1200}") double pjPorMinuto,
+            @Value("${seguranca.rate-limit.usuario.pj.rajada:200}") int pjRajada,
+            @Value("${seguranca.rate-limit.usuario.pj.concorrencia:8}") int pjConcorrencia,
+            @Value("${seguranca.rate-limit.usuario.max-chaves:100000}") int maxChaves,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+
+        limitadoresTaxa.put(TipoUsuario.PF, new TokenBucketRateLimiter<>(pfPorMinuto, pfRajada, maxChaves));
+        limitadoresTaxa.put(TipoUsuario.PJ, new TokenBucketRateLimiter<>(pjPorMinuto, pjRajada, maxChaves));
+        maxConcorrencia.put(TipoUsuario.PF, pfConcorrencia);
+        maxConcorrencia.put(TipoUsuario.PJ, pjConcorrencia);
+        this.objectMapper = objectMapper;
+
+        this.permitidas = Counter.builder("fintech.ratelimit.usuario")
+                .tag("resultado", "permitida").tag("limite", "todos")
+                .register(meterRegistry);
+        this.bloqueadasTaxa = Counter.builder("fintech.ratelimit.usuario")
+                .tag("resultado", "bloqueada").tag("limite", "taxa")
+                .register(meterRegistry);
+        this.bloqueadasConcorrencia = Counter.builder("fintech.ratelimit.usuario")
+                .tag("resultado", "bloqueada").tag("limite", "concorrencia")
+                .register(meterRegistry);
+
+        limitadoresTaxa.forEach((tipo, limitador) ->
+                Gauge.builder("fintech.ratelimit.usuario.chaves", limitador, TokenBucketRateLimiter::quantidadeChaves)
+                        .tag("tipo", tipo.name()).register(meterRegistry));
+        Gauge.builder("fintech.ratelimit.usuario.ativos", limitadorConcorrencia, LimitadorConcorrencia::quantidadeChaves)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !uri.startsWith("/api/") || uri.startsWith("/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        UsuarioAutenticado usuario = UsuarioAutenticado.de(SecurityContextHolder.getContext().getAuthentication());
+        if (usuario == null || usuario.tipoUsuario() == null) {
+            // Requisição não autenticada: o Spring Security responde com 401/403 adiante
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        TipoUsuario tipo = usuario.tipoUsuario();
+        Long idUsuario = usuario.idUsuario();
+
+        long espera = limitadoresTaxa.get(tipo).consumir(idUsuario);
+        if (espera > 0) {
+            bloqueadasTaxa.increment();
+            RespostaLimiteExcedido.escrever(request, response, objectMapper, espera,
+                    "Limite de requisições excedido, tente novamente mais tarde");
+            return;
+        }
+
+        if (ROTA_EVENTOS.equals(request.getRequestURI())) {
+            // Conexão de longa duração: ocuparia a vaga até o timeout e bloquearia as demais chamadas
+            permitidas.increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limitadorConcorrencia.adquirir(idUsuario, maxConcorrencia.get(tipo))) {
+            bloqueadasConcorrencia.increment();
+            RespostaLimiteExcedido.escrever(request, response, objectMapper, ESPERA_CONCORRENCIA_NANOS,
+                    "Muitas requisições simultâneas, aguarde a conclusão das anteriores");
+            return;
+        }
+
+        boolean assincrona = false;
+        try {
+            permitidas.increment();
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Processamento assíncrono (CompletableFuture, downloads): a vaga só é liberada ao final
+                request.getAsyncContext().addListener(new LiberacaoAssincrona(idUsuario));
+                assincrona = true;
+            }
+        } finally {
+            if (!assincrona) {
+                limitadorConcorrencia.liberar(idUsuario);
+            }
+        }
+    }
+
+    /**
+     * Libera a vaga de concorrência quando a requisição assíncrona termina (conclusão, erro ou timeout)
+     */
+    private final class LiberacaoAssincrona implements AsyncListener {
+
+        private final Long idUsuario;
+        private final AtomicBoolean liberada = new AtomicBoolean();
+
+        LiberacaoAssincrona(Long idUsuario) {
+            this.idUsuario = idUsuario;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            liberar();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            liberar();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            liberar();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Novo ciclo assíncrono na mesma requisição: o contêiner descarta os listeners anteriores
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void liberar() {
+            if (liberada.compareAndSet(false, true)) {
+                limitadorConcorrencia.liberar(idUsuario);
+            }
+        }
+    }
+
+    /**
+     * Remove periodicamente os buckets de usuários ociosos
+     */
+    @Scheduled(fixedDelayString = "${seguranca.rate-limit.limpeza-ms:60000}")
+    public void removerChavesOciosas() {
+        limitadoresTaxa.values().forEach(TokenBucketRateLimiter::removerOciosas);
+    }
+}
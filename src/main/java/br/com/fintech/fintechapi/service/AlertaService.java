@@ -0,0 +1,45 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.exception.AcessoNegadoException;
+import br.com.fintech.fintechapi.exception.RecursoNaoEncontradoException;
+import br.com.fintech.fintechapi.model.AlertaVencimento;
+import br.com.fintech.fintechapi.repository.AlertaVencimentoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service dos alertas de vencimento gerados pelo job de vencimentos
+ */
+@Service
+public class AlertaService {
+
+    @Autowired
+    private AlertaVencimentoRepository alertaVencimentoRepository;
+
+    /**
+     * Lista os alertas das despesas ainda pendentes do usuário
+     * @param apenasNaoLidos true para omitir os alertas já marcados como lidos
+     */
+    @Transactional(readOnly = true)
+    public List<AlertaVencimento> listar(Long idUsuario, boolean apenasNaoLidos) {
+        return alertaVencimentoRepository.findPendentesByIdUsuario(idUsuario, apenasNaoLidos);
+    }
+
+    @Transactional
+    public void marcarComoLido(Long id, Long idUsuario) {
+        AlertaVencimento alerta = alertaVencimentoRepository.findById(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Alerta não encontrado com ID: " + id));
+
+        if (!alerta.getIdUsuario().equals(idUsuario)) {
+            throw new AcessoNegadoException("Você não tem permissão para acessar este alerta");
+        }
+
+        if (alerta.getLidoEm() == null) {
+            alerta.setLidoEm(LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.busca.DocumentoBusca;
+import br.com.fintech.fintechapi.busca.IndiceInvertido;
+import br.com.fintech.fintechapi.busca.Tokenizador;
+import br.com.fintech.fintechapi.dto.AlteracoesLancamentos;
+import br.com.fintech.fintechapi.dto.ResultadoBusca;
+import br.com.fintech.fintechapi.dto.SincronizacaoResponse;
+import br.com.fintech.fintechapi.model.Despesa;
+import br.com.fintech.fintechapi.model.Receita;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Service da busca textual nas descrições de despesas e receitas
+ *
+ * Cada usuário tem um IndiceInvertido em memória, criado na primeira busca. O índice guarda a versão
+ * do ledger que reflete: quando a versão muda (alteração nesta ou em outra instância, ou lançamento
+ * gerado por recorrência), apenas o delta desde a última marca é aplicado, com a mesma consulta da
+ * sincronização incremental dos clientes. Assim a busca não percorre o histórico a cada alteração.
+ * Os índices dos usuários usados há mais tempo são descartados quando a soma dos tamanhos estimados
+ * (documentos + postings) passa de fintech.busca.max-postings ou o número de usuários passa de
+ * fintech.busca.max-usuarios: poucos ledgers PJ grandes ocupam o mesmo que muitos pequenos.
+ */
+@Service
+public class BuscaService {
+
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    @Autowired
+    private VersaoLedgerService versaoLedgerService;
+
+    private final int maxUsuarios;
+    private final long maxPostings;
+    private final int limitePadrao;
+    private final int limiteMaximo;
+
+    /**
+     * Índices em ordem de acesso (o primeiro é o usado há mais tempo) e o tamanho registrado de cada um
+     * Protegidos pelo lock de indices
+     */
+    private final LinkedHashMap<Long, IndiceInvertido> indices = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Long> tamanhos = new HashMap<>();
+    private long tamanhoTotal;
+
+    public BuscaService(
+            @Value("${fintech.busca.max-usuarios:1000}") int maxUsuarios,
+            @Value("${fintech.busca.max-postings:1000000}") long maxPostings,
+            @Value("${fintech.busca.limite-padrao:20}") int limitePadrao,
+            @Value("${fintech.busca.limite-maximo:100}") int limiteMaximo) {
+
+        this.maxUsuarios = maxUsuarios;
+        this.maxPostings = maxPostings;
+        this.limitePadrao = limitePadrao;
+        this.limiteMaximo = limiteMaximo;
+    }
+
+    /**
+     * Busca lançamentos do usuário pela descrição
+     * @param idUsuario ID do usuário autenticado
+     * @param consulta Termos da busca; o último pode estar incompleto (busca por prefixo)
+     * @param limite Quantidade máxima de resultados (null = padrão)
+     * @return Lançamentos que contêm todos os termos, em ordem de relevância
+     */
+    public List<ResultadoBusca> buscar(Long idUsuario, String consulta, Integer limite) {
+        if (Tokenizador.termos(consulta).isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um termo de busca");
+        }
+        int quantidade = limite == null ? limitePadrao : Math.max(1, Math.min(limite, limiteMaximo));
+
+        return indiceAtualizado(idUsuario).buscar(consulta, quantidade).stream()
+                .map(ResultadoBusca::de)
+                .toList();
+    }
+
+    /**
+     * Índice do usuário, alinhado com a versão atual do ledger
+     */
+    private IndiceInvertido indiceAtualizado(Long idUsuario) {
+        IndiceInvertido indice;
+        synchronized (indices) {
+            indice = indices.computeIfAbsent(idUsuario, id -> new IndiceInvertido());
+        }
+
+        long versao = versaoLedgerService.obterVersao(idUsuario);
+        if (indice.getVersao() == versao) {
+            return indice;
+        }
+
+        // Uma atualização por usuário de cada vez; buscas concorrentes esperam e reaproveitam o resultado
+        synchronized (indice) {
+            if (indice.getVersao() != versao) {
+                // A versão foi lida antes do delta: uma alteração concluída durante a consulta
+                // deixa o índice com versão menor e é aplicada na próxima busca
+                SincronizacaoResponse alteracoes = sincronizacaoService.buscarAlteracoes(idUsuario, indice.getMarca());
+                if (alteracoes.completa()) {
+                    indice.limpar();
+                }
+                aplicar(indice, alteracoes.despesas(), TipoLancamento.DESPESA,
+                        despesa -> new DocumentoBusca(TipoLancamento.DESPESA, despesa.getIdDespesa(), despesa.getDescricao(),
+                                despesa.getValor(), despesa.getDataVencimento(), despesa.getPendente()));
+                aplicar(indice, alteracoes.receitas(), TipoLancamento.RECEITA,
+                        receita -> new DocumentoBusca(TipoLancamento.RECEITA, receita.getIdReceita(), receita.getDescricao(),
+                                receita.getValor(), receita.getDataEntrada(), receita.getPendente()));
+                indice.setMarca(alteracoes.marca());
+                indice.setVersao(versao);
+            }
+        }
+        registrarTamanho(idUsuario, indice);
+        return indice;
+    }
+
+    /**
+     * Atualiza o tamanho do índice no total e descarta os usados há mais tempo até caber nos limites
+     * O índice recém-usado é o último da ordem de acesso e nunca é descartado aqui
+     */
+    private void registrarTamanho(Long idUsuario, IndiceInvertido indice) {
+        synchronized (indices) {
+            if (indices.get(idUsuario) != indice) {
+                // Descartado enquanto era atualizado: serve a esta busca e não volta ao cache
+                return;
+            }
+            long tamanho = indice.tamanhoEstimado();
+            Long anterior = tamanhos.put(idUsuario, tamanho);
+            tamanhoTotal += tamanho - (anterior == null ? 0 : anterior);
+
+            Iterator<Map.Entry<Long, IndiceInvertido>> maisAntigos = indices.entrySet().iterator();
+            while ((tamanhoTotal > maxPostings || indices.size() > maxUsuarios) && indices.size() > 1) {
+                Long descartado = maisAntigos.next().getKey();
+                maisAntigos.remove();
+                Long tamanhoDescartado = tamanhos.remove(descartado);
+                if (tamanhoDescartado != null) {
+                    tamanhoTotal -= tamanhoDescartado;
+                }
+            }
+        }
+    }
+
+    private static <T> void aplicar(IndiceInvertido indice, AlteracoesLancamentos<T> alteracoes, TipoLancamento tipo,
+                                    Function<T, DocumentoBusca> documento) {
+        alteracoes.criados().forEach(lancamento -> indice.adicionar(documento.apply(lancamento)));
+        alteracoes.atualizados().forEach(lancamento -> indice.adicionar(documento.apply(lancamento)));
+        alteracoes.excluidos().forEach(id -> indice.remover(tipo, id));
+    }
+}
@@ -0,0 +1,269 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.categorizacao.ExemploCategorizacao;
+import br.com.fintech.fintechapi.categorizacao.ModeloCategorizacao;
+import br.com.fintech.fintechapi.categorizacao.ModeloCategorizacao.Sugestao;
+import br.com.fintech.fintechapi.categorizacao.TreinoCategorizacao;
+import br.com.fintech.fintechapi.dto.AlteracoesLancamentos;
+import br.com.fintech.fintechapi.dto.SincronizacaoResponse;
+import br.com.fintech.fintechapi.model.Categoria;
+import br.com.fintech.fintechapi.model.Subcategoria;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import br.com.fintech.fintechapi.repository.DespesaRepository;
+import br.com.fintech.fintechapi.repository.ReceitaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Service da categorização automática de despesas e receitas
+ *
+ * Cada usuário tem um ModeloCategorizacao por tipo de lançamento, treinado com as descrições que ele
+ * já categorizou. A sugestão usa apenas o modelo em memória (sem consulta ao banco) e nunca espera
+ * pelo treino: sem modelo carregado, não há sugestão e o treino é agendado. O primeiro treino lê os
+ * exemplos mais recentes (até fintech.categorizacao.max-exemplos); depois, quando o ledger muda, só o
+ * delta da sincronização incremental (SincronizacaoService) é aplicado ao TreinoCategorizacao, em
+ * segundo plano no executor dos jobs, e a nova fotografia do modelo substitui a anterior. O treino
+ * completo é refeito quando o delta não está mais disponível ou o treino cresce além do dobro do limite.
+ */
+@Service
+public class CategorizacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(CategorizacaoService.class);
+
+    @Autowired
+    private DespesaRepository despesaRepository;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private VersaoLedgerService versaoLedgerService;
+
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    @Autowired
+    @Qualifier("jobsExecutor")
+    private ThreadPoolTaskExecutor jobsExecutor;
+
+    @Value("${fintech.categorizacao.atribuir-automaticamente:true}")
+    private boolean atribuirAutomaticamente;
+
+    @Value("${fintech.categorizacao.confianca-minima:0.8}")
+    private double confiancaMinima;
+
+    @Value("${fintech.categorizacao.min-exemplos:5}")
+    private int minExemplos;
+
+    @Value("${fintech.categorizacao.max-exemplos:5000}")
+    private int maxExemplos;
+
+    @Value("${fintech.categorizacao.inatividade-ms:1800000}")
+    private long inatividadeMs;
+
+    private final ConcurrentHashMap<Long, Modelos> modelos = new ConcurrentHashMap<>();
+
+    /**
+     * Usuários com modelo ausente ou desatualizado, aguardando o próximo treino
+     */
+    private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Usuários com treino em andamento no executor (um treino por usuário de cada vez)
+     */
+    private final Set<Long> emTreino = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Modelos de um usuário (fotografias lidas pelas sugestões) e os treinos que os originam
+     * Os treinos e a marca só são acessados pelo treino em andamento do usuário
+     */
+    private static final class Modelos {
+
+        private final TreinoCategorizacao treinoDespesas;
+        private final TreinoCategorizacao treinoReceitas;
+        private LocalDateTime marca;
+        private volatile ModeloCategorizacao despesas;
+        private volatile ModeloCategorizacao receitas;
+        private volatile long ultimoUso = System.nanoTime();
+
+        private Modelos(TreinoCategorizacao treinoDespesas, TreinoCategorizacao treinoReceitas, LocalDateTime marca, long versao) {
+            this.treinoDespesas = treinoDespesas;
+            this.treinoReceitas = treinoReceitas;
+            publicar(marca, versao);
+        }
+
+        private void publicar(LocalDateTime marca, long versao) {
+            this.marca = marca;
+            this.despesas = treinoDespesas.modelo(versao);
+            this.receitas = treinoReceitas.modelo(versao);
+        }
+
+        private long versao() {
+            return despesas.getVersao();
+        }
+
+        private int tamanho() {
+            return Math.max(treinoDespesas.tamanho(), treinoReceitas.tamanho());
+        }
+    }
+
+    /**
+     * Sugere categoria/subcategoria para a descrição, com base nos lançamentos do usuário
+     * @return Sugestão, ou vazio se o modelo ainda não foi treinado, tem poucos exemplos ou não reconhece a descrição
+     */
+    public Optional<Sugestao> sugerir(Long idUsuario, TipoLancamento tipoLancamento, String descricao) {
+        Modelos atuais = modelos.get(idUsuario);
+        if (atuais == null) {
+            pendentes.add(idUsuario);
+            return Optional.empty();
+        }
+        atuais.ultimoUso = System.nanoTime();
+        // Alterações feitas em outra instância: usa o modelo atual e retreina em segundo plano
+        if (atuais.versao() < versaoLedgerService.obterVersao(idUsuario)) {
+            pendentes.add(idUsuario);
+        }
+
+        ModeloCategorizacao modelo = tipoLancamento == TipoLancamento.DESPESA ? atuais.despesas : atuais.receitas;
+        if (modelo.getTotalExemplos() < minExemplos) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(modelo.sugerir(descricao));
+    }
+
+    /**
+     * Sugestão usada para preencher a categoria na criação do lançamento
+     * @return Sugestão com confiança mínima, ou vazio se a atribuição automática estiver desabilitada
+     */
+    public Optional<Sugestao> sugerirParaAtribuicao(Long idUsuario, TipoLancamento tipoLancamento, String descricao) {
+        if (!atribuirAutomaticamente) {
+            return Optional.empty();
+        }
+        return sugerir(idUsuario, tipoLancamento, descricao)
+                .filter(sugestao -> sugestao.confianca() >= confiancaMinima);
+    }
+
+    /**
+     * Marca o modelo do usuário para retreino após o commit de uma alteração
+     */
+    @TransactionalEventListener
+    public void aoAlterarLedger(LedgerAlteradoEvent evento) {
+        if (modelos.containsKey(evento.idUsuario())) {
+            pendentes.add(evento.idUsuario());
+        }
+    }
+
+    /**
+     * Envia ao executor os treinos pendentes, sem esperar por eles
+     * Várias alterações do mesmo usuário no intervalo geram um único treino; usuário com treino em
+     * andamento fica para o próximo ciclo
+     */
+    @Scheduled(fixedDelayString = "${fintech.categorizacao.intervalo-ms:2000}")
+    public void treinarPendentes() {
+        List<Long> usuarios = new ArrayList<>();
+        Iterator<Long> iterator = pendentes.iterator();
+        while (iterator.hasNext()) {
+            usuarios.add(iterator.next());
+            iterator.remove();
+        }
+
+        for (Long idUsuario : usuarios) {
+            if (!emTreino.add(idUsuario)) {
+                pendentes.add(idUsuario);
+                continue;
+            }
+            try {
+                jobsExecutor.execute(() -> treinar(idUsuario));
+            } catch (TaskRejectedException e) {
+                emTreino.remove(idUsuario);
+                pendentes.add(idUsuario);
+            }
+        }
+    }
+
+    /**
+     * Descarta os modelos sem uso recente; são treinados de novo na próxima sugestão
+     */
+    @Scheduled(fixedDelayString = "${fintech.categorizacao.limpeza-ms:300000}")
+    public void removerInativos() {
+        long limite = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(inatividadeMs);
+        modelos.values().removeIf(atuais -> atuais.ultimoUso - limite < 0);
+    }
+
+    private void treinar(Long idUsuario) {
+        try {
+            // Versão lida antes das consultas: alteração concluída durante elas gera novo treino
+            long versao = versaoLedgerService.obterVersao(idUsuario);
+            Modelos atuais = modelos.get(idUsuario);
+            if (atuais == null || atuais.tamanho() > maxExemplos * 2) {
+                modelos.put(idUsuario, carregar(idUsuario, versao));
+                return;
+            }
+
+            SincronizacaoResponse alteracoes = sincronizacaoService.buscarAlteracoes(idUsuario, atuais.marca);
+            if (alteracoes.completa()) {
+                // Marca anterior à retenção das exclusões: não há delta confiável
+                modelos.put(idUsuario, carregar(idUsuario, versao));
+                return;
+            }
+
+            aplicar(atuais.treinoDespesas, alteracoes.despesas(), despesa -> new ExemploCategorizacao(
+                    despesa.getIdDespesa(), despesa.getDescricao(),
+                    idCategoria(despesa.getCategoria()), idSubcategoria(despesa.getSubcategoria())));
+            aplicar(atuais.treinoReceitas, alteracoes.receitas(), receita -> new ExemploCategorizacao(
+                    receita.getIdReceita(), receita.getDescricao(),
+                    idCategoria(receita.getCategoria()), idSubcategoria(receita.getSubcategoria())));
+            atuais.publicar(alteracoes.marca(), versao);
+            modelos.put(idUsuario, atuais);
+        } catch (RuntimeException e) {
+            log.warn("Categorização: falha ao treinar o modelo do usuário {}: {}", idUsuario, e.getMessage());
+        } finally {
+            emTreino.remove(idUsuario);
+        }
+    }
+
+    /**
+     * Treino completo com os exemplos mais recentes do usuário
+     */
+    private Modelos carregar(Long idUsuario, long versao) {
+        LocalDateTime marca = sincronizacaoService.marcaAtual();
+        PageRequest limite = PageRequest.of(0, maxExemplos);
+        return new Modelos(
+                TreinoCategorizacao.de(despesaRepository.findExemplosCategorizacao(idUsuario, limite)),
+                TreinoCategorizacao.de(receitaRepository.findExemplosCategorizacao(idUsuario, limite)),
+                marca, versao);
+    }
+
+    private static <T> void aplicar(TreinoCategorizacao treino, AlteracoesLancamentos<T> alteracoes,
+                                    Function<T, ExemploCategorizacao> exemplo) {
+        alteracoes.criados().forEach(lancamento -> treino.adicionar(exemplo.apply(lancamento)));
+        alteracoes.atualizados().forEach(lancamento -> treino.adicionar(exemplo.apply(lancamento)));
+        alteracoes.excluidos().forEach(treino::remover);
+    }
+
+    private static Long idCategoria(Categoria categoria) {
+        return categoria != null ? categoria.getIdCategoria() : null;
+    }
+
+    private static Long idSubcategoria(Subcategoria subcategoria) {
+        return subcategoria != null ? subcategoria.getIdSubcategoria() : null;
+    }
+}
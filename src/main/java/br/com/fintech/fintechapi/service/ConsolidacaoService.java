@@ -0,0 +1,242 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.dto.ConsolidacaoResponse;
+import br.com.fintech.fintechapi.dto.ResumoUsuarioConsolidado;
+import br.com.fintech.fintechapi.dto.TotalCategoria;
+import br.com.fintech.fintechapi.exception.AcessoNegadoException;
+import br.com.fintech.fintechapi.exception.RecursoNaoEncontradoException;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import br.com.fintech.fintechapi.model.TipoUsuario;
+import br.com.fintech.fintechapi.model.Usuario;
+import br.com.fintech.fintechapi.repository.UsuarioRepository;
+import br.com.fintech.fintechapi.repository.VinculoUsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Service do relatório consolidado das contas PJ (conta PJ + usuários vinculados)
+ *
+ * Cada usuário é agregado por uma consulta própria (totais por categoria, sem trazer os lançamentos),
+ * enviada ao executor limitado consolidacaoExecutor. Os resultados são somados à medida que chegam,
+ * em qualquer ordem, sem guardar as linhas de cada usuário. Ao fim de fintech.consolidacao.prazo-ms
+ * as consultas restantes são canceladas e o relatório sai parcial, com os usuários pendentes.
+ */
+@Service
+public class ConsolidacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConsolidacaoService.class);
+
+    private static final String SQL_AGREGADOS =
+            "SELECT 'DESPESA', id_categoria, COUNT(*), SUM(valor), SUM(CASE WHEN pendente = 1 THEN valor ELSE 0 END) " +
+            "FROM DESPESA WHERE id_usuario = ? AND data_vencimento BETWEEN ? AND ? GROUP BY id_categoria " +
+            "UNION ALL " +
+            "SELECT 'RECEITA', id_categoria, COUNT(*), SUM(valor), SUM(CASE WHEN pendente = 1 THEN valor ELSE 0 END) " +
+            "FROM RECEITA WHERE id_usuario = ? AND data_entrada BETWEEN ? AND ? GROUP BY id_categoria";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UsuarioRepository usuarioRepository;
+    private final VinculoUsuarioRepository vinculoUsuarioRepository;
+    private final ThreadPoolTaskExecutor consolidacaoExecutor;
+    private final long prazoNanos;
+
+    private final Counter parciais;
+
+    /**
+     * Linha agregada de um usuário: totais de uma categoria em despesas ou receitas
+     */
+    private record Agregado(TipoLancamento tipo, Long idCategoria, long quantidade, BigDecimal total, BigDecimal pendente) {
+    }
+
+    private record AgregadosUsuario(Long idUsuario, List<Agregado> agregados) {
+    }
+
+    public ConsolidacaoService(
+            DataSource dataSource,
+            UsuarioRepository usuarioRepository,
+            VinculoUsuarioRepository vinculoUsuarioRepository,
+            @Qualifier("consolidacaoExecutor") ThreadPoolTaskExecutor consolidacaoExecutor,
+            @Value("${fintech.consolidacao.prazo-ms:3000}") long prazoMs,
+            MeterRegistry meterRegistry) {
+
+        // Consultas fora de transação, com timeout no banco: a consulta cancelada após o prazo não fica rodando
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setQueryTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(prazoMs + 999)));
+        this.usuarioRepository = usuarioRepository;
+        this.vinculoUsuarioRepository = vinculoUsuarioRepository;
+        this.consolidacaoExecutor = consolidacaoExecutor;
+        this.prazoNanos = TimeUnit.MILLISECONDS.toNanos(prazoMs);
+
+        this.parciais = Counter.builder("fintech.consolidacao.parciais").register(meterRegistry);
+    }
+
+    /**
+     * Consolida receitas e despesas da conta PJ e dos usuários vinculados no período
+     * @param idUsuario ID da conta PJ autenticada
+     */
+    public ConsolidacaoResponse consolidar(Long idUsuario, LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio == null || dataFim == null) {
+            throw new IllegalArgumentException("Data início e data fim são obrigatórias");
+        }
+        if (dataInicio.isAfter(dataFim)) {
+            throw new IllegalArgumentException("Data início não pode ser maior que data fim");
+        }
+
+        Usuario contaPj = usuarioRepository.findById(idUsuario)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Usuário não encontrado com ID: " + idUsuario));
+        if (contaPj.getTipoUsuario() != TipoUsuario.PJ) {
+            throw new AcessoNegadoException("Relatório consolidado disponível apenas para contas PJ");
+        }
+
+        List<Long> ids = new ArrayList<>();
+        ids.add(idUsuario);
+        ids.addAll(vinculoUsuarioRepository.findIdsVinculados(idUsuario));
+        Map<Long, String> emails = usuarioRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Usuario::getIdUsuario, Usuario::getEmail));
+
+        long prazo = System.nanoTime() + prazoNanos;
+        Set<Long> pendentes = new LinkedHashSet<>(ids);
+        Acumulador acumulador = new Acumulador();
+
+        CompletionService<AgregadosUsuario> conclusoes = new ExecutorCompletionService<>(consolidacaoExecutor.getThreadPoolExecutor());
+        Map<Future<AgregadosUsuario>, Long> enviadas = new IdentityHashMap<>();
+        try {
+            for (Long id : ids) {
+                try {
+                    enviadas.put(conclusoes.submit(() -> agregar(id, dataInicio, dataFim)), id);
+                } catch (RejectedExecutionException e) {
+                    // Fila cheia: o usuário fica pendente e o relatório sai parcial
+                    break;
+                }
+            }
+
+            for (int recebidas = 0; recebidas < enviadas.size(); recebidas++) {
+                Future<AgregadosUsuario> concluida = conclusoes.poll(prazo - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (concluida == null) {
+                    break;
+                }
+                try {
+                    AgregadosUsuario resultado = concluida.get();
+                    acumulador.incluir(resultado, emails.get(resultado.idUsuario()));
+                    pendentes.remove(resultado.idUsuario());
+                } catch (ExecutionException e) {
+                    log.warn("Consolidação: falha ao agregar o usuário {}: {}", enviadas.get(concluida), e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            enviadas.keySet().forEach(tarefa -> tarefa.cancel(true));
+        }
+
+        if (!pendentes.isEmpty()) {
+            parciais.increment();
+        }
+        return acumulador.resultado(dataInicio, dataFim, List.copyOf(pendentes));
+    }
+
+    private AgregadosUsuario agregar(Long idUsuario, LocalDate dataInicio, LocalDate dataFim) {
+        Date inicio = Date.valueOf(dataInicio);
+        Date fim = Date.valueOf(dataFim);
+        List<Agregado> agregados = jdbcTemplate.query(SQL_AGREGADOS,
+                (rs, i) -> new Agregado(
+                        TipoLancamento.valueOf(rs.getString(1)),
+                        rs.getObject(2) == null ? null : rs.getLong(2),
+                        rs.getLong(3),
+                        rs.getBigDecimal(4),
+                        rs.getBigDecimal(5)),
+                idUsuario, inicio, fim, idUsuario, inicio, fim);
+        return new AgregadosUsuario(idUsuario, agregados);
+    }
+
+    /**
+     * Soma os agregados de cada usuário conforme chegam; usado apenas pela thread da requisição
+     */
+    private static final class Acumulador {
+
+        private final Map<Long, Totais> despesas = new HashMap<>();
+        private final Map<Long, Totais> receitas = new HashMap<>();
+        private final List<ResumoUsuarioConsolidado> porUsuario = new ArrayList<>();
+        private BigDecimal totalReceitas = BigDecimal.ZERO;
+        private BigDecimal totalDespesas = BigDecimal.ZERO;
+
+        /**
+         * Totais mutáveis de uma categoria
+         */
+        private static final class Totais {
+            final Long id;
+            long quantidade;
+            BigDecimal total = BigDecimal.ZERO;
+            BigDecimal pendente = BigDecimal.ZERO;
+
+            Totais(Long id) {
+                this.id = id;
+            }
+        }
+
+        void incluir(AgregadosUsuario resultado, String email) {
+            BigDecimal receitasUsuario = BigDecimal.ZERO;
+            BigDecimal despesasUsuario = BigDecimal.ZERO;
+            for (Agregado agregado : resultado.agregados()) {
+                Map<Long, Totais> destino = agregado.tipo() == TipoLancamento.DESPESA ? despesas : receitas;
+                Totais categoria = destino.computeIfAbsent(agregado.idCategoria(), Totais::new);
+                categoria.quantidade += agregado.quantidade();
+                categoria.total = categoria.total.add(agregado.total());
+                categoria.pendente = categoria.pendente.add(agregado.pendente());
+
+                if (agregado.tipo() == TipoLancamento.RECEITA) {
+                    receitasUsuario = receitasUsuario.add(agregado.total());
+                } else {
+                    despesasUsuario = despesasUsuario.add(agregado.total());
+                }
+            }
+            porUsuario.add(new ResumoUsuarioConsolidado(resultado.idUsuario(), email,
+                    receitasUsuario, despesasUsuario, receitasUsuario.subtract(despesasUsuario)));
+            totalReceitas = totalReceitas.add(receitasUsuario);
+            totalDespesas = totalDespesas.add(despesasUsuario);
+        }
+
+        ConsolidacaoResponse resultado(LocalDate dataInicio, LocalDate dataFim, List<Long> pendentes) {
+            List<ResumoUsuarioConsolidado> usuarios = porUsuario.stream()
+                    .sorted(Comparator.comparing(ResumoUsuarioConsolidado::idUsuario))
+                    .toList();
+
+            return new ConsolidacaoResponse(dataInicio, dataFim, pendentes.isEmpty(), pendentes,
+                    totalReceitas, totalDespesas, totalReceitas.subtract(totalDespesas), usuarios,
+                    porCategoria(despesas), porCategoria(receitas));
+        }
+
+        private static List<TotalCategoria> porCategoria(Map<Long, Totais> totais) {
+            return totais.values().stream()
+                    .sorted(Comparator.comparing((Totais t) -> t.total).reversed())
+                    .map(t -> new TotalCategoria(t.id, t.quantidade, t.total, t.pendente))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package br.com.fintech.fintechapi.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coordenação dos jobs agendados entre as instâncias da aplicação, sem coordenador externo
+ *
+ * Cada instância registra um heartbeat em NO_APLICACAO. Os shards de um job são atribuídos às
+ * instâncias vivas por rendezvous hashing (maior hash de (job, shard, instância)): todas calculam a
+ * mesma atribuição sem trocar mensagens e, quando uma instância entra ou sai, só os shards dela mudam
+ * de dono. A atribuição apenas distribui o trabalho; a exclusão mútua continua garantida pelos leases
+ * de LeaseJobService (ou por FOR UPDATE SKIP LOCKED), inclusive durante o rebalanceamento.
+ * O heartbeat roda em thread própria, fora do agendador do Spring: um job longo não pode atrasá-lo,
+ * senão as demais instâncias tiram esta da lista e passam a calcular outra atribuição.
+ */
+@Service
+public class CoordenacaoJobsService {
+
+    private static final Logger log = LoggerFactory.getLogger(CoordenacaoJobsService.class);
+
+    private static final String SQL_HEARTBEAT =
+            "MERGE INTO NO_APLICACAO n " +
+            "USING (SELECT ? AS id_no FROM DUAL) s ON (n.id_no = s.id_no) " +
+            "WHEN MATCHED THEN UPDATE SET n.heartbeat_em = SYSTIMESTAMP " +
+            "WHEN NOT MATCHED THEN INSERT (id_no, iniciado_em, heartbeat_em) VALUES (s.id_no, SYSTIMESTAMP, SYSTIMESTAMP)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LeaseJobService leaseJobService;
+    private final String idNo;
+    private final long ttlNoSegundos;
+    private final long heartbeatMs;
+    private final ScheduledExecutorService agendadorHeartbeat = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "heartbeat-jobs");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Instâncias vivas na última leitura, em ordem (mesma lista em todas as instâncias)
+     */
+    private volatile List<String> nosAtivos;
+
+    public CoordenacaoJobsService(
+            JdbcTemplate jdbcTemplate,
+            LeaseJobService leaseJobService,
+            @Value("${fintech.jobs.no-ttl-ms:30000}") long ttlNoMs,
+            @Value("${fintech.jobs.heartbeat-ms:10000}") long heartbeatMs) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseJobService = leaseJobService;
+        this.idNo = leaseJobService.getDono();
+        this.ttlNoSegundos = Duration.ofMillis(ttlNoMs).toSeconds();
+        this.heartbeatMs = heartbeatMs;
+        this.nosAtivos = List.of(idNo);
+    }
+
+    /**
+     * Inicia o heartbeat quando a aplicação está pronta (migrações aplicadas)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        agendadorHeartbeat.scheduleWithFixedDelay(this::heartbeat, 0, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Renova o heartbeat desta instância, remove as que pararam de responder e relê as vivas
+     */
+    public void heartbeat() {
+        try {
+            jdbcTemplate.update(SQL_HEARTBEAT, idNo);
+            jdbcTemplate.update("DELETE FROM NO_APLICACAO WHERE heartbeat_em < SYSTIMESTAMP - NUMTODSINTERVAL(?, 'SECOND')",
+                    ttlNoSegundos * 2);
+
+            List<String> lidos = jdbcTemplate.queryForList(
+                    "SELECT id_no FROM NO_APLICACAO WHERE heartbeat_em >= SYSTIMESTAMP - NUMTODSINTERVAL(?, 'SECOND') ORDER BY id_no",
+                    String.class, ttlNoSegundos);
+            if (!lidos.contains(idNo)) {
+                lidos = new ArrayList<>(lidos);
+                lidos.add(idNo);
+            }
+            if (!lidos.equals(nosAtivos)) {
+                log.info("Jobs: {} instâncias ativas {}", lidos.size(), lidos);
+            }
+            nosAtivos = List.copyOf(lidos);
+        } catch (RuntimeException e) {
+            // Sem banco não há o que coordenar; mantém a última lista conhecida
+            log.warn("Jobs: falha no heartbeat da instância {}: {}", idNo, e.getMessage());
+        }
+    }
+
+    /**
+     * Remove o registro no desligamento, para os shards desta instância serem redistribuídos sem esperar o TTL
+     */
+    @PreDestroy
+    public void sair() {
+        agendadorHeartbeat.shutdownNow();
+        try {
+            jdbcTemplate.update("DELETE FROM NO_APLICACAO WHERE id_no = ?", idNo);
+        } catch (RuntimeException e) {
+            log.debug("Jobs: falha ao remover a instância {}: {}", idNo, e.getMessage());
+        }
+    }
+
+    /**
+     * Shards do job atribuídos a esta instância
+     * @param job Nome do job (participa do hash, para jobs diferentes não concentrarem os mesmos shards)
+     * @param totalShards Quantidade de shards do job
+     */
+    public List<Integer> shardsAtribuidos(String job, int totalShards) {
+        List<String> nos = nosAtivos;
+        List<Integer> atribuidos = new ArrayList<>();
+        for (int shard = 0; shard < totalShards; shard++) {
+            if (idNo.equals(dono(job, shard, nos))) {
+                atribuidos.add(shard);
+            }
+        }
+        return atribuidos;
+    }
+
+    /**
+     * Executa a tarefa em apenas uma instância por período (limpezas e outras rotinas globais)
+     * @param periodo Intervalo entre execuções; o lease é mantido por 90% dele
+     * @return true se esta instância executou a tarefa
+     */
+    public boolean executarEmUmaInstancia(String job, Duration periodo, Runnable tarefa) {
+        if (!leaseJobService.adquirir(job, 0, periodo.minus(periodo.dividedBy(10)))) {
+            return false;
+        }
+        tarefa.run();
+        return true;
+    }
+
+    /**
+     * Shard de um usuário, equivalente ao MOD(id_usuario, totalShards) usado nas consultas dos jobs
+     */
+    public static int shardDoUsuario(long idUsuario, int totalShards) {
+        return (int) Math.floorMod(idUsuario, (long) totalShards);
+    }
+
+    public List<String> getNosAtivos() {
+        return nosAtivos;
+    }
+
+    private static String dono(String job, int shard, List<String> nos) {
+        String escolhido = null;
+        long maior = Long.MIN_VALUE;
+        for (String no : nos) {
+            long peso = misturar(misturar(job.hashCode() * 31L + shard) ^ no.hashCode());
+            if (escolhido == null || peso > maior) {
+                maior = peso;
+                escolhido = no;
+            }
+        }
+        return escolhido;
+    }
+
+    /**
+     * Finalizador do MurmurHash3 (64 bits): espalha os bits para a atribuição ficar uniforme
+     */
+    private static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,13 +1,18 @@
 package br.com.fintech.fintechapi.service;
 
+import br.com.fintech.fintechapi.dto.DespesaResumo;
 import br.com.fintech.fintechapi.exception.AcessoNegadoException;
 import br.com.fintech.fintechapi.exception.RecursoNaoEncontradoException;
 import br.com.fintech.fintechapi.model.Categoria;
 import br.com.fintech.fintechapi.model.Despesa;
+import br.com.fintech.fintechapi.model.RegistroExcluido;
 import br.com.fintech.fintechapi.model.Subcategoria;
+import br.com.fintech.fintechapi.model.TipoEventoOutbox;
+import br.com.fintech.fintechapi.model.TipoLancamento;
 import br.com.fintech.fintechapi.model.Usuario;
 import br.com.fintech.fintechapi.repository.CategoriaRepository;
 import br.com.fintech.fintechapi.repository.DespesaRepository;
+import br.com.fintech.fintechapi.repository.RegistroExcluidoRepository;
 import br.com.fintech.fintechapi.repository.SubcategoriaRepository;
 import br.com.fintech.fintechapi.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +23,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,6 +34,21 @@ public class DespesaService {
     @Autowired
     private DespesaRepository despesaRepository;
 
+    @Autowired
+    private VersaoLedgerService versaoLedgerService;
+
+    @Autowired
+    private RegistroExcluidoRepository registroExcluidoRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private CategorizacaoService categorizacaoService;
+
+    @Autowired
+    private TotalCategoriaService totalCategoriaService;
+
     @Autowired
     private UsuarioRepository usuarioRepository;
 
@@ -60,21 +81,38 @@ public class DespesaService {
             despesa.setPendente(0);
         }
 
-        if (despesa.getCategoria() != null && despesa.getCategoria().getIdCategoria() != null) {
+        // Campo enviado como null: na criação não há associação a remover (a referência sem ID não é persistível)
+        if (despesa.getCategoria() != null && despesa.getCategoria().getIdCategoria() == null) {
+            despesa.setCategoria(null);
+        }
+        if (despesa.getSubcategoria() != null && despesa.getSubcategoria().getIdSubcategoria() == null) {
+            despesa.setSubcategoria(null);
+        }
+
+        if (despesa.getCategoria() != null) {
             Categoria categoria = categoriaRepository.findById(despesa.getCategoria().getIdCategoria())
                     .orElseThrow(() -> new RecursoNaoEncontradoException(
                             "Categoria não encontrada com ID: " + despesa.getCategoria().getIdCategoria()));
             despesa.setCategoria(categoria);
         }
 
-        if (despesa.getSubcategoria() != null && despesa.getSubcategoria().getIdSubcategoria() != null) {
+        if (despesa.getSubcategoria() != null) {
             Subcategoria subcategoria = subcategoriaRepository.findById(despesa.getSubcategoria().getIdSubcategoria())
                     .orElseThrow(() -> new RecursoNaoEncontradoException(
                             "Subcategoria não encontrada com ID: " + despesa.getSubcategoria().getIdSubcategoria()));
             despesa.setSubcategoria(subcategoria);
         }
 
-        return despesaRepository.save(despesa);
+        if (despesa.getCategoria() == null && despesa.getSubcategoria() == null) {
+            atribuirCategoriaSugerida(despesa, idUsuario);
+        }
+
+        Despesa despesaSalva = despesaRepository.save(despesa);
+        long versao = versaoLedgerService.registrarAlteracao(idUsuario);
+        outboxService.registrar(TipoEventoOutbox.CRIADO, despesaSalva, idUsuario, versao);
+        despesaSalva.setSituacaoOrcamento(totalCategoriaService.acumular(
+                idUsuario, idCategoria(despesaSalva), despesaSalva.getDataVencimento(), despesaSalva.getValor()));
+        return despesaSalva;
     }
 
     public Despesa buscarPorId(Long id, Long idUsuario) {
@@ -152,11 +190,58 @@ public class DespesaService {
             int page,
             int size) {
         
+        validarPeriodo(dataInicio, dataFim);
+
+        return despesaRepository.findByFiltrosComPaginacao(
+            idUsuario, dataInicio, dataFim, idCategoria, pendente, criarPageable(page, size)
+        );
+    }
+
+    /**
+     * Lista despesas com filtros opcionais na representação compacta
+     * Seleciona apenas as colunas do resumo, sem carregar categoria/subcategoria
+     * @return Lista de despesas resumidas
+     */
+    public List<DespesaResumo> listarResumo(
+            Long idUsuario,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            Long idCategoria,
+            Integer pendente) {
+
+        validarPeriodo(dataInicio, dataFim);
+
+        return despesaRepository.findResumoByFiltros(idUsuario, dataInicio, dataFim, idCategoria, pendente);
+    }
+
+    /**
+     * Lista despesas com filtros opcionais e paginação na representação compacta
+     * @return Página de despesas resumidas
+     */
+    public Page<DespesaResumo> listarResumoComPaginacao(
+            Long idUsuario,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            Long idCategoria,
+            Integer pendente,
+            int page,
+            int size) {
+
+        validarPeriodo(dataInicio, dataFim);
+
+        return despesaRepository.findResumoByFiltrosComPaginacao(
+            idUsuario, dataInicio, dataFim, idCategoria, pendente, criarPageable(page, size)
+        );
+    }
+
+    private void validarPeriodo(LocalDate dataInicio, LocalDate dataFim) {
         // Validação de período (se ambos forem fornecidos)
         if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim)) {
             throw new IllegalArgumentException("Data início não pode ser maior que data fim");
         }
+    }
 
+    private Pageable criarPageable(int page, int size) {
         // Validação de paginação
         if (page < 0) {
             throw new IllegalArgumentException("Número da página não pode ser negativo");
@@ -169,11 +254,7 @@ public class DespesaService {
         }
 
         // Criar Pageable com ordenação por dataVencimento DESC
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "dataVencimento"));
-
-        return despesaRepository.findByFiltrosComPaginacao(
-            idUsuario, dataInicio, dataFim, idCategoria, pendente, pageable
-        );
+        return PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "dataVencimento"));
     }
 
     @Transactional
@@ -188,6 +269,10 @@ public class DespesaService {
             throw new IllegalArgumentException("Valor da despesa deve ser maior que zero");
         }
 
+        Long categoriaAnterior = idCategoria(despesaExistente);
+        LocalDate dataAnterior = despesaExistente.getDataVencimento();
+        BigDecimal valorAnterior = despesaExistente.getValor();
+
         if (despesa.getDescricao() != null) {
             despesaExistente.setDescricao(despesa.getDescricao());
         }
@@ -226,13 +311,40 @@ public class DespesaService {
             }
         }
 
-        return despesaRepository.save(despesaExistente);
+        Despesa despesaSalva = despesaRepository.save(despesaExistente);
+        long versao = versaoLedgerService.registrarAlteracao(idUsuario);
+        outboxService.registrar(TipoEventoOutbox.ATUALIZADO, despesaSalva, idUsuario, versao);
+        despesaSalva.setSituacaoOrcamento(totalCategoriaService.substituir(idUsuario,
+                categoriaAnterior, dataAnterior, valorAnterior,
+                idCategoria(despesaSalva), despesaSalva.getDataVencimento(), despesaSalva.getValor()));
+        return despesaSalva;
     }
 
     @Transactional
     public void deletar(Long id, Long idUsuario) {
         Despesa despesa = buscarPorId(id, idUsuario);
         despesaRepository.delete(despesa);
+        registroExcluidoRepository.save(new RegistroExcluido(idUsuario, TipoLancamento.DESPESA, id));
+        long versao = versaoLedgerService.registrarAlteracao(idUsuario);
+        outboxService.registrar(TipoEventoOutbox.EXCLUIDO, despesa, idUsuario, versao);
+        totalCategoriaService.acumular(idUsuario, idCategoria(despesa), despesa.getDataVencimento(), despesa.getValor().negate());
+    }
+
+    private Long idCategoria(Despesa despesa) {
+        return despesa.getCategoria() != null ? despesa.getCategoria().getIdCategoria() : null;
     }
-}
 
+    /**
+     * Preenche categoria/subcategoria com a sugestão do modelo do usuário (CategorizacaoService)
+     * Sem sugestão confiável, ou se a categoria sugerida foi removida, o lançamento fica sem categoria
+     */
+    private void atribuirCategoriaSugerida(Despesa despesa, Long idUsuario) {
+        categorizacaoService.sugerirParaAtribuicao(idUsuario, TipoLancamento.DESPESA, despesa.getDescricao())
+                .ifPresent(sugestao -> categoriaRepository.findById(sugestao.idCategoria()).ifPresent(categoria -> {
+                    despesa.setCategoria(categoria);
+                    if (sugestao.idSubcategoria() != null) {
+                        subcategoriaRepository.findById(sugestao.idSubcategoria()).ifPresent(despesa::setSubcategoria);
+                    }
+                }));
+    }
+}
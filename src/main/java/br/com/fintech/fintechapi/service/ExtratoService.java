@@ -0,0 +1,202 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.dto.LancamentoExtrato;
+import br.com.fintech.fintechapi.exception.RecursoNaoEncontradoException;
+import br.com.fintech.fintechapi.extrato.EscritorExtrato;
+import br.com.fintech.fintechapi.extrato.FormatoExtrato;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import br.com.fintech.fintechapi.model.Usuario;
+import br.com.fintech.fintechapi.repository.DespesaRepository;
+import br.com.fintech.fintechapi.repository.ReceitaRepository;
+import br.com.fintech.fintechapi.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Service do extrato mensal para download (XLSX ou PDF)
+ *
+ * O arquivo é gerado no executor relatoriosExecutor, fora da thread da requisição: despesas e receitas
+ * do mês são lidas por dois cursores ordenados por data (projeções, sem entidades gerenciadas) e
+ * intercaladas direto no escritor, que grava em um arquivo temporário. A memória usada não depende do
+ * tamanho do extrato. O arquivo é enviado com FileChannel.transferTo e apagado em seguida; os que não
+ * chegam a ser enviados (cliente desistiu) são removidos pela limpeza periódica.
+ */
+@Service
+public class ExtratoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtratoService.class);
+
+    private final DespesaRepository despesaRepository;
+    private final ReceitaRepository receitaRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final TransactionTemplate transacaoLeitura;
+    private final ThreadPoolTaskExecutor relatoriosExecutor;
+    private final Path diretorio;
+    private final Duration retencao;
+
+    private final Counter gerados;
+
+    public ExtratoService(
+            DespesaRepository despesaRepository,
+            ReceitaRepository receitaRepository,
+            UsuarioRepository usuarioRepository,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("relatoriosExecutor") ThreadPoolTaskExecutor relatoriosExecutor,
+            @Value("${fintech.extratos.diretorio:${java.io.tmpdir}/fintech-extratos}") String diretorio,
+            @Value("${fintech.extratos.retencao-minutos:30}") long retencaoMinutos,
+            MeterRegistry meterRegistry) throws IOException {
+
+        this.despesaRepository = despesaRepository;
+        this.receitaRepository = receitaRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+        this.relatoriosExecutor = relatoriosExecutor;
+        this.diretorio = Files.createDirectories(Path.of(diretorio));
+        this.retencao = Duration.ofMinutes(retencaoMinutos);
+
+        this.gerados = Counter.builder("fintech.extratos.gerados").register(meterRegistry);
+    }
+
+    /**
+     * Gera o extrato do mês em arquivo temporário
+     * Fila do executor cheia: TaskRejectedException (HTTP 503)
+     * @return Arquivo gerado, a ser enviado com transferir()
+     */
+    public CompletableFuture<Path> gerar(Long idUsuario, YearMonth mes, FormatoExtrato formato) {
+        Usuario usuario = usuarioRepository.findById(idUsuario)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Usuário não encontrado com ID: " + idUsuario));
+
+        return CompletableFuture.supplyAsync(
+                () -> renderizar(idUsuario, usuario.getEmail(), mes, formato), relatoriosExecutor);
+    }
+
+    /**
+     * Copia o arquivo para a resposta com FileChannel.transferTo e o apaga
+     */
+    public void transferir(Path arquivo, OutputStream saida) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            WritableByteChannel destino = Channels.newChannel(saida);
+            long tamanho = canal.size();
+            long enviados = 0;
+            while (enviados < tamanho) {
+                enviados += canal.transferTo(enviados, tamanho - enviados, destino);
+            }
+        } finally {
+            Files.deleteIfExists(arquivo);
+        }
+    }
+
+    /**
+     * Remove extratos gerados e não enviados há mais tempo que a retenção (arquivos locais de cada instância)
+     */
+    @Scheduled(fixedDelayString = "${fintech.extratos.limpeza-ms:600000}")
+    public void removerAbandonados() {
+        FileTime limite = FileTime.from(Instant.now().minus(retencao));
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "extrato-*")) {
+            for (Path arquivo : arquivos) {
+                if (Files.getLastModifiedTime(arquivo).compareTo(limite) < 0) {
+                    Files.deleteIfExists(arquivo);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Extratos: falha na limpeza de {}: {}", diretorio, e.getMessage());
+        }
+    }
+
+    private Path renderizar(Long idUsuario, String titular, YearMonth mes, FormatoExtrato formato) {
+        Path arquivo = null;
+        try {
+            arquivo = Files.createTempFile(diretorio, "extrato-", "." + formato.getExtensao());
+            try (EscritorExtrato escritor = formato.escritor(new BufferedOutputStream(Files.newOutputStream(arquivo)))) {
+                escritor.cabecalho(titular, mes);
+                transacaoLeitura.executeWithoutResult(status -> escreverLancamentos(escritor, idUsuario, mes));
+            }
+            gerados.increment();
+            return arquivo;
+        } catch (IOException e) {
+            apagar(arquivo);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            apagar(arquivo);
+            throw e;
+        }
+    }
+
+    /**
+     * Intercala os dois cursores por data e grava os totais ao final
+     */
+    private void escreverLancamentos(EscritorExtrato escritor, Long idUsuario, YearMonth mes) {
+        BigDecimal totalReceitas = BigDecimal.ZERO;
+        BigDecimal totalDespesas = BigDecimal.ZERO;
+
+        try (Stream<LancamentoExtrato> despesas = despesaRepository.streamExtrato(idUsuario, mes.atDay(1), mes.atEndOfMonth());
+             Stream<LancamentoExtrato> receitas = receitaRepository.streamExtrato(idUsuario, mes.atDay(1), mes.atEndOfMonth())) {
+
+            Iterator<LancamentoExtrato> cursorDespesas = despesas.iterator();
+            Iterator<LancamentoExtrato> cursorReceitas = receitas.iterator();
+            LancamentoExtrato despesa = proximo(cursorDespesas);
+            LancamentoExtrato receita = proximo(cursorReceitas);
+
+            while (despesa != null || receita != null) {
+                // No mesmo dia, receitas antes das despesas
+                if (receita != null && (despesa == null || !receita.data().isAfter(despesa.data()))) {
+                    escritor.lancamento(TipoLancamento.RECEITA, receita);
+                    totalReceitas = totalReceitas.add(receita.valor());
+                    receita = proximo(cursorReceitas);
+                } else {
+                    escritor.lancamento(TipoLancamento.DESPESA, despesa);
+                    totalDespesas = totalDespesas.add(despesa.valor());
+                    despesa = proximo(cursorDespesas);
+                }
+            }
+            escritor.totais(totalReceitas, totalDespesas);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static LancamentoExtrato proximo(Iterator<LancamentoExtrato> cursor) {
+        return cursor.hasNext() ? cursor.next() : null;
+    }
+
+    private static void apagar(Path arquivo) {
+        if (arquivo == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            log.warn("Extratos: falha ao apagar {}: {}", arquivo, e.getMessage());
+        }
+    }
+}
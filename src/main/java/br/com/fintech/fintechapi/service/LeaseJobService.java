@@ -0,0 +1,102 @@
+package br.com.fintech.fintechapi.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Leases dos jobs agendados por (job, shard), guardados na tabela JOB_LEASE
+ *
+ * Uma instância só processa um shard enquanto for dona de um lease não expirado.
+ * Os horários usam o relógio do banco (SYSTIMESTAMP), para não depender do relógio de cada instância.
+ * Ao concluir, o dono estende o lease até a próxima execução, o que impede as demais instâncias
+ * de repetir o shard no mesmo período.
+ */
+@Service
+public class LeaseJobService {
+
+    private static final String SQL_ADQUIRIR =
+            "MERGE INTO JOB_LEASE l " +
+            "USING (SELECT ? AS nome_job, ? AS shard FROM DUAL) s " +
+            "ON (l.nome_job = s.nome_job AND l.shard = s.shard) " +
+            "WHEN MATCHED THEN UPDATE SET l.dono = ?, l.expira_em = SYSTIMESTAMP + NUMTODSINTERVAL(?, 'SECOND') " +
+            "    WHERE l.expira_em < SYSTIMESTAMP " +
+            "WHEN NOT MATCHED THEN INSERT (nome_job, shard, dono, expira_em) " +
+            "    VALUES (s.nome_job, s.shard, ?, SYSTIMESTAMP + NUMTODSINTERVAL(?, 'SECOND'))";
+
+    private static final String SQL_RENOVAR =
+            "UPDATE JOB_LEASE SET expira_em = SYSTIMESTAMP + NUMTODSINTERVAL(?, 'SECOND'), posicao = ? " +
+            "WHERE nome_job = ? AND shard = ? AND dono = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Identificação desta instância nos leases (hostname + sufixo aleatório por execução)
+     */
+    private final String dono;
+
+    public LeaseJobService(@Value("${fintech.jobs.no-id:}") String noId) {
+        this.dono = (noId.isBlank() ? hostname() : noId) + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getDono() {
+        return dono;
+    }
+
+    /**
+     * Tenta obter o lease do shard (inexistente ou expirado)
+     * @return true se esta instância passou a ser a dona até agora + duracao
+     */
+    public boolean adquirir(String job, int shard, Duration duracao) {
+        long segundos = duracao.toSeconds();
+        try {
+            return jdbcTemplate.update(SQL_ADQUIRIR, job, shard, dono, segundos, dono, segundos) > 0;
+        } catch (DuplicateKeyException e) {
+            // Outra instância inseriu o lease do mesmo shard ao mesmo tempo
+            return false;
+        }
+    }
+
+    /**
+     * Posição salva pela última execução interrompida do shard (null = começar do início)
+     */
+    public String posicao(String job, int shard) {
+        List<String> posicoes = jdbcTemplate.queryForList(
+                "SELECT posicao FROM JOB_LEASE WHERE nome_job = ? AND shard = ? AND dono = ?",
+                String.class, job, shard, dono);
+        return posicoes.isEmpty() ? null : posicoes.get(0);
+    }
+
+    /**
+     * Renova o lease e grava a posição da varredura
+     * @return false se o lease foi perdido (expirou e outra instância assumiu): o processamento deve parar
+     */
+    public boolean renovar(String job, int shard, Duration duracao, String posicao) {
+        return jdbcTemplate.update(SQL_RENOVAR, duracao.toSeconds(), posicao, job, shard, dono) > 0;
+    }
+
+    /**
+     * Marca o shard como concluído, mantendo o lease até a próxima execução prevista
+     * @return false se o lease foi perdido antes da conclusão (outra instância pode repetir o shard)
+     */
+    public boolean concluir(String job, int shard, Duration ateProximaExecucao) {
+        return renovar(job, shard, ateProximaExecucao, null);
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "no";
+        }
+    }
+}
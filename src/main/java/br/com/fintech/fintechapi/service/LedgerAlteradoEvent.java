@@ -0,0 +1,12 @@
+package br.com.fintech.fintechapi.service;
+
+/**
+ * Evento publicado quando os lançamentos (despesas/receitas) de um usuário mudam de versão
+ * É publicado dentro da transação da alteração; os ouvintes usam @TransactionalEventListener
+ * para só reagir depois do commit
+ *
+ * @param idUsuario Usuário dono dos lançamentos
+ * @param versao Nova versão gravada em VERSAO_LEDGER
+ */
+public record LedgerAlteradoEvent(Long idUsuario, long versao) {
+}
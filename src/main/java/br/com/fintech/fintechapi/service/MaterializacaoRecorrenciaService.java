@@ -0,0 +1,250 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.model.RegraRecorrencia;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import br.com.fintech.fintechapi.repository.RegraRecorrenciaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Job que materializa as ocorrências das regras de recorrência como despesas/receitas
+ *
+ * As regras são divididas em partições por MOD(id_usuario, particoes), distribuídas entre as instâncias
+ * por CoordenacaoJobsService e processadas em paralelo.
+ * Cada lote trava as regras com FOR UPDATE SKIP LOCKED: várias threads ou instâncias podem varrer
+ * a mesma partição sem processar a mesma regra. A inserção usa MERGE em lote sobre o índice único
+ * (regra, data), então repetir um lote (ex.: após falha no commit) não duplica lançamentos.
+ */
+@Service
+public class MaterializacaoRecorrenciaService {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterializacaoRecorrenciaService.class);
+
+    private static final String JOB = "recorrencia";
+
+    private static final String SQL_REGRAS_PENDENTES =
+            "SELECT id_regra_recorrencia FROM REGRA_RECORRENCIA " +
+            "WHERE ativa = 1 AND gerado_ate < ? AND MOD(id_usuario, ?) = ? " +
+            "FOR UPDATE SKIP LOCKED";
+
+    private static final String SQL_MERGE_DESPESA =
+            "MERGE INTO DESPESA d " +
+            "USING (SELECT ? AS id_regra, ? AS data_ocorrencia FROM DUAL) s " +
+            "ON (d.id_regra_recorrencia = s.id_regra AND d.data_vencimento = s.data_ocorrencia) " +
+            "WHEN NOT MATCHED THEN INSERT (id_despesa, id_usuario, descricao, valor, data_vencimento, recorrente, " +
+            "pendente, id_categoria, id_subcategoria, criado_em, atualizado_em, id_regra_recorrencia) " +
+            "VALUES (SEQ_DESPESAS.NEXTVAL, ?, ?, ?, s.data_ocorrencia, 1, ?, ?, ?, ?, ?, s.id_regra)";
+
+    private static final String SQL_MERGE_RECEITA =
+            "MERGE INTO RECEITA r " +
+            "USING (SELECT ? AS id_regra, ? AS data_ocorrencia FROM DUAL) s " +
+            "ON (r.id_regra_recorrencia = s.id_regra AND r.data_entrada = s.data_ocorrencia) " +
+            "WHEN NOT MATCHED THEN INSERT (id_receita, id_usuario, descricao, valor, data_entrada, recorrente, " +
+            "pendente, id_categoria, id_subcategoria, criado_em, atualizado_em, id_regra_recorrencia) " +
+            "VALUES (SEQ_RECEITAS.NEXTVAL, ?, ?, ?, s.data_ocorrencia, 1, ?, ?, ?, ?, ?, s.id_regra)";
+
+    private static final String SQL_DESPESAS_INSERIDAS =
+            "SELECT data_vencimento FROM DESPESA WHERE id_regra_recorrencia = ? AND criado_em = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RegraRecorrenciaRepository regraRecorrenciaRepository;
+
+    @Autowired
+    private VersaoLedgerService versaoLedgerService;
+
+    @Autowired
+    private CoordenacaoJobsService coordenacaoJobsService;
+
+    @Autowired
+    private TotalCategoriaService totalCategoriaService;
+
+    @Autowired
+    @Qualifier("jobsExecutor")
+    private ThreadPoolTaskExecutor jobsExecutor;
+
+    @Value("${fintech.recorrencia.horizonte-dias:62}")
+    private int horizonteDias;
+
+    @Value("${fintech.recorrencia.particoes:16}")
+    private int particoes;
+
+    @Value("${fintech.recorrencia.lote-regras:200}")
+    private int loteRegras;
+
+    @Value("${fintech.recorrencia.max-ocorrencias-por-regra:400}")
+    private int maxOcorrenciasPorRegra;
+
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+
+    /**
+     * Materializa as ocorrências até hoje + horizonte nas partições atribuídas a esta instância
+     * Durante um rebalanceamento duas instâncias podem varrer a mesma partição; o SKIP LOCKED as separa
+     */
+    @Scheduled(fixedDelayString = "${fintech.recorrencia.intervalo-ms:300000}",
+               initialDelayString = "${fintech.recorrencia.atraso-inicial-ms:60000}")
+    public void materializarPendentes() {
+        // Ciclo anterior ainda em andamento no jobsExecutor: este ciclo é pulado
+        if (!emExecucao.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            LocalDate horizonte = horizonte();
+            List<CompletableFuture<Integer>> tarefas = coordenacaoJobsService.shardsAtribuidos(JOB, particoes).stream()
+                    .map(particao -> CompletableFuture.supplyAsync(() -> processarParticao(particao, horizonte), jobsExecutor))
+                    .toList();
+
+            // Não bloqueia a thread do agendador: o resultado é registrado quando a última partição terminar
+            CompletableFuture.allOf(tarefas.toArray(CompletableFuture[]::new)).whenComplete((ignorado, erro) -> {
+                emExecucao.set(false);
+                int total = tarefas.stream().mapToInt(tarefa -> tarefa.isCompletedExceptionally() ? 0 : tarefa.join()).sum();
+                if (total > 0) {
+                    log.info("Recorrência: {} regras processadas até {}", total, horizonte);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Fila do executor cheia: as partições já enviadas seguem, as demais ficam para o próximo ciclo
+            emExecucao.set(false);
+            log.warn("Recorrência: ciclo não enviado por completo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Materializa as ocorrências de uma regra até o horizonte e avança gerado_ate
+     * Chamado pelo job (regra travada) e na criação da regra (mesma transação do INSERT)
+     * @return true se algum lançamento foi inserido
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean materializar(RegraRecorrencia regra, LocalDate horizonte) {
+        List<LocalDate> datas = regra.proximasOcorrencias(horizonte, maxOcorrenciasPorRegra);
+
+        boolean inseriu = false;
+        // Precisão de TIMESTAMP(6): criado_em identifica as linhas inseridas nesta execução
+        LocalDateTime agora = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (!datas.isEmpty()) {
+            List<Object[]> parametros = new ArrayList<>(datas.size());
+            for (LocalDate data : datas) {
+                parametros.add(new Object[]{
+                        regra.getIdRegraRecorrencia(), Date.valueOf(data),
+                        regra.getIdUsuario(), regra.getDescricao(), regra.getValor(), regra.getPendente(),
+                        regra.getIdCategoria(), regra.getIdSubcategoria(),
+                        Timestamp.valueOf(agora), Timestamp.valueOf(agora)
+                });
+            }
+            String sql = regra.getTipoLancamento() == TipoLancamento.DESPESA ? SQL_MERGE_DESPESA : SQL_MERGE_RECEITA;
+            int[] resultados = jdbcTemplate.batchUpdate(sql, parametros);
+            for (int resultado : resultados) {
+                // Oracle devolve SUCCESS_NO_INFO (-2) em lote; só 0 indica ocorrência que já existia
+                inseriu |= resultado != 0;
+            }
+
+            // Limite de ocorrências atingido: continua da última data gerada na próxima execução
+            regra.setGeradoAte(datas.size() == maxOcorrenciasPorRegra ? datas.get(datas.size() - 1) : horizonte);
+        } else {
+            regra.setGeradoAte(horizonte);
+        }
+
+        if (regra.getDataFim() != null && !regra.getGeradoAte().isBefore(regra.getDataFim())) {
+            regra.setAtiva(0);
+        }
+
+        if (inseriu) {
+            versaoLedgerService.registrarAlteracao(regra.getIdUsuario());
+            if (regra.getTipoLancamento() == TipoLancamento.DESPESA && regra.getIdCategoria() != null) {
+                acumularTotais(regra, agora);
+            }
+        }
+        return inseriu;
+    }
+
+    /**
+     * Soma aos totais mensais da categoria as despesas inseridas nesta execução (MERGE não informa quais)
+     */
+    private void acumularTotais(RegraRecorrencia regra, LocalDateTime agora) {
+        Map<LocalDate, Integer> porMes = new TreeMap<>();
+        jdbcTemplate.query(SQL_DESPESAS_INSERIDAS,
+                rs -> {
+                    porMes.merge(rs.getDate(1).toLocalDate().withDayOfMonth(1), 1, Integer::sum);
+                },
+                regra.getIdRegraRecorrencia(), Timestamp.valueOf(agora));
+
+        porMes.forEach((mes, quantidade) -> totalCategoriaService.acumular(regra.getIdUsuario(), regra.getIdCategoria(),
+                mes, regra.getValor().multiply(BigDecimal.valueOf(quantidade))));
+    }
+
+    /**
+     * Processa uma partição em lotes, cada lote em sua própria transação, até não restarem regras livres
+     */
+    private int processarParticao(int particao, LocalDate horizonte) {
+        int total = 0;
+        try {
+            Integer processadas;
+            do {
+                processadas = transactionTemplate.execute(status -> processarLote(particao, horizonte));
+                total += processadas;
+            } while (processadas == loteRegras);
+        } catch (RuntimeException e) {
+            log.error("Recorrência: falha na partição {}", particao, e);
+        }
+        return total;
+    }
+
+    private int processarLote(int particao, LocalDate horizonte) {
+        List<Long> ids = jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(SQL_REGRAS_PENDENTES);
+            ps.setDate(1, Date.valueOf(horizonte));
+            ps.setInt(2, particoes);
+            ps.setInt(3, particao);
+            // SKIP LOCKED trava as linhas à medida que são buscadas: busca apenas o lote
+            ps.setFetchSize(loteRegras);
+            return ps;
+        }, rs -> {
+            List<Long> lote = new ArrayList<>(loteRegras);
+            while (lote.size() < loteRegras && rs.next()) {
+                lote.add(rs.getLong(1));
+            }
+            return lote;
+        });
+
+        for (RegraRecorrencia regra : regraRecorrenciaRepository.findAllById(ids)) {
+            materializar(regra, horizonte);
+        }
+        return ids.size();
+    }
+
+    /**
+     * Última data a materializar: hoje + fintech.recorrencia.horizonte-dias
+     */
+    public LocalDate horizonte() {
+        return LocalDate.now().plusDays(horizonteDias);
+    }
+}
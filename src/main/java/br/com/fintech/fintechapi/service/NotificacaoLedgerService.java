@@ -0,0 +1,213 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.dto.VersaoResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canal de notificação (server-sent events) das alterações de lançamentos
+ *
+ * Cada conexão é um assinante com fila limitada e uma virtual thread própria que drena a fila
+ * e escreve no SseEmitter; conexões ociosas custam apenas a thread estacionada na fila.
+ * Como cada evento carrega a versão completa do ledger, um assinante lento não precisa de todos:
+ * quando a fila enche, os eventos antigos são descartados e só a versão mais recente é mantida
+ */
+@Service
+public class NotificacaoLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificacaoLedgerService.class);
+
+    private static final String EVENTO_VERSAO = "versao";
+
+    private final VersaoLedgerService versaoLedgerService;
+
+    private final ConcurrentHashMap<Long, Set<Assinante>> assinantes = new ConcurrentHashMap<>();
+    private final AtomicInteger totalAssinantes = new AtomicInteger();
+    private final AtomicInteger sequencia = new AtomicInteger();
+
+    private final int capacidadeFila;
+    private final long heartbeatMs;
+    private final long timeoutMs;
+    private final int maxPorUsuario;
+    private final int maxTotal;
+
+    private final Counter eventosDescartados;
+
+    public NotificacaoLedgerService(
+            VersaoLedgerService versaoLedgerService,
+            @Value("${fintech.sse.fila:16}") int capacidadeFila,
+            @Value("${fintech.sse.heartbeat-ms:25000}") long heartbeatMs,
+            @Value("${fintech.sse.timeout-ms:1800000}") long timeoutMs,
+            @Value("${fintech.sse.max-por-usuario:5}") int maxPorUsuario,
+            @Value("${fintech.sse.max-total:10000}") int maxTotal,
+            MeterRegistry meterRegistry) {
+
+        this.versaoLedgerService = versaoLedgerService;
+        this.capacidadeFila = capacidadeFila;
+        this.heartbeatMs = heartbeatMs;
+        this.timeoutMs = timeoutMs;
+        this.maxPorUsuario = maxPorUsuario;
+        this.maxTotal = maxTotal;
+
+        this.eventosDescartados = Counter.builder("fintech.sse.descartados").register(meterRegistry);
+        Gauge.builder("fintech.sse.assinantes", totalAssinantes, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Abre uma conexão de eventos para o usuário
+     * O primeiro evento traz a versão atual, para o cliente saber se precisa sincronizar
+     * @return Emitter da conexão, ou null se o limite de conexões (do usuário ou total) foi atingido
+     */
+    public SseEmitter assinar(Long idUsuario) {
+        if (totalAssinantes.incrementAndGet() > maxTotal) {
+            totalAssinantes.decrementAndGet();
+            return null;
+        }
+
+        Assinante assinante = new Assinante(idUsuario, new SseEmitter(timeoutMs));
+        boolean[] aceito = {false};
+        assinantes.compute(idUsuario, (id, atuais) -> {
+            Set<Assinante> conjunto = atuais != null ? atuais : ConcurrentHashMap.newKeySet();
+            if (conjunto.size() < maxPorUsuario) {
+                conjunto.add(assinante);
+                aceito[0] = true;
+            }
+            return conjunto.isEmpty() ? null : conjunto;
+        });
+        if (!aceito[0]) {
+            totalAssinantes.decrementAndGet();
+            return null;
+        }
+
+        SseEmitter emitter = assinante.emitter;
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onTimeout(() -> {
+            remover(assinante);
+            emitter.complete();
+        });
+        emitter.onError(erro -> remover(assinante));
+
+        assinante.enfileirar(versaoLedgerService.obterVersao(idUsuario));
+        assinante.thread = Thread.ofVirtual()
+                .name("sse-" + sequencia.incrementAndGet())
+                .start(assinante::drenar);
+        return emitter;
+    }
+
+    /**
+     * Encaminha a nova versão às conexões do usuário, somente após o commit da alteração
+     * Não bloqueia: apenas enfileira; a escrita acontece na thread de cada assinante
+     */
+    @TransactionalEventListener
+    public void aoAlterarLedger(LedgerAlteradoEvent evento) {
+        Set<Assinante> conjunto = assinantes.get(evento.idUsuario());
+        if (conjunto == null) {
+            return;
+        }
+        for (Assinante assinante : conjunto) {
+            assinante.enfileirar(evento.versao());
+        }
+    }
+
+    /**
+     * Encerra as conexões abertas no desligamento, para o cliente reconectar em outra instância
+     */
+    @PreDestroy
+    public void encerrar() {
+        assinantes.values().forEach(conjunto -> conjunto.forEach(assinante -> assinante.emitter.complete()));
+    }
+
+    private void remover(Assinante assinante) {
+        if (!assinante.ativo.compareAndSet(true, false)) {
+            return;
+        }
+
+        assinantes.computeIfPresent(assinante.idUsuario, (id, conjunto) -> {
+            conjunto.remove(assinante);
+            return conjunto.isEmpty() ? null : conjunto;
+        });
+        totalAssinantes.decrementAndGet();
+
+        Thread thread = assinante.thread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Uma conexão SSE: fila limitada de versões pendentes e a thread que escreve no emitter
+     */
+    private final class Assinante {
+
+        private final Long idUsuario;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Long> fila = new ArrayBlockingQueue<>(capacidadeFila);
+        private final AtomicBoolean ativo = new AtomicBoolean(true);
+        private volatile Thread thread;
+
+        private Assinante(Long idUsuario, SseEmitter emitter) {
+            this.idUsuario = idUsuario;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Enfileira sem bloquear; com a fila cheia descarta as versões antigas e mantém só a nova
+         */
+        private void enfileirar(long versao) {
+            while (!fila.offer(versao)) {
+                if (fila.poll() != null) {
+                    eventosDescartados.increment();
+                }
+            }
+        }
+
+        /**
+         * Laço da virtual thread: envia as versões em ordem e um comentário de heartbeat
+         * quando a fila fica vazia pelo intervalo configurado (mantém proxies sem fechar a conexão)
+         */
+        private void drenar() {
+            try {
+                while (ativo.get()) {
+                    Long versao = fila.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+                    if (versao == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                        continue;
+                    }
+                    // Pula versões já superadas por outra mais nova na fila
+                    Long seguinte;
+                    while ((seguinte = fila.poll()) != null) {
+                        versao = Math.max(versao, seguinte);
+                    }
+                    emitter.send(SseEmitter.event()
+                            .name(EVENTO_VERSAO)
+                            .id(String.valueOf(versao))
+                            .data(new VersaoResponse(versao), MediaType.APPLICATION_JSON));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectou ou o emitter já foi concluído
+                log.debug("Conexão SSE do usuário {} encerrada: {}", idUsuario, e.getMessage());
+                remover(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.dto.SituacaoOrcamento;
+import br.com.fintech.fintechapi.exception.AcessoNegadoException;
+import br.com.fintech.fintechapi.exception.RecursoNaoEncontradoException;
+import br.com.fintech.fintechapi.model.Orcamento;
+import br.com.fintech.fintechapi.repository.CategoriaRepository;
+import br.com.fintech.fintechapi.repository.OrcamentoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Service dos orçamentos mensais por categoria
+ *
+ * Os limites de cada usuário ficam em memória (recarregados após fintech.orcamento.cache-ttl-ms),
+ * para a gravação de uma despesa saber sem consulta se a categoria tem orçamento
+ */
+@Service
+public class OrcamentoService {
+
+    @Autowired
+    private OrcamentoRepository orcamentoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, Limites> limites = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    /**
+     * Limites do usuário por categoria e o instante (System.nanoTime) da leitura
+     */
+    private record Limites(Map<Long, BigDecimal> porCategoria, long carregadoEm) {
+    }
+
+    public OrcamentoService(@Value("${fintech.orcamento.cache-ttl-ms:60000}") long ttlMs) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    /**
+     * Define o limite mensal da categoria (substitui o anterior, se houver)
+     */
+    @Transactional
+    public Orcamento definir(Long idUsuario, Long idCategoria, BigDecimal valorLimite) {
+        if (idCategoria == null) {
+            throw new IllegalArgumentException("Categoria é obrigatória");
+        }
+        if (valorLimite == null || valorLimite.signum() <= 0) {
+            throw new IllegalArgumentException("Valor limite deve ser maior que zero");
+        }
+        if (!categoriaRepository.existsById(idCategoria)) {
+            throw new RecursoNaoEncontradoException("Categoria não encontrada com ID: " + idCategoria);
+        }
+
+        Orcamento orcamento = orcamentoRepository.findByIdUsuarioAndIdCategoria(idUsuario, idCategoria)
+                .orElseGet(() -> {
+                    Orcamento novo = new Orcamento();
+                    novo.setIdUsuario(idUsuario);
+                    novo.setIdCategoria(idCategoria);
+                    novo.setCriadoEm(LocalDateTime.now());
+                    return novo;
+                });
+        orcamento.setValorLimite(valorLimite);
+
+        Orcamento orcamentoSalvo = orcamentoRepository.save(orcamento);
+        invalidarAposCommit(idUsuario);
+        return orcamentoSalvo;
+    }
+
+    public List<Orcamento> listarPorUsuario(Long idUsuario) {
+        return orcamentoRepository.findByIdUsuario(idUsuario);
+    }
+
+    @Transactional
+    public void deletar(Long id, Long idUsuario) {
+        Orcamento orcamento = orcamentoRepository.findById(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Orçamento não encontrado com ID: " + id));
+
+        if (!orcamento.getIdUsuario().equals(idUsuario)) {
+            throw new AcessoNegadoException("Você não tem permissão para acessar este orçamento");
+        }
+
+        orcamentoRepository.delete(orcamento);
+        invalidarAposCommit(idUsuario);
+    }
+
+    /**
+     * Situação de todos os orçamentos do usuário no mês, a partir dos totais acumulados (sem SUM)
+     * @param mes Qualquer dia do mês desejado
+     */
+    public List<SituacaoOrcamento> situacao(Long idUsuario, LocalDate mes) {
+        LocalDate inicioMes = mes.withDayOfMonth(1);
+
+        Map<Long, BigDecimal> totais = new HashMap<>();
+        jdbcTemplate.query("SELECT id_categoria, total FROM TOTAL_CATEGORIA_MES WHERE id_usuario = ? AND mes = ?",
+                rs -> {
+                    totais.put(rs.getLong(1), rs.getBigDecimal(2));
+                },
+                idUsuario, Date.valueOf(inicioMes));
+
+        return orcamentoRepository.findByIdUsuario(idUsuario).stream()
+                .map(orcamento -> SituacaoOrcamento.de(orcamento.getIdCategoria(), inicioMes, orcamento.getValorLimite(),
+                        totais.getOrDefault(orcamento.getIdCategoria(), BigDecimal.ZERO)))
+                .toList();
+    }
+
+    /**
+     * Limite mensal da categoria, servido da memória
+     * @return Limite, ou null se a categoria não tem orçamento
+     */
+    public BigDecimal limite(Long idUsuario, Long idCategoria) {
+        Limites atuais = limites.get(idUsuario);
+        if (atuais == null || System.nanoTime() - atuais.carregadoEm() >= ttlNanos) {
+            Map<Long, BigDecimal> porCategoria = orcamentoRepository.findByIdUsuario(idUsuario).stream()
+                    .collect(Collectors.toMap(Orcamento::getIdCategoria, Orcamento::getValorLimite));
+            atuais = new Limites(porCategoria, System.nanoTime());
+            limites.put(idUsuario, atuais);
+        }
+        return atuais.porCategoria().get(idCategoria);
+    }
+
+    /**
+     * Remove periodicamente os limites vencidos, mantendo em memória apenas os usuários ativos
+     */
+    @Scheduled(fixedDelayString = "${fintech.orcamento.limpeza-ms:60000}")
+    public void removerVencidos() {
+        long agora = System.nanoTime();
+        limites.values().removeIf(atuais -> agora - atuais.carregadoEm() >= ttlNanos);
+    }
+
+    /**
+     * Descarta os limites em memória do usuário depois do commit (antes dele, uma recarga leria o valor antigo)
+     */
+    private void invalidarAposCommit(Long idUsuario) {
+        limites.remove(idUsuario);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                limites.remove(idUsuario);
+            }
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.model.Despesa;
+import br.com.fintech.fintechapi.model.EventoOutbox;
+import br.com.fintech.fintechapi.model.Receita;
+import br.com.fintech.fintechapi.model.TipoEventoOutbox;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import br.com.fintech.fintechapi.outbox.CargaLancamento;
+import br.com.fintech.fintechapi.repository.EventoOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Grava os eventos de despesas/receitas no outbox, dentro da transação da alteração
+ * O custo na requisição é um INSERT; a entrega aos destinos acontece depois, no RelayOutboxService
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TipoEventoOutbox tipoEvento, Despesa despesa, Long idUsuario, long versaoLedger) {
+        CargaLancamento carga = tipoEvento == TipoEventoOutbox.EXCLUIDO ? null : new CargaLancamento(
+                despesa.getValor(), despesa.getDataVencimento(), despesa.getPendente(),
+                despesa.getCategoria() != null ? despesa.getCategoria().getIdCategoria() : null,
+                despesa.getSubcategoria() != null ? despesa.getSubcategoria().getIdSubcategoria() : null);
+        salvar(tipoEvento, TipoLancamento.DESPESA, despesa.getIdDespesa(), idUsuario, versaoLedger, carga);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(TipoEventoOutbox tipoEvento, Receita receita, Long idUsuario, long versaoLedger) {
+        CargaLancamento carga = tipoEvento == TipoEventoOutbox.EXCLUIDO ? null : new CargaLancamento(
+                receita.getValor(), receita.getDataEntrada(), receita.getPendente(),
+                receita.getCategoria() != null ? receita.getCategoria().getIdCategoria() : null,
+                receita.getSubcategoria() != null ? receita.getSubcategoria().getIdSubcategoria() : null);
+        salvar(tipoEvento, TipoLancamento.RECEITA, receita.getIdReceita(), idUsuario, versaoLedger, carga);
+    }
+
+    private void salvar(TipoEventoOutbox tipoEvento, TipoLancamento tipoLancamento, Long idRegistro,
+                        Long idUsuario, long versaoLedger, CargaLancamento carga) {
+        try {
+            String json = carga != null ? objectMapper.writeValueAsString(carga) : null;
+            eventoOutboxRepository.save(new EventoOutbox(tipoEvento, tipoLancamento, idRegistro, idUsuario, versaoLedger, json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento do outbox", e);
+        }
+    }
+}
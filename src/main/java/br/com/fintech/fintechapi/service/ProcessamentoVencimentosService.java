@@ -0,0 +1,239 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.model.TipoAlerta;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Job que gera alertas para despesas pendentes vencidas ou a vencer
+ *
+ * A varredura usa o índice (pendente, data_vencimento, id_despesa, id_usuario) em blocos por chave
+ * (data_vencimento, id_despesa), sem OFFSET. O trabalho é dividido em shards por MOD(id_usuario, shards),
+ * distribuídos entre as instâncias por CoordenacaoJobsService; cada shard é processado por uma única
+ * instância, que detém o lease em JOB_LEASE e grava a posição
+ * a cada bloco. Os alertas são únicos por (despesa, tipo), então reprocessar um bloco não duplica.
+ */
+@Service
+public class ProcessamentoVencimentosService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessamentoVencimentosService.class);
+
+    private static final String JOB = "vencimentos";
+
+    private static final String SQL_BLOCO =
+            "SELECT data_vencimento, id_despesa, id_usuario FROM DESPESA " +
+            "WHERE pendente = 1 AND data_vencimento BETWEEN ? AND ? " +
+            "AND (data_vencimento > ? OR (data_vencimento = ? AND id_despesa > ?)) " +
+            "AND MOD(id_usuario, ?) = ? " +
+            "ORDER BY data_vencimento, id_despesa " +
+            "FETCH FIRST ? ROWS ONLY";
+
+    private static final String SQL_MERGE_ALERTA =
+            "MERGE INTO ALERTA_VENCIMENTO a " +
+            "USING (SELECT ? AS id_despesa, ? AS tipo_alerta FROM DUAL) s " +
+            "ON (a.id_despesa = s.id_despesa AND a.tipo_alerta = s.tipo_alerta) " +
+            "WHEN NOT MATCHED THEN INSERT (id_alerta, id_usuario, id_despesa, tipo_alerta, data_vencimento, criado_em) " +
+            "VALUES (SEQ_ALERTAS_VENCIMENTO.NEXTVAL, ?, s.id_despesa, s.tipo_alerta, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaseJobService leaseJobService;
+    private final CoordenacaoJobsService coordenacaoJobsService;
+    private final ThreadPoolTaskExecutor jobsExecutor;
+
+    private final int shards;
+    private final int tamanhoBloco;
+    private final int antecedenciaDias;
+    private final int janelaAtrasoDias;
+    private final Duration duracaoLease;
+    private final Duration intervalo;
+
+    private final Counter alertasGerados;
+
+    private final AtomicBoolean emExecucao = new AtomicBoolean();
+
+    /**
+     * Cursor da varredura: última chave (data_vencimento, id_despesa) processada
+     * Gravado com a data da execução ("execução/data:id"): a posição de outro dia é descartada, pois a janela
+     * mudou e despesas anteriores à posição podem ter vencido desde então
+     */
+    private record Posicao(LocalDate data, long idDespesa) {
+
+        static Posicao de(String texto, LocalDate hoje, LocalDate inicio) {
+            String prefixo = hoje + "/";
+            if (texto == null || !texto.startsWith(prefixo)) {
+                return new Posicao(inicio.minusDays(1), 0);
+            }
+            String[] partes = texto.substring(prefixo.length()).split(":");
+            return new Posicao(LocalDate.parse(partes[0]), Long.parseLong(partes[1]));
+        }
+
+        String texto(LocalDate hoje) {
+            return hoje + "/" + data + ":" + idDespesa;
+        }
+    }
+
+    public ProcessamentoVencimentosService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            LeaseJobService leaseJobService,
+            CoordenacaoJobsService coordenacaoJobsService,
+            @Qualifier("jobsExecutor") ThreadPoolTaskExecutor jobsExecutor,
+            @Value("${fintech.vencimentos.shards:32}") int shards,
+            @Value("${fintech.vencimentos.bloco:1000}") int tamanhoBloco,
+            @Value("${fintech.vencimentos.antecedencia-dias:3}") int antecedenciaDias,
+            @Value("${fintech.vencimentos.janela-atraso-dias:30}") int janelaAtrasoDias,
+            @Value("${fintech.vencimentos.lease-ms:120000}") long leaseMs,
+            @Value("${fintech.vencimentos.intervalo-ms:900000}") long intervaloMs,
+            MeterRegistry meterRegistry) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leaseJobService = leaseJobService;
+        this.coordenacaoJobsService = coordenacaoJobsService;
+        this.jobsExecutor = jobsExecutor;
+        this.shards = shards;
+        this.tamanhoBloco = tamanhoBloco;
+        this.antecedenciaDias = antecedenciaDias;
+        this.janelaAtrasoDias = janelaAtrasoDias;
+        this.duracaoLease = Duration.ofMillis(leaseMs);
+        this.intervalo = Duration.ofMillis(intervaloMs);
+
+        this.alertasGerados = Counter.builder("fintech.vencimentos.alertas").register(meterRegistry);
+    }
+
+    /**
+     * Processa os shards atribuídos a esta instância (CoordenacaoJobsService)
+     * Shards cujo lease ainda é de outra instância (rebalanceamento) ou já processados no período são pulados
+     */
+    @Scheduled(fixedDelayString = "${fintech.vencimentos.intervalo-ms:900000}",
+               initialDelayString = "${fintech.vencimentos.atraso-inicial-ms:90000}")
+    public void processarVencimentos() {
+        // Ciclo anterior ainda em andamento no jobsExecutor: este ciclo é pulado
+        if (!emExecucao.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            LocalDate hoje = LocalDate.now();
+            List<CompletableFuture<Integer>> tarefas = coordenacaoJobsService.shardsAtribuidos(JOB, shards).stream()
+                    .map(shard -> CompletableFuture.supplyAsync(() -> processarShard(shard, hoje), jobsExecutor))
+                    .toList();
+
+            // Não bloqueia a thread do agendador: o resultado é registrado quando o último shard terminar
+            CompletableFuture.allOf(tarefas.toArray(CompletableFuture[]::new)).whenComplete((ignorado, erro) -> {
+                emExecucao.set(false);
+                int processados = tarefas.stream().mapToInt(tarefa -> tarefa.isCompletedExceptionally() ? 0 : tarefa.join()).sum();
+                if (processados > 0) {
+                    log.info("Vencimentos: {} de {} shards processados nesta instância", processados, shards);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Fila do executor cheia: os shards não enviados ficam para o próximo ciclo (lease livre)
+            emExecucao.set(false);
+            log.warn("Vencimentos: ciclo não enviado por completo: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Processa o shard do início (ou da posição deixada por uma instância que caiu) até o fim da janela
+     * @return 1 se o shard foi concluído por esta instância, 0 caso contrário
+     */
+    private int processarShard(int shard, LocalDate hoje) {
+        if (!leaseJobService.adquirir(JOB, shard, duracaoLease)) {
+            return 0;
+        }
+
+        LocalDate inicio = hoje.minusDays(janelaAtrasoDias);
+        LocalDate fim = hoje.plusDays(antecedenciaDias);
+
+        try {
+            Posicao posicao = Posicao.de(leaseJobService.posicao(JOB, shard), hoje, inicio);
+            while (true) {
+                Posicao atual = posicao;
+                Posicao proxima = transactionTemplate.execute(status -> processarBloco(shard, hoje, inicio, fim, atual));
+                if (proxima == null) {
+                    break;
+                }
+                posicao = proxima;
+            }
+            // Mantém o lease até a próxima execução: as demais instâncias não repetem o shard
+            if (!leaseJobService.concluir(JOB, shard, intervalo.minus(intervalo.dividedBy(10)))) {
+                // Alertas já gravados; outra instância pode repetir o shard, sem duplicar (MERGE)
+                log.warn("Vencimentos: lease do shard {} perdido antes da conclusão", shard);
+                return 0;
+            }
+            return 1;
+        } catch (LeaseJobPerdidoException e) {
+            log.warn("Vencimentos: lease do shard {} perdido, outra instância continua", shard);
+        } catch (RuntimeException e) {
+            // O lease expira e o shard é retomado da última posição gravada
+            log.error("Vencimentos: falha no shard {}", shard, e);
+        }
+        return 0;
+    }
+
+    /**
+     * Lê um bloco pela chave, grava os alertas e avança a posição no lease, na mesma transação
+     * @return Posição após o bloco, ou null se o shard terminou
+     */
+    private Posicao processarBloco(int shard, LocalDate hoje, LocalDate inicio, LocalDate fim, Posicao posicao) {
+        List<Object[]> linhas = jdbcTemplate.query(SQL_BLOCO,
+                (rs, i) -> new Object[]{rs.getDate(1).toLocalDate(), rs.getLong(2), rs.getLong(3)},
+                Date.valueOf(inicio), Date.valueOf(fim),
+                Date.valueOf(posicao.data()), Date.valueOf(posicao.data()), posicao.idDespesa(),
+                shards, shard, tamanhoBloco);
+
+        if (!linhas.isEmpty()) {
+            Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> alertas = new ArrayList<>(linhas.size());
+            for (Object[] linha : linhas) {
+                LocalDate vencimento = (LocalDate) linha[0];
+                TipoAlerta tipo = vencimento.isBefore(hoje) ? TipoAlerta.VENCIDA : TipoAlerta.A_VENCER;
+                alertas.add(new Object[]{linha[1], tipo.name(), linha[2], Date.valueOf(vencimento), agora});
+            }
+            for (int resultado : jdbcTemplate.batchUpdate(SQL_MERGE_ALERTA, alertas)) {
+                if (resultado > 0) {
+                    alertasGerados.increment(resultado);
+                }
+            }
+        }
+
+        if (linhas.size() < tamanhoBloco) {
+            return null;
+        }
+
+        Object[] ultima = linhas.get(linhas.size() - 1);
+        Posicao proxima = new Posicao((LocalDate) ultima[0], (Long) ultima[1]);
+        if (!leaseJobService.renovar(JOB, shard, duracaoLease, proxima.texto(hoje))) {
+            // Desfaz o bloco: a instância que assumiu o shard vai processá-lo
+            throw new LeaseJobPerdidoException();
+        }
+        return proxima;
+    }
+
+    /**
+     * Lease expirou durante o processamento e outra instância assumiu o shard
+     */
+    private static class LeaseJobPerdidoException extends RuntimeException {
+    }
+}
@@ -0,0 +1,286 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.dto.EstimativaCategoria;
+import br.com.fintech.fintechapi.dto.ProjecaoMensal;
+import br.com.fintech.fintechapi.dto.ProjecaoResponse;
+import br.com.fintech.fintechapi.exception.ProcessamentoEmAndamentoException;
+import br.com.fintech.fintechapi.model.RegraRecorrencia;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import br.com.fintech.fintechapi.projecao.FluxoDiario;
+import br.com.fintech.fintechapi.repository.RegraRecorrenciaRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Service da projeção de saldo (GET /api/projecao)
+ *
+ * A projeção parte do saldo já realizado e soma, dia a dia, os lançamentos pendentes ou futuros, as
+ * ocorrências das regras de recorrência ainda não materializadas, as repetições mensais dos lançamentos
+ * marcados como recorrentes sem regra (marcação antiga, feita no próprio lançamento) e a média mensal
+ * dos lançamentos avulsos de cada categoria nos últimos meses. O cálculo roda em FluxoDiario sobre
+ * arrays primitivos.
+ *
+ * O resultado fica em memória por usuário até a versão do ledger (ou o dia) mudar; requisições
+ * simultâneas do mesmo usuário aguardam o mesmo cálculo. Cada requisição espera no máximo
+ * fintech.projecao.prazo-ms: se o cálculo não terminar, ele continua em segundo plano e a resposta é
+ * a projeção anterior marcada como desatualizada, ou HTTP 503 se não houver uma.
+ */
+@Service
+public class ProjecaoService {
+
+    private static final String SQL_SALDO_INICIAL =
+            "SELECT (SELECT NVL(SUM(valor), 0) FROM RECEITA WHERE id_usuario = ? AND pendente = 0 AND data_entrada <= ?) " +
+            "     - (SELECT NVL(SUM(valor), 0) FROM DESPESA WHERE id_usuario = ? AND pendente = 0 AND data_vencimento <= ?) " +
+            "FROM DUAL";
+
+    // Pendentes de qualquer data (em atraso contam na data base) e já pagos com data futura
+    private static final String SQL_RECEITAS_PREVISTAS =
+            "SELECT data_entrada, valor FROM RECEITA " +
+            "WHERE id_usuario = ? AND data_entrada <= ? AND (pendente = 1 OR data_entrada > ?)";
+
+    private static final String SQL_DESPESAS_PREVISTAS =
+            "SELECT data_vencimento, valor FROM DESPESA " +
+            "WHERE id_usuario = ? AND data_vencimento <= ? AND (pendente = 1 OR data_vencimento > ?)";
+
+    // Recorrentes sem regra: o último lançamento de cada série (descrição + categoria) repete todo mês
+    private static final String SQL_RECORRENTES_SEM_REGRA_RECEITAS =
+            "SELECT data_entrada, valor FROM (" +
+            "  SELECT data_entrada, valor, ROW_NUMBER() OVER (" +
+            "    PARTITION BY UPPER(TRIM(descricao)), id_categoria ORDER BY data_entrada DESC, id_receita DESC) AS ordem " +
+            "  FROM RECEITA WHERE id_usuario = ? AND recorrente = 1 AND id_regra_recorrencia IS NULL AND data_entrada >= ?" +
+            ") WHERE ordem = 1";
+
+    private static final String SQL_RECORRENTES_SEM_REGRA_DESPESAS =
+            "SELECT data_vencimento, valor FROM (" +
+            "  SELECT data_vencimento, valor, ROW_NUMBER() OVER (" +
+            "    PARTITION BY UPPER(TRIM(descricao)), id_categoria ORDER BY data_vencimento DESC, id_despesa DESC) AS ordem " +
+            "  FROM DESPESA WHERE id_usuario = ? AND recorrente = 1 AND id_regra_recorrencia IS NULL AND data_vencimento >= ?" +
+            ") WHERE ordem = 1";
+
+    private static final String SQL_HISTORICO_RECEITAS =
+            "SELECT id_categoria, SUM(valor) FROM RECEITA " +
+            "WHERE id_usuario = ? AND recorrente = 0 AND id_regra_recorrencia IS NULL " +
+            "AND data_entrada >= ? AND data_entrada < ? GROUP BY id_categoria";
+
+    private static final String SQL_HISTORICO_DESPESAS =
+            "SELECT id_categoria, SUM(valor) FROM DESPESA " +
+            "WHERE id_usuario = ? AND recorrente = 0 AND id_regra_recorrencia IS NULL " +
+            "AND data_vencimento >= ? AND data_vencimento < ? GROUP BY id_categoria";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RegraRecorrenciaRepository regraRecorrenciaRepository;
+    private final VersaoLedgerService versaoLedgerService;
+    private final ThreadPoolTaskExecutor projecaoExecutor;
+    private final ForkJoinPool projecaoPool;
+
+    private final int mesesPadrao;
+    private final int maxMeses;
+    private final int mesesHistorico;
+    private final long prazoMs;
+
+    private final Map<Long, Calculo> calculos;
+
+    /**
+     * Cálculo da projeção de um usuário para (versão, data base, meses)
+     * @param reserva Último resultado concluído de um cálculo anterior, devolvido se este atrasar
+     */
+    private record Calculo(long versao, LocalDate dataBase, int meses,
+                           CompletableFuture<ProjecaoResponse> resultado, ProjecaoResponse reserva) {
+
+        boolean atende(long versao, LocalDate dataBase, int meses) {
+            return this.versao == versao && this.dataBase.equals(dataBase) && this.meses == meses
+                    && !resultado.isCompletedExceptionally();
+        }
+
+        ProjecaoResponse ultimoConcluido() {
+            return resultado.isDone() && !resultado.isCompletedExceptionally() ? resultado.join() : reserva;
+        }
+    }
+
+    public ProjecaoService(
+            JdbcTemplate jdbcTemplate,
+            RegraRecorrenciaRepository regraRecorrenciaRepository,
+            VersaoLedgerService versaoLedgerService,
+            @Qualifier("projecaoExecutor") ThreadPoolTaskExecutor projecaoExecutor,
+            @Qualifier("projecaoPool") ForkJoinPool projecaoPool,
+            @Value("${fintech.projecao.meses-padrao:6}") int mesesPadrao,
+            @Value("${fintech.projecao.max-meses:24}") int maxMeses,
+            @Value("${fintech.projecao.meses-historico:6}") int mesesHistorico,
+            @Value("${fintech.projecao.prazo-ms:800}") long prazoMs,
+            @Value("${fintech.projecao.max-usuarios:1000}") int maxUsuarios) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.regraRecorrenciaRepository = regraRecorrenciaRepository;
+        this.versaoLedgerService = versaoLedgerService;
+        this.projecaoExecutor = projecaoExecutor;
+        this.projecaoPool = projecaoPool;
+        this.mesesPadrao = mesesPadrao;
+        this.maxMeses = maxMeses;
+        this.mesesHistorico = mesesHistorico;
+        this.prazoMs = prazoMs;
+        // LinkedHashMap em ordem de acesso: remove a projeção usada há mais tempo
+        this.calculos = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Calculo> maisAntigo) {
+                return size() > maxUsuarios;
+            }
+        });
+    }
+
+    /**
+     * Projeta o saldo do usuário a partir de hoje
+     * @param meses Quantidade de meses, contando o atual (null = padrão)
+     */
+    public ProjecaoResponse projetar(Long idUsuario, Integer meses) {
+        int quantidade = meses == null ? mesesPadrao : meses;
+        if (quantidade < 1 || quantidade > maxMeses) {
+            throw new IllegalArgumentException("Quantidade de meses deve estar entre 1 e " + maxMeses);
+        }
+
+        // Versão lida antes do cálculo: uma alteração concluída durante as consultas gera novo cálculo depois
+        long versao = versaoLedgerService.obterVersao(idUsuario);
+        LocalDate hoje = LocalDate.now();
+
+        Calculo calculo;
+        synchronized (calculos) {
+            Calculo anterior = calculos.get(idUsuario);
+            if (anterior != null && anterior.atende(versao, hoje, quantidade)) {
+                calculo = anterior;
+            } else {
+                calculo = new Calculo(versao, hoje, quantidade,
+                        CompletableFuture.supplyAsync(() -> calcular(idUsuario, versao, hoje, quantidade), projecaoExecutor),
+                        anterior != null ? anterior.ultimoConcluido() : null);
+                calculos.put(idUsuario, calculo);
+            }
+        }
+
+        try {
+            return calculo.resultado().get(prazoMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            ProjecaoResponse reserva = calculo.reserva();
+            if (reserva != null && reserva.meses().size() == quantidade) {
+                return reserva.comoDesatualizada();
+            }
+            throw new ProcessamentoEmAndamentoException("Projeção em cálculo, tente novamente em instantes");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Projeção interrompida", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ProjecaoResponse calcular(Long idUsuario, long versao, LocalDate hoje, int meses) {
+        FluxoDiario fluxo = new FluxoDiario(hoje, meses);
+        Date dataBase = Date.valueOf(hoje);
+        Date fim = Date.valueOf(fluxo.getFim());
+
+        BigDecimal saldoInicial = jdbcTemplate.queryForObject(SQL_SALDO_INICIAL, BigDecimal.class,
+                idUsuario, dataBase, idUsuario, dataBase);
+
+        adicionarPrevistos(fluxo, SQL_RECEITAS_PREVISTAS, 1, idUsuario, fim, dataBase);
+        adicionarPrevistos(fluxo, SQL_DESPESAS_PREVISTAS, -1, idUsuario, fim, dataBase);
+
+        // Ocorrências além de gerado_ate ainda não existem como lançamentos; no máximo uma por dia
+        int maxOcorrencias = (int) ChronoUnit.DAYS.between(hoje, fluxo.getFim()) + 1;
+        for (RegraRecorrencia regra : regraRecorrenciaRepository.findByIdUsuarioOrderByDataInicio(idUsuario)) {
+            if (regra.getAtiva() == null || regra.getAtiva() != 1) {
+                continue;
+            }
+            long valor = regra.getTipoLancamento() == TipoLancamento.RECEITA ? centavos(regra.getValor()) : -centavos(regra.getValor());
+            for (LocalDate data : regra.proximasOcorrencias(fluxo.getFim(), maxOcorrencias)) {
+                fluxo.adicionar(data, valor);
+            }
+        }
+
+        // Séries sem lançamento nos meses do histórico são consideradas encerradas
+        LocalDate inicioMes = hoje.withDayOfMonth(1);
+        Date inicioHistorico = Date.valueOf(inicioMes.minusMonths(mesesHistorico));
+        adicionarRecorrentesSemRegra(fluxo, SQL_RECORRENTES_SEM_REGRA_RECEITAS, 1, idUsuario, hoje, inicioHistorico);
+        adicionarRecorrentesSemRegra(fluxo, SQL_RECORRENTES_SEM_REGRA_DESPESAS, -1, idUsuario, hoje, inicioHistorico);
+
+        List<EstimativaCategoria> estimativas = new ArrayList<>();
+        long entradasMes = medias(estimativas, SQL_HISTORICO_RECEITAS, TipoLancamento.RECEITA, idUsuario, inicioMes);
+        long saidasMes = medias(estimativas, SQL_HISTORICO_DESPESAS, TipoLancamento.DESPESA, idUsuario, inicioMes);
+        fluxo.estimar(entradasMes, saidasMes);
+
+        List<ProjecaoMensal> projecao = fluxo.projetar(centavos(saldoInicial), projecaoPool).stream()
+                .map(ProjecaoMensal::de)
+                .toList();
+        return new ProjecaoResponse(hoje, versao, false, saldoInicial, projecao, estimativas);
+    }
+
+    private void adicionarPrevistos(FluxoDiario fluxo, String sql, int sinal, Long idUsuario, Date fim, Date dataBase) {
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql);
+            ps.setLong(1, idUsuario);
+            ps.setDate(2, fim);
+            ps.setDate(3, dataBase);
+            // Usuários PJ podem ter milhares de lançamentos pendentes no período
+            ps.setFetchSize(1000);
+            return ps;
+        }, rs -> {
+            fluxo.adicionar(rs.getDate(1).toLocalDate(), sinal * centavos(rs.getBigDecimal(2)));
+        });
+    }
+
+    /**
+     * Projeta mês a mês, depois de hoje, o último lançamento de cada série marcada como recorrente sem regra
+     * Meses já lançados aparecem nos previstos; os seguintes ao último lançamento ainda não existem
+     */
+    private void adicionarRecorrentesSemRegra(FluxoDiario fluxo, String sql, int sinal, Long idUsuario,
+                                              LocalDate hoje, Date inicioHistorico) {
+        jdbcTemplate.query(sql, rs -> {
+            LocalDate ultima = rs.getDate(1).toLocalDate();
+            long valor = sinal * centavos(rs.getBigDecimal(2));
+            // plusMonths a partir da data original mantém o dia (31/01 → 28/02 → 31/03)
+            for (int mes = 1; !ultima.plusMonths(mes).isAfter(fluxo.getFim()); mes++) {
+                LocalDate data = ultima.plusMonths(mes);
+                if (data.isAfter(hoje)) {
+                    fluxo.adicionar(data, valor);
+                }
+            }
+        }, idUsuario, inicioHistorico);
+    }
+
+    /**
+     * Médias mensais por categoria dos lançamentos avulsos nos últimos meses completos
+     * @return Soma das médias, em centavos
+     */
+    private long medias(List<EstimativaCategoria> estimativas, String sql, TipoLancamento tipo, Long idUsuario, LocalDate inicioMes) {
+        long total = 0;
+        List<EstimativaCategoria> medias = jdbcTemplate.query(sql,
+                (rs, i) -> new EstimativaCategoria(tipo,
+                        rs.getObject(1) == null ? null : rs.getLong(1),
+                        rs.getBigDecimal(2).divide(BigDecimal.valueOf(mesesHistorico), 2, RoundingMode.HALF_EVEN)),
+                idUsuario, Date.valueOf(inicioMes.minusMonths(mesesHistorico)), Date.valueOf(inicioMes));
+        for (EstimativaCategoria media : medias) {
+            total += centavos(media.mediaMensal());
+            estimativas.add(media);
+        }
+        return total;
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor.movePointRight(2).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+    }
+}
@@ -1,13 +1,18 @@
 package br.com.fintech.fintechapi.service;
 
+import br.com.fintech.fintechapi.dto.ReceitaResumo;
 import br.com.fintech.fintechapi.exception.AcessoNegadoException;
 import br.com.fintech.fintechapi.exception.RecursoNaoEncontradoException;
 import br.com.fintech.fintechapi.model.Categoria;
 import br.com.fintech.fintechapi.model.Receita;
+import br.com.fintech.fintechapi.model.RegistroExcluido;
 import br.com.fintech.fintechapi.model.Subcategoria;
+import br.com.fintech.fintechapi.model.TipoEventoOutbox;
+import br.com.fintech.fintechapi.model.TipoLancamento;
 import br.com.fintech.fintechapi.model.Usuario;
 import br.com.fintech.fintechapi.repository.CategoriaRepository;
 import br.com.fintech.fintechapi.repository.ReceitaRepository;
+import br.com.fintech.fintechapi.repository.RegistroExcluidoRepository;
 import br.com.fintech.fintechapi.repository.SubcategoriaRepository;
 import br.com.fintech.fintechapi.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +36,18 @@ public class ReceitaService {
     @Autowired
     private ReceitaRepository receitaRepository;
 
+    @Autowired
+    private VersaoLedgerService versaoLedgerService;
+
+    @Autowired
+    private RegistroExcluidoRepository registroExcluidoRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private CategorizacaoService categorizacaoService;
+
     @Autowired
     private UsuarioRepository usuarioRepository;
 
@@ -73,8 +90,16 @@ public class ReceitaService {
             receita.setPendente(0);
         }
 
+        // Campo enviado como null: na criação não há associação a remover (a referência sem ID não é persistível)
+        if (receita.getCategoria() != null && receita.getCategoria().getIdCategoria() == null) {
+            receita.setCategoria(null);
+        }
+        if (receita.getSubcategoria() != null && receita.getSubcategoria().getIdSubcategoria() == null) {
+            receita.setSubcategoria(null);
+        }
+
         // Validar e associar categoria (opcional)
-        if (receita.getCategoria() != null && receita.getCategoria().getIdCategoria() != null) {
+        if (receita.getCategoria() != null) {
             Categoria categoria = categoriaRepository.findById(receita.getCategoria().getIdCategoria())
                     .orElseThrow(() -> new RecursoNaoEncontradoException(
                             "Categoria não encontrada com ID: " + receita.getCategoria().getIdCategoria()));
@@ -82,14 +107,22 @@ public class ReceitaService {
         }
 
         // Validar e associar subcategoria (opcional)
-        if (receita.getSubcategoria() != null && receita.getSubcategoria().getIdSubcategoria() != null) {
+        if (receita.getSubcategoria() != null) {
             Subcategoria subcategoria = subcategoriaRepository.findById(receita.getSubcategoria().getIdSubcategoria())
                     .orElseThrow(() -> new RecursoNaoEncontradoException(
                             "Subcategoria não encontrada com ID: " + receita.getSubcategoria().getIdSubcategoria()));
             receita.setSubcategoria(subcategoria);
         }
 
-        return receitaRepository.save(receita);
+        // Sem categoria informada: usa a sugestão do modelo do usuário, se confiável
+        if (receita.getCategoria() == null && receita.getSubcategoria() == null) {
+            atribuirCategoriaSugerida(receita, idUsuario);
+        }
+
+        Receita receitaSalva = receitaRepository.save(receita);
+        long versao = versaoLedgerService.registrarAlteracao(idUsuario);
+        outboxService.registrar(TipoEventoOutbox.CRIADO, receitaSalva, idUsuario, versao);
+        return receitaSalva;
     }
 
     /**
@@ -191,11 +224,58 @@ public class ReceitaService {
             int page,
             int size) {
         
+        validarPeriodo(dataInicio, dataFim);
+
+        return receitaRepository.findByFiltrosComPaginacao(
+            idUsuario, dataInicio, dataFim, idCategoria, pendente, criarPageable(page, size)
+        );
+    }
+
+    /**
+     * Lista receitas com filtros opcionais na representação compacta
+     * Seleciona apenas as colunas do resumo, sem carregar categoria/subcategoria
+     * @return Lista de receitas resumidas
+     */
+    public List<ReceitaResumo> listarResumo(
+            Long idUsuario,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            Long idCategoria,
+            Integer pendente) {
+
+        validarPeriodo(dataInicio, dataFim);
+
+        return receitaRepository.findResumoByFiltros(idUsuario, dataInicio, dataFim, idCategoria, pendente);
+    }
+
+    /**
+     * Lista receitas com filtros opcionais e paginação na representação compacta
+     * @return Página de receitas resumidas
+     */
+    public Page<ReceitaResumo> listarResumoComPaginacao(
+            Long idUsuario,
+            LocalDate dataInicio,
+            LocalDate dataFim,
+            Long idCategoria,
+            Integer pendente,
+            int page,
+            int size) {
+
+        validarPeriodo(dataInicio, dataFim);
+
+        return receitaRepository.findResumoByFiltrosComPaginacao(
+            idUsuario, dataInicio, dataFim, idCategoria, pendente, criarPageable(page, size)
+        );
+    }
+
+    private void validarPeriodo(LocalDate dataInicio, LocalDate dataFim) {
         // Validação de período (se ambos forem fornecidos)
         if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim)) {
             throw new IllegalArgumentException("Data início não pode ser maior que data fim");
         }
+    }
 
+    private Pageable criarPageable(int page, int size) {
         // Validação de paginação
         if (page < 0) {
             throw new IllegalArgumentException("Número da página não pode ser negativo");
@@ -208,11 +288,7 @@ public class ReceitaService {
         }
 
         // Criar Pageable com ordenação por dataEntrada DESC
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "dataEntrada"));
-
-        return receitaRepository.findByFiltrosComPaginacao(
-            idUsuario, dataInicio, dataFim, idCategoria, pendente, pageable
-        );
+        return PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "dataEntrada"));
     }
 
     /**
@@ -278,7 +354,10 @@ public class ReceitaService {
 
         // Não atualizar criadoEm e usuario
 
-        return receitaRepository.save(receitaExistente);
+        Receita receitaSalva = receitaRepository.save(receitaExistente);
+        long versao = versaoLedgerService.registrarAlteracao(idUsuario);
+        outboxService.registrar(TipoEventoOutbox.ATUALIZADO, receitaSalva, idUsuario, versao);
+        return receitaSalva;
     }
 
     /**
@@ -291,6 +370,22 @@ public class ReceitaService {
         // Buscar e validar permissão
         Receita receita = buscarPorId(id, idUsuario);
         receitaRepository.delete(receita);
+        registroExcluidoRepository.save(new RegistroExcluido(idUsuario, TipoLancamento.RECEITA, id));
+        long versao = versaoLedgerService.registrarAlteracao(idUsuario);
+        outboxService.registrar(TipoEventoOutbox.EXCLUIDO, receita, idUsuario, versao);
     }
-}
 
+    /**
+     * Preenche categoria/subcategoria com a sugestão do modelo do usuário (CategorizacaoService)
+     * Sem sugestão confiável, ou se a categoria sugerida foi removida, o lançamento fica sem categoria
+     */
+    private void atribuirCategoriaSugerida(Receita receita, Long idUsuario) {
+        categorizacaoService.sugerirParaAtribuicao(idUsuario, TipoLancamento.RECEITA, receita.getDescricao())
+                .ifPresent(sugestao -> categoriaRepository.findById(sugestao.idCategoria()).ifPresent(categoria -> {
+                    receita.setCategoria(categoria);
+                    if (sugestao.idSubcategoria() != null) {
+                        subcategoriaRepository.findById(sugestao.idSubcategoria()).ifPresent(receita::setSubcategoria);
+                    }
+                }));
+    }
+}
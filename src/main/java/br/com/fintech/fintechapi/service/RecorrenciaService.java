@@ -0,0 +1,160 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.exception.AcessoNegadoException;
+import br.com.fintech.fintechapi.exception.RecursoNaoEncontradoException;
+import br.com.fintech.fintechapi.model.Despesa;
+import br.com.fintech.fintechapi.model.Receita;
+import br.com.fintech.fintechapi.model.RegraRecorrencia;
+import br.com.fintech.fintechapi.model.Subcategoria;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import br.com.fintech.fintechapi.repository.CategoriaRepository;
+import br.com.fintech.fintechapi.repository.DespesaRepository;
+import br.com.fintech.fintechapi.repository.ReceitaRepository;
+import br.com.fintech.fintechapi.repository.RegraRecorrenciaRepository;
+import br.com.fintech.fintechapi.repository.SubcategoriaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service das regras de recorrência de despesas e receitas
+ */
+@Service
+public class RecorrenciaService {
+
+    @Autowired
+    private RegraRecorrenciaRepository regraRecorrenciaRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private SubcategoriaRepository subcategoriaRepository;
+
+    @Autowired
+    private MaterializacaoRecorrenciaService materializacaoRecorrenciaService;
+
+    @Autowired
+    private DespesaRepository despesaRepository;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private DespesaService despesaService;
+
+    @Autowired
+    private ReceitaService receitaService;
+
+    /**
+     * Cria a regra e já materializa as ocorrências até o horizonte, na mesma transação
+     */
+    @Transactional
+    public RegraRecorrencia criar(RegraRecorrencia regra, Long idUsuario) {
+        if (regra.getTipoLancamento() == null) {
+            throw new IllegalArgumentException("Tipo de lançamento é obrigatório (DESPESA ou RECEITA)");
+        }
+
+        if (regra.getValor() == null || regra.getValor().signum() <= 0) {
+            throw new IllegalArgumentException("Valor da recorrência deve ser maior que zero");
+        }
+
+        if (regra.getFrequencia() == null) {
+            throw new IllegalArgumentException("Frequência é obrigatória (MENSAL, SEMANAL ou PERSONALIZADA)");
+        }
+
+        if (regra.getDataInicio() == null) {
+            throw new IllegalArgumentException("Data de início é obrigatória");
+        }
+
+        if (regra.getDataFim() != null && regra.getDataFim().isBefore(regra.getDataInicio())) {
+            throw new IllegalArgumentException("Data fim não pode ser anterior à data início");
+        }
+
+        if (regra.getIntervalo() == null) {
+            regra.setIntervalo(1);
+        }
+        if (regra.getIntervalo() < 1 || regra.getIntervalo() > 999) {
+            throw new IllegalArgumentException("Intervalo deve estar entre 1 e 999");
+        }
+
+        if (regra.getPendente() == null) {
+            regra.setPendente(1);
+        }
+
+        if (regra.getIdCategoria() != null && !categoriaRepository.existsById(regra.getIdCategoria())) {
+            throw new RecursoNaoEncontradoException("Categoria não encontrada com ID: " + regra.getIdCategoria());
+        }
+
+        if (regra.getIdSubcategoria() != null) {
+            Subcategoria subcategoria = subcategoriaRepository.findById(regra.getIdSubcategoria())
+                    .orElseThrow(() -> new RecursoNaoEncontradoException(
+                            "Subcategoria não encontrada com ID: " + regra.getIdSubcategoria()));
+            Long idCategoriaSubcategoria = subcategoria.getCategoria().getIdCategoria();
+            if (regra.getIdCategoria() == null) {
+                regra.setIdCategoria(idCategoriaSubcategoria);
+            } else if (!regra.getIdCategoria().equals(idCategoriaSubcategoria)) {
+                throw new IllegalArgumentException("Subcategoria " + regra.getIdSubcategoria()
+                        + " não pertence à categoria " + regra.getIdCategoria());
+            }
+        }
+
+        regra.setIdUsuario(idUsuario);
+        regra.setAtiva(1);
+        regra.setCriadoEm(LocalDateTime.now());
+        regra.setGeradoAte(regra.getDataInicio().minusDays(1));
+
+        // As ocorrências referenciam a regra: o INSERT precisa chegar ao banco antes do MERGE
+        RegraRecorrencia regraSalva = regraRecorrenciaRepository.saveAndFlush(regra);
+        materializacaoRecorrenciaService.materializar(regraSalva, materializacaoRecorrenciaService.horizonte());
+        return regraSalva;
+    }
+
+    public RegraRecorrencia buscarPorId(Long id, Long idUsuario) {
+        RegraRecorrencia regra = regraRecorrenciaRepository.findById(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Regra de recorrência não encontrada com ID: " + id));
+
+        if (!regra.getIdUsuario().equals(idUsuario)) {
+            throw new AcessoNegadoException("Você não tem permissão para acessar esta regra de recorrência");
+        }
+
+        return regra;
+    }
+
+    public List<RegraRecorrencia> listarPorUsuario(Long idUsuario) {
+        return regraRecorrenciaRepository.findByIdUsuarioOrderByDataInicio(idUsuario);
+    }
+
+    /**
+     * Exclui a regra e as ocorrências pendentes ainda não vencidas (geradas antecipadamente até o horizonte)
+     * As ocorrências passadas ou pagas são mantidas, sem vínculo com a regra
+     */
+    @Transactional
+    public void deletar(Long id, Long idUsuario) {
+        // Trava a regra: um lote do job em andamento termina antes, e nenhum outro a materializa depois
+        RegraRecorrencia regra = regraRecorrenciaRepository.findByIdParaAtualizacao(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Regra de recorrência não encontrada com ID: " + id));
+
+        if (!regra.getIdUsuario().equals(idUsuario)) {
+            throw new AcessoNegadoException("Você não tem permissão para acessar esta regra de recorrência");
+        }
+
+        // Exclusão pelos services: registra tombstone, versão do ledger, outbox e totais como a exclusão manual
+        LocalDate hoje = LocalDate.now();
+        if (regra.getTipoLancamento() == TipoLancamento.DESPESA) {
+            for (Despesa despesa : despesaRepository.findByIdRegraRecorrenciaAndPendenteAndDataVencimentoAfter(id, 1, hoje)) {
+                despesaService.deletar(despesa.getIdDespesa(), idUsuario);
+            }
+        } else {
+            for (Receita receita : receitaRepository.findByIdRegraRecorrenciaAndPendenteAndDataEntradaAfter(id, 1, hoje)) {
+                receitaService.deletar(receita.getIdReceita(), idUsuario);
+            }
+        }
+
+        regraRecorrenciaRepository.delete(regra);
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.exception.TokenInvalidoException;
+import br.com.fintech.fintechapi.model.RefreshToken;
+import br.com.fintech.fintechapi.model.Usuario;
+import br.com.fintech.fintechapi.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Service responsável pela emissão, rotação e revogação de refresh tokens
+ * A renovação não envolve o hash da senha: apenas um SHA-256 e uma busca por índice único
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private CoordenacaoJobsService coordenacaoJobsService;
+
+    @Value("${jwt.refresh.expiration:2592000000}") // 30 dias em milissegundos
+    private Long expiration;
+
+    /**
+     * Resultado de uma renovação: usuário dono do token e o novo refresh token (valor original)
+     */
+    public record Renovacao(Usuario usuario, String refreshToken) {
+    }
+
+    /**
+     * Emite um novo refresh token para o usuário
+     * @param usuario Usuário autenticado
+     * @return Valor original do token (não é armazenado)
+     */
+    @Transactional
+    public String emitir(Usuario usuario) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime expiraEm = LocalDateTime.now().plus(Duration.ofMillis(expiration));
+        refreshTokenRepository.save(new RefreshToken(usuario, hash(token), expiraEm));
+        return token;
+    }
+
+    /**
+     * Troca um refresh token válido por um novo (rotação)
+     * A reutilização de um token já revogado revoga todos os tokens do usuário
+     * @param token Valor original do refresh token
+     * @return Usuário e novo refresh token
+     */
+    @Transactional(noRollbackFor = TokenInvalidoException.class)
+    public Renovacao renovar(String token) {
+        if (token == null || token.isBlank()) {
+            throw new TokenInvalidoException("Refresh token é obrigatório");
+        }
+
+        RefreshToken atual = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new TokenInvalidoException("Refresh token inválido"));
+
+        LocalDateTime agora = LocalDateTime.now();
+        Usuario usuario = atual.getUsuario();
+
+        if (atual.getRevogadoEm() != null) {
+            // Token já rotacionado sendo reutilizado: possível vazamento
+            refreshTokenRepository.revogarTodosDoUsuario(usuario.getIdUsuario(), agora);
+            throw new TokenInvalidoException("Refresh token já utilizado");
+        }
+
+        if (atual.getExpiraEm().isBefore(agora)) {
+            throw new TokenInvalidoException("Refresh token expirado");
+        }
+
+        // Revogação condicional: em requisições concorrentes com o mesmo token, apenas uma renova
+        if (refreshTokenRepository.revogar(atual.getIdRefreshToken(), agora) == 0) {
+            throw new TokenInvalidoException("Refresh token já utilizado");
+        }
+
+        return new Renovacao(usuario, emitir(usuario));
+    }
+
+    /**
+     * Revoga um refresh token (logout)
+     * @param token Valor original do refresh token
+     */
+    @Transactional
+    public void revogar(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(t -> refreshTokenRepository.revogar(t.getIdRefreshToken(), LocalDateTime.now()));
+    }
+
+    /**
+     * Remove diariamente os tokens expirados (em apenas uma instância)
+     */
+    @Scheduled(cron = "${jwt.refresh.limpeza-cron:0 30 3 * * *}")
+    @Transactional
+    public void removerExpirados() {
+        coordenacaoJobsService.executarEmUmaInstancia("limpeza-refresh-tokens", Duration.ofDays(1),
+                () -> refreshTokenRepository.removerExpirados(LocalDateTime.now()));
+    }
+
+    /**
+     * Retorna o tempo de expiração configurado
+     */
+    public Long getExpirationTime() {
+        return expiration;
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.dto.RelatorioJobResponse;
+import br.com.fintech.fintechapi.dto.RelatorioRequest;
+import br.com.fintech.fintechapi.exception.AcessoNegadoException;
+import br.com.fintech.fintechapi.exception.ProcessamentoEmAndamentoException;
+import br.com.fintech.fintechapi.exception.RecursoNaoEncontradoException;
+import br.com.fintech.fintechapi.model.StatusRelatorio;
+import br.com.fintech.fintechapi.model.TipoRelatorio;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Pedidos de relatório assíncronos: solicitar, consultar a situação e baixar o resultado
+ *
+ * O pedido é gravado em RELATORIO_JOB com a chave (usuário, tipo, parâmetros, versão do ledger) e
+ * gerado no executor limitado relatoriosExecutor, fora da requisição. Pedidos iguais (inclusive
+ * simultâneos ou em outra instância) caem na mesma linha: o pedido em andamento é reaproveitado e,
+ * depois de concluído, o resultado serve de cache até o usuário alterar lançamentos (nova versão).
+ * Como a situação e o resultado ficam no banco, a consulta pode ser atendida por qualquer instância.
+ * Pedidos parados há mais de fintech.relatorios.timeout-ms (instância que caiu) ou que falharam são
+ * executados novamente quando solicitados outra vez. Os prazos são comparados no relógio do banco,
+ * o mesmo que grava atualizado_em, e não dependem do relógio de cada instância.
+ */
+@Service
+public class RelatorioJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatorioJobService.class);
+
+    private static final String COLUNAS =
+            "id_job, id_usuario, tipo_relatorio, parametros, status, erro, criado_em, atualizado_em, concluido_em";
+
+    private static final String SQL_CRIAR =
+            "MERGE INTO RELATORIO_JOB j " +
+            "USING (SELECT ? AS id_usuario, ? AS tipo_relatorio, ? AS parametros, ? AS versao_ledger FROM DUAL) s " +
+            "ON (j.id_usuario = s.id_usuario AND j.tipo_relatorio = s.tipo_relatorio " +
+            "    AND j.parametros = s.parametros AND j.versao_ledger = s.versao_ledger) " +
+            "WHEN NOT MATCHED THEN INSERT (id_job, id_usuario, tipo_relatorio, parametros, versao_ledger, status, criado_em, atualizado_em) " +
+            "    VALUES (SEQ_RELATORIOS_JOB.NEXTVAL, s.id_usuario, s.tipo_relatorio, s.parametros, s.versao_ledger, " +
+            "            'PENDENTE', SYSTIMESTAMP, SYSTIMESTAMP)";
+
+    private static final String SQL_BUSCAR_CHAVE =
+            "SELECT " + COLUNAS + " FROM RELATORIO_JOB " +
+            "WHERE id_usuario = ? AND tipo_relatorio = ? AND parametros = ? AND versao_ledger = ?";
+
+    private static final String SQL_BUSCAR =
+            "SELECT " + COLUNAS + " FROM RELATORIO_JOB WHERE id_job = ?";
+
+    private static final String SQL_REINICIAR =
+            "UPDATE RELATORIO_JOB SET status = 'PENDENTE', erro = NULL, atualizado_em = SYSTIMESTAMP " +
+            "WHERE id_job = ? AND (status = 'FALHOU' OR (status IN ('PENDENTE', 'EXECUTANDO') AND atualizado_em < SYSTIMESTAMP - NUMTODSINTERVAL(?, 'SECOND')))";
+
+    private static final String SQL_INICIAR =
+            "UPDATE RELATORIO_JOB SET status = 'EXECUTANDO', atualizado_em = SYSTIMESTAMP WHERE id_job = ? AND status = 'PENDENTE'";
+
+    private static final String SQL_CONCLUIR =
+            "UPDATE RELATORIO_JOB SET status = 'CONCLUIDO', resultado = ?, concluido_em = SYSTIMESTAMP, atualizado_em = SYSTIMESTAMP " +
+            "WHERE id_job = ?";
+
+    private static final String SQL_FALHAR =
+            "UPDATE RELATORIO_JOB SET status = 'FALHOU', erro = ?, atualizado_em = SYSTIMESTAMP WHERE id_job = ?";
+
+    private static final String SQL_RESULTADO =
+            "SELECT resultado FROM RELATORIO_JOB WHERE id_job = ?";
+
+    private static final String SQL_REMOVER_ANTIGOS =
+            "DELETE FROM RELATORIO_JOB WHERE criado_em < SYSTIMESTAMP - NUMTODSINTERVAL(?, 'SECOND')";
+
+    private static final RowMapper<RelatorioJobResponse> MAPEADOR = (rs, i) -> new RelatorioJobResponse(
+            rs.getLong("id_job"),
+            rs.getLong("id_usuario"),
+            TipoRelatorio.valueOf(rs.getString("tipo_relatorio")),
+            rs.getString("parametros"),
+            StatusRelatorio.valueOf(rs.getString("status")),
+            rs.getString("erro"),
+            rs.getTimestamp("criado_em").toLocalDateTime(),
+            rs.getTimestamp("atualizado_em").toLocalDateTime(),
+            rs.getTimestamp("concluido_em") != null ? rs.getTimestamp("concluido_em").toLocalDateTime() : null);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RelatorioService relatorioService;
+    private final VersaoLedgerService versaoLedgerService;
+    private final CoordenacaoJobsService coordenacaoJobsService;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor relatoriosExecutor;
+    private final Duration timeout;
+    private final Duration retencao;
+
+    private final Counter gerados;
+    private final Counter reaproveitados;
+    private final Counter falhas;
+
+    public RelatorioJobService(
+            JdbcTemplate jdbcTemplate,
+            RelatorioService relatorioService,
+            VersaoLedgerService versaoLedgerService,
+            CoordenacaoJobsService coordenacaoJobsService,
+            ObjectMapper objectMapper,
+            @Qualifier("relatoriosExecutor") ThreadPoolTaskExecutor relatoriosExecutor,
+            @Value("${fintech.relatorios.timeout-ms:600000}") long timeoutMs,
+            @Value("${fintech.relatorios.retencao-horas:24}") long retencaoHoras,
+            MeterRegistry meterRegistry) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.relatorioService = relatorioService;
+        this.versaoLedgerService = versaoLedgerService;
+        this.coordenacaoJobsService = coordenacaoJobsService;
+        this.objectMapper = objectMapper;
+        this.relatoriosExecutor = relatoriosExecutor;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.retencao = Duration.ofHours(retencaoHoras);
+
+        this.gerados = Counter.builder("fintech.relatorios.gerados").register(meterRegistry);
+        this.reaproveitados = Counter.builder("fintech.relatorios.reaproveitados").register(meterRegistry);
+        this.falhas = Counter.builder("fintech.relatorios.falhas").register(meterRegistry);
+    }
+
+    /**
+     * Solicita o relatório; devolve o pedido existente se um igual já foi feito na versão atual do ledger
+     * @return Pedido, já CONCLUIDO quando o resultado está em cache
+     */
+    public RelatorioJobResponse solicitar(Long idUsuario, RelatorioRequest request) {
+        relatorioService.validar(request);
+        String tipo = request.tipo().name();
+        String parametros = relatorioService.parametros(request);
+        long versao = versaoLedgerService.obterVersao(idUsuario);
+
+        boolean criado;
+        try {
+            criado = jdbcTemplate.update(SQL_CRIAR, idUsuario, tipo, parametros, versao) > 0;
+        } catch (DuplicateKeyException e) {
+            // Pedido igual criado ao mesmo tempo (outra thread ou instância)
+            criado = false;
+        }
+
+        RelatorioJobResponse job = jdbcTemplate.queryForObject(SQL_BUSCAR_CHAVE, MAPEADOR, idUsuario, tipo, parametros, versao);
+        if (!criado) {
+            if (jdbcTemplate.update(SQL_REINICIAR, job.idJob(), timeout.toSeconds()) == 0) {
+                reaproveitados.increment();
+                return job;
+            }
+        }
+
+        try {
+            relatoriosExecutor.execute(() -> executar(job.idJob(), idUsuario, request));
+        } catch (TaskRejectedException e) {
+            jdbcTemplate.update(SQL_FALHAR, "Fila de relatórios cheia", job.idJob());
+            throw e;
+        }
+        return buscar(job.idJob(), idUsuario);
+    }
+
+    /**
+     * Situação do pedido
+     */
+    public RelatorioJobResponse buscar(Long idJob, Long idUsuario) {
+        List<RelatorioJobResponse> jobs = jdbcTemplate.query(SQL_BUSCAR, MAPEADOR, idJob);
+        if (jobs.isEmpty()) {
+            throw new RecursoNaoEncontradoException("Relatório não encontrado com ID: " + idJob);
+        }
+
+        RelatorioJobResponse job = jobs.get(0);
+        if (!job.idUsuario().equals(idUsuario)) {
+            throw new AcessoNegadoException("Você não tem permissão para acessar este relatório");
+        }
+        return job;
+    }
+
+    /**
+     * Resultado (JSON) do relatório concluído
+     */
+    public String resultado(Long idJob, Long idUsuario) {
+        RelatorioJobResponse job = buscar(idJob, idUsuario);
+        return switch (job.status()) {
+            case CONCLUIDO -> jdbcTemplate.queryForObject(SQL_RESULTADO, String.class, idJob);
+            case PENDENTE, EXECUTANDO -> throw new ProcessamentoEmAndamentoException(
+                    "Relatório em geração, consulte a situação em /api/relatorios/" + idJob);
+            case FALHOU -> throw new IllegalArgumentException(
+                    "Relatório não foi gerado (" + job.erro() + "), solicite novamente");
+        };
+    }
+
+    /**
+     * Remove diariamente os pedidos mais antigos que a retenção (em apenas uma instância)
+     */
+    @Scheduled(cron = "${fintech.relatorios.limpeza-cron:0 45 4 * * *}")
+    public void removerAntigos() {
+        coordenacaoJobsService.executarEmUmaInstancia("limpeza-relatorios", Duration.ofDays(1), () ->
+                jdbcTemplate.update(SQL_REMOVER_ANTIGOS, retencao.toSeconds()));
+    }
+
+    private void executar(Long idJob, Long idUsuario, RelatorioRequest request) {
+        // Outra execução (pedido reiniciado após timeout) pode já ter assumido o pedido
+        if (jdbcTemplate.update(SQL_INICIAR, idJob) == 0) {
+            return;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(relatorioService.gerar(idUsuario, request));
+            jdbcTemplate.update(SQL_CONCLUIR, new SqlParameterValue(Types.CLOB, json), idJob);
+            gerados.increment();
+        } catch (Exception e) {
+            falhas.increment();
+            log.warn("Relatórios: falha ao gerar o pedido {}", idJob, e);
+            String erro = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            jdbcTemplate.update(SQL_FALHAR, erro.length() > 500 ? erro.substring(0, 500) : erro, idJob);
+        }
+    }
+}
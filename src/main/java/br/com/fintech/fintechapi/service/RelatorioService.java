@@ -0,0 +1,147 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.dto.RelatorioAnual;
+import br.com.fintech.fintechapi.dto.RelatorioCategorias;
+import br.com.fintech.fintechapi.dto.RelatorioRequest;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Geração dos relatórios pesados (ANUAL e CATEGORIAS), a partir de consultas agregadas
+ * Chamado pelas threads de RelatorioJobService, fora das requisições
+ */
+@Service
+public class RelatorioService {
+
+    private static final int MAX_ANOS_CATEGORIAS = 10;
+
+    private static final String SQL_ANUAL =
+            "SELECT 'RECEITA', EXTRACT(MONTH FROM data_entrada), SUM(valor), 0 FROM RECEITA " +
+            "WHERE id_usuario = ? AND data_entrada >= ? AND data_entrada < ? " +
+            "GROUP BY EXTRACT(MONTH FROM data_entrada) " +
+            "UNION ALL " +
+            "SELECT 'DESPESA', EXTRACT(MONTH FROM data_vencimento), SUM(valor), SUM(CASE WHEN pendente = 1 THEN valor ELSE 0 END) " +
+            "FROM DESPESA WHERE id_usuario = ? AND data_vencimento >= ? AND data_vencimento < ? " +
+            "GROUP BY EXTRACT(MONTH FROM data_vencimento)";
+
+    private static final String SQL_CATEGORIAS =
+            "SELECT 'DESPESA', d.id_categoria, c.nome_categoria, EXTRACT(YEAR FROM d.data_vencimento), COUNT(*), SUM(d.valor) " +
+            "FROM DESPESA d LEFT JOIN CATEGORIA c ON c.id_categoria = d.id_categoria " +
+            "WHERE d.id_usuario = ? AND d.data_vencimento BETWEEN ? AND ? " +
+            "GROUP BY d.id_categoria, c.nome_categoria, EXTRACT(YEAR FROM d.data_vencimento) " +
+            "UNION ALL " +
+            "SELECT 'RECEITA', r.id_categoria, c.nome_categoria, EXTRACT(YEAR FROM r.data_entrada), COUNT(*), SUM(r.valor) " +
+            "FROM RECEITA r LEFT JOIN CATEGORIA c ON c.id_categoria = r.id_categoria " +
+            "WHERE r.id_usuario = ? AND r.data_entrada BETWEEN ? AND ? " +
+            "GROUP BY r.id_categoria, c.nome_categoria, EXTRACT(YEAR FROM r.data_entrada) " +
+            "ORDER BY 1, 4, 6 DESC";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void validar(RelatorioRequest request) {
+        if (request.tipo() == null) {
+            throw new IllegalArgumentException("Tipo do relatório é obrigatório");
+        }
+        switch (request.tipo()) {
+            case ANUAL -> {
+                if (request.ano() == null || request.ano() < 1900 || request.ano() > 2100) {
+                    throw new IllegalArgumentException("Ano do relatório é obrigatório (1900 a 2100)");
+                }
+            }
+            case CATEGORIAS -> {
+                if (request.dataInicio() == null || request.dataFim() == null) {
+                    throw new IllegalArgumentException("Data início e data fim são obrigatórias");
+                }
+                if (request.dataInicio().isAfter(request.dataFim())) {
+                    throw new IllegalArgumentException("Data início não pode ser maior que data fim");
+                }
+                if (request.dataFim().isAfter(request.dataInicio().plusYears(MAX_ANOS_CATEGORIAS))) {
+                    throw new IllegalArgumentException("Período do relatório não pode passar de " + MAX_ANOS_CATEGORIAS + " anos");
+                }
+            }
+        }
+    }
+
+    /**
+     * Parâmetros do pedido em forma canônica: pedidos iguais geram o mesmo texto (chave do cache)
+     */
+    public String parametros(RelatorioRequest request) {
+        return switch (request.tipo()) {
+            case ANUAL -> "ano=" + request.ano();
+            case CATEGORIAS -> "dataInicio=" + request.dataInicio() + ";dataFim=" + request.dataFim();
+        };
+    }
+
+    /**
+     * Gera o relatório do pedido (já validado)
+     * @return RelatorioAnual ou RelatorioCategorias
+     */
+    public Object gerar(Long idUsuario, RelatorioRequest request) {
+        return switch (request.tipo()) {
+            case ANUAL -> anual(idUsuario, request.ano());
+            case CATEGORIAS -> categorias(idUsuario, request.dataInicio(), request.dataFim());
+        };
+    }
+
+    public RelatorioAnual anual(Long idUsuario, int ano) {
+        Date inicio = Date.valueOf(LocalDate.of(ano, 1, 1));
+        Date fim = Date.valueOf(LocalDate.of(ano + 1, 1, 1));
+
+        BigDecimal[] receitas = zeros();
+        BigDecimal[] despesas = zeros();
+        BigDecimal[] pendentes = zeros();
+        jdbcTemplate.query(SQL_ANUAL,
+                rs -> {
+                    int mes = rs.getInt(2) - 1;
+                    if (TipoLancamento.valueOf(rs.getString(1)) == TipoLancamento.RECEITA) {
+                        receitas[mes] = rs.getBigDecimal(3);
+                    } else {
+                        despesas[mes] = rs.getBigDecimal(3);
+                        pendentes[mes] = rs.getBigDecimal(4);
+                    }
+                },
+                idUsuario, inicio, fim, idUsuario, inicio, fim);
+
+        List<RelatorioAnual.Mes> meses = new ArrayList<>(12);
+        BigDecimal totalReceitas = BigDecimal.ZERO;
+        BigDecimal totalDespesas = BigDecimal.ZERO;
+        for (int i = 0; i < 12; i++) {
+            meses.add(new RelatorioAnual.Mes(i + 1, receitas[i], despesas[i], pendentes[i], receitas[i].subtract(despesas[i])));
+            totalReceitas = totalReceitas.add(receitas[i]);
+            totalDespesas = totalDespesas.add(despesas[i]);
+        }
+        return new RelatorioAnual(ano, totalReceitas, totalDespesas, totalReceitas.subtract(totalDespesas), meses);
+    }
+
+    public RelatorioCategorias categorias(Long idUsuario, LocalDate dataInicio, LocalDate dataFim) {
+        Date inicio = Date.valueOf(dataInicio);
+        Date fim = Date.valueOf(dataFim);
+
+        List<RelatorioCategorias.Linha> linhas = jdbcTemplate.query(SQL_CATEGORIAS,
+                (rs, i) -> new RelatorioCategorias.Linha(
+                        TipoLancamento.valueOf(rs.getString(1)),
+                        rs.getObject(2) == null ? null : rs.getLong(2),
+                        rs.getString(3),
+                        rs.getInt(4),
+                        rs.getLong(5),
+                        rs.getBigDecimal(6)),
+                idUsuario, inicio, fim, idUsuario, inicio, fim);
+        return new RelatorioCategorias(dataInicio, dataFim, linhas);
+    }
+
+    private static BigDecimal[] zeros() {
+        BigDecimal[] valores = new BigDecimal[12];
+        Arrays.fill(valores, BigDecimal.ZERO);
+        return valores;
+    }
+}
@@ -0,0 +1,157 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.model.TipoEventoOutbox;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import br.com.fintech.fintechapi.outbox.DestinoEventos;
+import br.com.fintech.fintechapi.outbox.EventoPublicado;
+import br.com.fintech.fintechapi.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Relay do outbox: entrega os eventos pendentes aos destinos configurados em lotes
+ *
+ * Cada lote é lido com FOR UPDATE SKIP LOCKED (várias instâncias drenam em paralelo sem repetir eventos),
+ * entregue a todos os destinos e marcado como publicado na mesma transação. Se um destino falhar, a
+ * transação é desfeita e o lote volta a ser entregue na próxima execução (entrega "pelo menos uma vez").
+ */
+@Service
+public class RelayOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(RelayOutboxService.class);
+
+    private static final String SQL_PENDENTES =
+            "SELECT id_evento, tipo_evento, tipo_lancamento, id_registro, id_usuario, versao_ledger, carga, criado_em " +
+            "FROM OUTBOX_EVENTO " +
+            "WHERE CASE WHEN publicado_em IS NULL THEN id_evento END IS NOT NULL " +
+            "ORDER BY CASE WHEN publicado_em IS NULL THEN id_evento END " +
+            "FOR UPDATE SKIP LOCKED";
+
+    private static final String SQL_MARCAR_PUBLICADO =
+            "UPDATE OUTBOX_EVENTO SET publicado_em = ? WHERE id_evento = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final CoordenacaoJobsService coordenacaoJobsService;
+    private final List<DestinoEventos> destinos;
+    private final int tamanhoLote;
+    private final int retencaoDias;
+
+    private final Counter eventosPublicados;
+    private final Counter falhas;
+
+    public RelayOutboxService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EventoOutboxRepository eventoOutboxRepository,
+            CoordenacaoJobsService coordenacaoJobsService,
+            List<DestinoEventos> disponiveis,
+            @Value("${fintech.outbox.destinos:listeners}") List<String> nomesDestinos,
+            @Value("${fintech.outbox.lote:500}") int tamanhoLote,
+            @Value("${fintech.outbox.retencao-dias:7}") int retencaoDias,
+            MeterRegistry meterRegistry) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.coordenacaoJobsService = coordenacaoJobsService;
+        this.tamanhoLote = tamanhoLote;
+        this.retencaoDias = retencaoDias;
+
+        Map<String, DestinoEventos> porNome = disponiveis.stream()
+                .collect(Collectors.toMap(DestinoEventos::nome, Function.identity()));
+        this.destinos = new ArrayList<>();
+        for (String nome : nomesDestinos) {
+            DestinoEventos destino = porNome.get(nome.trim());
+            if (destino == null) {
+                throw new IllegalArgumentException("Destino de outbox desconhecido: " + nome + " (disponíveis: " + porNome.keySet() + ")");
+            }
+            this.destinos.add(destino);
+        }
+
+        this.eventosPublicados = Counter.builder("fintech.outbox.publicados").register(meterRegistry);
+        this.falhas = Counter.builder("fintech.outbox.falhas").register(meterRegistry);
+    }
+
+    /**
+     * Drena os eventos pendentes, um lote por transação, até a fila esvaziar
+     */
+    @Scheduled(fixedDelayString = "${fintech.outbox.intervalo-ms:1000}")
+    public void drenar() {
+        try {
+            Integer entregues;
+            do {
+                entregues = transactionTemplate.execute(status -> entregarLote());
+            } while (entregues != null && entregues == tamanhoLote);
+        } catch (RuntimeException e) {
+            falhas.increment();
+            log.warn("Outbox: falha na entrega, o lote será reenviado: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remove diariamente os eventos já publicados há mais que a retenção
+     */
+    @Scheduled(cron = "${fintech.outbox.limpeza-cron:0 15 4 * * *}")
+    public void removerPublicados() {
+        coordenacaoJobsService.executarEmUmaInstancia("limpeza-outbox", Duration.ofDays(1), () ->
+                transactionTemplate.executeWithoutResult(status ->
+                        eventoOutboxRepository.removerPublicadosAntesDe(LocalDateTime.now().minusDays(retencaoDias))));
+    }
+
+    private int entregarLote() {
+        List<EventoPublicado> eventos = jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(SQL_PENDENTES);
+            // SKIP LOCKED trava as linhas à medida que são buscadas: busca apenas o lote
+            ps.setFetchSize(tamanhoLote);
+            return ps;
+        }, rs -> {
+            List<EventoPublicado> lote = new ArrayList<>(tamanhoLote);
+            while (lote.size() < tamanhoLote && rs.next()) {
+                lote.add(new EventoPublicado(
+                        rs.getLong(1),
+                        TipoEventoOutbox.valueOf(rs.getString(2)),
+                        TipoLancamento.valueOf(rs.getString(3)),
+                        rs.getLong(4),
+                        rs.getLong(5),
+                        rs.getLong(6),
+                        rs.getString(7),
+                        rs.getTimestamp(8).toLocalDateTime()));
+            }
+            return lote;
+        });
+
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+
+        for (DestinoEventos destino : destinos) {
+            destino.publicar(eventos);
+        }
+
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(SQL_MARCAR_PUBLICADO, eventos.stream()
+                .map(evento -> new Object[]{agora, evento.idEvento()})
+                .toList());
+
+        eventosPublicados.increment(eventos.size());
+        return eventos.size();
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.dto.AlteracoesLancamentos;
+import br.com.fintech.fintechapi.dto.SincronizacaoResponse;
+import br.com.fintech.fintechapi.model.Despesa;
+import br.com.fintech.fintechapi.model.Receita;
+import br.com.fintech.fintechapi.model.RegistroExcluido;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import br.com.fintech.fintechapi.repository.DespesaRepository;
+import br.com.fintech.fintechapi.repository.ReceitaRepository;
+import br.com.fintech.fintechapi.repository.RegistroExcluidoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Service da sincronização incremental dos clientes
+ * Devolve apenas os lançamentos criados, alterados ou excluídos desde a marca do cliente,
+ * de modo que o custo acompanha o volume de alterações e não o histórico inteiro
+ */
+@Service
+public class SincronizacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(SincronizacaoService.class);
+
+    /**
+     * Referência usada na sincronização completa (anterior a qualquer lançamento)
+     */
+    private static final LocalDateTime INICIO = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private DespesaRepository despesaRepository;
+
+    @Autowired
+    private ReceitaRepository receitaRepository;
+
+    @Autowired
+    private RegistroExcluidoRepository registroExcluidoRepository;
+
+    @Autowired
+    private CoordenacaoJobsService coordenacaoJobsService;
+
+    @Value("${fintech.sincronizacao.margem-ms:30000}")
+    private long margemMs;
+
+    @Value("${fintech.sincronizacao.retencao-exclusoes-dias:90}")
+    private int retencaoExclusoesDias;
+
+    /**
+     * Marca para uma carga completa feita agora por outra consulta (ex.: exemplos da categorização)
+     * Obtida antes da carga: o próximo delta a partir dela cobre o que mudou durante a consulta
+     */
+    public LocalDateTime marcaAtual() {
+        return LocalDateTime.now().minus(Duration.ofMillis(margemMs));
+    }
+
+    /**
+     * Busca as alterações do usuário desde a marca informada
+     * @param idUsuario ID do usuário autenticado
+     * @param desde Marca devolvida na sincronização anterior (null = sincronização completa)
+     * @return Lançamentos criados, atualizados e excluídos, com a nova marca
+     */
+    @Transactional(readOnly = true)
+    public SincronizacaoResponse buscarAlteracoes(Long idUsuario, LocalDateTime desde) {
+        LocalDateTime agora = LocalDateTime.now();
+
+        // Sem a marca, ou com marca anterior às exclusões ainda guardadas, não há como calcular o delta
+        boolean completa = desde == null || desde.isBefore(agora.minusDays(retencaoExclusoesDias));
+        LocalDateTime referencia = completa ? INICIO : desde;
+
+        List<Despesa> despesas = despesaRepository.findAlteradasDesde(idUsuario, referencia);
+        List<Receita> receitas = receitaRepository.findAlteradasDesde(idUsuario, referencia);
+
+        List<Long> despesasExcluidas = new ArrayList<>();
+        List<Long> receitasExcluidas = new ArrayList<>();
+        if (!completa) {
+            for (RegistroExcluido excluido : registroExcluidoRepository.findByIdUsuarioAndExcluidoEmAfter(idUsuario, referencia)) {
+                if (excluido.getTipoLancamento() == TipoLancamento.DESPESA) {
+                    despesasExcluidas.add(excluido.getIdRegistro());
+                } else {
+                    receitasExcluidas.add(excluido.getIdRegistro());
+                }
+            }
+        }
+
+        // atualizado_em é gravado antes do commit: uma transação ainda aberta agora pode ficar visível
+        // depois desta consulta com um horário anterior a ela. A marca recua a margem para reenviá-la.
+        LocalDateTime marca = agora.minus(Duration.ofMillis(margemMs));
+
+        return new SincronizacaoResponse(
+                marca,
+                completa,
+                separar(despesas, Despesa::getCriadoEm, referencia, despesasExcluidas),
+                separar(receitas, Receita::getCriadoEm, referencia, receitasExcluidas)
+        );
+    }
+
+    /**
+     * Remove diariamente os registros de exclusão mais antigos que a retenção (em apenas uma instância)
+     */
+    @Scheduled(cron = "${fintech.sincronizacao.limpeza-exclusoes-cron:0 45 3 * * *}")
+    @Transactional
+    public void removerExclusoesAntigas() {
+        coordenacaoJobsService.executarEmUmaInstancia("limpeza-exclusoes", Duration.ofDays(1), () -> {
+            int removidos = registroExcluidoRepository.removerAnterioresA(LocalDateTime.now().minusDays(retencaoExclusoesDias));
+            if (removidos > 0) {
+                log.info("Removidos {} registros de exclusão anteriores à retenção", removidos);
+            }
+        });
+    }
+
+    private <T> AlteracoesLancamentos<T> separar(List<T> alterados, Function<T, LocalDateTime> criadoEm,
+                                                 LocalDateTime referencia, List<Long> excluidos) {
+        List<T> criados = new ArrayList<>();
+        List<T> atualizados = new ArrayList<>();
+        for (T lancamento : alterados) {
+            if (criadoEm.apply(lancamento).isAfter(referencia)) {
+                criados.add(lancamento);
+            } else {
+                atualizados.add(lancamento);
+            }
+        }
+        return new AlteracoesLancamentos<>(criados, atualizados, excluidos);
+    }
+}
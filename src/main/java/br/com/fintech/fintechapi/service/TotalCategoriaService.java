@@ -0,0 +1,163 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.dto.SituacaoOrcamento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Totais das despesas por (usuário, categoria, mês), mantidos de forma incremental em TOTAL_CATEGORIA_MES
+ *
+ * Cada gravação de despesa soma a diferença no total do mês com um MERGE, na mesma transação.
+ * A verificação do orçamento lê apenas essa linha pela chave: o custo não depende da quantidade
+ * de despesas do mês. Um job diário recalcula os meses recentes a partir de DESPESA e corrige
+ * divergências (alterações feitas fora da aplicação, por exemplo).
+ */
+@Service
+public class TotalCategoriaService {
+
+    private static final Logger log = LoggerFactory.getLogger(TotalCategoriaService.class);
+
+    private static final String SQL_ACUMULAR =
+            "MERGE INTO TOTAL_CATEGORIA_MES t " +
+            "USING (SELECT ? AS id_usuario, ? AS id_categoria, ? AS mes FROM DUAL) s " +
+            "ON (t.id_usuario = s.id_usuario AND t.id_categoria = s.id_categoria AND t.mes = s.mes) " +
+            "WHEN MATCHED THEN UPDATE SET t.total = t.total + ?, t.atualizado_em = SYSTIMESTAMP " +
+            "WHEN NOT MATCHED THEN INSERT (id_usuario, id_categoria, mes, total, atualizado_em) " +
+            "    VALUES (s.id_usuario, s.id_categoria, s.mes, ?, SYSTIMESTAMP)";
+
+    private static final String SQL_TOTAL =
+            "SELECT total FROM TOTAL_CATEGORIA_MES WHERE id_usuario = ? AND id_categoria = ? AND mes = ?";
+
+    // t.total no WHERE: se uma despesa alterar a linha durante o recálculo, o Oracle reinicia o comando
+    private static final String SQL_RECONCILIAR =
+            "MERGE INTO TOTAL_CATEGORIA_MES t " +
+            "USING (SELECT id_usuario, id_categoria, SUM(valor) AS total FROM DESPESA " +
+            "       WHERE id_categoria IS NOT NULL AND data_vencimento >= ? AND data_vencimento < ? " +
+            "       GROUP BY id_usuario, id_categoria) s " +
+            "ON (t.id_usuario = s.id_usuario AND t.id_categoria = s.id_categoria AND t.mes = ?) " +
+            "WHEN MATCHED THEN UPDATE SET t.total = s.total, t.atualizado_em = SYSTIMESTAMP WHERE t.total <> s.total " +
+            "WHEN NOT MATCHED THEN INSERT (id_usuario, id_categoria, mes, total, atualizado_em) " +
+            "    VALUES (s.id_usuario, s.id_categoria, ?, s.total, SYSTIMESTAMP)";
+
+    private static final String SQL_ZERAR_SEM_DESPESAS =
+            "UPDATE TOTAL_CATEGORIA_MES t SET t.total = 0, t.atualizado_em = SYSTIMESTAMP " +
+            "WHERE t.mes = ? AND t.total <> 0 AND NOT EXISTS (" +
+            "    SELECT 1 FROM DESPESA d WHERE d.id_usuario = t.id_usuario AND d.id_categoria = t.id_categoria " +
+            "    AND d.data_vencimento >= ? AND d.data_vencimento < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OrcamentoService orcamentoService;
+    private final CoordenacaoJobsService coordenacaoJobsService;
+    private final int mesesAnteriores;
+    private final int mesesPosteriores;
+
+    private final Counter divergencias;
+
+    public TotalCategoriaService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            OrcamentoService orcamentoService,
+            CoordenacaoJobsService coordenacaoJobsService,
+            @Value("${fintech.orcamento.reconciliacao-meses-anteriores:3}") int mesesAnteriores,
+            @Value("${fintech.orcamento.reconciliacao-meses-posteriores:3}") int mesesPosteriores,
+            MeterRegistry meterRegistry) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.orcamentoService = orcamentoService;
+        this.coordenacaoJobsService = coordenacaoJobsService;
+        this.mesesAnteriores = mesesAnteriores;
+        this.mesesPosteriores = mesesPosteriores;
+
+        this.divergencias = Counter.builder("fintech.orcamento.divergencias").register(meterRegistry);
+    }
+
+    /**
+     * Soma o valor ao total da categoria no mês da data
+     * Deve ser chamado na transação da despesa, depois de VersaoLedgerService.registrarAlteracao
+     * (a linha do usuário em VERSAO_LEDGER ordena as transações e evita deadlock entre os totais)
+     * @param delta Valor a somar (negativo para remover)
+     * @return Situação do orçamento da categoria no mês, ou null se a categoria não tem orçamento
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public SituacaoOrcamento acumular(Long idUsuario, Long idCategoria, LocalDate data, BigDecimal delta) {
+        if (idCategoria == null || data == null) {
+            return null;
+        }
+        Date mes = Date.valueOf(data.withDayOfMonth(1));
+        if (delta.signum() != 0) {
+            jdbcTemplate.update(SQL_ACUMULAR, idUsuario, idCategoria, mes, delta, delta);
+        }
+
+        BigDecimal limite = orcamentoService.limite(idUsuario, idCategoria);
+        if (limite == null) {
+            return null;
+        }
+        // A linha está travada pelo MERGE até o commit: o total inclui esta despesa e as já confirmadas
+        BigDecimal total = jdbcTemplate.query(SQL_TOTAL,
+                rs -> rs.next() ? rs.getBigDecimal(1) : BigDecimal.ZERO,
+                idUsuario, idCategoria, mes);
+        return SituacaoOrcamento.de(idCategoria, mes.toLocalDate(), limite, total);
+    }
+
+    /**
+     * Move o valor anterior da despesa para o novo (categoria, mês e valor podem ter mudado)
+     * @return Situação do orçamento da categoria/mês atual da despesa, ou null se não houver orçamento
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public SituacaoOrcamento substituir(Long idUsuario,
+                                        Long categoriaAnterior, LocalDate dataAnterior, BigDecimal valorAnterior,
+                                        Long idCategoria, LocalDate data, BigDecimal valor) {
+        boolean mesmaLinha = Objects.equals(categoriaAnterior, idCategoria)
+                && dataAnterior.withDayOfMonth(1).equals(data.withDayOfMonth(1));
+        if (mesmaLinha) {
+            return acumular(idUsuario, idCategoria, data, valor.subtract(valorAnterior));
+        }
+        acumular(idUsuario, categoriaAnterior, dataAnterior, valorAnterior.negate());
+        return acumular(idUsuario, idCategoria, data, valor);
+    }
+
+    /**
+     * Recalcula diariamente os totais dos meses próximos a partir de DESPESA (em apenas uma instância)
+     * Cada mês é recalculado em sua própria transação
+     */
+    @Scheduled(cron = "${fintech.orcamento.reconciliacao-cron:0 30 4 * * *}")
+    public void reconciliar() {
+        coordenacaoJobsService.executarEmUmaInstancia("reconciliacao-orcamento", Duration.ofDays(1), () -> {
+            LocalDate atual = LocalDate.now().withDayOfMonth(1);
+            int corrigidos = 0;
+            for (int i = -mesesAnteriores; i <= mesesPosteriores; i++) {
+                LocalDate mes = atual.plusMonths(i);
+                Integer linhas = transactionTemplate.execute(status -> reconciliarMes(mes));
+                corrigidos += linhas != null ? linhas : 0;
+            }
+            if (corrigidos > 0) {
+                divergencias.increment(corrigidos);
+                log.warn("Orçamento: {} totais mensais divergentes corrigidos na reconciliação", corrigidos);
+            }
+        });
+    }
+
+    private int reconciliarMes(LocalDate mes) {
+        Date inicio = Date.valueOf(mes);
+        Date fim = Date.valueOf(mes.plusMonths(1));
+        return jdbcTemplate.update(SQL_RECONCILIAR, inicio, fim, inicio, inicio)
+                + jdbcTemplate.update(SQL_ZERAR_SEM_DESPESAS, inicio, inicio, fim);
+    }
+}
@@ -4,32 +4,51 @@ import br.com.fintech.fintechapi.model.Usuario;
 import br.com.fintech.fintechapi.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Implementação do UserDetailsService do Spring Security
  * Responsável por carregar os dados do usuário para autenticação
+ * e por regravar o hash da senha quando o algoritmo/custo configurado muda
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UsuarioRepository usuarioRepository;
 
     /**
      * Carrega um usuário pelo username (email)
+     * O perfil PF/PJ vem na mesma consulta, para que o login monte a resposta sem novos acessos ao banco
      * @param username Email do usuário
      * @return UserDetails contendo os dados do usuário
      * @throws UsernameNotFoundException se o usuário não for encontrado
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Usuario usuario = usuarioRepository.findByEmail(username)
+        Usuario usuario = usuarioRepository.findComPerfilByEmail(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + username));
         
         return usuario;
     }
-}
 
+    /**
+     * Chamado pelo Spring Security após um login bem-sucedido quando o hash armazenado
+     * está em um algoritmo/custo diferente do configurado
+     * @param user Usuário autenticado
+     * @param newPassword Novo hash já codificado
+     * @return UserDetails com o hash atualizado
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Usuario usuario = (Usuario) user;
+        usuarioRepository.atualizarSenha(usuario.getIdUsuario(), newPassword);
+        usuario.setSenha(newPassword);
+        return usuario;
+    }
+}
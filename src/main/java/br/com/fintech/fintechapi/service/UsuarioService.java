@@ -10,7 +10,7 @@ import br.com.fintech.fintechapi.repository.PessoaFisicaRepository;
 import br.com.fintech.fintechapi.repository.PessoaJuridicaRepository;
 import br.com.fintech.fintechapi.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,7 +33,7 @@ public class UsuarioService {
     private PessoaJuridicaRepository pessoaJuridicaRepository;
 
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
 
     /**
      * Registra um novo usuário no sistema
@@ -191,7 +191,7 @@ public class UsuarioService {
             } catch (RecursoNaoEncontradoException e) {
                 // Se não existe, pode criar uma nova
                 pessoaFisicaData.setUsuario(usuarioExistente);
-                pessoaFisicaRepository.save(pessoaFisicaData);
+                usuarioExistente.setPessoaFisica(pessoaFisicaRepository.save(pessoaFisicaData));
             }
         }
 
@@ -215,7 +215,7 @@ public class UsuarioService {
             } catch (RecursoNaoEncontradoException e) {
                 // Se não existe, pode criar uma nova
                 pessoaJuridicaData.setUsuario(usuarioExistente);
-                pessoaJuridicaRepository.save(pessoaJuridicaData);
+                usuarioExistente.setPessoaJuridica(pessoaJuridicaRepository.save(pessoaJuridicaData));
             }
         }
 
@@ -0,0 +1,116 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.repository.VersaoLedgerRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service da versão de alterações (despesas e receitas) de cada usuário
+ * A versão identifica o estado das listagens e é usada como ETag fraca
+ *
+ * A versão é servida da memória; a tabela VERSAO_LEDGER é a fonte de verdade e só é consultada
+ * quando a entrada local não existe ou passou do TTL (alterações feitas por outras instâncias
+ * são percebidas em até fintech.sincronizacao.versao-ttl-ms)
+ */
+@Service
+public class VersaoLedgerService {
+
+    @Autowired
+    private VersaoLedgerRepository versaoLedgerRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentHashMap<Long, Entrada> versoes = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    /**
+     * Versão conhecida e o instante (System.nanoTime) em que foi confirmada no banco
+     */
+    private record Entrada(long versao, long confirmadaEm) {
+    }
+
+    public VersaoLedgerService(@Value("${fintech.sincronizacao.versao-ttl-ms:5000}") long ttlMs) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    }
+
+    /**
+     * Registra uma alteração nos lançamentos do usuário
+     * Deve ser chamado dentro da transação que altera a despesa/receita;
+     * a memória só é atualizada após o commit, e só então os assinantes de LedgerAlteradoEvent são notificados
+     * @return Nova versão do ledger do usuário
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long registrarAlteracao(Long idUsuario) {
+        versaoLedgerRepository.incrementar(idUsuario);
+
+        // A linha está travada pelo MERGE até o commit: a leitura devolve exatamente a versão gravada
+        long novaVersao = versaoLedgerRepository.findVersaoByIdUsuario(idUsuario).orElse(0L);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                atualizar(idUsuario, novaVersao);
+            }
+        });
+
+        eventPublisher.publishEvent(new LedgerAlteradoEvent(idUsuario, novaVersao));
+        return novaVersao;
+    }
+
+    /**
+     * @return Versão atual dos lançamentos do usuário (0 se nunca houve alteração)
+     */
+    public long obterVersao(Long idUsuario) {
+        Entrada entrada = versoes.get(idUsuario);
+        if (entrada != null && System.nanoTime() - entrada.confirmadaEm() < ttlNanos) {
+            return entrada.versao();
+        }
+
+        long versao = versaoLedgerRepository.findVersaoByIdUsuario(idUsuario).orElse(0L);
+        return atualizar(idUsuario, versao);
+    }
+
+    /**
+     * ETag fraca das listagens do usuário: muda sempre que a versão muda
+     */
+    public String etag(Long idUsuario) {
+        return etag(idUsuario, obterVersao(idUsuario));
+    }
+
+    public String etag(Long idUsuario, long versao) {
+        return "W/\"" + idUsuario + "-" + versao + "\"";
+    }
+
+    /**
+     * Remove periodicamente as entradas vencidas, mantendo em memória apenas os usuários ativos
+     */
+    @Scheduled(fixedDelayString = "${fintech.sincronizacao.limpeza-ms:60000}")
+    public void removerVencidas() {
+        long agora = System.nanoTime();
+        versoes.values().removeIf(entrada -> agora - entrada.confirmadaEm() >= ttlNanos);
+    }
+
+    /**
+     * Grava a versão confirmada, sem nunca voltar para uma versão menor
+     * (uma leitura antiga do banco pode terminar depois de um commit mais recente)
+     * @return Versão efetivamente mantida em memória
+     */
+    private long atualizar(Long idUsuario, long versao) {
+        Entrada nova = new Entrada(versao, System.nanoTime());
+        return versoes.merge(idUsuario, nova, (atual, lida) ->
+                lida.versao() >= atual.versao() ? lida : new Entrada(atual.versao(), lida.confirmadaEm())
+        ).versao();
+    }
+}
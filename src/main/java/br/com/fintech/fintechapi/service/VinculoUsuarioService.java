@@ -0,0 +1,73 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.exception.AcessoNegadoException;
+import br.com.fintech.fintechapi.exception.RecursoNaoEncontradoException;
+import br.com.fintech.fintechapi.model.TipoUsuario;
+import br.com.fintech.fintechapi.model.Usuario;
+import br.com.fintech.fintechapi.model.VinculoUsuario;
+import br.com.fintech.fintechapi.repository.UsuarioRepository;
+import br.com.fintech.fintechapi.repository.VinculoUsuarioRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service dos vínculos usados pelo relatório consolidado PJ
+ * O próprio usuário autoriza a conta PJ; qualquer das partes pode remover o vínculo
+ */
+@Service
+public class VinculoUsuarioService {
+
+    @Autowired
+    private VinculoUsuarioRepository vinculoUsuarioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Value("${fintech.consolidacao.max-vinculados:100}")
+    private int maxVinculados;
+
+    @Transactional
+    public VinculoUsuario autorizar(Long idUsuario, String emailPj) {
+        if (emailPj == null || emailPj.isBlank()) {
+            throw new IllegalArgumentException("Email da conta PJ é obrigatório");
+        }
+
+        Usuario contaPj = usuarioRepository.findByEmail(emailPj.trim())
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Usuário não encontrado com email: " + emailPj));
+
+        if (contaPj.getTipoUsuario() != TipoUsuario.PJ) {
+            throw new IllegalArgumentException("Apenas contas PJ podem consolidar lançamentos de outros usuários");
+        }
+        if (contaPj.getIdUsuario().equals(idUsuario)) {
+            throw new IllegalArgumentException("Não é possível vincular a conta a ela mesma");
+        }
+
+        return vinculoUsuarioRepository.findByIdUsuarioPjAndIdUsuarioVinculado(contaPj.getIdUsuario(), idUsuario)
+                .orElseGet(() -> {
+                    if (vinculoUsuarioRepository.findIdsVinculados(contaPj.getIdUsuario()).size() >= maxVinculados) {
+                        throw new IllegalArgumentException("A conta PJ atingiu o limite de " + maxVinculados + " usuários vinculados");
+                    }
+                    return vinculoUsuarioRepository.save(new VinculoUsuario(contaPj.getIdUsuario(), idUsuario));
+                });
+    }
+
+    public List<VinculoUsuario> listar(Long idUsuario) {
+        return vinculoUsuarioRepository.findByParticipante(idUsuario);
+    }
+
+    @Transactional
+    public void remover(Long idVinculo, Long idUsuario) {
+        VinculoUsuario vinculo = vinculoUsuarioRepository.findById(idVinculo)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Vínculo não encontrado com ID: " + idVinculo));
+
+        if (!vinculo.getIdUsuarioPj().equals(idUsuario) && !vinculo.getIdUsuarioVinculado().equals(idUsuario)) {
+            throw new AcessoNegadoException("Você não tem permissão para acessar este vínculo");
+        }
+
+        vinculoUsuarioRepository.delete(vinculo);
+    }
+}
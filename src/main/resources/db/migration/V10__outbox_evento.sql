@@ -0,0 +1,23 @@
+-- Outbox transacional: eventos de despesas/receitas gravados na mesma transação da alteração
+-- e repassados aos destinos (listeners, arquivo, broker) pelo relay
+
+-- Incremento 50: o Hibernate reserva blocos de IDs e não consulta a sequence a cada evento
+CREATE SEQUENCE SEQ_OUTBOX_EVENTOS START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE OUTBOX_EVENTO (
+    id_evento       NUMBER(19)     NOT NULL,
+    tipo_evento     VARCHAR2(10)   NOT NULL,
+    tipo_lancamento VARCHAR2(10)   NOT NULL,
+    id_registro     NUMBER(19)     NOT NULL,
+    id_usuario      NUMBER(19)     NOT NULL,
+    versao_ledger   NUMBER(19)     NOT NULL,
+    carga           VARCHAR2(1000),
+    criado_em       TIMESTAMP(6)   NOT NULL,
+    publicado_em    TIMESTAMP(6),
+    CONSTRAINT PK_OUTBOX_EVENTO PRIMARY KEY (id_evento),
+    CONSTRAINT CK_OUTBOX_EVENTO_TIPO CHECK (tipo_evento IN ('CRIADO', 'ATUALIZADO', 'EXCLUIDO'))
+);
+
+-- Apenas os eventos pendentes entram no índice (publicado_em nulo), que fica pequeno
+CREATE INDEX IDX_OUTBOX_EVENTO_PENDENTE ON OUTBOX_EVENTO (CASE WHEN publicado_em IS NULL THEN id_evento END);
+CREATE INDEX IDX_OUTBOX_EVENTO_PUBLICADO ON OUTBOX_EVENTO (publicado_em);
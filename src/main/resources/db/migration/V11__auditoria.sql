@@ -0,0 +1,19 @@
+-- Trilha de auditoria: quem alterou despesas, receitas, categorias e usuários, e quando
+-- Gravada em lote por GravadorAuditoria, fora da transação da alteração
+
+CREATE SEQUENCE SEQ_AUDITORIA START WITH 1 INCREMENT BY 1 CACHE 1000;
+
+CREATE TABLE AUDITORIA (
+    id_auditoria     NUMBER(19)     NOT NULL,
+    entidade         VARCHAR2(30)   NOT NULL,
+    id_registro      NUMBER(19)     NOT NULL,
+    operacao         VARCHAR2(10)   NOT NULL,
+    id_usuario_autor NUMBER(19),
+    campos           VARCHAR2(1000),
+    ocorrido_em      TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT PK_AUDITORIA PRIMARY KEY (id_auditoria),
+    CONSTRAINT CK_AUDITORIA_OPERACAO CHECK (operacao IN ('INCLUSAO', 'ALTERACAO', 'EXCLUSAO'))
+);
+
+CREATE INDEX IDX_AUDITORIA_REGISTRO ON AUDITORIA (entidade, id_registro, ocorrido_em);
+CREATE INDEX IDX_AUDITORIA_AUTOR ON AUDITORIA (id_usuario_autor, ocorrido_em);
@@ -0,0 +1,35 @@
+-- Orçamentos mensais por categoria e totais de despesas por (usuário, categoria, mês)
+
+CREATE SEQUENCE SEQ_ORCAMENTOS START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE ORCAMENTO (
+    id_orcamento NUMBER(19)    NOT NULL,
+    id_usuario   NUMBER(19)    NOT NULL,
+    id_categoria NUMBER(19)    NOT NULL,
+    valor_limite NUMBER(12, 2) NOT NULL,
+    criado_em    TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT PK_ORCAMENTO PRIMARY KEY (id_orcamento),
+    -- Um limite mensal por categoria para cada usuário
+    CONSTRAINT UK_ORCAMENTO UNIQUE (id_usuario, id_categoria),
+    CONSTRAINT FK_ORCAMENTO_USUARIO FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario) ON DELETE CASCADE,
+    CONSTRAINT FK_ORCAMENTO_CATEGORIA FOREIGN KEY (id_categoria) REFERENCES CATEGORIA (id_categoria) ON DELETE CASCADE,
+    CONSTRAINT CK_ORCAMENTO_VALOR CHECK (valor_limite > 0)
+);
+
+-- Total acumulado das despesas de cada categoria no mês (mes = primeiro dia do mês)
+-- Atualizado na mesma transação de cada despesa; a verificação do orçamento lê uma linha pela chave
+CREATE TABLE TOTAL_CATEGORIA_MES (
+    id_usuario    NUMBER(19)    NOT NULL,
+    id_categoria  NUMBER(19)    NOT NULL,
+    mes           DATE          NOT NULL,
+    total         NUMBER(14, 2) NOT NULL,
+    atualizado_em TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT PK_TOTAL_CATEGORIA_MES PRIMARY KEY (id_usuario, id_categoria, mes)
+);
+
+-- Carga inicial a partir das despesas existentes
+INSERT INTO TOTAL_CATEGORIA_MES (id_usuario, id_categoria, mes, total, atualizado_em)
+SELECT id_usuario, id_categoria, TRUNC(data_vencimento, 'MM'), SUM(valor), SYSTIMESTAMP
+FROM DESPESA
+WHERE id_categoria IS NOT NULL
+GROUP BY id_usuario, id_categoria, TRUNC(data_vencimento, 'MM');
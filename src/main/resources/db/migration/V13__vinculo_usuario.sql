@@ -0,0 +1,18 @@
+-- Vínculos entre uma conta PJ e os usuários cujos lançamentos ela pode consolidar
+-- O vínculo é criado pelo usuário vinculado (autorização) e pode ser removido por qualquer das partes
+
+CREATE SEQUENCE SEQ_VINCULOS_USUARIO START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE VINCULO_USUARIO (
+    id_vinculo            NUMBER(19)   NOT NULL,
+    id_usuario_pj         NUMBER(19)   NOT NULL,
+    id_usuario_vinculado  NUMBER(19)   NOT NULL,
+    criado_em             TIMESTAMP(6) NOT NULL,
+    CONSTRAINT PK_VINCULO_USUARIO PRIMARY KEY (id_vinculo),
+    CONSTRAINT UK_VINCULO_USUARIO UNIQUE (id_usuario_pj, id_usuario_vinculado),
+    CONSTRAINT FK_VINCULO_PJ FOREIGN KEY (id_usuario_pj) REFERENCES USUARIO (id_usuario) ON DELETE CASCADE,
+    CONSTRAINT FK_VINCULO_VINCULADO FOREIGN KEY (id_usuario_vinculado) REFERENCES USUARIO (id_usuario) ON DELETE CASCADE,
+    CONSTRAINT CK_VINCULO_DISTINTOS CHECK (id_usuario_pj <> id_usuario_vinculado)
+);
+
+CREATE INDEX IDX_VINCULO_VINCULADO ON VINCULO_USUARIO (id_usuario_vinculado);
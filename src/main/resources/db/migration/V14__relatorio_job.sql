@@ -0,0 +1,26 @@
+-- Relatórios gerados de forma assíncrona: pedido, situação e resultado (JSON)
+-- A chave única (usuário, tipo, parâmetros, versão do ledger) une pedidos iguais e serve de cache:
+-- enquanto o usuário não altera lançamentos, o mesmo pedido reaproveita o resultado já gerado
+
+CREATE SEQUENCE SEQ_RELATORIOS_JOB START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE RELATORIO_JOB (
+    id_job          NUMBER(19)     NOT NULL,
+    id_usuario      NUMBER(19)     NOT NULL,
+    tipo_relatorio  VARCHAR2(20)   NOT NULL,
+    parametros      VARCHAR2(200)  NOT NULL,
+    versao_ledger   NUMBER(19)     NOT NULL,
+    status          VARCHAR2(12)   NOT NULL,
+    resultado       CLOB,
+    erro            VARCHAR2(500),
+    criado_em       TIMESTAMP(6)   NOT NULL,
+    atualizado_em   TIMESTAMP(6)   NOT NULL,
+    concluido_em    TIMESTAMP(6),
+    CONSTRAINT PK_RELATORIO_JOB PRIMARY KEY (id_job),
+    CONSTRAINT UK_RELATORIO_JOB UNIQUE (id_usuario, tipo_relatorio, parametros, versao_ledger),
+    CONSTRAINT FK_RELATORIO_JOB_USUARIO FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario) ON DELETE CASCADE,
+    CONSTRAINT CK_RELATORIO_JOB_TIPO CHECK (tipo_relatorio IN ('ANUAL', 'CATEGORIAS')),
+    CONSTRAINT CK_RELATORIO_JOB_STATUS CHECK (status IN ('PENDENTE', 'EXECUTANDO', 'CONCLUIDO', 'FALHOU'))
+);
+
+CREATE INDEX IDX_RELATORIO_JOB_CRIADO ON RELATORIO_JOB (criado_em);
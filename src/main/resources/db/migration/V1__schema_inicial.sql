@@ -0,0 +1,94 @@
+-- Schema inicial da Fintech API (equivalente ao gerado anteriormente pelo ddl-auto=update)
+-- Bancos já existentes recebem baseline na versão 1 e não executam este script
+
+CREATE SEQUENCE SEQ_USUARIOS START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE SEQ_PESSOA_FISICA START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE SEQ_PESSOA_JURIDICA START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE SEQ_CATEGORIAS START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE SEQ_SUBCATEGORIAS START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE SEQ_DESPESAS START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE SEQ_RECEITAS START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE USUARIO (
+    id_usuario   NUMBER(19)    NOT NULL,
+    tipo_usuario VARCHAR2(10)  NOT NULL,
+    email        VARCHAR2(255) NOT NULL,
+    senha        VARCHAR2(100) NOT NULL,
+    criado_em    TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT PK_USUARIO PRIMARY KEY (id_usuario),
+    CONSTRAINT UK_USUARIO_EMAIL UNIQUE (email),
+    CONSTRAINT CK_USUARIO_TIPO CHECK (tipo_usuario IN ('PF', 'PJ'))
+);
+
+CREATE TABLE PESSOA_FISICA (
+    id_pf      NUMBER(19)    NOT NULL,
+    id_usuario NUMBER(19)    NOT NULL,
+    nome       VARCHAR2(150) NOT NULL,
+    cpf        VARCHAR2(14)  NOT NULL,
+    data_nasc  DATE,
+    CONSTRAINT PK_PESSOA_FISICA PRIMARY KEY (id_pf),
+    CONSTRAINT UK_PESSOA_FISICA_USUARIO UNIQUE (id_usuario),
+    CONSTRAINT UK_PESSOA_FISICA_CPF UNIQUE (cpf),
+    CONSTRAINT FK_PESSOA_FISICA_USUARIO FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario)
+);
+
+CREATE TABLE PESSOA_JURIDICA (
+    id_pj        NUMBER(19)    NOT NULL,
+    id_usuario   NUMBER(19)    NOT NULL,
+    cnpj         VARCHAR2(18)  NOT NULL,
+    razao_social VARCHAR2(150) NOT NULL,
+    CONSTRAINT PK_PESSOA_JURIDICA PRIMARY KEY (id_pj),
+    CONSTRAINT UK_PESSOA_JURIDICA_USUARIO UNIQUE (id_usuario),
+    CONSTRAINT UK_PESSOA_JURIDICA_CNPJ UNIQUE (cnpj),
+    CONSTRAINT FK_PESSOA_JURIDICA_USUARIO FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario)
+);
+
+CREATE TABLE CATEGORIA (
+    id_categoria   NUMBER(19)   NOT NULL,
+    nome_categoria VARCHAR2(80) NOT NULL,
+    tipo_categoria VARCHAR2(20) NOT NULL,
+    CONSTRAINT PK_CATEGORIA PRIMARY KEY (id_categoria),
+    CONSTRAINT CK_CATEGORIA_TIPO CHECK (tipo_categoria IN ('RECEITA', 'DESPESA'))
+);
+
+CREATE TABLE SUBCATEGORIA (
+    id_subcategoria NUMBER(19)   NOT NULL,
+    id_categoria    NUMBER(19)   NOT NULL,
+    nome_subcat     VARCHAR2(80) NOT NULL,
+    CONSTRAINT PK_SUBCATEGORIA PRIMARY KEY (id_subcategoria),
+    CONSTRAINT FK_SUBCATEGORIA_CATEGORIA FOREIGN KEY (id_categoria) REFERENCES CATEGORIA (id_categoria)
+);
+
+CREATE TABLE DESPESA (
+    id_despesa      NUMBER(19)           NOT NULL,
+    id_usuario      NUMBER(19)           NOT NULL,
+    descricao       VARCHAR2(255),
+    valor           NUMBER(12, 2)        NOT NULL,
+    data_vencimento DATE                 NOT NULL,
+    recorrente      NUMBER(1) DEFAULT 0  NOT NULL,
+    pendente        NUMBER(1) DEFAULT 0  NOT NULL,
+    id_categoria    NUMBER(19),
+    id_subcategoria NUMBER(19),
+    criado_em       TIMESTAMP(6)         NOT NULL,
+    CONSTRAINT PK_DESPESA PRIMARY KEY (id_despesa),
+    CONSTRAINT FK_DESPESA_USUARIO FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario),
+    CONSTRAINT FK_DESPESA_CATEGORIA FOREIGN KEY (id_categoria) REFERENCES CATEGORIA (id_categoria),
+    CONSTRAINT FK_DESPESA_SUBCATEGORIA FOREIGN KEY (id_subcategoria) REFERENCES SUBCATEGORIA (id_subcategoria)
+);
+
+CREATE TABLE RECEITA (
+    id_receita      NUMBER(19)           NOT NULL,
+    id_usuario      NUMBER(19)           NOT NULL,
+    descricao       VARCHAR2(255),
+    valor           NUMBER(12, 2)        NOT NULL,
+    data_entrada    DATE                 NOT NULL,
+    recorrente      NUMBER(1) DEFAULT 0  NOT NULL,
+    pendente        NUMBER(1) DEFAULT 0  NOT NULL,
+    id_categoria    NUMBER(19),
+    id_subcategoria NUMBER(19),
+    criado_em       TIMESTAMP(6)         NOT NULL,
+    CONSTRAINT PK_RECEITA PRIMARY KEY (id_receita),
+    CONSTRAINT FK_RECEITA_USUARIO FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario),
+    CONSTRAINT FK_RECEITA_CATEGORIA FOREIGN KEY (id_categoria) REFERENCES CATEGORIA (id_categoria),
+    CONSTRAINT FK_RECEITA_SUBCATEGORIA FOREIGN KEY (id_subcategoria) REFERENCES SUBCATEGORIA (id_subcategoria)
+);
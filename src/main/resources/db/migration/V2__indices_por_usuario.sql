@@ -0,0 +1,6 @@
+-- Índices para as consultas por usuário (listagens, períodos e filtros)
+-- Aplicado também em bancos que receberam baseline a partir do ddl-auto=update
+
+CREATE INDEX IDX_DESPESA_USUARIO_VENC ON DESPESA (id_usuario, data_vencimento);
+CREATE INDEX IDX_RECEITA_USUARIO_ENTRADA ON RECEITA (id_usuario, data_entrada);
+CREATE INDEX IDX_SUBCATEGORIA_CATEGORIA ON SUBCATEGORIA (id_categoria);
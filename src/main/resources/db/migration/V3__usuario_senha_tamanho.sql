@@ -0,0 +1,2 @@
+-- Hashes com prefixo de algoritmo ({bcrypt}, {argon2}) podem passar de 100 caracteres
+ALTER TABLE USUARIO MODIFY (senha VARCHAR2(255));
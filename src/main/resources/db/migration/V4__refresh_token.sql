@@ -0,0 +1,18 @@
+-- Refresh tokens (armazenados apenas como hash SHA-256)
+
+CREATE SEQUENCE SEQ_REFRESH_TOKENS START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE REFRESH_TOKEN (
+    id_refresh_token NUMBER(19)   NOT NULL,
+    id_usuario       NUMBER(19)   NOT NULL,
+    token_hash       VARCHAR2(64) NOT NULL,
+    expira_em        TIMESTAMP(6) NOT NULL,
+    criado_em        TIMESTAMP(6) NOT NULL,
+    revogado_em      TIMESTAMP(6),
+    CONSTRAINT PK_REFRESH_TOKEN PRIMARY KEY (id_refresh_token),
+    CONSTRAINT UK_REFRESH_TOKEN_HASH UNIQUE (token_hash),
+    CONSTRAINT FK_REFRESH_TOKEN_USUARIO FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario) ON DELETE CASCADE
+);
+
+CREATE INDEX IDX_REFRESH_TOKEN_USUARIO ON REFRESH_TOKEN (id_usuario);
+CREATE INDEX IDX_REFRESH_TOKEN_EXPIRA ON REFRESH_TOKEN (expira_em);
@@ -0,0 +1,8 @@
+-- Versão de alterações por usuário (despesas e receitas), usada como ETag das listagens
+
+CREATE TABLE VERSAO_LEDGER (
+    id_usuario NUMBER(19) NOT NULL,
+    versao     NUMBER(19) NOT NULL,
+    CONSTRAINT PK_VERSAO_LEDGER PRIMARY KEY (id_usuario),
+    CONSTRAINT FK_VERSAO_LEDGER_USUARIO FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario) ON DELETE CASCADE
+);
@@ -0,0 +1,27 @@
+-- Sincronização incremental: data da última alteração e registro das exclusões (tombstones)
+
+ALTER TABLE DESPESA ADD (atualizado_em TIMESTAMP(6));
+UPDATE DESPESA SET atualizado_em = criado_em;
+ALTER TABLE DESPESA MODIFY (atualizado_em NOT NULL);
+
+ALTER TABLE RECEITA ADD (atualizado_em TIMESTAMP(6));
+UPDATE RECEITA SET atualizado_em = criado_em;
+ALTER TABLE RECEITA MODIFY (atualizado_em NOT NULL);
+
+CREATE INDEX IDX_DESPESA_USUARIO_ATUALIZ ON DESPESA (id_usuario, atualizado_em);
+CREATE INDEX IDX_RECEITA_USUARIO_ATUALIZ ON RECEITA (id_usuario, atualizado_em);
+
+CREATE SEQUENCE SEQ_REGISTROS_EXCLUIDOS START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE REGISTRO_EXCLUIDO (
+    id_registro_excluido NUMBER(19)   NOT NULL,
+    id_usuario           NUMBER(19)   NOT NULL,
+    tipo_lancamento      VARCHAR2(10) NOT NULL,
+    id_registro          NUMBER(19)   NOT NULL,
+    excluido_em          TIMESTAMP(6) NOT NULL,
+    CONSTRAINT PK_REGISTRO_EXCLUIDO PRIMARY KEY (id_registro_excluido),
+    CONSTRAINT FK_REGISTRO_EXCLUIDO_USUARIO FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario) ON DELETE CASCADE
+);
+
+CREATE INDEX IDX_REGISTRO_EXCLUIDO_USUARIO ON REGISTRO_EXCLUIDO (id_usuario, excluido_em);
+CREATE INDEX IDX_REGISTRO_EXCLUIDO_DATA ON REGISTRO_EXCLUIDO (excluido_em);
@@ -0,0 +1,48 @@
+-- Regras de recorrência (despesas e receitas geradas automaticamente)
+-- gerado_ate marca até que data as ocorrências já foram materializadas pelo job
+
+CREATE SEQUENCE SEQ_REGRAS_RECORRENCIA START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE REGRA_RECORRENCIA (
+    id_regra_recorrencia NUMBER(19)          NOT NULL,
+    id_usuario           NUMBER(19)          NOT NULL,
+    tipo_lancamento      VARCHAR2(10)        NOT NULL,
+    descricao            VARCHAR2(255),
+    valor                NUMBER(12, 2)       NOT NULL,
+    id_categoria         NUMBER(19),
+    id_subcategoria      NUMBER(19),
+    pendente             NUMBER(1) DEFAULT 1 NOT NULL,
+    frequencia           VARCHAR2(15)        NOT NULL,
+    intervalo            NUMBER(4) DEFAULT 1 NOT NULL,
+    data_inicio          DATE                NOT NULL,
+    data_fim             DATE,
+    gerado_ate           DATE                NOT NULL,
+    ativa                NUMBER(1) DEFAULT 1 NOT NULL,
+    criado_em            TIMESTAMP(6)        NOT NULL,
+    CONSTRAINT PK_REGRA_RECORRENCIA PRIMARY KEY (id_regra_recorrencia),
+    CONSTRAINT FK_REGRA_RECORRENCIA_USUARIO FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario) ON DELETE CASCADE,
+    CONSTRAINT FK_REGRA_RECORRENCIA_CATEG FOREIGN KEY (id_categoria) REFERENCES CATEGORIA (id_categoria),
+    CONSTRAINT FK_REGRA_RECORRENCIA_SUBCAT FOREIGN KEY (id_subcategoria) REFERENCES SUBCATEGORIA (id_subcategoria),
+    CONSTRAINT CK_REGRA_RECORRENCIA_TIPO CHECK (tipo_lancamento IN ('DESPESA', 'RECEITA')),
+    CONSTRAINT CK_REGRA_RECORRENCIA_FREQ CHECK (frequencia IN ('MENSAL', 'SEMANAL', 'PERSONALIZADA')),
+    CONSTRAINT CK_REGRA_RECORRENCIA_INTERV CHECK (intervalo > 0)
+);
+
+CREATE INDEX IDX_REGRA_RECORRENCIA_USUARIO ON REGRA_RECORRENCIA (id_usuario);
+-- Varredura do job: regras ativas cujo horizonte ainda não foi gerado
+CREATE INDEX IDX_REGRA_RECORRENCIA_PENDENTE ON REGRA_RECORRENCIA (ativa, gerado_ate);
+
+ALTER TABLE DESPESA ADD (id_regra_recorrencia NUMBER(19));
+ALTER TABLE DESPESA ADD CONSTRAINT FK_DESPESA_REGRA FOREIGN KEY (id_regra_recorrencia)
+    REFERENCES REGRA_RECORRENCIA (id_regra_recorrencia) ON DELETE SET NULL;
+
+ALTER TABLE RECEITA ADD (id_regra_recorrencia NUMBER(19));
+ALTER TABLE RECEITA ADD CONSTRAINT FK_RECEITA_REGRA FOREIGN KEY (id_regra_recorrencia)
+    REFERENCES REGRA_RECORRENCIA (id_regra_recorrencia) ON DELETE SET NULL;
+
+-- Uma ocorrência por regra e data (garante a idempotência da materialização)
+-- Lançamentos avulsos têm as duas expressões nulas e ficam fora do índice
+CREATE UNIQUE INDEX UK_DESPESA_REGRA_DATA ON DESPESA
+    (id_regra_recorrencia, CASE WHEN id_regra_recorrencia IS NOT NULL THEN data_vencimento END);
+CREATE UNIQUE INDEX UK_RECEITA_REGRA_DATA ON RECEITA
+    (id_regra_recorrencia, CASE WHEN id_regra_recorrencia IS NOT NULL THEN data_entrada END);
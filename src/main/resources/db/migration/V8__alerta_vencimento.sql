@@ -0,0 +1,36 @@
+-- Processamento de vencimentos: índice da varredura, alertas gerados e leases dos jobs
+
+-- Varredura por (pendente, data_vencimento) em ordem de chave; id_usuario no índice para
+-- filtrar o shard sem acessar a tabela
+CREATE INDEX IDX_DESPESA_PENDENTE_VENC ON DESPESA (pendente, data_vencimento, id_despesa, id_usuario);
+
+CREATE SEQUENCE SEQ_ALERTAS_VENCIMENTO START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE ALERTA_VENCIMENTO (
+    id_alerta       NUMBER(19)   NOT NULL,
+    id_usuario      NUMBER(19)   NOT NULL,
+    id_despesa      NUMBER(19)   NOT NULL,
+    tipo_alerta     VARCHAR2(10) NOT NULL,
+    data_vencimento DATE         NOT NULL,
+    criado_em       TIMESTAMP(6) NOT NULL,
+    lido_em         TIMESTAMP(6),
+    CONSTRAINT PK_ALERTA_VENCIMENTO PRIMARY KEY (id_alerta),
+    -- Um alerta de cada tipo por despesa: reprocessar a mesma janela não duplica
+    CONSTRAINT UK_ALERTA_VENCIMENTO UNIQUE (id_despesa, tipo_alerta),
+    CONSTRAINT FK_ALERTA_VENCIMENTO_USUARIO FOREIGN KEY (id_usuario) REFERENCES USUARIO (id_usuario) ON DELETE CASCADE,
+    CONSTRAINT FK_ALERTA_VENCIMENTO_DESPESA FOREIGN KEY (id_despesa) REFERENCES DESPESA (id_despesa) ON DELETE CASCADE,
+    CONSTRAINT CK_ALERTA_VENCIMENTO_TIPO CHECK (tipo_alerta IN ('A_VENCER', 'VENCIDA'))
+);
+
+CREATE INDEX IDX_ALERTA_VENCIMENTO_USUARIO ON ALERTA_VENCIMENTO (id_usuario, data_vencimento);
+
+-- Lease de cada (job, shard): apenas o dono processa o shard até expira_em
+-- posicao guarda o cursor da varredura, para outra instância continuar se o dono cair
+CREATE TABLE JOB_LEASE (
+    nome_job  VARCHAR2(50)  NOT NULL,
+    shard     NUMBER(5)     NOT NULL,
+    dono      VARCHAR2(100) NOT NULL,
+    expira_em TIMESTAMP(6)  NOT NULL,
+    posicao   VARCHAR2(100),
+    CONSTRAINT PK_JOB_LEASE PRIMARY KEY (nome_job, shard)
+);
@@ -0,0 +1,10 @@
+-- Instâncias ativas da aplicação (heartbeat), usadas para dividir os shards dos jobs entre elas
+
+CREATE TABLE NO_APLICACAO (
+    id_no        VARCHAR2(100) NOT NULL,
+    iniciado_em  TIMESTAMP(6)  NOT NULL,
+    heartbeat_em TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT PK_NO_APLICACAO PRIMARY KEY (id_no)
+);
+
+CREATE INDEX IDX_NO_APLICACAO_HEARTBEAT ON NO_APLICACAO (heartbeat_em);
@@ -0,0 +1,84 @@
+package br.com.fintech.fintechapi.auditoria;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BufferCircularTest {
+
+    @Test
+    void arredondaCapacidadeParaPotenciaDeDois() {
+        assertEquals(8, new BufferCircular<Integer>(5).capacidade());
+        assertEquals(8, new BufferCircular<Integer>(8).capacidade());
+    }
+
+    @Test
+    void mantemOrdemERecusaQuandoCheio() {
+        BufferCircular<Integer> buffer = new BufferCircular<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.oferecer(i));
+        }
+        assertFalse(buffer.oferecer(4));
+        assertEquals(4, buffer.tamanho());
+
+        assertEquals(0, buffer.retirar());
+        assertTrue(buffer.oferecer(4));
+
+        List<Integer> drenados = new ArrayList<>();
+        assertEquals(4, buffer.drenar(drenados, 10));
+        assertEquals(List.of(1, 2, 3, 4), drenados);
+        assertNull(buffer.retirar());
+    }
+
+    @Test
+    void variosProdutoresEConsumidoresNaoPerdemNemDuplicamItens() throws InterruptedException {
+        BufferCircular<Integer> buffer = new BufferCircular<>(64);
+        int produtores = 4;
+        int porProdutor = 10_000;
+        int total = produtores * porProdutor;
+
+        ConcurrentHashMap<Integer, Boolean> recebidos = new ConcurrentHashMap<>();
+        AtomicInteger consumidos = new AtomicInteger();
+        CountDownLatch fim = new CountDownLatch(produtores + 2);
+
+        for (int p = 0; p < produtores; p++) {
+            int base = p * porProdutor;
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < porProdutor; i++) {
+                    while (!buffer.oferecer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+                fim.countDown();
+            });
+        }
+        for (int c = 0; c < 2; c++) {
+            Thread.ofPlatform().start(() -> {
+                while (consumidos.get() < total) {
+                    Integer item = buffer.retirar();
+                    if (item == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    assertNull(recebidos.put(item, Boolean.TRUE));
+                    consumidos.incrementAndGet();
+                }
+                fim.countDown();
+            });
+        }
+
+        fim.await();
+        assertEquals(total, recebidos.size());
+        assertEquals(0, buffer.tamanho());
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.fintech.fintechapi.benchmark;
+
+import br.com.fintech.fintechapi.dto.DespesaRequest;
+import br.com.fintech.fintechapi.mapper.DespesaMapper;
+import br.com.fintech.fintechapi.mapper.DespesaMapperImpl;
+import br.com.fintech.fintechapi.mapper.ReferenciaMapper;
+import br.com.fintech.fintechapi.model.Categoria;
+import br.com.fintech.fintechapi.model.Despesa;
+import br.com.fintech.fintechapi.model.TipoCategoria;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o caminho antigo (corpo em Map, resposta montada em HashMap) com DTOs record + MapStruct + Blackbird
+ * no ciclo de uma requisição POST /api/despesas: leitura do JSON, conversão para entidade e escrita da resposta
+ *
+ * Execução (latência e alocação por operação, via GCProfiler):
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=br.com.fintech.fintechapi.benchmark.DespesaPayloadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DespesaPayloadBenchmark {
+
+    private static final String CORPO = """
+            {"descricao":"Aluguel","valor":1500.00,"dataVencimento":"2025-03-10",\
+            "recorrente":1,"pendente":0,"idCategoria":3,"idSubcategoria":null}""";
+
+    private ObjectMapper objectMapperPadrao;
+    private ObjectMapper objectMapperBlackbird;
+    private DespesaMapper despesaMapper;
+    private Categoria categoria;
+
+    @Setup
+    public void preparar() {
+        objectMapperPadrao = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(new Jdk8Module())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        objectMapperBlackbird = objectMapperPadrao.copy().registerModule(new BlackbirdModule());
+        despesaMapper = new DespesaMapperImpl(new ReferenciaMapper());
+
+        categoria = new Categoria();
+        categoria.setIdCategoria(3L);
+        categoria.setNomeCategoria("Moradia");
+        categoria.setTipoCategoria(TipoCategoria.DESPESA);
+    }
+
+    @Benchmark
+    public byte[] mapa() throws Exception {
+        Map<String, Object> requestBody = objectMapperPadrao.readValue(CORPO, new TypeReference<>() {
+        });
+
+        Despesa despesa = new Despesa();
+        despesa.setDescricao((String) requestBody.get("descricao"));
+        despesa.setValor(new BigDecimal(requestBody.get("valor").toString()));
+        despesa.setDataVencimento(LocalDate.parse((String) requestBody.get("dataVencimento")));
+        despesa.setRecorrente((Integer) requestBody.get("recorrente"));
+        despesa.setPendente((Integer) requestBody.get("pendente"));
+        if (requestBody.get("idCategoria") != null) {
+            Categoria referencia = new Categoria();
+            referencia.setIdCategoria(Long.valueOf(requestBody.get("idCategoria").toString()));
+            despesa.setCategoria(referencia);
+        }
+        simularPersistencia(despesa);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("idDespesa", despesa.getIdDespesa());
+        response.put("descricao", despesa.getDescricao());
+        response.put("valor", despesa.getValor());
+        response.put("dataVencimento", despesa.getDataVencimento());
+        response.put("recorrente", despesa.getRecorrente());
+        response.put("pendente", despesa.getPendente());
+        Map<String, Object> categoriaMap = new HashMap<>();
+        categoriaMap.put("idCategoria", despesa.getCategoria().getIdCategoria());
+        categoriaMap.put("nomeCategoria", despesa.getCategoria().getNomeCategoria());
+        categoriaMap.put("tipoCategoria", despesa.getCategoria().getTipoCategoria());
+        response.put("categoria", categoriaMap);
+        response.put("criadoEm", despesa.getCriadoEm());
+        response.put("message", "Despesa criada com sucesso");
+
+        return objectMapperPadrao.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] dto() throws Exception {
+        DespesaRequest request = objectMapperBlackbird.readValue(CORPO, DespesaRequest.class);
+
+        Despesa despesa = despesaMapper.paraEntidade(request);
+        simularPersistencia(despesa);
+
+        return objectMapperBlackbird.writeValueAsBytes(despesaMapper.paraResposta(despesa, "Despesa criada com sucesso"));
+    }
+
+    /**
+     * Equivalente ao que o service faz: atribui o ID e resolve a categoria referenciada
+     */
+    private void simularPersistencia(Despesa despesa) {
+        despesa.setIdDespesa(42L);
+        despesa.setCategoria(categoria);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DespesaPayloadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
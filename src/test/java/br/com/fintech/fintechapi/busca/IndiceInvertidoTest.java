@@ -0,0 +1,83 @@
+package br.com.fintech.fintechapi.busca;
+
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceInvertidoTest {
+
+    private final IndiceInvertido indice = new IndiceInvertido();
+
+    private static DocumentoBusca despesa(long id, String descricao, LocalDate data) {
+        return new DocumentoBusca(TipoLancamento.DESPESA, id, descricao, BigDecimal.TEN, data, 1);
+    }
+
+    private List<Long> ids(String consulta) {
+        return indice.buscar(consulta, 10).stream().map(acerto -> acerto.documento().id()).toList();
+    }
+
+    @Test
+    void ignoraMaiusculasEAcentos() {
+        indice.adicionar(despesa(1, "Conta de Água - Março", LocalDate.of(2024, 3, 10)));
+
+        assertEquals(List.of(1L), ids("agua marco"));
+        assertEquals(List.of(1L), ids("ÁGUA"));
+    }
+
+    @Test
+    void buscaPorPrefixoEExigeTodosOsTermos() {
+        indice.adicionar(despesa(1, "Aluguel apartamento", LocalDate.of(2024, 1, 5)));
+        indice.adicionar(despesa(2, "Aluguel garagem", LocalDate.of(2024, 1, 5)));
+        indice.adicionar(despesa(3, "Uber aeroporto", LocalDate.of(2024, 1, 7)));
+
+        assertEquals(2, ids("alug").size());
+        assertEquals(List.of(2L), ids("aluguel gar"));
+        assertTrue(ids("aluguel uber").isEmpty());
+    }
+
+    @Test
+    void termoExatoTemMaiorRelevanciaQuePrefixo() {
+        indice.adicionar(despesa(1, "Uberlandia", LocalDate.of(2024, 1, 1)));
+        indice.adicionar(despesa(2, "Uber", LocalDate.of(2024, 1, 1)));
+
+        assertEquals(List.of(2L, 1L), ids("uber"));
+    }
+
+    @Test
+    void descricaoCurtaTemMaiorRelevancia() {
+        indice.adicionar(despesa(1, "Uber para o trabalho na segunda cedo", LocalDate.of(2024, 1, 1)));
+        indice.adicionar(despesa(2, "Uber", LocalDate.of(2024, 1, 1)));
+        indice.adicionar(despesa(3, "Mercado", LocalDate.of(2024, 1, 1)));
+
+        assertEquals(List.of(2L, 1L), ids("uber"));
+    }
+
+    @Test
+    void empateFavoreceOsMaisRecentes() {
+        indice.adicionar(despesa(1, "Mercado", LocalDate.of(2023, 5, 1)));
+        indice.adicionar(despesa(2, "Mercado", LocalDate.of(2024, 5, 1)));
+
+        assertEquals(List.of(2L, 1L), ids("mercado"));
+        assertEquals(1, indice.buscar("mercado", 1).size());
+    }
+
+    @Test
+    void atualizacaoERemocaoRefletemNaBusca() {
+        indice.adicionar(despesa(1, "Academia", LocalDate.of(2024, 2, 1)));
+        indice.adicionar(despesa(1, "Plano de saude", LocalDate.of(2024, 2, 1)));
+
+        assertTrue(ids("academia").isEmpty());
+        assertEquals(List.of(1L), ids("saude"));
+
+        indice.remover(TipoLancamento.DESPESA, 1);
+        assertTrue(ids("saude").isEmpty());
+        assertEquals(0, indice.tamanho());
+        assertEquals(0, indice.tamanhoEstimado());
+    }
+}
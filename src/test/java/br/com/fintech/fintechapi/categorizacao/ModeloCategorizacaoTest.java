@@ -0,0 +1,82 @@
+package br.com.fintech.fintechapi.categorizacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModeloCategorizacaoTest {
+
+    private static final long TRANSPORTE = 1;
+    private static final long MORADIA = 2;
+    private static final long ALIMENTACAO = 3;
+    private static final long APLICATIVO = 10;
+
+    private static final List<ExemploCategorizacao> EXEMPLOS = List.of(
+            new ExemploCategorizacao(1L, "Uber centro", TRANSPORTE, APLICATIVO),
+            new ExemploCategorizacao(2L, "Uber aeroporto", TRANSPORTE, APLICATIVO),
+            new ExemploCategorizacao(3L, "99 taxi", TRANSPORTE, APLICATIVO),
+            new ExemploCategorizacao(4L, "Aluguel apartamento", MORADIA, null),
+            new ExemploCategorizacao(5L, "Condomínio", MORADIA, null),
+            new ExemploCategorizacao(6L, "Mercado Extra", ALIMENTACAO, null),
+            new ExemploCategorizacao(7L, "Padaria", ALIMENTACAO, null),
+            new ExemploCategorizacao(8L, "Sem categoria", null, null)
+    );
+
+    private final ModeloCategorizacao modelo = ModeloCategorizacao.treinar(EXEMPLOS, 7);
+
+    @Test
+    void sugereClasseDosTermosConhecidos() {
+        ModeloCategorizacao.Sugestao sugestao = modelo.sugerir("UBER casa");
+
+        assertEquals(TRANSPORTE, sugestao.idCategoria());
+        assertEquals(APLICATIVO, sugestao.idSubcategoria());
+        assertTrue(sugestao.confianca() > 0.5);
+    }
+
+    @Test
+    void classeSemSubcategoriaDevolveSubcategoriaNula() {
+        ModeloCategorizacao.Sugestao sugestao = modelo.sugerir("aluguel de junho");
+
+        assertEquals(MORADIA, sugestao.idCategoria());
+        assertNull(sugestao.idSubcategoria());
+    }
+
+    @Test
+    void descricaoDesconhecidaNaoGeraSugestao() {
+        assertNull(modelo.sugerir("farmacia"));
+        assertNull(ModeloCategorizacao.treinar(List.of(), 0).sugerir("uber"));
+    }
+
+    @Test
+    void ignoraExemplosSemCategoria() {
+        assertEquals(7, modelo.getTotalExemplos());
+        assertEquals(7, modelo.getVersao());
+    }
+
+    @Test
+    void treinoIncrementalSubstituiERemoveContribuicoes() {
+        TreinoCategorizacao treino = TreinoCategorizacao.de(EXEMPLOS);
+
+        // Recategorizado: passa a contar só na nova classe
+        treino.adicionar(new ExemploCategorizacao(4L, "Aluguel apartamento", ALIMENTACAO, null));
+        assertEquals(ALIMENTACAO, treino.modelo(8).sugerir("aluguel").idCategoria());
+
+        // Excluídos: termos saem do vocabulário e a classe sem exemplos deixa de ser sugerida
+        treino.remover(4L);
+        treino.remover(5L);
+        ModeloCategorizacao atualizado = treino.modelo(9);
+        assertNull(atualizado.sugerir("aluguel"));
+        assertNull(atualizado.sugerir("condominio"));
+        assertEquals(5, atualizado.getTotalExemplos());
+
+        // Mesmo resultado de um treino completo com os exemplos restantes
+        ModeloCategorizacao completo = ModeloCategorizacao.treinar(EXEMPLOS.stream()
+                .filter(exemplo -> exemplo.id() != 4L && exemplo.id() != 5L).toList(), 9);
+        assertEquals(completo.sugerir("uber casa"), atualizado.sugerir("uber casa"));
+        assertEquals(completo.sugerir("padaria"), atualizado.sugerir("padaria"));
+    }
+}
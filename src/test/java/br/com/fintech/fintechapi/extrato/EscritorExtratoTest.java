@@ -0,0 +1,94 @@
+package br.com.fintech.fintechapi.extrato;
+
+import br.com.fintech.fintechapi.dto.LancamentoExtrato;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EscritorExtratoTest {
+
+    private static final YearMonth MES = YearMonth.of(2025, 11);
+
+    @Test
+    void xlsxTemAsPartesDoPacoteEUmaLinhaPorLancamento() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        escrever(FormatoExtrato.XLSX, saida, 3);
+
+        Map<String, String> partes = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(saida.toByteArray()))) {
+            for (ZipEntry entrada; (entrada = zip.getNextEntry()) != null; ) {
+                partes.put(entrada.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertTrue(partes.keySet().containsAll(
+                List.of("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml", "xl/styles.xml")));
+        String planilha = partes.get("xl/worksheets/sheet1.xml");
+        assertTrue(planilha.endsWith("</sheetData></worksheet>"));
+        // Título, titular, cabeçalho das colunas, 3 lançamentos e 3 totais
+        assertEquals(9, contar(planilha, "<row "));
+        assertTrue(planilha.contains("Mercado &amp; Cia &lt;1&gt;"));
+        assertTrue(planilha.contains("<v>-10.50</v>"));
+    }
+
+    @Test
+    void pdfQuebraPaginasETemXrefApontandoParaOsObjetos() throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        escrever(FormatoExtrato.PDF, saida, 200);
+        byte[] pdf = saida.toByteArray();
+        String texto = new String(pdf, StandardCharsets.ISO_8859_1);
+
+        assertTrue(texto.startsWith("%PDF-1.4"));
+        assertTrue(texto.endsWith("%%EOF\n"));
+        Matcher paginas = Pattern.compile("/Count (\\d+)").matcher(texto);
+        assertTrue(paginas.find());
+        assertTrue(Integer.parseInt(paginas.group(1)) > 1);
+
+        int inicioXref = Integer.parseInt(texto.substring(texto.lastIndexOf("startxref\n") + 10, texto.lastIndexOf("\n%%EOF")));
+        assertTrue(texto.startsWith("xref\n", inicioXref));
+        Matcher entradas = Pattern.compile("(\\d{10}) 00000 n \n").matcher(texto.substring(inicioXref));
+        for (int objeto = 1; entradas.find(); objeto++) {
+            assertTrue(texto.startsWith(objeto + " 0 obj\n", Integer.parseInt(entradas.group(1))));
+        }
+        // Parênteses escapados e acentos em cp1252
+        assertTrue(texto.contains("Padaria \\(centro\\)"));
+        assertTrue(texto.contains("Descrição"));
+    }
+
+    private static void escrever(FormatoExtrato formato, ByteArrayOutputStream saida, int lancamentos) throws IOException {
+        try (EscritorExtrato escritor = formato.escritor(saida)) {
+            escritor.cabecalho("pj@fintech.com", MES);
+            for (int i = 0; i < lancamentos; i++) {
+                boolean despesa = i % 2 == 0;
+                String descricao = i == 0 ? "Mercado & Cia <1>" : i == 1 ? "Padaria (centro)" : "Lançamento " + i;
+                escritor.lancamento(despesa ? TipoLancamento.DESPESA : TipoLancamento.RECEITA,
+                        new LancamentoExtrato(MES.atDay(1 + i % 28), descricao, "Alimentação", new BigDecimal("10.50"), i % 3 == 0 ? 1 : 0));
+            }
+            escritor.totais(new BigDecimal("100.00"), new BigDecimal("40.25"));
+        }
+    }
+
+    private static int contar(String texto, String trecho) {
+        int total = 0;
+        for (int i = texto.indexOf(trecho); i >= 0; i = texto.indexOf(trecho, i + 1)) {
+            total++;
+        }
+        return total;
+    }
+}
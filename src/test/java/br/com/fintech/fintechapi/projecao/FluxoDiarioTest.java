@@ -0,0 +1,83 @@
+package br.com.fintech.fintechapi.projecao;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FluxoDiarioTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2025, 11, 20);
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @Test
+    void encadeiaSaldoEntreMeses() {
+        FluxoDiario fluxo = new FluxoDiario(HOJE, 3);
+        fluxo.adicionar(LocalDate.of(2025, 11, 25), -30_000);
+        fluxo.adicionar(LocalDate.of(2025, 12, 5), 500_000);
+        fluxo.adicionar(LocalDate.of(2026, 1, 10), -100_000);
+
+        List<FluxoDiario.Mes> meses = fluxo.projetar(100_000, pool);
+
+        assertEquals(3, meses.size());
+        assertEquals(HOJE, meses.get(0).inicio());
+        assertEquals(70_000, meses.get(0).saldoFinal());
+        assertEquals(570_000, meses.get(1).saldoFinal());
+        assertEquals(470_000, meses.get(2).saldoFinal());
+        assertEquals(LocalDate.of(2026, 1, 31), fluxo.getFim());
+    }
+
+    @Test
+    void pendenciaAtrasadaContaNoPrimeiroDiaELancamentoAposOFimEIgnorado() {
+        FluxoDiario fluxo = new FluxoDiario(HOJE, 1);
+        fluxo.adicionar(LocalDate.of(2025, 10, 1), -20_000);
+        fluxo.adicionar(LocalDate.of(2025, 12, 1), -99_999);
+
+        FluxoDiario.Mes mes = fluxo.projetar(10_000, pool).get(0);
+
+        assertEquals(-10_000, mes.saldoMinimo());
+        assertEquals(HOJE, mes.dataSaldoMinimo());
+        assertEquals(20_000, mes.saidas());
+    }
+
+    @Test
+    void saldoMinimoDentroDoMes() {
+        FluxoDiario fluxo = new FluxoDiario(HOJE, 2);
+        fluxo.adicionar(LocalDate.of(2025, 12, 3), -80_000);
+        fluxo.adicionar(LocalDate.of(2025, 12, 10), 200_000);
+
+        FluxoDiario.Mes dezembro = fluxo.projetar(50_000, pool).get(1);
+
+        assertEquals(-30_000, dezembro.saldoMinimo());
+        assertEquals(LocalDate.of(2025, 12, 3), dezembro.dataSaldoMinimo());
+        assertEquals(170_000, dezembro.saldoFinal());
+    }
+
+    @Test
+    void estimativaMensalDistribuidaSemPerdaDeCentavos() {
+        FluxoDiario fluxo = new FluxoDiario(LocalDate.of(2025, 11, 30), 2);
+        fluxo.estimar(0, 100_001);
+
+        List<FluxoDiario.Mes> meses = fluxo.projetar(0, pool);
+
+        // O dia base não recebe estimativa; dezembro recebe a média inteira
+        assertEquals(0, meses.get(0).saidas());
+        assertEquals(100_001, meses.get(1).saidas());
+    }
+
+    @Test
+    void resultadoParaleloIgualAoSequencial() {
+        FluxoDiario fluxo = new FluxoDiario(HOJE, 12);
+        fluxo.estimar(250_000, 180_000);
+        for (int i = 0; i < 5_000; i++) {
+            fluxo.adicionar(HOJE.plusDays(i % 360), (i % 3 == 0 ? 1 : -1) * (1_000L + i));
+        }
+
+        // Cada projeção preenche arrays novos: a mesma instância pode ser projetada duas vezes
+        assertEquals(fluxo.projetar(0, pool, false), fluxo.projetar(0, pool, true));
+    }
+}
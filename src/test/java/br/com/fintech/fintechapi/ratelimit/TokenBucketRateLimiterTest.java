@@ -0,0 +1,64 @@
+package br.com.fintech.fintechapi.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long UM_SEGUNDO = 1_000_000_000L;
+
+    private final AtomicLong relogio = new AtomicLong(0);
+
+    @Test
+    void permiteRajadaEBloqueiaExcesso() {
+        TokenBucketRateLimiter<String> limitador = new TokenBucketRateLimiter<>(60, 3, 100, relogio::get);
+
+        assertEquals(0, limitador.consumir("ip"));
+        assertEquals(0, limitador.consumir("ip"));
+        assertEquals(0, limitador.consumir("ip"));
+
+        long espera = limitador.consumir("ip");
+        assertEquals(UM_SEGUNDO, espera);
+    }
+
+    @Test
+    void repoePermissoesComOTempo() {
+        TokenBucketRateLimiter<String> limitador = new TokenBucketRateLimiter<>(60, 1, 100, relogio::get);
+
+        assertEquals(0, limitador.consumir("email"));
+        assertTrue(limitador.consumir("email") > 0);
+
+        relogio.addAndGet(UM_SEGUNDO);
+        assertEquals(0, limitador.consumir("email"));
+    }
+
+    @Test
+    void chavesSaoIndependentes() {
+        TokenBucketRateLimiter<String> limitador = new TokenBucketRateLimiter<>(60, 1, 100, relogio::get);
+
+        assertEquals(0, limitador.consumir("a"));
+        assertEquals(0, limitador.consumir("b"));
+        assertTrue(limitador.consumir("a") > 0);
+    }
+
+    @Test
+    void removeChavesOciosasERespeitaLimiteDeMemoria() {
+        TokenBucketRateLimiter<String> limitador = new TokenBucketRateLimiter<>(60, 1, 2, relogio::get);
+
+        assertEquals(0, limitador.consumir("a"));
+        assertEquals(0, limitador.consumir("b"));
+
+        // Limite atingido e nenhuma chave ociosa: chave nova é recusada
+        assertTrue(limitador.consumir("c") > 0);
+        assertEquals(2, limitador.quantidadeChaves());
+
+        // Após o balde encher novamente, as chaves podem ser descartadas
+        relogio.addAndGet(UM_SEGUNDO);
+        assertEquals(0, limitador.consumir("c"));
+        assertEquals(1, limitador.quantidadeChaves());
+    }
+}
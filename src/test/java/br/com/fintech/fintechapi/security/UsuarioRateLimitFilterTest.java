@@ -0,0 +1,75 @@
+package br.com.fintech.fintechapi.security;
+
+import br.com.fintech.fintechapi.model.TipoUsuario;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UsuarioRateLimitFilterTest {
+
+    // PF com uma única vaga de concorrência
+    private final UsuarioRateLimitFilter filtro = new UsuarioRateLimitFilter(
+            300, 50, 1, 1200, 200, 8, 100, new ObjectMapper(), new SimpleMeterRegistry());
+
+    @BeforeEach
+    void autenticar() {
+        UsuarioAutenticado usuario = new UsuarioAutenticado(1L, "pf@exemplo.com", TipoUsuario.PF);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(usuario, null, List.of()));
+    }
+
+    @AfterEach
+    void limpar() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void assinaturaDeEventosAbertaNaoOcupaVagaDeConcorrencia() throws Exception {
+        // Canal SSE que continua aberto após o retorno do filtro
+        MockHttpServletRequest eventos = requisicao("/api/sincronizacao/eventos");
+        filtro.doFilter(eventos, new MockHttpServletResponse(), iniciaAssincrono());
+        assertTrue(eventos.isAsyncStarted());
+
+        MockHttpServletResponse listagem = new MockHttpServletResponse();
+        filtro.doFilter(requisicao("/api/despesas"), listagem, (req, res) -> { });
+        assertEquals(200, listagem.getStatus());
+    }
+
+    @Test
+    void requisicaoAssincronaComumMantemVagaAteConcluir() throws Exception {
+        MockHttpServletRequest exportacao = requisicao("/api/extrato");
+        filtro.doFilter(exportacao, new MockHttpServletResponse(), iniciaAssincrono());
+
+        MockHttpServletResponse bloqueada = new MockHttpServletResponse();
+        filtro.doFilter(requisicao("/api/despesas"), bloqueada, (req, res) -> { });
+        assertEquals(429, bloqueada.getStatus());
+
+        exportacao.getAsyncContext().complete();
+
+        MockHttpServletResponse liberada = new MockHttpServletResponse();
+        filtro.doFilter(requisicao("/api/despesas"), liberada, (req, res) -> { });
+        assertEquals(200, liberada.getStatus());
+    }
+
+    private static MockHttpServletRequest requisicao(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private static FilterChain iniciaAssincrono() {
+        return (req, res) -> req.startAsync();
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.dto.DespesaRequest;
+import br.com.fintech.fintechapi.mapper.DespesaMapperImpl;
+import br.com.fintech.fintechapi.mapper.ReferenciaMapper;
+import br.com.fintech.fintechapi.model.Despesa;
+import br.com.fintech.fintechapi.model.Subcategoria;
+import br.com.fintech.fintechapi.model.TipoLancamento;
+import br.com.fintech.fintechapi.model.Usuario;
+import br.com.fintech.fintechapi.repository.CategoriaRepository;
+import br.com.fintech.fintechapi.repository.DespesaRepository;
+import br.com.fintech.fintechapi.repository.RegistroExcluidoRepository;
+import br.com.fintech.fintechapi.repository.SubcategoriaRepository;
+import br.com.fintech.fintechapi.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DespesaServiceTest {
+
+    private final DespesaMapperImpl despesaMapper = new DespesaMapperImpl(new ReferenciaMapper());
+
+    @Mock private DespesaRepository despesaRepository;
+    @Mock private VersaoLedgerService versaoLedgerService;
+    @Mock private RegistroExcluidoRepository registroExcluidoRepository;
+    @Mock private OutboxService outboxService;
+    @Mock private CategorizacaoService categorizacaoService;
+    @Mock private TotalCategoriaService totalCategoriaService;
+    @Mock private UsuarioRepository usuarioRepository;
+    @Mock private CategoriaRepository categoriaRepository;
+    @Mock private SubcategoriaRepository subcategoriaRepository;
+
+    @InjectMocks
+    private DespesaService despesaService;
+
+    @BeforeEach
+    void configurar() {
+        Usuario usuario = new Usuario();
+        usuario.setIdUsuario(1L);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(despesaRepository.save(any(Despesa.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+    }
+
+    @Test
+    void criarComCategoriaESubcategoriaNulasNaoPersisteReferenciaSemId() {
+        // POST {"idCategoria": null, "idSubcategoria": null}
+        Despesa despesa = despesaMapper.paraEntidade(requisicao(Optional.empty(), Optional.empty()));
+
+        Despesa salva = despesaService.criar(despesa, 1L);
+
+        assertNull(salva.getCategoria());
+        assertNull(salva.getSubcategoria());
+        // Sem categoria informada: a sugestão automática continua sendo consultada
+        verify(categorizacaoService).sugerirParaAtribuicao(1L, TipoLancamento.DESPESA, "Aluguel");
+    }
+
+    @Test
+    void criarComCategoriaNulaESubcategoriaInformada() {
+        Subcategoria subcategoria = new Subcategoria();
+        subcategoria.setIdSubcategoria(5L);
+        when(subcategoriaRepository.findById(5L)).thenReturn(Optional.of(subcategoria));
+
+        // POST {"idCategoria": null, "idSubcategoria": 5}
+        Despesa despesa = despesaMapper.paraEntidade(requisicao(Optional.empty(), Optional.of(5L)));
+
+        Despesa salva = despesaService.criar(despesa, 1L);
+
+        assertNull(salva.getCategoria());
+        assertSame(subcategoria, salva.getSubcategoria());
+        verify(categorizacaoService, never()).sugerirParaAtribuicao(any(), any(), any());
+    }
+
+    private static DespesaRequest requisicao(Optional<Long> idCategoria, Optional<Long> idSubcategoria) {
+        return new DespesaRequest("Aluguel", new BigDecimal("1500.00"), LocalDate.of(2025, 3, 10),
+                null, null, idCategoria, idSubcategoria);
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.fintech.fintechapi.service;
+
+import br.com.fintech.fintechapi.dto.ReceitaRequest;
+import br.com.fintech.fintechapi.mapper.ReceitaMapperImpl;
+import br.com.fintech.fintechapi.mapper.ReferenciaMapper;
+import br.com.fintech.fintechapi.model.Receita;
+import br.com.fintech.fintechapi.model.Usuario;
+import br.com.fintech.fintechapi.repository.CategoriaRepository;
+import br.com.fintech.fintechapi.repository.ReceitaRepository;
+import br.com.fintech.fintechapi.repository.RegistroExcluidoRepository;
+import br.com.fintech.fintechapi.repository.SubcategoriaRepository;
+import br.com.fintech.fintechapi.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReceitaServiceTest {
+
+    private final ReceitaMapperImpl receitaMapper = new ReceitaMapperImpl(new ReferenciaMapper());
+
+    @Mock private ReceitaRepository receitaRepository;
+    @Mock private VersaoLedgerService versaoLedgerService;
+    @Mock private RegistroExcluidoRepository registroExcluidoRepository;
+    @Mock private OutboxService outboxService;
+    @Mock private CategorizacaoService categorizacaoService;
+    @Mock private UsuarioRepository usuarioRepository;
+    @Mock private CategoriaRepository categoriaRepository;
+    @Mock private SubcategoriaRepository subcategoriaRepository;
+
+    @InjectMocks
+    private ReceitaService receitaService;
+
+    @Test
+    void criarComCategoriaESubcategoriaNulasNaoPersisteReferenciaSemId() {
+        Usuario usuario = new Usuario();
+        usuario.setIdUsuario(1L);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuario));
+        when(receitaRepository.save(any(Receita.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        // POST {"idCategoria": null, "idSubcategoria": null}
+        Receita receita = receitaMapper.paraEntidade(new ReceitaRequest("Salário", new BigDecimal("5000.00"),
+                LocalDate.of(2025, 3, 5), null, null, Optional.empty(), Optional.empty()));
+
+        Receita salva = receitaService.criar(receita, 1L);
+
+        assertNull(salva.getCategoria());
+        assertNull(salva.getSubcategoria());
+    }
+}